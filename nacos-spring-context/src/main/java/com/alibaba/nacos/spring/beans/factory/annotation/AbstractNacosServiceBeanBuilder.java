@@ -18,11 +18,14 @@ package com.alibaba.nacos.spring.beans.factory.annotation;
 
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.alibaba.nacos.api.annotation.NacosProperties;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.spring.factory.NacosServiceFactory;
 import com.alibaba.nacos.spring.util.GlobalNacosPropertiesSource;
+import com.alibaba.nacos.spring.util.NacosServiceIdentity;
 import com.alibaba.nacos.spring.util.NacosUtils;
 
 import org.springframework.beans.factory.BeanCreationException;
@@ -54,6 +57,8 @@ public abstract class AbstractNacosServiceBeanBuilder<S>
 
 	private final GlobalNacosPropertiesSource source;
 
+	private final ConcurrentMap<NacosProperties, NacosServiceIdentity> identitiesCache = new ConcurrentHashMap<NacosProperties, NacosServiceIdentity>();
+
 	protected AbstractNacosServiceBeanBuilder(GlobalNacosPropertiesSource source) {
 		type = resolveGenericType(getClass());
 		this.source = source;
@@ -119,6 +124,26 @@ public abstract class AbstractNacosServiceBeanBuilder<S>
 				globalNacosProperties);
 	}
 
+	/**
+	 * Resolve the {@link NacosServiceIdentity identity} of
+	 * {@link NacosProperties @NacosProperties}, which is computed once per annotation
+	 *
+	 * @param nacosProperties {@link NacosProperties @NacosProperties}
+	 * @return non-null
+	 */
+	public final NacosServiceIdentity resolveIdentity(NacosProperties nacosProperties) {
+		NacosServiceIdentity identity = identitiesCache.get(nacosProperties);
+		if (identity == null) {
+			identity = NacosServiceIdentity.of(resolveProperties(nacosProperties));
+			NacosServiceIdentity existed = identitiesCache.putIfAbsent(nacosProperties,
+					identity);
+			if (existed != null) {
+				identity = existed;
+			}
+		}
+		return identity;
+	}
+
 	private Properties resolveGlobalNacosProperties() {
 		return source.getMergedGlobalProperties(beanFactory);
 	}
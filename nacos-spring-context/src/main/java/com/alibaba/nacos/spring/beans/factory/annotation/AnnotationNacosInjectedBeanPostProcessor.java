@@ -20,7 +20,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Properties;
 
 import com.alibaba.nacos.api.annotation.NacosInjected;
 import com.alibaba.nacos.api.config.ConfigService;
@@ -33,6 +32,7 @@ import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.annotation.InjectionMetadata;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 
+import static com.alibaba.nacos.spring.util.NacosUtils.SEPARATOR;
 import static java.lang.String.format;
 import static java.util.Collections.unmodifiableMap;
 
@@ -127,10 +127,9 @@ public class AnnotationNacosInjectedBeanPostProcessor extends
 					injectedElement.getMember()));
 		}
 
-		Properties properties = serviceBeanBuilder
-				.resolveProperties(annotation.properties());
-
-		keyBuilder.append(properties);
+		// The services of the same identity are shared by NacosServiceFactory
+		keyBuilder.append(SEPARATOR)
+				.append(serviceBeanBuilder.resolveIdentity(annotation.properties()));
 
 		return keyBuilder.toString();
 
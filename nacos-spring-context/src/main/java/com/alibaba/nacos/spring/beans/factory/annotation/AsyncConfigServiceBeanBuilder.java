@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.beans.factory.annotation;
+
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.spring.factory.AsyncConfigService;
+import com.alibaba.nacos.spring.factory.NacosServiceFactory;
+import com.alibaba.nacos.spring.util.GlobalNacosPropertiesSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.DEFAULT_NACOS_CONFIG_ASYNC_PARALLELISM;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.DEFAULT_NACOS_CONFIG_ASYNC_QUEUE_CAPACITY;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_CONFIG_ASYNC_PARALLELISM;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_CONFIG_ASYNC_QUEUE_CAPACITY;
+
+/**
+ * {@link AsyncConfigService} Bean Builder, the bounded executor shared by all
+ * {@link AsyncConfigService} instances is owned by current builder, and it will be
+ * shutdown on {@link #destroy()}.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class AsyncConfigServiceBeanBuilder
+		extends AbstractNacosServiceBeanBuilder<AsyncConfigService>
+		implements InitializingBean, DisposableBean {
+
+	/**
+	 * The bean name of {@link AsyncConfigServiceBeanBuilder}
+	 */
+	public static final String BEAN_NAME = "asyncConfigServiceBeanBuilder";
+
+	private int parallelism = DEFAULT_NACOS_CONFIG_ASYNC_PARALLELISM;
+
+	private int queueCapacity = DEFAULT_NACOS_CONFIG_ASYNC_QUEUE_CAPACITY;
+
+	private ThreadPoolExecutor executor;
+
+	protected AsyncConfigServiceBeanBuilder() {
+		super(GlobalNacosPropertiesSource.CONFIG);
+	}
+
+	@Override
+	protected AsyncConfigService createService(NacosServiceFactory nacosServiceFactory,
+			Properties properties) throws NacosException {
+		return new AsyncConfigService(nacosServiceFactory.createConfigService(properties),
+				executor);
+	}
+
+	@Override
+	public void setEnvironment(Environment environment) {
+		super.setEnvironment(environment);
+		int parallelism = environment.getProperty(NACOS_CONFIG_ASYNC_PARALLELISM,
+				int.class, DEFAULT_NACOS_CONFIG_ASYNC_PARALLELISM);
+		int queueCapacity = environment.getProperty(NACOS_CONFIG_ASYNC_QUEUE_CAPACITY,
+				int.class, DEFAULT_NACOS_CONFIG_ASYNC_QUEUE_CAPACITY);
+		this.parallelism = parallelism < 1 ? DEFAULT_NACOS_CONFIG_ASYNC_PARALLELISM
+				: parallelism;
+		this.queueCapacity = queueCapacity < 1
+				? DEFAULT_NACOS_CONFIG_ASYNC_QUEUE_CAPACITY
+				: queueCapacity;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				"NacosConfig-Async-");
+		threadFactory.setDaemon(true);
+		// Exceeding the capacity is rejected rather than blocking the caller
+		this.executor = new ThreadPoolExecutor(parallelism, parallelism, 60L,
+				TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(queueCapacity),
+				threadFactory, new ThreadPoolExecutor.AbortPolicy());
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	@Override
+	public void destroy() {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.beans.factory.annotation;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.spring.factory.BatchNamingService;
+import com.alibaba.nacos.spring.factory.NacosServiceFactory;
+import com.alibaba.nacos.spring.util.GlobalNacosPropertiesSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.DEFAULT_NACOS_DISCOVERY_BATCH_BACKOFF;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.DEFAULT_NACOS_DISCOVERY_BATCH_MAX_ATTEMPTS;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.DEFAULT_NACOS_DISCOVERY_BATCH_PARALLELISM;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.DEFAULT_NACOS_DISCOVERY_BATCH_SHUTDOWN_TIMEOUT;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_DISCOVERY_BATCH_BACKOFF;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_DISCOVERY_BATCH_MAX_ATTEMPTS;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_DISCOVERY_BATCH_PARALLELISM;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_DISCOVERY_BATCH_SHUTDOWN_TIMEOUT;
+
+/**
+ * {@link BatchNamingService} Bean Builder, the bounded executor shared by all
+ * {@link BatchNamingService} instances is owned by current builder. On
+ * {@link #destroy()}, the batch registered instances are deregistered in parallel
+ * within the shutdown timeout, then the executor is shutdown.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class BatchNamingServiceBeanBuilder
+		extends AbstractNacosServiceBeanBuilder<BatchNamingService>
+		implements InitializingBean, DisposableBean {
+
+	/**
+	 * The bean name of {@link BatchNamingServiceBeanBuilder}
+	 */
+	public static final String BEAN_NAME = "batchNamingServiceBeanBuilder";
+
+	private static final Logger logger = LoggerFactory
+			.getLogger(BatchNamingServiceBeanBuilder.class);
+
+	private int parallelism = DEFAULT_NACOS_DISCOVERY_BATCH_PARALLELISM;
+
+	private int maxAttempts = DEFAULT_NACOS_DISCOVERY_BATCH_MAX_ATTEMPTS;
+
+	private long backoffMillis = DEFAULT_NACOS_DISCOVERY_BATCH_BACKOFF;
+
+	private long shutdownTimeoutMillis = DEFAULT_NACOS_DISCOVERY_BATCH_SHUTDOWN_TIMEOUT;
+
+	private final List<BatchNamingService> batchNamingServices = new CopyOnWriteArrayList<BatchNamingService>();
+
+	private ThreadPoolExecutor executor;
+
+	public BatchNamingServiceBeanBuilder() {
+		super(GlobalNacosPropertiesSource.DISCOVERY);
+	}
+
+	@Override
+	protected BatchNamingService createService(NacosServiceFactory nacosServiceFactory,
+			Properties properties) throws NacosException {
+		BatchNamingService batchNamingService = new BatchNamingService(
+				nacosServiceFactory.createNamingService(properties), executor,
+				maxAttempts, backoffMillis);
+		batchNamingServices.add(batchNamingService);
+		return batchNamingService;
+	}
+
+	@Override
+	public void setEnvironment(Environment environment) {
+		super.setEnvironment(environment);
+		int parallelism = environment.getProperty(NACOS_DISCOVERY_BATCH_PARALLELISM,
+				int.class, DEFAULT_NACOS_DISCOVERY_BATCH_PARALLELISM);
+		int maxAttempts = environment.getProperty(NACOS_DISCOVERY_BATCH_MAX_ATTEMPTS,
+				int.class, DEFAULT_NACOS_DISCOVERY_BATCH_MAX_ATTEMPTS);
+		long backoffMillis = environment.getProperty(NACOS_DISCOVERY_BATCH_BACKOFF,
+				long.class, DEFAULT_NACOS_DISCOVERY_BATCH_BACKOFF);
+		this.parallelism = parallelism < 1 ? DEFAULT_NACOS_DISCOVERY_BATCH_PARALLELISM
+				: parallelism;
+		this.maxAttempts = maxAttempts < 1 ? DEFAULT_NACOS_DISCOVERY_BATCH_MAX_ATTEMPTS
+				: maxAttempts;
+		this.backoffMillis = backoffMillis < 0 ? DEFAULT_NACOS_DISCOVERY_BATCH_BACKOFF
+				: backoffMillis;
+		this.shutdownTimeoutMillis = environment.getProperty(
+				NACOS_DISCOVERY_BATCH_SHUTDOWN_TIMEOUT, long.class,
+				DEFAULT_NACOS_DISCOVERY_BATCH_SHUTDOWN_TIMEOUT);
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				"NacosDiscovery-Batch-");
+		threadFactory.setDaemon(true);
+		// The batch is queued entirely, the parallelism bounds the concurrent requests
+		this.executor = new ThreadPoolExecutor(parallelism, parallelism, 60L,
+				TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), threadFactory);
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	@Override
+	public void destroy() {
+		try {
+			if (shutdownTimeoutMillis > 0) {
+				deregisterAll();
+			}
+		}
+		finally {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+		}
+	}
+
+	private void deregisterAll() {
+		long deadline = System.currentTimeMillis() + shutdownTimeoutMillis;
+		for (BatchNamingService batchNamingService : batchNamingServices) {
+			if (batchNamingService.getRegisteredCount() == 0) {
+				continue;
+			}
+			try {
+				BatchNamingService.BatchResult result = batchNamingService
+						.deregisterAll(Math.max(1, deadline - System.currentTimeMillis()));
+				if (logger.isInfoEnabled()) {
+					logger.info("Deregistered {} of {} instances on shutdown in {} ms",
+							result.getSuccessCount(), result.getResults().size(),
+							result.getElapsedMillis());
+				}
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+}
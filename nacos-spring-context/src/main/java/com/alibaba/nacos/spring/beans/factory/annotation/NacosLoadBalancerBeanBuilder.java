@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.beans.factory.annotation;
+
+import java.util.Properties;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.spring.factory.NacosLoadBalancer;
+import com.alibaba.nacos.spring.factory.NacosServiceFactory;
+import com.alibaba.nacos.spring.util.GlobalNacosPropertiesSource;
+import com.alibaba.nacos.spring.util.discovery.LoadBalancer;
+import com.alibaba.nacos.spring.util.discovery.LoadBalancers;
+
+import org.springframework.core.env.Environment;
+import org.springframework.util.ClassUtils;
+
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.DEFAULT_NACOS_DISCOVERY_LOAD_BALANCER;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_DISCOVERY_LOAD_BALANCER;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_DISCOVERY_ZONE;
+
+/**
+ * {@link NacosLoadBalancer} Bean Builder
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class NacosLoadBalancerBeanBuilder
+		extends AbstractNacosServiceBeanBuilder<NacosLoadBalancer> {
+
+	/**
+	 * The bean name of {@link NacosLoadBalancerBeanBuilder}
+	 */
+	public static final String BEAN_NAME = "nacosLoadBalancerBeanBuilder";
+
+	private LoadBalancer loadBalancer = LoadBalancers.resolve(null, null, null);
+
+	public NacosLoadBalancerBeanBuilder() {
+		super(GlobalNacosPropertiesSource.DISCOVERY);
+	}
+
+	@Override
+	protected NacosLoadBalancer createService(NacosServiceFactory nacosServiceFactory,
+			Properties properties) throws NacosException {
+		return new NacosLoadBalancer(nacosServiceFactory.createNamingService(properties),
+				loadBalancer);
+	}
+
+	@Override
+	public void setEnvironment(Environment environment) {
+		super.setEnvironment(environment);
+		this.loadBalancer = LoadBalancers.resolve(
+				environment.getProperty(NACOS_DISCOVERY_LOAD_BALANCER,
+						DEFAULT_NACOS_DISCOVERY_LOAD_BALANCER),
+				environment.getProperty(NACOS_DISCOVERY_ZONE),
+				ClassUtils.getDefaultClassLoader());
+	}
+}
@@ -27,6 +27,8 @@ import com.alibaba.nacos.api.annotation.NacosProperties;
 import com.alibaba.nacos.api.config.annotation.NacosConfigListener;
 import com.alibaba.nacos.api.config.annotation.NacosConfigurationProperties;
 import com.alibaba.nacos.spring.context.annotation.NacosBeanDefinitionRegistrar;
+import com.alibaba.nacos.spring.context.constants.NacosConstants;
+import com.alibaba.nacos.spring.util.concurrent.ExecutorStrategies;
 
 import org.springframework.context.annotation.Import;
 
@@ -143,6 +145,26 @@ public @interface EnableNacosConfig {
 	// String ENABLE_REMOTE_SYNC_CONFIG_PLACEHOLDER = "${" + CONFIG_PREFIX + ENCODE + ":"
 	// + NacosProperties.ENABLE_REMOTE_SYNC_CONFIG_PLACEHOLDER + "}";
 
+	/**
+	 * The placeholder of {@link #listenerExecutor() listener executor strategy}, the
+	 * value is <code>"${nacos.config.listener.executor:fixed}"</code>
+	 */
+	String LISTENER_EXECUTOR_PLACEHOLDER = "${"
+			+ NacosConstants.NACOS_CONFIG_LISTENER_EXECUTOR + ":"
+			+ NacosConstants.DEFAULT_NACOS_CONFIG_LISTENER_EXECUTOR + "}";
+
+	/**
+	 * The {@link com.alibaba.nacos.spring.util.concurrent.ExecutorStrategy executor
+	 * strategy} of all Nacos Config Listeners, including the timeout listeners and the
+	 * asynchronous event multicaster, the placeholder is supported.
+	 *
+	 * @return one of {@link ExecutorStrategies#FIXED_NAME "fixed"},
+	 * {@link ExecutorStrategies#WORK_STEALING_NAME "work-stealing"},
+	 * {@link ExecutorStrategies#VIRTUAL_NAME "virtual"} or the class name of custom
+	 * strategy, {@link #LISTENER_EXECUTOR_PLACEHOLDER} by default
+	 */
+	String listenerExecutor() default LISTENER_EXECUTOR_PLACEHOLDER;
+
 	/**
 	 * Global {@link NacosProperties Nacos Properties}
 	 *
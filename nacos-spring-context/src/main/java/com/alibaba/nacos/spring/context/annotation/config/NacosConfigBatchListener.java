@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.annotation.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Map;
+
+import com.alibaba.nacos.api.annotation.NacosProperties;
+import com.alibaba.nacos.api.common.Constants;
+import com.alibaba.nacos.api.config.annotation.NacosConfigListener;
+
+/**
+ * Annotation that marks a method as a listener for several Nacos Configs, the configs
+ * changed within the {@link #window() window} are delivered together as a
+ * {@link Map}, whose key is dataId and value is the content, thus the derived state
+ * will be rebuilt once, e.g.
+ *
+ * <pre class="code">
+ * &#64;NacosConfigBatchListener(dataIds = { "routes", "weights" })
+ * public void onChange(Map&lt;String, String&gt; contents) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * The method must have only one parameter whose type is {@link Map}.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @see NacosConfigListener
+ * @see NacosConfigBatchListenerMethodProcessor
+ * @since 0.3.5
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface NacosConfigBatchListener {
+
+	/**
+	 * Nacos Group ID
+	 *
+	 * @return default value {@link Constants#DEFAULT_GROUP}
+	 */
+	String groupId() default Constants.DEFAULT_GROUP;
+
+	/**
+	 * Nacos Data IDs of the same {@link #groupId() group}
+	 *
+	 * @return required value.
+	 */
+	String[] dataIds();
+
+	/**
+	 * The window of aggregation in milliseconds, the configs changed within the window
+	 * are delivered once
+	 *
+	 * @return default value is 100
+	 */
+	long window() default 100L;
+
+	/**
+	 * Timeout to execute in milliseconds
+	 *
+	 * @return default value is 1000
+	 */
+	long timeout() default 1000L;
+
+	/**
+	 * The {@link NacosProperties} attribute, If not specified, it will use global Nacos
+	 * Properties.
+	 *
+	 * @return the default value is {@link NacosProperties}
+	 */
+	NacosProperties properties() default @NacosProperties;
+
+}
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.annotation.config;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.alibaba.nacos.api.config.ConfigService;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.spring.beans.factory.annotation.ConfigServiceBeanBuilder;
+import com.alibaba.nacos.spring.context.event.AnnotationListenerMethodProcessor;
+import com.alibaba.nacos.spring.context.event.ListenerMethodInvoker;
+import com.alibaba.nacos.spring.context.event.ListenerMethodInvokerFactory;
+import com.alibaba.nacos.spring.context.event.config.BatchingNacosConfigListener;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigListenerTimeoutExecutor;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigStartupTimeline;
+import com.alibaba.nacos.spring.util.NacosUtils;
+
+import org.springframework.beans.BeansException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import static com.alibaba.nacos.spring.context.event.config.NacosConfigStartupTimeline.Phase.CLIENT_CREATION;
+import static com.alibaba.nacos.spring.context.event.config.NacosConfigStartupTimeline.Phase.LISTENER_REGISTRATION;
+import static com.alibaba.nacos.spring.util.NacosBeanUtils.getConfigServiceBeanBuilder;
+import static com.alibaba.nacos.spring.util.NacosBeanUtils.getNacosConfigListenerTimeoutExecutorIfPresent;
+import static com.alibaba.nacos.spring.util.NacosBeanUtils.getNacosConfigStartupTimelineIfPresent;
+
+/**
+ * {@link NacosConfigBatchListener @NacosConfigBatchListener} {@link Method method}
+ * Processor
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @see NacosConfigBatchListener
+ * @see NacosConfigListenerMethodProcessor
+ * @see BatchingNacosConfigListener
+ * @since 0.3.5
+ */
+public class NacosConfigBatchListenerMethodProcessor
+		extends AnnotationListenerMethodProcessor<NacosConfigBatchListener> implements
+		ApplicationContextAware, ApplicationEventPublisherAware, EnvironmentAware {
+
+	/**
+	 * The bean name of {@link NacosConfigBatchListenerMethodProcessor}
+	 */
+	public static final String BEAN_NAME = "nacosConfigBatchListenerMethodProcessor";
+
+	private ConfigServiceBeanBuilder configServiceBeanBuilder;
+
+	private NacosConfigListenerTimeoutExecutor timeoutExecutor;
+
+	private Environment environment;
+
+	private ApplicationEventPublisher applicationEventPublisher;
+
+	private NacosConfigListenerMetadataPublisher metadataPublisher;
+
+	private NacosConfigStartupTimeline startupTimeline;
+
+	@Override
+	protected void processListenerMethod(String beanName, final Object bean,
+			Class<?> beanClass, NacosConfigBatchListener listener, Method method,
+			ApplicationContext applicationContext) {
+
+		final String groupId = NacosUtils.readFromEnvironment(listener.groupId(),
+				environment);
+		Set<String> dataIds = new LinkedHashSet<String>();
+		for (String dataId : listener.dataIds()) {
+			dataIds.add(NacosUtils.readFromEnvironment(dataId, environment));
+		}
+		long window = listener.window();
+		long timeout = listener.timeout();
+
+		Assert.notEmpty(listener.dataIds(), "dataIds must not be empty");
+		for (String dataId : dataIds) {
+			Assert.isTrue(StringUtils.hasText(dataId), "dataId must have content");
+		}
+		Assert.isTrue(StringUtils.hasText(groupId), "groupId must have content");
+		Assert.isTrue(window >= 0, "window must not be negative");
+		Assert.isTrue(timeout > 0, "timeout must be greater than zero");
+
+		long start = System.nanoTime();
+
+		ConfigService configService = configServiceBeanBuilder
+				.build(listener.properties());
+
+		if (startupTimeline != null) {
+			for (String dataId : dataIds) {
+				startupTimeline.record(dataId, groupId, CLIENT_CREATION, start);
+			}
+		}
+
+		final ListenerMethodInvoker methodInvoker = ListenerMethodInvokerFactory
+				.create(method);
+
+		BatchingNacosConfigListener batchingNacosConfigListener = new BatchingNacosConfigListener(
+				groupId, window, timeout, timeoutExecutor) {
+
+			@Override
+			protected void onReceived(Map<String, String> contents) {
+				// Execute target method
+				methodInvoker.invoke(bean, contents);
+			}
+		};
+
+		for (String dataId : dataIds) {
+			start = System.nanoTime();
+			try {
+				configService.addListener(dataId, groupId,
+						batchingNacosConfigListener.getListener(dataId));
+				if (startupTimeline != null) {
+					startupTimeline.record(dataId, groupId, LISTENER_REGISTRATION,
+							start);
+				}
+			}
+			catch (NacosException e) {
+				logger.error("ConfigService can't add Listener for dataId : " + dataId
+						+ " , groupId : " + groupId, e);
+			}
+		}
+
+		metadataPublisher.publish(beanName, bean, beanClass, listener,
+				listener.properties(), dataIds, groupId, method);
+	}
+
+	@Override
+	protected boolean isCandidateMethod(Object bean, Class<?> beanClass,
+			NacosConfigBatchListener listener, Method method,
+			ApplicationContext applicationContext) {
+		Class<?>[] parameterTypes = method.getParameterTypes();
+
+		if (parameterTypes.length != 1 || !Map.class.equals(parameterTypes[0])) {
+			if (logger.isWarnEnabled()) {
+				logger.warn("Batch listener method [" + method
+						+ "] must have only one parameter whose type is Map !");
+			}
+			return false;
+		}
+
+		return true;
+	}
+
+	@Override
+	public void setApplicationContext(ApplicationContext applicationContext)
+			throws BeansException {
+		configServiceBeanBuilder = getConfigServiceBeanBuilder(applicationContext);
+		timeoutExecutor = getNacosConfigListenerTimeoutExecutorIfPresent(
+				applicationContext);
+		startupTimeline = getNacosConfigStartupTimelineIfPresent(applicationContext);
+		metadataPublisher = new NacosConfigListenerMetadataPublisher(applicationContext,
+				configServiceBeanBuilder, applicationEventPublisher);
+	}
+
+	@Override
+	public void setEnvironment(Environment environment) {
+		this.environment = environment;
+	}
+
+	@Override
+	public void setApplicationEventPublisher(
+			ApplicationEventPublisher applicationEventPublisher) {
+		this.applicationEventPublisher = applicationEventPublisher;
+	}
+}
@@ -34,6 +34,7 @@ import static com.alibaba.nacos.spring.util.NacosBeanUtils.invokeNacosPropertySo
 import static com.alibaba.nacos.spring.util.NacosBeanUtils.registerGlobalNacosProperties;
 import static com.alibaba.nacos.spring.util.NacosBeanUtils.registerNacosCommonBeans;
 import static com.alibaba.nacos.spring.util.NacosBeanUtils.registerNacosConfigBeans;
+import static com.alibaba.nacos.spring.util.NacosBeanUtils.registerNacosConfigListenerExecutorStrategy;
 import static org.springframework.core.annotation.AnnotationAttributes.fromMap;
 
 /**
@@ -65,6 +66,9 @@ public class NacosConfigBeanDefinitionRegistrar
 				CONFIG_GLOBAL_NACOS_PROPERTIES_BEAN_NAME);
 		// Register Nacos Common Beans
 		registerNacosCommonBeans(registry);
+		// Register the ExecutorStrategy of Nacos Config Listeners
+		registerNacosConfigListenerExecutorStrategy(registry, environment
+				.resolvePlaceholders(attributes.getString("listenerExecutor")));
 		// Register Nacos Config Beans
 		registerNacosConfigBeans(registry, environment, beanFactory);
 		// Invoke NacosPropertySourcePostProcessor immediately
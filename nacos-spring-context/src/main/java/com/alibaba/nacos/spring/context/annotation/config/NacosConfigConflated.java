@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.annotation.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.alibaba.nacos.api.config.annotation.NacosConfigListener;
+
+/**
+ * Annotation for enabling the conflated delivery of
+ * {@link NacosConfigListener @NacosConfigListener} method, if the method is slower than
+ * the publish rate, the undelivered config will be superseded by the newer one, thus
+ * only the latest config will be processed.
+ * <p>
+ * The conflated delivery could be enabled globally by the property
+ * {@link com.alibaba.nacos.spring.context.constants.NacosConstants#NACOS_CONFIG_LISTENER_CONFLATED
+ * "nacos.config.listener.conflated"}.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @see NacosConfigListener
+ * @see NacosConfigListenerMethodProcessor
+ * @since 0.3.5
+ */
+@Target({ ElementType.METHOD, ElementType.ANNOTATION_TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface NacosConfigConflated {
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.annotation.config;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Properties;
+
+import com.alibaba.nacos.api.annotation.NacosProperties;
+import com.alibaba.nacos.spring.beans.factory.annotation.ConfigServiceBeanBuilder;
+import com.alibaba.nacos.spring.context.event.DeferredApplicationEventPublisher;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigMetadataEvent;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigMetadataRegistry;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static com.alibaba.nacos.spring.util.NacosBeanUtils.getNacosConfigMetadataRegistryIfPresent;
+import static org.springframework.core.annotation.AnnotationUtils.getAnnotationAttributes;
+
+/**
+ * The publisher of {@link NacosConfigMetadataEvent Nacos Config Meta-Data} of the
+ * listener methods, shared by {@link NacosConfigListenerMethodProcessor} and
+ * {@link NacosConfigBatchListenerMethodProcessor}. The Meta-Data is registered into
+ * {@link NacosConfigMetadataRegistry} if present, and published only if it's listened.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+class NacosConfigListenerMetadataPublisher {
+
+	private final ConfigServiceBeanBuilder configServiceBeanBuilder;
+
+	private final ApplicationEventPublisher applicationEventPublisher;
+
+	/**
+	 * Tells whether {@link NacosConfigMetadataEvent} is listened, <code>null</code> if
+	 * the context is not {@link ConfigurableApplicationContext}
+	 */
+	private final DeferredApplicationEventPublisher deferredApplicationEventPublisher;
+
+	private final NacosConfigMetadataRegistry metadataRegistry;
+
+	NacosConfigListenerMetadataPublisher(ApplicationContext applicationContext,
+			ConfigServiceBeanBuilder configServiceBeanBuilder,
+			ApplicationEventPublisher applicationEventPublisher) {
+		this.configServiceBeanBuilder = configServiceBeanBuilder;
+		this.applicationEventPublisher = applicationEventPublisher;
+		this.deferredApplicationEventPublisher = applicationContext instanceof ConfigurableApplicationContext
+				? DeferredApplicationEventPublisher
+						.getInstance((ConfigurableApplicationContext) applicationContext)
+				: null;
+		this.metadataRegistry = getNacosConfigMetadataRegistryIfPresent(
+				applicationContext);
+	}
+
+	/**
+	 * Register and publish the Meta-Data of the listener method, one for each dataId
+	 *
+	 * @param beanName the name of bean
+	 * @param bean the bean
+	 * @param beanClass the class of bean
+	 * @param listener the annotation of listener method
+	 * @param nacosProperties the {@link NacosProperties} of listener
+	 * @param dataIds the resolved dataIds
+	 * @param groupId the resolved groupId
+	 * @param method the listener method
+	 */
+	void publish(String beanName, Object bean, Class<?> beanClass, Annotation listener,
+			NacosProperties nacosProperties, Collection<String> dataIds, String groupId,
+			Method method) {
+
+		boolean listened = deferredApplicationEventPublisher == null
+				|| deferredApplicationEventPublisher
+						.hasListeners(NacosConfigMetadataEvent.class);
+
+		if (!listened && metadataRegistry == null) {
+			return;
+		}
+
+		Properties resolvedNacosProperties = configServiceBeanBuilder
+				.resolveProperties(nacosProperties);
+
+		Map<String, Object> nacosPropertiesAttributes = getAnnotationAttributes(
+				nacosProperties);
+
+		for (String dataId : dataIds) {
+
+			NacosConfigMetadataEvent metadataEvent = new NacosConfigMetadataEvent(
+					listener);
+
+			// Nacos Metadata
+			metadataEvent.setDataId(dataId);
+			metadataEvent.setGroupId(groupId);
+			metadataEvent.setNacosPropertiesAttributes(nacosPropertiesAttributes);
+			metadataEvent.setNacosProperties(resolvedNacosProperties);
+
+			// Bean Metadata
+			metadataEvent.setBeanName(beanName);
+			metadataEvent.setBean(bean);
+			metadataEvent.setBeanType(beanClass);
+			metadataEvent.setAnnotatedElement(method);
+
+			if (metadataRegistry != null) {
+				metadataRegistry.register(metadataEvent);
+			}
+
+			// Publish event
+			if (listened) {
+				applicationEventPublisher.publishEvent(metadataEvent);
+			}
+		}
+	}
+}
@@ -16,20 +16,26 @@
  */
 package com.alibaba.nacos.spring.context.annotation.config;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
-import java.util.Map;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
 
-import com.alibaba.nacos.api.annotation.NacosProperties;
 import com.alibaba.nacos.api.config.ConfigService;
 import com.alibaba.nacos.api.config.annotation.NacosConfigListener;
 import com.alibaba.nacos.api.config.convert.NacosConfigConverter;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.spring.beans.factory.annotation.ConfigServiceBeanBuilder;
 import com.alibaba.nacos.spring.context.event.AnnotationListenerMethodProcessor;
-import com.alibaba.nacos.spring.context.event.config.NacosConfigMetadataEvent;
+import com.alibaba.nacos.spring.context.event.ListenerMethodInvoker;
+import com.alibaba.nacos.spring.context.event.ListenerMethodInvokerFactory;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigListenerTimeoutExecutor;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigStartupTimeline;
 import com.alibaba.nacos.spring.context.event.config.TimeoutNacosConfigListener;
 import com.alibaba.nacos.spring.convert.converter.config.DefaultNacosConfigConverter;
+import com.alibaba.nacos.spring.convert.converter.config.ThreadSafeNacosConfigConverter;
 import com.alibaba.nacos.spring.factory.NacosServiceFactory;
 import com.alibaba.nacos.spring.util.NacosUtils;
 
@@ -47,11 +53,16 @@ import org.springframework.util.Assert;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_CONFIG_LISTENER_CONFLATED;
+import static com.alibaba.nacos.spring.context.event.config.NacosConfigStartupTimeline.Phase.CLIENT_CREATION;
+import static com.alibaba.nacos.spring.context.event.config.NacosConfigStartupTimeline.Phase.LISTENER_REGISTRATION;
 import static com.alibaba.nacos.spring.util.GlobalNacosPropertiesSource.CONFIG;
 import static com.alibaba.nacos.spring.util.NacosBeanUtils.getConfigServiceBeanBuilder;
+import static com.alibaba.nacos.spring.util.NacosBeanUtils.getNacosConfigListenerTimeoutExecutorIfPresent;
+import static com.alibaba.nacos.spring.util.NacosBeanUtils.getNacosConfigStartupTimelineIfPresent;
 import static com.alibaba.nacos.spring.util.NacosBeanUtils.getNacosServiceFactoryBean;
 import static org.springframework.beans.BeanUtils.instantiateClass;
-import static org.springframework.core.annotation.AnnotationUtils.getAnnotationAttributes;
+import static org.springframework.core.annotation.AnnotationUtils.findAnnotation;
 
 /**
  * {@link NacosConfigListener @NacosConfigListener} {@link Method method} Processor
@@ -84,10 +95,18 @@ public class NacosConfigListenerMethodProcessor
 
 	private ConfigServiceBeanBuilder configServiceBeanBuilder;
 
+	private NacosConfigListenerTimeoutExecutor timeoutExecutor;
+
+	private final List<TimeoutNacosConfigListener> conflatedListeners = new CopyOnWriteArrayList<TimeoutNacosConfigListener>();
+
 	private Environment environment;
 
 	private ApplicationEventPublisher applicationEventPublisher;
 
+	private NacosConfigListenerMetadataPublisher metadataPublisher;
+
+	private NacosConfigStartupTimeline startupTimeline;
+
 	@Override
 	protected void processListenerMethod(String beanName, final Object bean,
 			Class<?> beanClass, final NacosConfigListener listener, final Method method,
@@ -106,61 +125,87 @@ public class NacosConfigListenerMethodProcessor
 		Assert.isTrue(StringUtils.hasText(groupId), "groupId must have content");
 		Assert.isTrue(timeout > 0, "timeout must be greater than zero");
 
+		boolean conflated = isConflated(method);
+
+		// Resolve the converter once rather than each notification
+		Class<?> targetType = method.getParameterTypes()[0];
+		final NacosConfigConverter<?> sharedConfigConverter = determineNacosConfigConverter(
+				targetType, listener, type);
+		final Constructor<?> converterConstructor = sharedConfigConverter instanceof ThreadSafeNacosConfigConverter
+				? null
+				: resolveConverterConstructor(sharedConfigConverter.getClass());
+		final ListenerMethodInvoker methodInvoker = ListenerMethodInvokerFactory
+				.create(method);
+
+		long start = System.nanoTime();
+
 		ConfigService configService = configServiceBeanBuilder
 				.build(listener.properties());
 
+		if (startupTimeline != null) {
+			startupTimeline.record(dataId, groupId, CLIENT_CREATION, start);
+			start = System.nanoTime();
+		}
+
+		TimeoutNacosConfigListener timeoutNacosConfigListener = new TimeoutNacosConfigListener(
+				dataId, groupId, timeout, timeoutExecutor, conflated) {
+
+			@Override
+			protected void onReceived(String config) {
+				NacosConfigConverter<?> configConverter = converterConstructor == null
+						? sharedConfigConverter
+						: (NacosConfigConverter<?>) instantiateClass(converterConstructor);
+				Object parameterValue = configConverter.convert(config);
+				// Execute target method
+				methodInvoker.invoke(bean, parameterValue);
+			}
+		};
+
 		try {
-			configService.addListener(dataId, groupId,
-					new TimeoutNacosConfigListener(dataId, groupId, timeout) {
-
-						@Override
-						protected void onReceived(String config) {
-							Class<?> targetType = method.getParameterTypes()[0];
-							NacosConfigConverter configConverter = determineNacosConfigConverter(
-									targetType, listener, type);
-							Object parameterValue = configConverter.convert(config);
-							// Execute target method
-							ReflectionUtils.invokeMethod(method, bean, parameterValue);
-						}
-					});
+			configService.addListener(dataId, groupId, timeoutNacosConfigListener);
+			if (conflated) {
+				conflatedListeners.add(timeoutNacosConfigListener);
+			}
+			if (startupTimeline != null) {
+				startupTimeline.record(dataId, groupId, LISTENER_REGISTRATION, start);
+			}
 		}
 		catch (NacosException e) {
 			logger.error("ConfigService can't add Listener for dataId : " + dataId
 					+ " , groupId : " + groupId, e);
 		}
 
-		publishMetadataEvent(beanName, bean, beanClass, dataId, groupId, listener,
-				method);
+		metadataPublisher.publish(beanName, bean, beanClass, listener,
+				listener.properties(), Collections.singleton(dataId), groupId, method);
 
 	}
 
-	private void publishMetadataEvent(String beanName, Object bean, Class<?> beanClass,
-			String dataId, String groupId, NacosConfigListener listener, Method method) {
-
-		NacosProperties nacosProperties = listener.properties();
-
-		Properties resolvedNacosProperties = configServiceBeanBuilder
-				.resolveProperties(nacosProperties);
-
-		NacosConfigMetadataEvent metadataEvent = new NacosConfigMetadataEvent(listener);
-
-		// Nacos Metadata
-		metadataEvent.setDataId(dataId);
-		metadataEvent.setGroupId(groupId);
-
-		Map<String, Object> nacosPropertiesAttributes = getAnnotationAttributes(
-				nacosProperties);
-		metadataEvent.setNacosPropertiesAttributes(nacosPropertiesAttributes);
-		metadataEvent.setNacosProperties(resolvedNacosProperties);
-
-		// Bean Metadata
-		metadataEvent.setBeanName(beanName);
-		metadataEvent.setBean(bean);
-		metadataEvent.setBeanType(beanClass);
-		metadataEvent.setAnnotatedElement(method);
+	/**
+	 * Is the delivery of listener method conflated or not
+	 *
+	 * @param method the listener method
+	 * @return If {@link NacosConfigConflated @NacosConfigConflated} present or enabled
+	 * globally, return <code>true</code>
+	 */
+	private boolean isConflated(Method method) {
+		return findAnnotation(method, NacosConfigConflated.class) != null
+				|| environment.getProperty(NACOS_CONFIG_LISTENER_CONFLATED, boolean.class,
+						false);
+	}
 
-		// Publish event
-		applicationEventPublisher.publishEvent(metadataEvent);
+	/**
+	 * Get the total number of configs superseded before delivery of
+	 * {@link NacosConfigConflated conflated} listener methods
+	 *
+	 * @return the total number of superseded configs
+	 * @since 0.3.5
+	 */
+	public long getSupersededCount() {
+		long supersededCount = 0;
+		for (TimeoutNacosConfigListener conflatedListener : conflatedListeners) {
+			supersededCount += conflatedListener.getSupersededCount();
+		}
+		return supersededCount;
 	}
 
 	private ConfigService resolveConfigService(Properties nacosProperties,
@@ -194,10 +239,10 @@ public class NacosConfigListenerMethodProcessor
 
 		Class<?> targetType = parameterTypes[0];
 
-		NacosConfigConverter configConverter = determineNacosConfigConverter(targetType,
+		NacosConfigConverter<?> configConverter = determineNacosConfigConverter(targetType,
 				listener, listener.type().getType());
 
-		if (!configConverter.canConvert(targetType)) {
+		if (!canConvert(configConverter, targetType)) {
 			if (logger.isWarnEnabled()) {
 				logger.warn("Listener method [" + method
 						+ "] is not a candidate , thus its parameter type [" + targetType
@@ -209,28 +254,54 @@ public class NacosConfigListenerMethodProcessor
 		return true;
 	}
 
-	private NacosConfigConverter determineNacosConfigConverter(Class<?> targetType,
+	private NacosConfigConverter<?> determineNacosConfigConverter(Class<?> targetType,
 			NacosConfigListener listener, String type) {
 
 		Class<?> converterClass = listener.converter();
 
-		NacosConfigConverter configConverter = null;
+		NacosConfigConverter<?> configConverter = null;
 
 		// Use default implementation
 		if (NacosConfigConverter.class.equals(converterClass)) {
-			configConverter = new DefaultNacosConfigConverter(targetType,
-					conversionService, type);
+			configConverter = newDefaultNacosConfigConverter(targetType, type);
 
 		}
 		else {
 			// Use customized implementation
-			configConverter = (NacosConfigConverter) instantiateClass(converterClass);
+			configConverter = (NacosConfigConverter<?>) instantiateClass(converterClass);
 
 		}
 
 		return configConverter;
 	}
 
+	/**
+	 * The target type of customized {@link NacosConfigConverter} is unknown, it's
+	 * checked by {@link NacosConfigConverter#canConvert(Class)} itself
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> boolean canConvert(NacosConfigConverter<T> configConverter,
+			Class<?> targetType) {
+		return configConverter.canConvert((Class<T>) targetType);
+	}
+
+	private <T> NacosConfigConverter<T> newDefaultNacosConfigConverter(
+			Class<T> targetType, String type) {
+		return new DefaultNacosConfigConverter<T>(targetType, conversionService, type);
+	}
+
+	private Constructor<?> resolveConverterConstructor(Class<?> converterClass) {
+		try {
+			Constructor<?> constructor = converterClass.getDeclaredConstructor();
+			ReflectionUtils.makeAccessible(constructor);
+			return constructor;
+		}
+		catch (NoSuchMethodException e) {
+			throw new BeanCreationException("NacosConfigConverter ["
+					+ converterClass.getName() + "] must have a no-arg constructor", e);
+		}
+	}
+
 	@Override
 	public void setApplicationContext(ApplicationContext applicationContext)
 			throws BeansException {
@@ -238,6 +309,11 @@ public class NacosConfigListenerMethodProcessor
 		nacosServiceFactory = getNacosServiceFactoryBean(applicationContext);
 		conversionService = determineConversionService(applicationContext);
 		configServiceBeanBuilder = getConfigServiceBeanBuilder(applicationContext);
+		timeoutExecutor = getNacosConfigListenerTimeoutExecutorIfPresent(
+				applicationContext);
+		startupTimeline = getNacosConfigStartupTimelineIfPresent(applicationContext);
+		metadataPublisher = new NacosConfigListenerMetadataPublisher(applicationContext,
+				configServiceBeanBuilder, applicationEventPublisher);
 	}
 
 	private ConversionService determineConversionService(
@@ -22,14 +22,19 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 
 import com.alibaba.nacos.api.config.annotation.NacosValue;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigStartupTimeline;
 import com.alibaba.nacos.spring.util.ObjectUtils;
 import com.alibaba.nacos.spring.util.Tuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.annotation.InjectionMetadata;
 
+import static com.alibaba.nacos.spring.context.event.config.NacosConfigStartupTimeline.Phase.VALUE_SCANNING;
+import static com.alibaba.nacos.spring.util.NacosBeanUtils.getNacosConfigStartupTimelineIfPresent;
+
 /**
  * {@link org.springframework.beans.factory.config.BeanPostProcessor} implementation
  *
@@ -47,6 +52,14 @@ public class NacosValueAnnotationBeanPostProcessor
 	 */
 	public static final String BEAN_NAME = "nacosValueAnnotationBeanPostProcessor";
 
+	private NacosConfigStartupTimeline startupTimeline;
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		super.setBeanFactory(beanFactory);
+		this.startupTimeline = getNacosConfigStartupTimelineIfPresent(beanFactory);
+	}
+
 	@Override
 	protected Object doGetInjectedBean(NacosValue annotation, Object bean,
 			String beanName, Class<?> injectedType,
@@ -103,10 +116,16 @@ public class NacosValueAnnotationBeanPostProcessor
 	public Object postProcessBeforeInitialization(Object bean, final String beanName)
 			throws BeansException {
 
+		long start = System.nanoTime();
+
 		doWithFields(bean, beanName, NacosValue.class);
 
 		doWithMethods(bean, beanName, NacosValue.class);
 
+		if (startupTimeline != null) {
+			startupTimeline.record(null, null, VALUE_SCANNING, start);
+		}
+
 		return super.postProcessBeforeInitialization(bean, beanName);
 	}
 
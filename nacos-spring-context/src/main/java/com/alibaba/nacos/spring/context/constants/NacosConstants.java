@@ -38,4 +38,238 @@ public interface NacosConstants {
 	int DEFAULT_NACOS_CONFIG_LISTENER_PARALLELISM = Runtime.getRuntime()
 			.availableProcessors();
 
-}
\ No newline at end of file
+	/**
+	 * The capacity of pending notifications per dataId and group of Nacos Config
+	 * Listener
+	 */
+	String NACOS_CONFIG_LISTENER_QUEUE_CAPACITY = NacosProperties.PREFIX
+			+ "config.listener.queue-capacity";
+
+	/**
+	 * The default capacity of pending notifications per dataId and group of Nacos
+	 * Config Listener
+	 */
+	int DEFAULT_NACOS_CONFIG_LISTENER_QUEUE_CAPACITY = 1024;
+
+	/**
+	 * Whether the undelivered notification of Nacos Config Listener will be superseded
+	 * by the newer one or not
+	 */
+	String NACOS_CONFIG_LISTENER_CONFLATED = NacosProperties.PREFIX
+			+ "config.listener.conflated";
+
+	/**
+	 * The {@link com.alibaba.nacos.spring.util.concurrent.ExecutorStrategy executor
+	 * strategy} of all Nacos Config Listeners, the value is one of "fixed",
+	 * "work-stealing", "virtual" or the class name of custom strategy
+	 */
+	String NACOS_CONFIG_LISTENER_EXECUTOR = NacosProperties.PREFIX
+			+ "config.listener.executor";
+
+	/**
+	 * The default executor strategy of Nacos Config Listener (the fixed thread pool)
+	 */
+	String DEFAULT_NACOS_CONFIG_LISTENER_EXECUTOR = "fixed";
+
+	/**
+	 * The parallelism of timeout Nacos Config Listener
+	 */
+	String NACOS_CONFIG_LISTENER_TIMEOUT_PARALLELISM = NacosProperties.PREFIX
+			+ "config.listener.timeout.parallelism";
+
+	/**
+	 * The default parallelism of timeout Nacos Config Listener
+	 */
+	int DEFAULT_NACOS_CONFIG_LISTENER_TIMEOUT_PARALLELISM = 8;
+
+	/**
+	 * The parallelism of asynchronous Nacos Config operations
+	 */
+	String NACOS_CONFIG_ASYNC_PARALLELISM = NacosProperties.PREFIX
+			+ "config.async.parallelism";
+
+	/**
+	 * The default parallelism of asynchronous Nacos Config operations
+	 */
+	int DEFAULT_NACOS_CONFIG_ASYNC_PARALLELISM = 4;
+
+	/**
+	 * The capacity of pending asynchronous Nacos Config operations
+	 */
+	String NACOS_CONFIG_ASYNC_QUEUE_CAPACITY = NacosProperties.PREFIX
+			+ "config.async.queue-capacity";
+
+	/**
+	 * The default capacity of pending asynchronous Nacos Config operations
+	 */
+	int DEFAULT_NACOS_CONFIG_ASYNC_QUEUE_CAPACITY = 1024;
+
+	/**
+	 * Whether Nacos Config events are multicast asynchronously or not
+	 */
+	String NACOS_CONFIG_EVENT_ASYNC = NacosProperties.PREFIX + "config.event.async";
+
+	/**
+	 * The parallelism of asynchronous Nacos Config events multicast
+	 */
+	String NACOS_CONFIG_EVENT_ASYNC_PARALLELISM = NacosProperties.PREFIX
+			+ "config.event.async.parallelism";
+
+	/**
+	 * The default parallelism of asynchronous Nacos Config events multicast
+	 */
+	int DEFAULT_NACOS_CONFIG_EVENT_ASYNC_PARALLELISM = 4;
+
+	/**
+	 * The capacity of pending Nacos Config events per listener class
+	 */
+	String NACOS_CONFIG_EVENT_ASYNC_QUEUE_CAPACITY = NacosProperties.PREFIX
+			+ "config.event.async.queue-capacity";
+
+	/**
+	 * The default capacity of pending Nacos Config events per listener class
+	 */
+	int DEFAULT_NACOS_CONFIG_EVENT_ASYNC_QUEUE_CAPACITY = 1024;
+
+	/**
+	 * The overflow policy of pending Nacos Config events, the options are "BLOCK",
+	 * "DROP_OLDEST" and "CONFLATE"
+	 */
+	String NACOS_CONFIG_EVENT_ASYNC_OVERFLOW_POLICY = NacosProperties.PREFIX
+			+ "config.event.async.overflow-policy";
+
+	/**
+	 * Whether the Nacos Config Meta-Data are logged or not
+	 */
+	String NACOS_CONFIG_METADATA_LOGGING = NacosProperties.PREFIX
+			+ "config.metadata.logging";
+
+	/**
+	 * The Nacos Config Meta-Data are not logged by default, they could be queried from
+	 * {@link com.alibaba.nacos.spring.context.event.config.NacosConfigMetadataRegistry}
+	 */
+	boolean DEFAULT_NACOS_CONFIG_METADATA_LOGGING = false;
+
+	/**
+	 * The parallelism of loading {@link com.alibaba.nacos.spring.context.annotation.config.NacosPropertySource
+	 * Nacos property sources} on startup, the property sources are loaded one by one if
+	 * it's 1, so is the one whose dataId or groupId refers to the former ones
+	 */
+	String NACOS_CONFIG_PROPERTY_SOURCE_PARALLELISM = NacosProperties.PREFIX
+			+ "config.property-source.parallelism";
+
+	/**
+	 * The default parallelism of loading Nacos property sources on startup
+	 */
+	int DEFAULT_NACOS_CONFIG_PROPERTY_SOURCE_PARALLELISM = 8;
+
+	/**
+	 * The file of {@link com.alibaba.nacos.spring.util.config.NacosConfigSnapshotStore
+	 * Nacos config snapshots}, the Nacos property sources are started from the snapshots
+	 * and reconciled against the Nacos server asynchronously if it's specified
+	 */
+	String NACOS_CONFIG_SNAPSHOT_FILE = NacosProperties.PREFIX + "config.snapshot.file";
+
+	/**
+	 * Whether the Nacos clients are created on demand or not, the real client is
+	 * created by the background warm-up task or on the first call, whichever comes
+	 * first
+	 */
+	String NACOS_CLIENT_LAZY = NacosProperties.PREFIX + "client.lazy";
+
+	/**
+	 * The Nacos clients are created eagerly by default
+	 */
+	boolean DEFAULT_NACOS_CLIENT_LAZY = false;
+
+	/**
+	 * Whether the instances of subscribed services are served from the local snapshots
+	 * updated by the Nacos push or not, the changes are published as
+	 * {@link com.alibaba.nacos.spring.context.event.discovery.NacosInstancesChangedEvent}
+	 */
+	String NACOS_DISCOVERY_CACHE = NacosProperties.PREFIX + "discovery.cache";
+
+	/**
+	 * The instances are queried from the Nacos client by default
+	 */
+	boolean DEFAULT_NACOS_DISCOVERY_CACHE = false;
+
+	/**
+	 * Whether the Nacos Config bootstrap is recorded by
+	 * {@link com.alibaba.nacos.spring.context.event.config.NacosConfigStartupTimeline}
+	 * or not
+	 */
+	String NACOS_CONFIG_STARTUP_TIMELINE = NacosProperties.PREFIX
+			+ "config.startup-timeline";
+
+	/**
+	 * The Nacos Config bootstrap is not recorded by default
+	 */
+	boolean DEFAULT_NACOS_CONFIG_STARTUP_TIMELINE = false;
+
+	/**
+	 * The {@link com.alibaba.nacos.spring.util.discovery.LoadBalancer} of
+	 * {@link com.alibaba.nacos.spring.factory.NacosLoadBalancer}, the built-in name
+	 * ("p2c" or "consistent-hash") or the class name of custom one
+	 */
+	String NACOS_DISCOVERY_LOAD_BALANCER = NacosProperties.PREFIX
+			+ "discovery.load-balancer";
+
+	/**
+	 * The power-of-two-choices is used by default
+	 */
+	String DEFAULT_NACOS_DISCOVERY_LOAD_BALANCER = "p2c";
+
+	/**
+	 * The local zone, the instances whose metadata "zone" is same are preferred by
+	 * {@link com.alibaba.nacos.spring.factory.NacosLoadBalancer}
+	 */
+	String NACOS_DISCOVERY_ZONE = NacosProperties.PREFIX + "discovery.zone";
+
+	/**
+	 * The parallelism of
+	 * {@link com.alibaba.nacos.spring.factory.BatchNamingService batch} registration
+	 */
+	String NACOS_DISCOVERY_BATCH_PARALLELISM = NacosProperties.PREFIX
+			+ "discovery.batch.parallelism";
+
+	/**
+	 * The default parallelism of batch registration
+	 */
+	int DEFAULT_NACOS_DISCOVERY_BATCH_PARALLELISM = 8;
+
+	/**
+	 * The max attempts per instance of batch registration, including the first one
+	 */
+	String NACOS_DISCOVERY_BATCH_MAX_ATTEMPTS = NacosProperties.PREFIX
+			+ "discovery.batch.max-attempts";
+
+	/**
+	 * The default max attempts per instance of batch registration
+	 */
+	int DEFAULT_NACOS_DISCOVERY_BATCH_MAX_ATTEMPTS = 3;
+
+	/**
+	 * The initial backoff in milliseconds before the retry of batch registration
+	 */
+	String NACOS_DISCOVERY_BATCH_BACKOFF = NacosProperties.PREFIX
+			+ "discovery.batch.backoff";
+
+	/**
+	 * The default initial backoff in milliseconds
+	 */
+	long DEFAULT_NACOS_DISCOVERY_BATCH_BACKOFF = 200;
+
+	/**
+	 * The timeout in milliseconds of deregistering the batch registered instances on
+	 * shutdown, non-positive means they are not deregistered
+	 */
+	String NACOS_DISCOVERY_BATCH_SHUTDOWN_TIMEOUT = NacosProperties.PREFIX
+			+ "discovery.batch.shutdown-timeout";
+
+	/**
+	 * The default timeout in milliseconds of deregistering on shutdown
+	 */
+	long DEFAULT_NACOS_DISCOVERY_BATCH_SHUTDOWN_TIMEOUT = 10000;
+
+}
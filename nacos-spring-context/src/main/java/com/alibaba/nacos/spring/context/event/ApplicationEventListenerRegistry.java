@@ -0,0 +1,327 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.event;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.AbstractApplicationEventMulticaster;
+import org.springframework.context.event.ApplicationEventMulticaster;
+import org.springframework.context.event.SmartApplicationListener;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * The registry of {@link ApplicationEvent event} types which have
+ * {@link ApplicationListener listeners} in Spring ApplicationContext and its ancestors,
+ * the publisher could skip building the {@link ApplicationEvent event} that nobody
+ * listens to.
+ * <p>
+ * The listeners are resolved after {@link #refresh() refresh}, before that, all event
+ * types are regarded as listened. The result of each event type is cached until the
+ * count of the listeners registered in the context and its ancestors changes, e.g. the
+ * one added by {@link org.springframework.context.ConfigurableApplicationContext#addApplicationListener
+ * addApplicationListener} invalidates the cache, the lookup only sums the sizes of the
+ * listener sets otherwise. The listener whose event type can't be resolved,
+ * e.g. the raw {@link ApplicationListener}, is regarded as listening to all event
+ * types, so is the context whose listeners can't be resolved.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @see DeferredApplicationEventPublisher
+ * @since 0.3.5
+ */
+public class ApplicationEventListenerRegistry {
+
+	/**
+	 * {@link AbstractApplicationEventMulticaster#getApplicationListeners()} is protected
+	 */
+	private static final Method GET_MULTICASTER_LISTENERS_METHOD = findMulticasterListenersMethod();
+
+	/**
+	 * The retriever holding the listeners added into
+	 * {@link AbstractApplicationEventMulticaster}, which is private
+	 */
+	private static final Field MULTICASTER_RETRIEVER_FIELD = findMulticasterRetrieverField();
+
+	private final ApplicationContext context;
+
+	/**
+	 * The cache of the listeners resolved, <code>null</code> if not
+	 * {@link #refresh() refreshed}
+	 */
+	private volatile ResolvedListeners resolvedListeners;
+
+	public ApplicationEventListenerRegistry(ApplicationContext context) {
+		this.context = context;
+	}
+
+	private static Method findMulticasterListenersMethod() {
+		Method method = ReflectionUtils.findMethod(
+				AbstractApplicationEventMulticaster.class, "getApplicationListeners");
+		if (method != null) {
+			try {
+				ReflectionUtils.makeAccessible(method);
+			}
+			catch (RuntimeException e) {
+				method = null;
+			}
+		}
+		return method;
+	}
+
+	private static Field findMulticasterRetrieverField() {
+		Field field = ReflectionUtils.findField(AbstractApplicationEventMulticaster.class,
+				"defaultRetriever");
+		if (field != null) {
+			try {
+				ReflectionUtils.makeAccessible(field);
+			}
+			catch (RuntimeException e) {
+				field = null;
+			}
+		}
+		return field;
+	}
+
+	/**
+	 * Has any {@link ApplicationListener} of the event type or not
+	 *
+	 * @param eventType the type of {@link ApplicationEvent}
+	 * @return If not {@link #refresh() refreshed} or any {@link ApplicationListener} is
+	 * present, return <code>true</code>
+	 */
+	public boolean hasListeners(Class<? extends ApplicationEvent> eventType) {
+		List<ApplicationListener<?>> listeners = getListeners(eventType);
+		return listeners == null || !listeners.isEmpty();
+	}
+
+	/**
+	 * Get the {@link ApplicationListener listeners} supporting the event type, including
+	 * the ones of ancestors
+	 *
+	 * @param eventType the type of {@link ApplicationEvent}
+	 * @return the read-only {@link List} of listeners, or <code>null</code> if not
+	 * {@link #refresh() refreshed} or they can't be resolved
+	 */
+	public List<ApplicationListener<?>> getListeners(
+			Class<? extends ApplicationEvent> eventType) {
+		ResolvedListeners resolved = this.resolvedListeners;
+		if (resolved == null || resolved.listenerSets == null) { // unknown
+			return null;
+		}
+		int listenerCount = resolved.getCurrentListenerCount();
+		if (resolved.listenerCount != listenerCount) {
+			// The listeners are changed since resolved
+			resolved = new ResolvedListeners(resolved.listenerSets, listenerCount,
+					getAllApplicationListeners());
+			this.resolvedListeners = resolved;
+		}
+		return resolved.getListeners(eventType);
+	}
+
+	/**
+	 * Refresh the registry when the {@link ApplicationListener listeners} are changed,
+	 * e.g. Spring ApplicationContext is refreshed.
+	 */
+	public void refresh() {
+		// The listeners are resolved lazily on the first lookup
+		resolvedListeners = new ResolvedListeners(getAllListenerSets(), -1, null);
+	}
+
+	/**
+	 * Get the live sets of the {@link ApplicationListener listeners} and listener bean
+	 * names registered in the context and its ancestors, whose sizes change as any
+	 * listener is added, so the change is detected without copying or resolving them.
+	 *
+	 * @return <code>null</code> if they can't be resolved
+	 */
+	private List<Collection<?>> getAllListenerSets() {
+		List<Collection<?>> listenerSets = new ArrayList<Collection<?>>();
+		for (ApplicationContext current = context; current != null; current = current
+				.getParent()) {
+			Object retriever = getMulticasterRetriever(current);
+			if (retriever == null) {
+				return null;
+			}
+			Collection<?> listeners = getRetrieverSet(retriever, "applicationListeners");
+			Collection<?> listenerBeans = getRetrieverSet(retriever,
+					"applicationListenerBeans");
+			if (listeners == null || listenerBeans == null) {
+				return null;
+			}
+			listenerSets.add(
+					((AbstractApplicationContext) current).getApplicationListeners());
+			listenerSets.add(listeners);
+			listenerSets.add(listenerBeans);
+		}
+		return listenerSets;
+	}
+
+	private static Object getMulticasterRetriever(ApplicationContext context) {
+		if (!(context instanceof AbstractApplicationContext)
+				|| MULTICASTER_RETRIEVER_FIELD == null || !context.containsBean(
+						AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME)) {
+			return null;
+		}
+		Object multicaster = context.getBean(
+				AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME);
+		if (!(multicaster instanceof AbstractApplicationEventMulticaster)) {
+			return null;
+		}
+		return ReflectionUtils.getField(MULTICASTER_RETRIEVER_FIELD, multicaster);
+	}
+
+	private static Collection<?> getRetrieverSet(Object retriever, String name) {
+		Field field = ReflectionUtils.findField(retriever.getClass(), name);
+		if (field == null || !Collection.class.isAssignableFrom(field.getType())) {
+			return null;
+		}
+		try {
+			ReflectionUtils.makeAccessible(field);
+		}
+		catch (RuntimeException e) {
+			return null;
+		}
+		return (Collection<?>) ReflectionUtils.getField(field, retriever);
+	}
+
+	/**
+	 * Get all {@link ApplicationListener listeners} of the context and its ancestors,
+	 * which the event will be published to
+	 *
+	 * @return <code>null</code> if they can't be resolved
+	 */
+	private Set<ApplicationListener<?>> getAllApplicationListeners() {
+		Set<ApplicationListener<?>> allListeners = new LinkedHashSet<ApplicationListener<?>>();
+		for (ApplicationContext current = context; current != null; current = current
+				.getParent()) {
+			Collection<ApplicationListener<?>> listeners = getApplicationListeners(
+					current);
+			if (listeners == null) {
+				return null;
+			}
+			allListeners.addAll(listeners);
+		}
+		return allListeners;
+	}
+
+	/**
+	 * Get all {@link ApplicationListener listeners} of the context, including the ones
+	 * have been added into {@link ApplicationEventMulticaster} directly.
+	 *
+	 * @param context {@link ApplicationContext}
+	 * @return <code>null</code> if they can't be resolved
+	 */
+	private static Collection<ApplicationListener<?>> getApplicationListeners(
+			ApplicationContext context) {
+		if (!(context instanceof AbstractApplicationContext)
+				|| GET_MULTICASTER_LISTENERS_METHOD == null || !context.containsBean(
+						AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME)) {
+			return null;
+		}
+		Object multicaster = context.getBean(
+				AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME);
+		if (!(multicaster instanceof AbstractApplicationEventMulticaster)) {
+			return null;
+		}
+		Set<ApplicationListener<?>> listeners = new LinkedHashSet<ApplicationListener<?>>(
+				((AbstractApplicationContext) context).getApplicationListeners());
+		@SuppressWarnings("unchecked")
+		Collection<ApplicationListener<?>> multicasterListeners = (Collection<ApplicationListener<?>>) ReflectionUtils
+				.invokeMethod(GET_MULTICASTER_LISTENERS_METHOD, multicaster);
+		listeners.addAll(multicasterListeners);
+		return listeners;
+	}
+
+	private static boolean supportsEventType(ApplicationListener<?> listener,
+			Class<? extends ApplicationEvent> eventType) {
+		if (listener instanceof SmartApplicationListener) {
+			return ((SmartApplicationListener) listener).supportsEventType(eventType);
+		}
+		Class<?> declaredEventType = GenericTypeResolver.resolveTypeArgument(
+				AopUtils.getTargetClass(listener), ApplicationListener.class);
+		return declaredEventType == null || declaredEventType.isAssignableFrom(eventType);
+	}
+
+	/**
+	 * The {@link ApplicationListener listeners} supporting each event type, resolved
+	 * from the same listeners
+	 */
+	private static class ResolvedListeners {
+
+		/**
+		 * The live listener sets, <code>null</code> if they can't be resolved
+		 */
+		private final List<Collection<?>> listenerSets;
+
+		private final int listenerCount;
+
+		/**
+		 * All listeners, <code>null</code> if they can't be resolved
+		 */
+		private final Set<ApplicationListener<?>> allListeners;
+
+		private final ConcurrentMap<Class<?>, List<ApplicationListener<?>>> eventTypeListeners = new ConcurrentHashMap<Class<?>, List<ApplicationListener<?>>>();
+
+		private ResolvedListeners(List<Collection<?>> listenerSets, int listenerCount,
+				Set<ApplicationListener<?>> allListeners) {
+			this.listenerSets = listenerSets;
+			this.listenerCount = listenerCount;
+			this.allListeners = allListeners;
+		}
+
+		private int getCurrentListenerCount() {
+			int count = 0;
+			for (Collection<?> listenerSet : listenerSets) {
+				count += listenerSet.size();
+			}
+			return count;
+		}
+
+		private List<ApplicationListener<?>> getListeners(
+				Class<? extends ApplicationEvent> eventType) {
+			if (allListeners == null) { // unknown
+				return null;
+			}
+			List<ApplicationListener<?>> listeners = eventTypeListeners.get(eventType);
+			if (listeners == null) {
+				List<ApplicationListener<?>> supportedListeners = new ArrayList<ApplicationListener<?>>();
+				for (ApplicationListener<?> listener : allListeners) {
+					if (supportsEventType(listener, eventType)) {
+						supportedListeners.add(listener);
+					}
+				}
+				listeners = Collections.unmodifiableList(supportedListeners);
+				eventTypeListeners.put(eventType, listeners);
+			}
+			return listeners;
+		}
+	}
+}
@@ -17,8 +17,12 @@
 package com.alibaba.nacos.spring.context.event;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
+import com.alibaba.nacos.spring.context.event.config.AsyncNacosConfigEventMulticaster;
+
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationEventPublisher;
@@ -35,6 +39,16 @@ import org.springframework.context.support.AbstractApplicationContext;
  * hold all early {@link ApplicationEvent events} temporary until
  * {@link ConfigurableApplicationContext#isRunning() Spring ApplicationContext is active},
  * and then those {@link ApplicationEvent events} will be replayed.
+ * <p>
+ * The publisher could check whether any {@link ApplicationListener} is present by
+ * {@link #hasListeners(Class)} before building the {@link ApplicationEvent event}.
+ * <p>
+ * The instance is supposed to be shared in the Spring ApplicationContext by
+ * {@link #getInstance(ConfigurableApplicationContext)}, thus all early events are
+ * replayed by one listener in the order of publishing.
+ * <p>
+ * The Nacos Config events are multicast by {@link AsyncNacosConfigEventMulticaster} if
+ * it's enabled.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
  * @since 0.1.0
@@ -42,22 +56,76 @@ import org.springframework.context.support.AbstractApplicationContext;
 public class DeferredApplicationEventPublisher
 		implements ApplicationEventPublisher, ApplicationListener<ContextRefreshedEvent> {
 
+	/**
+	 * The bean name of shared {@link DeferredApplicationEventPublisher}
+	 */
+	public static final String BEAN_NAME = "nacosDeferredApplicationEventPublisher";
+
 	private final ConfigurableApplicationContext context;
 
 	// fix issue #85
 	private final ConcurrentLinkedQueue<ApplicationEvent> deferredEvents = new ConcurrentLinkedQueue<ApplicationEvent>();
 
+	private final ApplicationEventListenerRegistry listenerRegistry;
+
+	private volatile AsyncNacosConfigEventMulticaster asyncMulticaster;
+
 	public DeferredApplicationEventPublisher(ConfigurableApplicationContext context) {
 		this.context = context;
+		this.listenerRegistry = new ApplicationEventListenerRegistry(context);
 		this.context.addApplicationListener(this);
 	}
 
+	/**
+	 * Get the shared {@link DeferredApplicationEventPublisher} of the Spring
+	 * ApplicationContext, it will be created and registered as a singleton if absent.
+	 *
+	 * @param context {@link ConfigurableApplicationContext}
+	 * @return non-null
+	 * @since 0.3.5
+	 */
+	public static DeferredApplicationEventPublisher getInstance(
+			ConfigurableApplicationContext context) {
+		ConfigurableListableBeanFactory beanFactory;
+		try {
+			beanFactory = context.getBeanFactory();
+		}
+		catch (IllegalStateException e) {
+			// BeanFactory is not initialized or has been closed
+			return new DeferredApplicationEventPublisher(context);
+		}
+		synchronized (beanFactory) {
+			if (beanFactory.containsSingleton(BEAN_NAME)) {
+				return (DeferredApplicationEventPublisher) beanFactory
+						.getSingleton(BEAN_NAME);
+			}
+			DeferredApplicationEventPublisher publisher = new DeferredApplicationEventPublisher(
+					context);
+			beanFactory.registerSingleton(BEAN_NAME, publisher);
+			return publisher;
+		}
+	}
+
+	/**
+	 * Has any {@link ApplicationListener} of the event type or not, the publisher could
+	 * skip building the {@link ApplicationEvent event} if absent.
+	 *
+	 * @param eventType the type of {@link ApplicationEvent}
+	 * @return If present or unknown yet, return <code>true</code>
+	 * @since 0.3.5
+	 */
+	public boolean hasListeners(Class<? extends ApplicationEvent> eventType) {
+		return listenerRegistry.hasListeners(eventType);
+	}
+
 	@Override
 	public void publishEvent(ApplicationEvent event) {
 
 		try {
 			if (context.isRunning()) {
-				context.publishEvent(event);
+				if (!multicastAsynchronously(event)) {
+					context.publishEvent(event);
+				}
 			}
 			else {
 				deferredEvents.add(event);
@@ -78,15 +146,52 @@ public class DeferredApplicationEventPublisher
 			return;
 		}
 
+		listenerRegistry.refresh();
+
+		asyncMulticaster = resolveAsyncMulticaster();
+
 		replayDeferredEvents();
 	}
 
+	/**
+	 * Multicast the event by {@link AsyncNacosConfigEventMulticaster} if enabled
+	 *
+	 * @param event {@link ApplicationEvent}
+	 * @return If multicast asynchronously, return <code>true</code>
+	 */
+	private boolean multicastAsynchronously(ApplicationEvent event) {
+		AsyncNacosConfigEventMulticaster asyncMulticaster = this.asyncMulticaster;
+		if (asyncMulticaster == null || !asyncMulticaster.supportsEvent(event)) {
+			return false;
+		}
+		List<ApplicationListener<?>> listeners = listenerRegistry
+				.getListeners(event.getClass());
+		if (listeners == null) { // unknown
+			return false;
+		}
+		asyncMulticaster.multicastEvent(event, listeners);
+		return true;
+	}
+
+	private AsyncNacosConfigEventMulticaster resolveAsyncMulticaster() {
+		String beanName = AsyncNacosConfigEventMulticaster.BEAN_NAME;
+		if (!context.containsBean(beanName)) {
+			return null;
+		}
+		AsyncNacosConfigEventMulticaster asyncMulticaster = context.getBean(beanName,
+				AsyncNacosConfigEventMulticaster.class);
+		return asyncMulticaster.isEnabled() ? asyncMulticaster : null;
+	}
+
 	private void replayDeferredEvents() {
 		Iterator<ApplicationEvent> iterator = deferredEvents.iterator();
 		while (iterator.hasNext()) {
 			ApplicationEvent event = iterator.next();
-			publishEvent(event);
-			iterator.remove(); // remove if published
+			// The listeners are unknown when the event was deferred
+			if (hasListeners(event.getClass())) {
+				publishEvent(event);
+			}
+			iterator.remove(); // remove if published or nobody listens
 		}
 	}
 }
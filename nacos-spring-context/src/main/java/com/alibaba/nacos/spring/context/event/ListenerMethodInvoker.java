@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.event;
+
+import java.lang.reflect.Method;
+
+/**
+ * The invoker of listener {@link Method method}, which is resolved once at
+ * registration and reused for each notification.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @see ListenerMethodInvokerFactory
+ * @since 0.3.5
+ */
+public interface ListenerMethodInvoker {
+
+	/**
+	 * Invoke the listener method
+	 *
+	 * @param target the target bean
+	 * @param args the arguments of method
+	 * @return the result of method
+	 */
+	Object invoke(Object target, Object... args);
+
+	/**
+	 * Get the listener method
+	 *
+	 * @return non-null
+	 */
+	Method getMethod();
+
+}
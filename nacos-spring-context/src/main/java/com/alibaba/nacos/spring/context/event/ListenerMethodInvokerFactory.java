@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.event;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.cglib.reflect.FastClass;
+import org.springframework.cglib.reflect.FastMethod;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * The factory of {@link ListenerMethodInvoker}, the public method of public class is
+ * invoked by a generated {@link FastClass} class directly, other methods or the
+ * generation failure fall back to the reflection.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @see ListenerMethodInvoker
+ * @see FastClass
+ * @since 0.3.5
+ */
+public abstract class ListenerMethodInvokerFactory {
+
+	private static final Logger logger = LoggerFactory
+			.getLogger(ListenerMethodInvokerFactory.class);
+
+	/**
+	 * Create the {@link ListenerMethodInvoker} of the listener method
+	 *
+	 * @param method the listener method
+	 * @return non-null
+	 */
+	public static ListenerMethodInvoker create(Method method) {
+		if (isGeneratable(method)) {
+			try {
+				FastClass fastClass = FastClass.create(method.getDeclaringClass());
+				return new GeneratedListenerMethodInvoker(method,
+						fastClass.getMethod(method));
+			}
+			catch (Throwable e) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("The generated invoker of method [" + method
+							+ "] is unavailable , fall back to reflection", e);
+				}
+			}
+		}
+		return new ReflectiveListenerMethodInvoker(method);
+	}
+
+	private static boolean isGeneratable(Method method) {
+		Class<?> declaringClass = method.getDeclaringClass();
+		return Modifier.isPublic(method.getModifiers())
+				&& Modifier.isPublic(declaringClass.getModifiers())
+				&& declaringClass.getClassLoader() != null;
+	}
+
+	static class GeneratedListenerMethodInvoker implements ListenerMethodInvoker {
+
+		private final Method method;
+
+		private final FastMethod fastMethod;
+
+		GeneratedListenerMethodInvoker(Method method, FastMethod fastMethod) {
+			this.method = method;
+			this.fastMethod = fastMethod;
+		}
+
+		@Override
+		public Object invoke(Object target, Object... args) {
+			try {
+				return fastMethod.invoke(target, args);
+			}
+			catch (InvocationTargetException e) {
+				ReflectionUtils.rethrowRuntimeException(e.getTargetException());
+				throw new IllegalStateException("Should never get here");
+			}
+		}
+
+		@Override
+		public Method getMethod() {
+			return method;
+		}
+	}
+
+	static class ReflectiveListenerMethodInvoker
+			implements ListenerMethodInvoker {
+
+		private final Method method;
+
+		ReflectiveListenerMethodInvoker(Method method) {
+			ReflectionUtils.makeAccessible(method);
+			this.method = method;
+		}
+
+		@Override
+		public Object invoke(Object target, Object... args) {
+			return ReflectionUtils.invokeMethod(method, target, args);
+		}
+
+		@Override
+		public Method getMethod() {
+			return method;
+		}
+	}
+}
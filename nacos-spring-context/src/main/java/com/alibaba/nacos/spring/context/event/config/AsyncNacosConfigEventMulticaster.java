@@ -0,0 +1,503 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.event.config;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.alibaba.nacos.spring.util.concurrent.ExecutorStrategies;
+import com.alibaba.nacos.spring.util.concurrent.ExecutorStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.event.GenericApplicationListenerAdapter;
+import org.springframework.context.event.SmartApplicationListener;
+import org.springframework.core.env.Environment;
+import org.springframework.util.ObjectUtils;
+
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.DEFAULT_NACOS_CONFIG_EVENT_ASYNC_PARALLELISM;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.DEFAULT_NACOS_CONFIG_EVENT_ASYNC_QUEUE_CAPACITY;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_CONFIG_EVENT_ASYNC;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_CONFIG_EVENT_ASYNC_OVERFLOW_POLICY;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_CONFIG_EVENT_ASYNC_PARALLELISM;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_CONFIG_EVENT_ASYNC_QUEUE_CAPACITY;
+import static com.alibaba.nacos.spring.util.NacosBeanUtils.getNacosConfigListenerExecutorStrategy;
+
+/**
+ * Asynchronous multicaster of {@link NacosConfigEvent Nacos Config events}, which is
+ * enabled by the property
+ * {@link com.alibaba.nacos.spring.context.constants.NacosConstants#NACOS_CONFIG_EVENT_ASYNC
+ * "nacos.config.event.async"}, thus a slow {@link ApplicationListener} does not delay
+ * the Nacos notification thread and other listeners.
+ * <p>
+ * The events of each listener class are queued in a bounded queue and delivered one by
+ * one, if the queue is full, the {@link OverflowPolicy} is applied. The other
+ * {@link ApplicationEvent events} are always multicast synchronously by Spring
+ * ApplicationContext. The worker threads are created by the {@link ExecutorStrategy}
+ * shared with the Nacos Config Listener executors.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @see com.alibaba.nacos.spring.context.event.DeferredApplicationEventPublisher
+ * @since 0.3.5
+ */
+public class AsyncNacosConfigEventMulticaster
+		implements EnvironmentAware, BeanFactoryAware, InitializingBean, DisposableBean {
+
+	/**
+	 * The bean name of {@link AsyncNacosConfigEventMulticaster}
+	 */
+	public static final String BEAN_NAME = "asyncNacosConfigEventMulticaster";
+
+	/**
+	 * The max number of events delivered in a row, then the worker thread is yielded to
+	 * other listener classes
+	 */
+	private static final int MAX_BATCH_SIZE = 64;
+
+	private static final Logger logger = LoggerFactory
+			.getLogger(AsyncNacosConfigEventMulticaster.class);
+
+	/**
+	 * The {@link ListenerQueue} is being delivered by current thread
+	 */
+	private static final ThreadLocal<ListenerQueue> deliveringQueue = new ThreadLocal<ListenerQueue>();
+
+	private boolean enabled;
+
+	private int parallelism = DEFAULT_NACOS_CONFIG_EVENT_ASYNC_PARALLELISM;
+
+	private int queueCapacity = DEFAULT_NACOS_CONFIG_EVENT_ASYNC_QUEUE_CAPACITY;
+
+	private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+	private ExecutorStrategy executorStrategy = ExecutorStrategies.FIXED;
+
+	private ExecutorService executor;
+
+	private final ConcurrentMap<Class<?>, ListenerQueue> listenerQueues = new ConcurrentHashMap<Class<?>, ListenerQueue>();
+
+	private final AtomicLong droppedCount = new AtomicLong();
+
+	private final AtomicLong conflatedCount = new AtomicLong();
+
+	/**
+	 * Supports to multicast the event asynchronously or not
+	 *
+	 * @param event {@link ApplicationEvent}
+	 * @return If {@link #isEnabled() enabled} and the event is {@link NacosConfigEvent},
+	 * return <code>true</code>
+	 */
+	public boolean supportsEvent(ApplicationEvent event) {
+		return executor != null && event instanceof NacosConfigEvent;
+	}
+
+	/**
+	 * Multicast the event to the listeners asynchronously
+	 *
+	 * @param event {@link NacosConfigEvent}
+	 * @param listeners the {@link ApplicationListener listeners} supporting the event,
+	 *     which should be resolved when the event is published
+	 */
+	public void multicastEvent(ApplicationEvent event,
+			Collection<ApplicationListener<?>> listeners) {
+		Class<?> sourceType = event.getSource() == null ? null
+				: event.getSource().getClass();
+		for (ApplicationListener<?> listener : listeners) {
+			SmartApplicationListener smartListener = listener instanceof SmartApplicationListener
+					? (SmartApplicationListener) listener
+					: new GenericApplicationListenerAdapter(listener);
+			if (!smartListener.supportsSourceType(sourceType)) {
+				continue;
+			}
+			getListenerQueue(listener).offer(listener, smartListener,
+					(NacosConfigEvent) event);
+		}
+	}
+
+	private ListenerQueue getListenerQueue(ApplicationListener<?> listener) {
+		Class<?> listenerClass = listener.getClass();
+		ListenerQueue listenerQueue = listenerQueues.get(listenerClass);
+		if (listenerQueue == null) {
+			listenerQueue = new ListenerQueue();
+			ListenerQueue existed = listenerQueues.putIfAbsent(listenerClass,
+					listenerQueue);
+			if (existed != null) {
+				listenerQueue = existed;
+			}
+		}
+		return listenerQueue;
+	}
+
+	/**
+	 * Get the number of pending events of all listener classes
+	 *
+	 * @return read-only snapshot, the key is the name of listener class
+	 */
+	public Map<String, Integer> getQueueDepths() {
+		Map<String, Integer> queueDepths = new LinkedHashMap<String, Integer>(
+				listenerQueues.size());
+		for (Map.Entry<Class<?>, ListenerQueue> entry : listenerQueues.entrySet()) {
+			queueDepths.put(entry.getKey().getName(), entry.getValue().size());
+		}
+		return queueDepths;
+	}
+
+	/**
+	 * Get the total number of events dropped on overflow
+	 *
+	 * @return the total number of dropped events
+	 */
+	public long getDroppedCount() {
+		return droppedCount.get();
+	}
+
+	/**
+	 * Get the total number of events superseded by the newer ones of same dataId and
+	 * group when {@link OverflowPolicy#CONFLATE}
+	 *
+	 * @return the total number of conflated events
+	 */
+	public long getConflatedCount() {
+		return conflatedCount.get();
+	}
+
+	@Override
+	public void setEnvironment(Environment environment) {
+		this.enabled = environment.getProperty(NACOS_CONFIG_EVENT_ASYNC, boolean.class,
+				false);
+		int parallelism = environment.getProperty(NACOS_CONFIG_EVENT_ASYNC_PARALLELISM,
+				int.class, DEFAULT_NACOS_CONFIG_EVENT_ASYNC_PARALLELISM);
+		int queueCapacity = environment.getProperty(
+				NACOS_CONFIG_EVENT_ASYNC_QUEUE_CAPACITY, int.class,
+				DEFAULT_NACOS_CONFIG_EVENT_ASYNC_QUEUE_CAPACITY);
+		this.parallelism = parallelism < 1 ? DEFAULT_NACOS_CONFIG_EVENT_ASYNC_PARALLELISM
+				: parallelism;
+		this.queueCapacity = queueCapacity < 1
+				? DEFAULT_NACOS_CONFIG_EVENT_ASYNC_QUEUE_CAPACITY
+				: queueCapacity;
+		this.overflowPolicy = OverflowPolicy.valueOf(environment
+				.getProperty(NACOS_CONFIG_EVENT_ASYNC_OVERFLOW_POLICY,
+						OverflowPolicy.BLOCK.name())
+				.trim().toUpperCase());
+	}
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		setExecutorStrategy(getNacosConfigListenerExecutorStrategy(beanFactory));
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		if (!enabled) {
+			return;
+		}
+		this.executor = executorStrategy.newExecutor("NacosConfigEvent-Async-",
+				parallelism);
+	}
+
+	@Override
+	public void destroy() {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public ExecutorStrategy getExecutorStrategy() {
+		return executorStrategy;
+	}
+
+	public void setExecutorStrategy(ExecutorStrategy executorStrategy) {
+		this.executorStrategy = executorStrategy == null ? ExecutorStrategies.FIXED
+				: executorStrategy;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	public void setQueueCapacity(int queueCapacity) {
+		this.queueCapacity = queueCapacity;
+	}
+
+	public OverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * The policy when the queue of listener class is full
+	 */
+	public enum OverflowPolicy {
+
+		/**
+		 * The publisher waits until the queue is not full, unless it's the delivering
+		 * thread of the same queue, then the oldest event is dropped
+		 */
+		BLOCK,
+
+		/**
+		 * The oldest event is dropped
+		 */
+		DROP_OLDEST,
+
+		/**
+		 * The pending event is always superseded by the newer one of the same listener,
+		 * event type, dataId and group, and the oldest event is dropped if the queue is
+		 * still full
+		 */
+		CONFLATE
+
+	}
+
+	private static class PendingEvent {
+
+		private final ApplicationListener<?> listener;
+
+		/**
+		 * Delivers the event to the listener, whose event type has been checked
+		 */
+		private final SmartApplicationListener smartListener;
+
+		private final NacosConfigEvent event;
+
+		PendingEvent(ApplicationListener<?> listener,
+				SmartApplicationListener smartListener, NacosConfigEvent event) {
+			this.listener = listener;
+			this.smartListener = smartListener;
+			this.event = event;
+		}
+	}
+
+	private static class ConflationKey {
+
+		private final ApplicationListener<?> listener;
+
+		private final Class<?> eventType;
+
+		private final String dataId;
+
+		private final String groupId;
+
+		ConflationKey(ApplicationListener<?> listener, NacosConfigEvent event) {
+			this.listener = listener;
+			this.eventType = event.getClass();
+			this.dataId = event.getDataId();
+			this.groupId = event.getGroupId();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof ConflationKey)) {
+				return false;
+			}
+			ConflationKey that = (ConflationKey) o;
+			return listener == that.listener && eventType.equals(that.eventType)
+					&& ObjectUtils.nullSafeEquals(dataId, that.dataId)
+					&& ObjectUtils.nullSafeEquals(groupId, that.groupId);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = System.identityHashCode(listener);
+			result = 31 * result + eventType.hashCode();
+			result = 31 * result + ObjectUtils.nullSafeHashCode(dataId);
+			result = 31 * result + ObjectUtils.nullSafeHashCode(groupId);
+			return result;
+		}
+	}
+
+	/**
+	 * The bounded queue of listener class, whose events are delivered one by one
+	 */
+	private class ListenerQueue implements Runnable {
+
+		private final ReentrantLock lock = new ReentrantLock();
+
+		private final Condition notFull = lock.newCondition();
+
+		/**
+		 * The key is {@link ConflationKey} if {@link OverflowPolicy#CONFLATE}, thus the
+		 * newer event replaces the pending one in place
+		 */
+		private final LinkedHashMap<Object, PendingEvent> pendingEvents = new LinkedHashMap<Object, PendingEvent>();
+
+		private boolean scheduled;
+
+		void offer(ApplicationListener<?> listener,
+				SmartApplicationListener smartListener, NacosConfigEvent event) {
+			OverflowPolicy overflowPolicy = AsyncNacosConfigEventMulticaster.this.overflowPolicy;
+			Object key = OverflowPolicy.CONFLATE.equals(overflowPolicy)
+					? new ConflationKey(listener, event)
+					: new Object();
+			PendingEvent pendingEvent = new PendingEvent(listener, smartListener,
+					event);
+			boolean schedule = false;
+			lock.lock();
+			try {
+				if (pendingEvents.containsKey(key)) {
+					pendingEvents.put(key, pendingEvent);
+					conflatedCount.incrementAndGet();
+				}
+				else {
+					while (pendingEvents.size() >= queueCapacity) {
+						if (OverflowPolicy.BLOCK.equals(overflowPolicy)
+								&& deliveringQueue.get() != this) {
+							try {
+								notFull.await();
+								continue;
+							}
+							catch (InterruptedException e) {
+								Thread.currentThread().interrupt();
+								droppedCount.incrementAndGet();
+								return;
+							}
+						}
+						dropOldest();
+					}
+					pendingEvents.put(key, pendingEvent);
+				}
+				if (!scheduled) {
+					scheduled = true;
+					schedule = true;
+				}
+			}
+			finally {
+				lock.unlock();
+			}
+			if (schedule) {
+				schedule();
+			}
+		}
+
+		private void dropOldest() {
+			Iterator<PendingEvent> iterator = pendingEvents.values().iterator();
+			iterator.next();
+			iterator.remove();
+			droppedCount.incrementAndGet();
+		}
+
+		private void schedule() {
+			try {
+				executor.execute(this);
+			}
+			catch (RejectedExecutionException e) {
+				lock.lock();
+				try {
+					droppedCount.addAndGet(pendingEvents.size());
+					pendingEvents.clear();
+					scheduled = false;
+					notFull.signalAll();
+				}
+				finally {
+					lock.unlock();
+				}
+				logger.warn(
+						"Nacos Config events are dropped, the executor may be destroyed");
+			}
+		}
+
+		int size() {
+			lock.lock();
+			try {
+				return pendingEvents.size();
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public void run() {
+			deliveringQueue.set(this);
+			try {
+				for (int i = 0; i < MAX_BATCH_SIZE; i++) {
+					PendingEvent pendingEvent;
+					lock.lock();
+					try {
+						if (pendingEvents.isEmpty()) {
+							scheduled = false;
+							return;
+						}
+						Iterator<PendingEvent> iterator = pendingEvents.values()
+								.iterator();
+						pendingEvent = iterator.next();
+						iterator.remove();
+						notFull.signal();
+					}
+					finally {
+						lock.unlock();
+					}
+					deliver(pendingEvent);
+				}
+			}
+			finally {
+				deliveringQueue.remove();
+			}
+			// Yield to other listener classes, still scheduled
+			schedule();
+		}
+
+		private void deliver(PendingEvent pendingEvent) {
+			try {
+				pendingEvent.smartListener.onApplicationEvent(pendingEvent.event);
+			}
+			catch (Throwable e) {
+				logger.error("Listener [" + pendingEvent.listener
+						+ "] is failed to process the event : " + pendingEvent.event, e);
+			}
+		}
+	}
+}
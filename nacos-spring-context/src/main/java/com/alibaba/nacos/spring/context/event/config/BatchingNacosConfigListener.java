@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.event.config;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.alibaba.nacos.api.config.listener.AbstractListener;
+import com.alibaba.nacos.api.config.listener.Listener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Batching {@link Listener Nacos Config Listener} for several dataIds of the same group,
+ * the contents changed within the window are aggregated and
+ * {@link #onReceived(Map) processed} once, the later content of the same dataId
+ * supersedes the earlier one.
+ * <p>
+ * The listening is executed asynchronously by {@link NacosConfigListenerTimeoutExecutor}
+ * one batch after another, the contents received during the listening will be
+ * aggregated into the next batch.
+ * <p>
+ * The instance of {@link Listener} for each dataId is obtained by
+ * {@link #getListener(String)}.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @see NacosConfigListenerTimeoutExecutor
+ * @see TimeoutNacosConfigListener
+ * @since 0.3.5
+ */
+public abstract class BatchingNacosConfigListener {
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final String groupId;
+
+	private final long window;
+
+	private final long timeout;
+
+	private final NacosConfigListenerTimeoutExecutor timeoutExecutor;
+
+	private final Map<String, String> pendingContents = new LinkedHashMap<String, String>();
+
+	private final Runnable flushTask = new Runnable() {
+		@Override
+		public void run() {
+			flush();
+		}
+	};
+
+	private boolean scheduled;
+
+	private boolean listening;
+
+	/**
+	 * @param groupId groupId
+	 * @param window the window of aggregation in milliseconds
+	 * @param timeout timeout of each batch in milliseconds
+	 * @param timeoutExecutor {@link NacosConfigListenerTimeoutExecutor} owned by Spring
+	 *     ApplicationContext, if <code>null</code>, the default one will be used
+	 */
+	public BatchingNacosConfigListener(String groupId, long window, long timeout,
+			NacosConfigListenerTimeoutExecutor timeoutExecutor) {
+		this.groupId = groupId;
+		this.window = window;
+		this.timeout = timeout;
+		this.timeoutExecutor = timeoutExecutor != null ? timeoutExecutor
+				: NacosConfigListenerTimeoutExecutor.getDefaultInstance();
+	}
+
+	/**
+	 * Get the {@link Listener} of the dataId, which should be added into
+	 * {@link com.alibaba.nacos.api.config.ConfigService}
+	 *
+	 * @param dataId dataId
+	 * @return non-null
+	 */
+	public Listener getListener(final String dataId) {
+		return new AbstractListener() {
+			@Override
+			public void receiveConfigInfo(String content) {
+				receive(dataId, content);
+			}
+		};
+	}
+
+	/**
+	 * Receive the content of dataId, it will be processed after the window
+	 *
+	 * @param dataId dataId
+	 * @param content Nacos Config
+	 */
+	public void receive(String dataId, String content) {
+		synchronized (pendingContents) {
+			pendingContents.put(dataId, content);
+			if (!scheduled && !listening) {
+				schedule();
+			}
+		}
+	}
+
+	private void schedule() {
+		try {
+			timeoutExecutor.schedule(flushTask, window);
+			scheduled = true;
+		}
+		catch (RejectedExecutionException e) {
+			logger.warn(
+					"Listening on Nacos Config is rejected, the executor may be destroyed "
+							+ "[dataIds : {}, groupId : {}]",
+					pendingContents.keySet(), groupId);
+			pendingContents.clear();
+		}
+	}
+
+	private void flush() {
+		final Map<String, String> contents;
+		synchronized (pendingContents) {
+			scheduled = false;
+			if (pendingContents.isEmpty()) {
+				return;
+			}
+			contents = Collections
+					.unmodifiableMap(new LinkedHashMap<String, String>(pendingContents));
+			pendingContents.clear();
+			listening = true;
+		}
+		try {
+			timeoutExecutor.execute(new Runnable() {
+				@Override
+				public void run() {
+					onReceived(contents);
+				}
+			}, timeout, new Runnable() {
+				@Override
+				public void run() {
+					onTimeout(contents);
+				}
+			}, new Runnable() {
+				@Override
+				public void run() {
+					complete();
+				}
+			});
+		}
+		catch (RejectedExecutionException e) {
+			logger.warn(
+					"Listening on Nacos Config is rejected, the executor may be destroyed "
+							+ "[dataIds : {}, groupId : {}]",
+					contents.keySet(), groupId);
+			complete();
+		}
+	}
+
+	private void complete() {
+		synchronized (pendingContents) {
+			listening = false;
+			if (!pendingContents.isEmpty() && !scheduled) {
+				schedule();
+			}
+		}
+	}
+
+	/**
+	 * process the Nacos Configs changed within the window
+	 *
+	 * @param contents the read-only {@link Map} of Nacos Configs, the key is dataId
+	 */
+	protected abstract void onReceived(Map<String, String> contents);
+
+	/**
+	 * Callback when the {@link #onReceived(Map) listening} exceeds timeout and has been
+	 * cancelled.
+	 *
+	 * @param contents the read-only {@link Map} of Nacos Configs, the key is dataId
+	 */
+	protected void onTimeout(Map<String, String> contents) {
+		logger.warn(
+				"Listening on Nacos Config exceeds timeout {} ms "
+						+ "[dataIds : {}, groupId : {}]",
+				timeout, contents.keySet(), groupId);
+	}
+
+	/**
+	 * Get the window of aggregation in milliseconds
+	 *
+	 * @return the window in milliseconds
+	 */
+	public long getWindow() {
+		return window;
+	}
+
+	/**
+	 * Get timeout in milliseconds
+	 *
+	 * @return timeout in milliseconds
+	 */
+	public long getTimeout() {
+		return timeout;
+	}
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.event.config;
+
+import java.io.Serializable;
+
+/**
+ * The change of Nacos Config, which is published by {@link ConfigChangePublisher}
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @see ConfigChangePublisher
+ * @since 0.3.5
+ */
+public class ConfigChange implements Serializable {
+
+	private static final long serialVersionUID = -3482519208469203961L;
+
+	private final String dataId;
+
+	private final String groupId;
+
+	private final String content;
+
+	public ConfigChange(String dataId, String groupId, String content) {
+		this.dataId = dataId;
+		this.groupId = groupId;
+		this.content = content;
+	}
+
+	public String getDataId() {
+		return dataId;
+	}
+
+	public String getGroupId() {
+		return groupId;
+	}
+
+	public String getContent() {
+		return content;
+	}
+
+	@Override
+	public String toString() {
+		return "ConfigChange{" + "dataId='" + dataId + '\'' + ", groupId='" + groupId
+				+ '\'' + ", content='" + content + '\'' + '}';
+	}
+}
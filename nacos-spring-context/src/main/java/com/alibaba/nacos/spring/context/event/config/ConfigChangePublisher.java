@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.event.config;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.alibaba.nacos.api.config.ConfigService;
+import com.alibaba.nacos.api.config.listener.AbstractListener;
+import com.alibaba.nacos.api.config.listener.Listener;
+import com.alibaba.nacos.api.exception.NacosException;
+
+/**
+ * The publisher of {@link ConfigChange changes} of single dataId and group, whose
+ * contract is the same as <code>org.reactivestreams.Publisher</code>, it honors the
+ * demand of each {@link ConfigChangeSubscriber subscriber}, and the changes are
+ * conflated until requested, thus a slow subscriber only receives the latest one.
+ * <p>
+ * All subscribers share one Nacos {@link Listener}, which is added on the first
+ * subscription and removed when the last one is cancelled. The changes are delivered on
+ * the Nacos notification thread or the thread of
+ * {@link ConfigChangeSubscription#request(long)}, no extra thread is used.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @see EventPublishingConfigService#getConfigChangePublisher(String, String)
+ * @since 0.3.5
+ */
+public class ConfigChangePublisher {
+
+	private final ConfigService configService;
+
+	private final String dataId;
+
+	private final String groupId;
+
+	private final List<Subscription> subscriptions = new CopyOnWriteArrayList<Subscription>();
+
+	private final Listener listener = new AbstractListener() {
+		@Override
+		public void receiveConfigInfo(String content) {
+			ConfigChange configChange = new ConfigChange(dataId, groupId, content);
+			for (Subscription subscription : subscriptions) {
+				subscription.onChange(configChange);
+			}
+		}
+	};
+
+	public ConfigChangePublisher(ConfigService configService, String dataId,
+			String groupId) {
+		this.configService = configService;
+		this.dataId = dataId;
+		this.groupId = groupId;
+	}
+
+	/**
+	 * Subscribe the changes
+	 *
+	 * @param subscriber {@link ConfigChangeSubscriber}
+	 */
+	public void subscribe(ConfigChangeSubscriber subscriber) {
+		if (subscriber == null) {
+			throw new NullPointerException("subscriber must not be null");
+		}
+		Subscription subscription = new Subscription(subscriber);
+		NacosException failure = null;
+		synchronized (subscriptions) {
+			subscriptions.add(subscription);
+			if (subscriptions.size() == 1) {
+				try {
+					configService.addListener(dataId, groupId, listener);
+				}
+				catch (NacosException e) {
+					subscriptions.remove(subscription);
+					failure = e;
+				}
+			}
+		}
+		subscriber.onSubscribe(subscription);
+		if (failure != null) {
+			subscription.terminate(failure);
+		}
+	}
+
+	private void unsubscribe(Subscription subscription) {
+		synchronized (subscriptions) {
+			if (subscriptions.remove(subscription) && subscriptions.isEmpty()) {
+				configService.removeListener(dataId, groupId, listener);
+			}
+		}
+	}
+
+	/**
+	 * Get the number of active subscribers
+	 *
+	 * @return the number of active subscribers
+	 */
+	public int getSubscriberCount() {
+		return subscriptions.size();
+	}
+
+	/**
+	 * Get the total number of changes superseded before delivery of active subscribers
+	 *
+	 * @return the total number of superseded changes
+	 */
+	public long getSupersededCount() {
+		long supersededCount = 0;
+		for (Subscription subscription : subscriptions) {
+			supersededCount += subscription.supersededCount.get();
+		}
+		return supersededCount;
+	}
+
+	public String getDataId() {
+		return dataId;
+	}
+
+	public String getGroupId() {
+		return groupId;
+	}
+
+	private class Subscription implements ConfigChangeSubscription {
+
+		private final ConfigChangeSubscriber subscriber;
+
+		private final AtomicLong requested = new AtomicLong();
+
+		private final AtomicReference<ConfigChange> latest = new AtomicReference<ConfigChange>();
+
+		private final AtomicInteger wip = new AtomicInteger();
+
+		private final AtomicLong supersededCount = new AtomicLong();
+
+		private volatile boolean cancelled;
+
+		Subscription(ConfigChangeSubscriber subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		void onChange(ConfigChange configChange) {
+			if (latest.getAndSet(configChange) != null) {
+				supersededCount.incrementAndGet();
+			}
+			drain();
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				terminate(new IllegalArgumentException(
+						"The number of requested changes must be positive : " + n));
+				return;
+			}
+			for (;;) {
+				long current = requested.get();
+				long next = current + n;
+				if (next < 0) { // overflow means unbounded
+					next = Long.MAX_VALUE;
+				}
+				if (requested.compareAndSet(current, next)) {
+					break;
+				}
+			}
+			drain();
+		}
+
+		@Override
+		public void cancel() {
+			if (!cancelled) {
+				cancelled = true;
+				latest.set(null);
+				unsubscribe(this);
+			}
+		}
+
+		void terminate(Throwable throwable) {
+			if (!cancelled) {
+				cancel();
+				subscriber.onError(throwable);
+			}
+		}
+
+		/**
+		 * Deliver the latest change if requested, the signals are serialized by
+		 * {@link #wip}.
+		 */
+		private void drain() {
+			if (wip.getAndIncrement() != 0) {
+				return;
+			}
+			int missed = 1;
+			for (;;) {
+				while (!cancelled && requested.get() > 0) {
+					ConfigChange configChange = latest.getAndSet(null);
+					if (configChange == null) {
+						break;
+					}
+					if (requested.get() != Long.MAX_VALUE) {
+						requested.decrementAndGet();
+					}
+					try {
+						subscriber.onNext(configChange);
+					}
+					catch (Throwable e) {
+						terminate(e);
+					}
+				}
+				missed = wip.addAndGet(-missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.event.config;
+
+/**
+ * The subscriber of {@link ConfigChangePublisher}, whose contract is the same as
+ * <code>org.reactivestreams.Subscriber</code>, thus it could be adapted to Reactive
+ * Streams directly.
+ * <p>
+ * The signals are invoked serially, the subscriber must not block the invoking thread,
+ * which may be the Nacos notification thread.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @see ConfigChangePublisher
+ * @see ConfigChangeSubscription
+ * @since 0.3.5
+ */
+public interface ConfigChangeSubscriber {
+
+	/**
+	 * Invoked once after {@link ConfigChangePublisher#subscribe(ConfigChangeSubscriber)}
+	 * , no {@link ConfigChange} will be received until
+	 * {@link ConfigChangeSubscription#request(long)} is invoked.
+	 *
+	 * @param subscription {@link ConfigChangeSubscription}
+	 */
+	void onSubscribe(ConfigChangeSubscription subscription);
+
+	/**
+	 * Invoked when the {@link ConfigChange} is received, at most the requested number of
+	 * times.
+	 *
+	 * @param configChange {@link ConfigChange}
+	 */
+	void onNext(ConfigChange configChange);
+
+	/**
+	 * Invoked when the subscription is failed, no more signal will be received.
+	 *
+	 * @param throwable the cause
+	 */
+	void onError(Throwable throwable);
+
+	/**
+	 * Invoked when the {@link ConfigChangePublisher} is completed, no more signal will be
+	 * received.
+	 */
+	void onComplete();
+
+}
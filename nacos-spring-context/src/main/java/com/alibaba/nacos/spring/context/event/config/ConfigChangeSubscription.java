@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.event.config;
+
+/**
+ * The subscription of {@link ConfigChangeSubscriber}, whose contract is the same as
+ * <code>org.reactivestreams.Subscription</code>.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @see ConfigChangePublisher
+ * @see ConfigChangeSubscriber
+ * @since 0.3.5
+ */
+public interface ConfigChangeSubscription {
+
+	/**
+	 * Request <code>n</code> more {@link ConfigChange changes}, the changes are conflated
+	 * until requested, thus only the latest one will be received.
+	 *
+	 * @param n the positive number of changes, {@link Long#MAX_VALUE} means unbounded
+	 */
+	void request(long n);
+
+	/**
+	 * Cancel the subscription, no more {@link ConfigChange} will be received.
+	 */
+	void cancel();
+
+}
@@ -17,10 +17,13 @@
 package com.alibaba.nacos.spring.context.event.config;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import com.alibaba.nacos.api.config.ConfigService;
 import com.alibaba.nacos.api.config.ConfigType;
 import com.alibaba.nacos.api.config.listener.Listener;
+import com.alibaba.nacos.spring.context.event.DeferredApplicationEventPublisher;
+import com.alibaba.nacos.spring.util.concurrent.ConflatingMailbox;
 
 import org.springframework.context.ApplicationEventPublisher;
 
@@ -29,6 +32,9 @@ import org.springframework.context.ApplicationEventPublisher;
  * Nacos Config {@link Listener} with dataId, groupId and {@link ConfigService} instance.
  * A {@link NacosConfigReceivedEvent Nacos config received event} will be published when a
  * new Nacos config received.
+ * <p>
+ * If conflated, the Nacos config is delivered asynchronously by a single-slot mailbox,
+ * the undelivered config will be superseded by the newer one.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
  * @see NacosConfigReceivedEvent
@@ -52,6 +58,8 @@ public final class DelegatingEventPublishingListener implements Listener {
 
 	private final Listener delegate;
 
+	private final ConflatingMailbox<String> mailbox;
+
 	DelegatingEventPublishingListener(ConfigService configService, String dataId,
 			String groupId, ApplicationEventPublisher applicationEventPublisher,
 			Executor executor, Listener delegate) {
@@ -63,6 +71,14 @@ public final class DelegatingEventPublishingListener implements Listener {
 			String groupId, String configType,
 			ApplicationEventPublisher applicationEventPublisher, Executor executor,
 			Listener delegate) {
+		this(configService, dataId, groupId, configType, applicationEventPublisher,
+				executor, delegate, false);
+	}
+
+	DelegatingEventPublishingListener(ConfigService configService, String dataId,
+			String groupId, String configType,
+			ApplicationEventPublisher applicationEventPublisher, Executor executor,
+			Listener delegate, boolean conflated) {
 		this.configService = configService;
 		this.dataId = dataId;
 		this.groupId = groupId;
@@ -70,10 +86,24 @@ public final class DelegatingEventPublishingListener implements Listener {
 		this.applicationEventPublisher = applicationEventPublisher;
 		this.executor = executor;
 		this.delegate = delegate;
+		this.mailbox = conflated ? new ConflatingMailbox<String>() {
+			@Override
+			protected void deliver(String content) {
+				deliverConflated(content, this);
+			}
+		} : null;
 	}
 
 	@Override
 	public Executor getExecutor() {
+		if (mailbox != null) {
+			// The mailbox will deliver asynchronously
+			return null;
+		}
+		return resolveExecutor();
+	}
+
+	private Executor resolveExecutor() {
 		Executor executor = delegate.getExecutor();
 		if (executor == null) {
 			executor = this.executor;
@@ -88,11 +118,83 @@ public final class DelegatingEventPublishingListener implements Listener {
 	 */
 	@Override
 	public void receiveConfigInfo(String content) {
+		if (mailbox != null) {
+			mailbox.offer(content);
+			return;
+		}
 		onReceived(content);
 		publishEvent(content);
 	}
 
+	private void deliverConflated(final String content,
+			final ConflatingMailbox<String> mailbox) {
+		Executor executor = resolveExecutor();
+		if (executor == null) {
+			try {
+				receiveConfigInfoConflated(content);
+			}
+			finally {
+				mailbox.complete();
+			}
+			return;
+		}
+		try {
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						receiveConfigInfoConflated(content);
+					}
+					finally {
+						mailbox.complete();
+					}
+				}
+			});
+		}
+		catch (RejectedExecutionException e) {
+			mailbox.complete();
+			throw e;
+		}
+	}
+
+	private void receiveConfigInfoConflated(String content) {
+		onReceived(content);
+		publishEvent(content);
+	}
+
+	String getDataId() {
+		return dataId;
+	}
+
+	String getGroupId() {
+		return groupId;
+	}
+
+	/**
+	 * Is conflated or not
+	 *
+	 * @return If conflated, return <code>true</code>
+	 */
+	public boolean isConflated() {
+		return mailbox != null;
+	}
+
+	/**
+	 * Get the number of configs superseded before delivery
+	 *
+	 * @return always <code>0</code> if not {@link #isConflated() conflated}
+	 */
+	public long getSupersededCount() {
+		return mailbox != null ? mailbox.getSupersededCount() : 0L;
+	}
+
 	private void publishEvent(String content) {
+		if (applicationEventPublisher instanceof DeferredApplicationEventPublisher
+				&& !((DeferredApplicationEventPublisher) applicationEventPublisher)
+						.hasListeners(NacosConfigReceivedEvent.class)) {
+			// Nobody listens to the event
+			return;
+		}
 		NacosConfigReceivedEvent event = new NacosConfigReceivedEvent(configService,
 				dataId, groupId, content, configType);
 		applicationEventPublisher.publishEvent(event);
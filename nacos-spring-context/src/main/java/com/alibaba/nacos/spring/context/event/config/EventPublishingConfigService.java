@@ -16,18 +16,27 @@
  */
 package com.alibaba.nacos.spring.context.event.config;
 
+import java.util.Collections;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 
 import com.alibaba.nacos.api.config.ConfigService;
+import com.alibaba.nacos.api.config.ConfigType;
 import com.alibaba.nacos.api.config.listener.Listener;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.spring.context.event.DeferredApplicationEventPublisher;
 import com.alibaba.nacos.spring.metadata.NacosServiceMetaData;
+import com.alibaba.nacos.spring.util.concurrent.KeyedSerialExecutor;
 
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.ConfigurableApplicationContext;
 
+import static com.alibaba.nacos.api.PropertyKeyConst.NAMESPACE;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_CONFIG_LISTENER_CONFLATED;
+import static com.alibaba.nacos.spring.util.NacosUtils.SEPARATOR;
+
 /**
  * {@link NacosConfigEvent Event} publishing {@link ConfigService}
  *
@@ -38,31 +47,67 @@ public class EventPublishingConfigService implements ConfigService, NacosService
 
 	private final ConfigService configService;
 
-	private final ApplicationEventPublisher applicationEventPublisher;
+	private final DeferredApplicationEventPublisher applicationEventPublisher;
 
 	private final Executor executor;
 
 	private final Properties properties;
 
+	private final boolean conflated;
+
+	private final NacosConfigHub configHub;
+
+	private final ConcurrentMap<String, ConfigChangePublisher> configChangePublishers = new ConcurrentHashMap<String, ConfigChangePublisher>();
+
+	/**
+	 * The listeners signed by {@link #getConfigAndSignListener}, which are added into
+	 * the delegate directly
+	 */
+	private final Set<DelegatingEventPublishingListener> signedListeners = Collections
+			.newSetFromMap(
+					new ConcurrentHashMap<DelegatingEventPublishingListener, Boolean>());
+
 	public EventPublishingConfigService(ConfigService configService,
 			Properties properties, ConfigurableApplicationContext context,
 			Executor executor) {
+		this(configService, properties, context, executor, null);
+	}
+
+	/**
+	 * @param configService the delegate {@link ConfigService}
+	 * @param properties Nacos {@link Properties}
+	 * @param context {@link ConfigurableApplicationContext}
+	 * @param executor the {@link Executor} of listeners
+	 * @param dispatcher the {@link KeyedSerialExecutor} of listeners, the notifications
+	 *     with same dataId and group will be executed orderly if present
+	 * @since 0.3.5
+	 */
+	public EventPublishingConfigService(ConfigService configService,
+			Properties properties, ConfigurableApplicationContext context,
+			Executor executor, KeyedSerialExecutor dispatcher) {
 		this.configService = configService;
+		this.configHub = new NacosConfigHub(configService, dispatcher,
+				properties == null ? null : properties.getProperty(NAMESPACE));
 		this.properties = properties;
-		this.applicationEventPublisher = new DeferredApplicationEventPublisher(context);
+		this.applicationEventPublisher = DeferredApplicationEventPublisher
+				.getInstance(context);
 		this.executor = executor;
+		this.conflated = context != null && context.getEnvironment()
+				.getProperty(NACOS_CONFIG_LISTENER_CONFLATED, boolean.class, false);
 	}
 
 	@Override
 	public String getConfig(String dataId, String group, long timeoutMs)
 			throws NacosException {
 		try {
-			return configService.getConfig(dataId, group, timeoutMs);
+			return configHub.getConfig(dataId, group, timeoutMs);
 		}
 		catch (NacosException e) {
 			if (NacosException.SERVER_ERROR == e.getErrCode()) { // timeout error
-				publishEvent(new NacosConfigTimeoutEvent(configService, dataId, group,
-						timeoutMs, e.getErrMsg()));
+				if (hasListeners(NacosConfigTimeoutEvent.class)) {
+					publishEvent(new NacosConfigTimeoutEvent(configService, dataId,
+							group, timeoutMs, e.getErrMsg()));
+				}
 			}
 			throw e; // re-throw NacosException
 		}
@@ -71,10 +116,14 @@ public class EventPublishingConfigService implements ConfigService, NacosService
 	@Override
 	public String getConfigAndSignListener(String dataId, String group, long timeoutMs,
 			Listener listener) throws NacosException {
-		Listener listenerAdapter = new DelegatingEventPublishingListener(configService,
-				dataId, group, applicationEventPublisher, executor, listener);
-		return configService.getConfigAndSignListener(dataId, group, timeoutMs,
-				listenerAdapter);
+		DelegatingEventPublishingListener listenerAdapter = new DelegatingEventPublishingListener(
+				configService, dataId, group, ConfigType.PROPERTIES.getType(),
+				applicationEventPublisher, resolveListenerExecutor(dataId, group),
+				listener, conflated);
+		String content = configService.getConfigAndSignListener(dataId, group,
+				timeoutMs, listenerAdapter);
+		signedListeners.add(listenerAdapter);
+		return content;
 	}
 
 	/**
@@ -90,39 +139,51 @@ public class EventPublishingConfigService implements ConfigService, NacosService
 	public void addListener(String dataId, String group, String type, Listener listener)
 			throws NacosException {
 		Listener listenerAdapter = new DelegatingEventPublishingListener(configService,
-				dataId, group, type, applicationEventPublisher, executor, listener);
+				dataId, group, type, applicationEventPublisher,
+				resolveListenerExecutor(dataId, group), listener, conflated);
 		addListener(dataId, group, listenerAdapter);
 	}
 
 	@Override
 	public void addListener(String dataId, String group, Listener listener)
 			throws NacosException {
-		configService.addListener(dataId, group, listener);
-		publishEvent(new NacosConfigListenerRegisteredEvent(configService, dataId, group,
-				listener, true));
+		configHub.addListener(dataId, group, listener);
+		if (hasListeners(NacosConfigListenerRegisteredEvent.class)) {
+			publishEvent(new NacosConfigListenerRegisteredEvent(configService, dataId,
+					group, listener, true));
+		}
 	}
 
 	@Override
 	public boolean publishConfig(String dataId, String group, String content)
 			throws NacosException {
 		boolean published = configService.publishConfig(dataId, group, content);
-		publishEvent(new NacosConfigPublishedEvent(configService, dataId, group, content,
-				published));
+		configHub.invalidate(dataId, group);
+		if (hasListeners(NacosConfigPublishedEvent.class)) {
+			publishEvent(new NacosConfigPublishedEvent(configService, dataId, group,
+					content, published));
+		}
 		return published;
 	}
 
 	@Override
 	public boolean removeConfig(String dataId, String group) throws NacosException {
 		boolean removed = configService.removeConfig(dataId, group);
-		publishEvent(new NacosConfigRemovedEvent(configService, dataId, group, removed));
+		configHub.invalidate(dataId, group);
+		if (hasListeners(NacosConfigRemovedEvent.class)) {
+			publishEvent(
+					new NacosConfigRemovedEvent(configService, dataId, group, removed));
+		}
 		return removed;
 	}
 
 	@Override
 	public void removeListener(String dataId, String group, Listener listener) {
-		configService.removeListener(dataId, group, listener);
-		publishEvent(new NacosConfigListenerRegisteredEvent(configService, dataId, group,
-				listener, false));
+		configHub.removeListener(dataId, group, listener);
+		if (hasListeners(NacosConfigListenerRegisteredEvent.class)) {
+			publishEvent(new NacosConfigListenerRegisteredEvent(configService, dataId,
+					group, listener, false));
+		}
 	}
 
 	@Override
@@ -130,6 +191,81 @@ public class EventPublishingConfigService implements ConfigService, NacosService
 		return configService.getServerStatus();
 	}
 
+	/**
+	 * Remove all listeners added through current service from the delegate, thus the
+	 * delegate kept for reuse, e.g. nacos-client before 1.2 which can't be shutdown,
+	 * does not reference the listeners of the closed
+	 * {@link ConfigurableApplicationContext context} anymore
+	 *
+	 * @since 0.3.5
+	 */
+	public void removeAllListeners() {
+		configHub.removeAllListeners();
+		for (DelegatingEventPublishingListener listener : signedListeners) {
+			configService.removeListener(listener.getDataId(), listener.getGroupId(),
+					listener);
+		}
+		signedListeners.clear();
+		configChangePublishers.clear();
+	}
+
+	/**
+	 * Get the {@link NacosConfigHub} which shares the fetches and Nacos
+	 * {@link Listener Listeners} of same dataId and group
+	 *
+	 * @return non-null
+	 * @since 0.3.5
+	 */
+	public NacosConfigHub getConfigHub() {
+		return configHub;
+	}
+
+	/**
+	 * Get the shared {@link ConfigChangePublisher} of dataId and group, whose subscribers
+	 * share one Nacos {@link Listener}
+	 *
+	 * @param dataId dataId
+	 * @param group group
+	 * @return non-null
+	 * @since 0.3.5
+	 */
+	public ConfigChangePublisher getConfigChangePublisher(String dataId, String group) {
+		String key = dataId + SEPARATOR + group;
+		ConfigChangePublisher publisher = configChangePublishers.get(key);
+		if (publisher == null) {
+			publisher = new ConfigChangePublisher(this, dataId, group);
+			ConfigChangePublisher existed = configChangePublishers.putIfAbsent(key,
+					publisher);
+			if (existed != null) {
+				publisher = existed;
+			}
+		}
+		return publisher;
+	}
+
+	/**
+	 * Resolve the {@link Executor} of listener, the notifications of same dataId and
+	 * group are serialized if {@link KeyedSerialExecutor dispatcher} is present.
+	 *
+	 * @param dataId dataId
+	 * @param group group
+	 * @return maybe <code>null</code>
+	 */
+	private Executor resolveListenerExecutor(String dataId, String group) {
+		Executor dispatcherExecutor = configHub.getDispatcherExecutor(dataId, group);
+		return dispatcherExecutor == null ? executor : dispatcherExecutor;
+	}
+
+	/**
+	 * Has any listener of the event type or not, the event will not be built if absent
+	 *
+	 * @param eventType the type of {@link NacosConfigEvent}
+	 * @return If present or unknown yet, return <code>true</code>
+	 */
+	private boolean hasListeners(Class<? extends NacosConfigEvent> eventType) {
+		return applicationEventPublisher.hasListeners(eventType);
+	}
+
 	private void publishEvent(NacosConfigEvent nacosConfigEvent) {
 		applicationEventPublisher.publishEvent(nacosConfigEvent);
 	}
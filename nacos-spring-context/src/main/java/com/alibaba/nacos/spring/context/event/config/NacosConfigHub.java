@@ -0,0 +1,376 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.event.config;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.nacos.api.config.ConfigService;
+import com.alibaba.nacos.api.config.listener.AbstractListener;
+import com.alibaba.nacos.api.config.listener.AbstractSharedListener;
+import com.alibaba.nacos.api.config.listener.Listener;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.spring.util.concurrent.KeyedSerialExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.alibaba.nacos.spring.util.NacosUtils.SEPARATOR;
+
+/**
+ * The hub of Nacos configs of one {@link ConfigService}, which is bound to a namespace.
+ * The consumers of the same dataId and group, e.g. the Nacos property source, the
+ * {@link com.alibaba.nacos.api.config.annotation.NacosConfigurationProperties} beans
+ * and the {@link com.alibaba.nacos.api.config.annotation.NacosConfigListener} methods,
+ * share one Nacos {@link Listener}, which is added on the first subscription and removed
+ * when the last one is removed. The changes are fanned out to all consumers.
+ * <p>
+ * The content of subscribed config is kept up-to-date by its listener, thus it's
+ * fetched from Nacos server once, the following fetches return the content directly.
+ * The content fetched while it's not subscribed is never kept, and the config is
+ * forgotten once the last consumer is removed.
+ * <p>
+ * If the {@link KeyedSerialExecutor dispatcher} is present, the consumers without their
+ * own {@link Listener#getExecutor() executor} are notified by it, thus the changes of
+ * the same dataId and group are processed orderly and the Nacos notification thread
+ * returns immediately.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @see EventPublishingConfigService#getConfigHub()
+ * @since 0.3.5
+ */
+public class NacosConfigHub {
+
+	private static final Logger logger = LoggerFactory.getLogger(NacosConfigHub.class);
+
+	private static final Object UNKNOWN = new Object();
+
+	private final ConfigService configService;
+
+	private final KeyedSerialExecutor dispatcher;
+
+	private final String namespace;
+
+	private final ConcurrentMap<String, Channel> channels = new ConcurrentHashMap<String, Channel>();
+
+	private final AtomicLong fetchCount = new AtomicLong();
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	public NacosConfigHub(ConfigService configService) {
+		this(configService, null, null);
+	}
+
+	/**
+	 * @param configService the delegate {@link ConfigService}
+	 * @param dispatcher the {@link KeyedSerialExecutor} of consumers, maybe
+	 *     <code>null</code>
+	 * @param namespace the namespace of {@link ConfigService}, maybe <code>null</code>
+	 */
+	public NacosConfigHub(ConfigService configService, KeyedSerialExecutor dispatcher,
+			String namespace) {
+		this.configService = configService;
+		this.dispatcher = dispatcher;
+		this.namespace = namespace == null ? "" : namespace;
+	}
+
+	/**
+	 * Get the config, it will be fetched from Nacos server unless it's subscribed and
+	 * fetched before
+	 *
+	 * @param dataId dataId
+	 * @param group group
+	 * @param timeoutMs the timeout of fetching in milliseconds
+	 * @return the content of config
+	 * @throws NacosException if fetching is failed
+	 */
+	public String getConfig(String dataId, String group, long timeoutMs)
+			throws NacosException {
+		Channel channel = channels.get(buildKey(dataId, group));
+		if (channel == null) { // not subscribed
+			fetchCount.incrementAndGet();
+			return configService.getConfig(dataId, group, timeoutMs);
+		}
+		Object content = channel.getContentIfSubscribed();
+		if (content != UNKNOWN) {
+			hitCount.incrementAndGet();
+			return (String) content;
+		}
+		long version = channel.version;
+		fetchCount.incrementAndGet();
+		String fetched = configService.getConfig(dataId, group, timeoutMs);
+		channel.setContent(fetched, version);
+		return fetched;
+	}
+
+	/**
+	 * Add the consumer of config, the shared Nacos {@link Listener} is added on the
+	 * first one
+	 *
+	 * @param dataId dataId
+	 * @param group group
+	 * @param listener the consumer
+	 * @throws NacosException if the shared Nacos {@link Listener} can't be added
+	 */
+	public void addListener(String dataId, String group, Listener listener)
+			throws NacosException {
+		String key = buildKey(dataId, group);
+		while (true) {
+			Channel channel = getChannel(key, dataId, group);
+			synchronized (channel) {
+				if (channels.get(key) != channel) {
+					continue; // removed with its last consumer concurrently
+				}
+				channel.listeners.add(listener);
+				if (channel.listeners.size() == 1) {
+					try {
+						configService.addListener(dataId, group, channel);
+					}
+					catch (NacosException e) {
+						channel.listeners.remove(listener);
+						channels.remove(key, channel);
+						throw e;
+					}
+					// The content fetched before is not kept up-to-date
+					channel.invalidate();
+				}
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Remove the consumer of config, the shared Nacos {@link Listener} is removed with
+	 * the last one
+	 *
+	 * @param dataId dataId
+	 * @param group group
+	 * @param listener the consumer
+	 */
+	public void removeListener(String dataId, String group, Listener listener) {
+		String key = buildKey(dataId, group);
+		Channel channel = channels.get(key);
+		if (channel == null) {
+			return;
+		}
+		synchronized (channel) {
+			if (channel.listeners.remove(listener) && channel.listeners.isEmpty()) {
+				configService.removeListener(dataId, group, channel);
+				channel.invalidate();
+				channels.remove(key, channel);
+			}
+		}
+	}
+
+	/**
+	 * Remove all consumers and their shared Nacos {@link Listener Listeners}, e.g. the
+	 * owner of {@link ConfigService} is released while it's kept for reuse
+	 */
+	public void removeAllListeners() {
+		for (Map.Entry<String, Channel> entry : channels.entrySet()) {
+			Channel channel = entry.getValue();
+			synchronized (channel) {
+				if (!channel.listeners.isEmpty()) {
+					channel.listeners.clear();
+					configService.removeListener(channel.dataId, channel.group,
+							channel);
+				}
+				channel.invalidate();
+				channels.remove(entry.getKey(), channel);
+			}
+		}
+	}
+
+	/**
+	 * Invalidate the content of config, e.g. it's published or removed by current
+	 * client, thus the next {@link #getConfig(String, String, long) fetching} will
+	 * reach Nacos server
+	 *
+	 * @param dataId dataId
+	 * @param group group
+	 */
+	public void invalidate(String dataId, String group) {
+		Channel channel = channels.get(buildKey(dataId, group));
+		if (channel != null) {
+			channel.invalidate();
+		}
+	}
+
+	/**
+	 * Get the number of consumers of each subscribed config
+	 *
+	 * @return read-only snapshot, the key is "dataId|group"
+	 */
+	public Map<String, Integer> getListenerCounts() {
+		Map<String, Integer> listenerCounts = new LinkedHashMap<String, Integer>();
+		for (Map.Entry<String, Channel> entry : channels.entrySet()) {
+			int size = entry.getValue().listeners.size();
+			if (size > 0) {
+				listenerCounts.put(entry.getKey(), size);
+			}
+		}
+		return listenerCounts;
+	}
+
+	/**
+	 * Get the total number of fetches reached Nacos server
+	 *
+	 * @return the total number of fetches
+	 */
+	public long getFetchCount() {
+		return fetchCount.get();
+	}
+
+	/**
+	 * Get the total number of fetches returned the subscribed content directly
+	 *
+	 * @return the total number of hits
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * Get the {@link Executor} of {@link KeyedSerialExecutor dispatcher} for dataId and
+	 * group, which serializes the notifications
+	 *
+	 * @param dataId dataId
+	 * @param group group
+	 * @return <code>null</code> if the dispatcher is absent
+	 */
+	Executor getDispatcherExecutor(String dataId, String group) {
+		if (dispatcher == null) {
+			return null;
+		}
+		return dispatcher
+				.getExecutor(dataId + SEPARATOR + group + SEPARATOR + namespace);
+	}
+
+	private Channel getChannel(String key, String dataId, String group) {
+		Channel channel = channels.get(key);
+		if (channel == null) {
+			channel = new Channel(dataId, group,
+					getDispatcherExecutor(dataId, group));
+			Channel existed = channels.putIfAbsent(key, channel);
+			if (existed != null) {
+				channel = existed;
+			}
+		}
+		return channel;
+	}
+
+	private static String buildKey(String dataId, String group) {
+		return dataId + SEPARATOR + group;
+	}
+
+	/**
+	 * The shared Nacos {@link Listener} of dataId and group, its content is guarded by
+	 * itself
+	 */
+	private static class Channel extends AbstractListener {
+
+		private final String dataId;
+
+		private final String group;
+
+		/**
+		 * The {@link Executor} of consumers without their own one, maybe
+		 * <code>null</code>
+		 */
+		private final Executor dispatcherExecutor;
+
+		private final List<Listener> listeners = new CopyOnWriteArrayList<Listener>();
+
+		private Object content = UNKNOWN;
+
+		/**
+		 * Increased on every change, the fetched content is discarded if it's changed
+		 * during fetching
+		 */
+		private volatile long version;
+
+		Channel(String dataId, String group, Executor dispatcherExecutor) {
+			this.dataId = dataId;
+			this.group = group;
+			this.dispatcherExecutor = dispatcherExecutor;
+		}
+
+		synchronized Object getContentIfSubscribed() {
+			return listeners.isEmpty() ? UNKNOWN : content;
+		}
+
+		synchronized void setContent(String content, long version) {
+			if (this.version == version && !listeners.isEmpty()) {
+				this.content = content;
+			}
+		}
+
+		synchronized void invalidate() {
+			this.content = UNKNOWN;
+			this.version++;
+		}
+
+		@Override
+		public void receiveConfigInfo(final String content) {
+			synchronized (this) {
+				this.content = content;
+				this.version++;
+			}
+			for (final Listener listener : listeners) {
+				if (listener instanceof AbstractSharedListener) {
+					((AbstractSharedListener) listener).fillContext(dataId, group);
+				}
+				Executor executor = listener.getExecutor();
+				if (executor == null) {
+					executor = dispatcherExecutor;
+				}
+				if (executor == null) {
+					deliver(listener, content);
+					continue;
+				}
+				try {
+					executor.execute(new Runnable() {
+						@Override
+						public void run() {
+							deliver(listener, content);
+						}
+					});
+				}
+				catch (RejectedExecutionException e) {
+					logger.error("The notification of dataId[" + dataId + "] , group["
+							+ group + "] is rejected", e);
+				}
+			}
+		}
+
+		private void deliver(Listener listener, String content) {
+			try {
+				listener.receiveConfigInfo(content);
+			}
+			catch (Throwable e) {
+				logger.error("The listener of dataId[" + dataId + "] , group[" + group
+						+ "] is failed", e);
+			}
+		}
+	}
+}
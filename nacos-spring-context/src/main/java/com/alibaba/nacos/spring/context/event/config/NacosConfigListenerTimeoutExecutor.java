@@ -0,0 +1,347 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.event.config;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.nacos.spring.util.concurrent.ExecutorStrategies;
+import com.alibaba.nacos.spring.util.concurrent.ExecutorStrategy;
+import com.alibaba.nacos.spring.util.concurrent.KeyedSerialExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.DEFAULT_NACOS_CONFIG_LISTENER_QUEUE_CAPACITY;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.DEFAULT_NACOS_CONFIG_LISTENER_TIMEOUT_PARALLELISM;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_CONFIG_LISTENER_TIMEOUT_PARALLELISM;
+import static com.alibaba.nacos.spring.util.NacosBeanUtils.getNacosConfigListenerExecutorStrategy;
+
+/**
+ * The executor of {@link TimeoutNacosConfigListener}, the listening tasks are executed
+ * by the worker threads and cancelled by a scheduled timer when they exceed the
+ * timeout, thus the Nacos notification thread never waits for the result. The tasks
+ * with the same key, e.g. the listenings of one listener, are executed one by one in the
+ * submission order.
+ * <p>
+ * The instance is owned by the Spring ApplicationContext, its threads will be released
+ * on {@link #destroy()}. The worker threads are created by the {@link ExecutorStrategy}
+ * shared with the other Nacos Config Listener executors.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @see TimeoutNacosConfigListener
+ * @since 0.3.5
+ */
+public class NacosConfigListenerTimeoutExecutor
+		implements EnvironmentAware, BeanFactoryAware, InitializingBean, DisposableBean {
+
+	/**
+	 * The bean name of {@link NacosConfigListenerTimeoutExecutor}
+	 */
+	public static final String BEAN_NAME = "nacosConfigListenerTimeoutExecutor";
+
+	private static final Logger logger = LoggerFactory
+			.getLogger(NacosConfigListenerTimeoutExecutor.class);
+
+	private int parallelism = DEFAULT_NACOS_CONFIG_LISTENER_TIMEOUT_PARALLELISM;
+
+	private ExecutorStrategy executorStrategy = ExecutorStrategies.FIXED;
+
+	private ExecutorService workerExecutor;
+
+	private KeyedSerialExecutor serialExecutor;
+
+	private ScheduledExecutorService timeoutScheduler;
+
+	public NacosConfigListenerTimeoutExecutor() {
+	}
+
+	public NacosConfigListenerTimeoutExecutor(int parallelism) {
+		setParallelism(parallelism);
+		afterPropertiesSet();
+	}
+
+	/**
+	 * Execute the listening task asynchronously, the task will be cancelled and
+	 * <code>timeoutCallback</code> will be invoked if it's not completed within
+	 * <code>timeout</code> milliseconds since it starts.
+	 *
+	 * @param task the listening task
+	 * @param timeout timeout in milliseconds
+	 * @param timeoutCallback the callback on timeout
+	 * @return the {@link Future} of task
+	 * @throws RejectedExecutionException if current executor has been destroyed
+	 */
+	public Future<?> execute(Runnable task, long timeout, Runnable timeoutCallback)
+			throws RejectedExecutionException {
+		return execute(task, timeout, timeoutCallback, null);
+	}
+
+	/**
+	 * Execute the listening task asynchronously, the task will be cancelled and
+	 * <code>timeoutCallback</code> will be invoked if it's not completed within
+	 * <code>timeout</code> milliseconds since it starts, and
+	 * <code>completionCallback</code> will be invoked by the worker thread once the
+	 * task returns, including the cancelled one.
+	 *
+	 * @param task the listening task
+	 * @param timeout timeout in milliseconds
+	 * @param timeoutCallback the callback on timeout
+	 * @param completionCallback the callback on completion
+	 * @return the {@link Future} of task
+	 * @throws RejectedExecutionException if current executor has been destroyed
+	 */
+	public Future<?> execute(Runnable task, long timeout, Runnable timeoutCallback,
+			Runnable completionCallback) throws RejectedExecutionException {
+		TimeoutTask timeoutTask = new TimeoutTask(task, timeout, timeoutCallback,
+				completionCallback);
+		workerExecutor.execute(timeoutTask);
+		return timeoutTask;
+	}
+
+	/**
+	 * Execute the listening task asynchronously after all pending tasks with the same
+	 * key, thus at most one task of the key is in progress, the task will be cancelled
+	 * and <code>timeoutCallback</code> will be invoked if it's not completed within
+	 * <code>timeout</code> milliseconds since it starts, and
+	 * <code>completionCallback</code> will be invoked by the worker thread once the
+	 * task returns, including the cancelled one.
+	 *
+	 * @param key the key of task
+	 * @param task the listening task
+	 * @param timeout timeout in milliseconds
+	 * @param timeoutCallback the callback on timeout
+	 * @param completionCallback the callback on completion
+	 * @return the {@link Future} of task
+	 * @throws RejectedExecutionException if current executor has been destroyed or the
+	 *     queue of key is full
+	 */
+	public Future<?> execute(String key, Runnable task, long timeout,
+			Runnable timeoutCallback, Runnable completionCallback)
+			throws RejectedExecutionException {
+		TimeoutTask timeoutTask = new TimeoutTask(task, timeout, timeoutCallback,
+				completionCallback);
+		serialExecutor.execute(key, timeoutTask);
+		return timeoutTask;
+	}
+
+	/**
+	 * Schedule the short task, e.g. the submission of
+	 * {@link #execute(Runnable, long, Runnable, Runnable) listening}, after the delay
+	 *
+	 * @param task the short task
+	 * @param delay delay in milliseconds
+	 * @return the {@link ScheduledFuture} of task
+	 * @throws RejectedExecutionException if current executor has been destroyed
+	 */
+	public ScheduledFuture<?> schedule(Runnable task, long delay)
+			throws RejectedExecutionException {
+		return timeoutScheduler.schedule(task, delay, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		this.workerExecutor = executorStrategy
+				.newExecutor("NacosConfigListener-Timeout-Worker-", parallelism);
+		this.serialExecutor = new KeyedSerialExecutor(workerExecutor,
+				DEFAULT_NACOS_CONFIG_LISTENER_QUEUE_CAPACITY);
+		this.timeoutScheduler = Executors.newSingleThreadScheduledExecutor(
+				new NamedThreadFactory("NacosConfigListener-Timeout-Scheduler-"));
+	}
+
+	@Override
+	public void destroy() {
+		if (timeoutScheduler != null) {
+			timeoutScheduler.shutdownNow();
+		}
+		if (workerExecutor != null) {
+			workerExecutor.shutdownNow();
+		}
+	}
+
+	@Override
+	public void setEnvironment(Environment environment) {
+		setParallelism(environment.getProperty(NACOS_CONFIG_LISTENER_TIMEOUT_PARALLELISM,
+				int.class, DEFAULT_NACOS_CONFIG_LISTENER_TIMEOUT_PARALLELISM));
+	}
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		setExecutorStrategy(getNacosConfigListenerExecutorStrategy(beanFactory));
+	}
+
+	public void setExecutorStrategy(ExecutorStrategy executorStrategy) {
+		this.executorStrategy = executorStrategy == null ? ExecutorStrategies.FIXED
+				: executorStrategy;
+	}
+
+	public ExecutorStrategy getExecutorStrategy() {
+		return executorStrategy;
+	}
+
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism < 1
+				? DEFAULT_NACOS_CONFIG_LISTENER_TIMEOUT_PARALLELISM
+				: parallelism;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Get the default {@link NacosConfigListenerTimeoutExecutor} which is used when no
+	 * one is specified, it will be initialized lazily.
+	 *
+	 * @return non-null
+	 */
+	static NacosConfigListenerTimeoutExecutor getDefaultInstance() {
+		return DefaultInstanceHolder.INSTANCE;
+	}
+
+	private static class DefaultInstanceHolder {
+
+		private static final NacosConfigListenerTimeoutExecutor INSTANCE = new NacosConfigListenerTimeoutExecutor(
+				DEFAULT_NACOS_CONFIG_LISTENER_TIMEOUT_PARALLELISM);
+
+	}
+
+	private class TimeoutTask extends FutureTask<Object> {
+
+		private final long timeout;
+
+		private final Runnable timeoutCallback;
+
+		private final Runnable completionCallback;
+
+		private volatile ScheduledFuture<?> timeoutFuture;
+
+		TimeoutTask(Runnable task, long timeout, Runnable timeoutCallback,
+				Runnable completionCallback) {
+			super(task, null);
+			this.timeout = timeout;
+			this.timeoutCallback = timeoutCallback;
+			this.completionCallback = completionCallback;
+		}
+
+		@Override
+		public void run() {
+			if (!isDone()) {
+				try {
+					// The timeout is counted since the task starts, rather than
+					// waiting in the queue
+					timeoutFuture = timeoutScheduler.schedule(
+							new TimeoutCancellation(this, timeoutCallback), timeout,
+							TimeUnit.MILLISECONDS);
+				}
+				catch (RejectedExecutionException e) {
+					// The executor is being destroyed, run without timeout
+				}
+			}
+			try {
+				// Returns after the task body, even though it's cancelled on timeout
+				super.run();
+				if (isCancelled()) {
+					// Clear the interrupt of cancellation, the thread may run the next
+					// task of the same key
+					Thread.interrupted();
+				}
+			}
+			finally {
+				// Completes on the worker thread rather than on cancellation, thus the
+				// next listening never overlaps the interrupted one
+				if (completionCallback != null) {
+					completionCallback.run();
+				}
+			}
+		}
+
+		@Override
+		protected void done() {
+			ScheduledFuture<?> timeoutFuture = this.timeoutFuture;
+			if (timeoutFuture != null) {
+				timeoutFuture.cancel(false);
+			}
+			try {
+				if (!isCancelled()) {
+					get();
+				}
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			catch (ExecutionException e) {
+				logger.error("Listening on Nacos Config is failed", e.getCause());
+			}
+		}
+	}
+
+	private static class TimeoutCancellation implements Runnable {
+
+		private final Future<?> future;
+
+		private final Runnable timeoutCallback;
+
+		TimeoutCancellation(Future<?> future, Runnable timeoutCallback) {
+			this.future = future;
+			this.timeoutCallback = timeoutCallback;
+		}
+
+		@Override
+		public void run() {
+			// cancel(true) returns false if the task has been completed
+			if (future.cancel(true) && timeoutCallback != null) {
+				timeoutCallback.run();
+			}
+		}
+	}
+
+	private static class NamedThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+		private final String prefix;
+
+		NamedThreadFactory(String prefix) {
+			this.prefix = prefix;
+		}
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r);
+			thread.setDaemon(true);
+			thread.setName(prefix + threadNumber.getAndIncrement());
+			return thread;
+		}
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.event.config;
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.alibaba.nacos.spring.context.event.LoggingNacosConfigMetadataEventListener;
+
+import org.springframework.util.Assert;
+
+import static com.alibaba.nacos.api.common.Constants.DEFAULT_GROUP;
+
+/**
+ * The in-memory registry of {@link NacosConfigMetadataEvent Nacos Config Meta-Data},
+ * which is filled directly by the property sources, the
+ * {@link com.alibaba.nacos.api.config.annotation.NacosConfigurationProperties} binder
+ * and the {@link com.alibaba.nacos.api.config.annotation.NacosConfigListener} and
+ * {@link com.alibaba.nacos.spring.context.annotation.config.NacosConfigBatchListener}
+ * processors, thus the bindings could be introspected without any
+ * {@link LoggingNacosConfigMetadataEventListener logging}.
+ * <p>
+ * The Meta-Data are indexed by dataId and groupId, bean name and annotated element.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @see NacosConfigMetadataEvent
+ * @since 0.3.5
+ */
+public class NacosConfigMetadataRegistry {
+
+	/**
+	 * The bean name of {@link NacosConfigMetadataRegistry}
+	 */
+	public static final String BEAN_NAME = "nacosConfigMetadataRegistry";
+
+	private final List<NacosConfigMetadataEvent> metadataList = new ArrayList<NacosConfigMetadataEvent>();
+
+	private final Map<String, List<NacosConfigMetadataEvent>> dataIdIndex = new HashMap<String, List<NacosConfigMetadataEvent>>();
+
+	private final Map<String, List<NacosConfigMetadataEvent>> beanNameIndex = new HashMap<String, List<NacosConfigMetadataEvent>>();
+
+	private final Map<AnnotatedElement, List<NacosConfigMetadataEvent>> annotatedElementIndex = new HashMap<AnnotatedElement, List<NacosConfigMetadataEvent>>();
+
+	/**
+	 * Register the Meta-Data
+	 *
+	 * @param metadata {@link NacosConfigMetadataEvent}
+	 */
+	public synchronized void register(NacosConfigMetadataEvent metadata) {
+		Assert.notNull(metadata, "NacosConfigMetadataEvent must not be null!");
+		metadataList.add(metadata);
+		index(dataIdIndex, buildKey(metadata.getDataId(), metadata.getGroupId()),
+				metadata);
+		index(beanNameIndex, metadata.getBeanName(), metadata);
+		index(annotatedElementIndex, metadata.getAnnotatedElement(), metadata);
+	}
+
+	/**
+	 * Get the Meta-Data of dataId in the default group
+	 *
+	 * @param dataId dataId
+	 * @return read-only snapshot, non-null
+	 */
+	public List<NacosConfigMetadataEvent> getMetadata(String dataId) {
+		return getMetadata(dataId, DEFAULT_GROUP);
+	}
+
+	/**
+	 * Get the Meta-Data of dataId and groupId
+	 *
+	 * @param dataId dataId
+	 * @param groupId groupId
+	 * @return read-only snapshot, non-null
+	 */
+	public synchronized List<NacosConfigMetadataEvent> getMetadata(String dataId,
+			String groupId) {
+		return snapshot(dataIdIndex.get(buildKey(dataId, groupId)));
+	}
+
+	/**
+	 * Get the Meta-Data of the bean
+	 *
+	 * @param beanName the name of bean
+	 * @return read-only snapshot, non-null
+	 */
+	public synchronized List<NacosConfigMetadataEvent> getMetadataByBeanName(
+			String beanName) {
+		return snapshot(beanNameIndex.get(beanName));
+	}
+
+	/**
+	 * Get the Meta-Data of the annotated element, e.g. the class annotated
+	 * {@link com.alibaba.nacos.api.config.annotation.NacosConfigurationProperties} or
+	 * the method annotated {@link com.alibaba.nacos.api.config.annotation.NacosConfigListener}
+	 *
+	 * @param annotatedElement {@link AnnotatedElement}
+	 * @return read-only snapshot, non-null
+	 */
+	public synchronized List<NacosConfigMetadataEvent> getMetadata(
+			AnnotatedElement annotatedElement) {
+		return snapshot(annotatedElementIndex.get(annotatedElement));
+	}
+
+	/**
+	 * Get all Meta-Data in the registration order
+	 *
+	 * @return read-only snapshot, non-null
+	 */
+	public synchronized List<NacosConfigMetadataEvent> getAllMetadata() {
+		return snapshot(metadataList);
+	}
+
+	/**
+	 * Get the number of registered Meta-Data
+	 *
+	 * @return the number of registered Meta-Data
+	 */
+	public synchronized int size() {
+		return metadataList.size();
+	}
+
+	private static <K> void index(Map<K, List<NacosConfigMetadataEvent>> index, K key,
+			NacosConfigMetadataEvent metadata) {
+		if (key == null) {
+			return;
+		}
+		List<NacosConfigMetadataEvent> values = index.get(key);
+		if (values == null) {
+			values = new ArrayList<NacosConfigMetadataEvent>(1);
+			index.put(key, values);
+		}
+		values.add(metadata);
+	}
+
+	private static List<NacosConfigMetadataEvent> snapshot(
+			List<NacosConfigMetadataEvent> values) {
+		if (values == null) {
+			return Collections.emptyList();
+		}
+		return Collections
+				.unmodifiableList(new ArrayList<NacosConfigMetadataEvent>(values));
+	}
+
+	private static String buildKey(String dataId, String groupId) {
+		if (dataId == null) {
+			return null;
+		}
+		return dataId + "+" + (groupId == null ? DEFAULT_GROUP : groupId);
+	}
+}
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.event.config;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.BeansException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+import static com.alibaba.nacos.spring.util.NacosUtils.SEPARATOR;
+
+/**
+ * The recorder of Nacos Config bootstrap, the elapsed time of each {@link Phase phase}
+ * is accumulated per dataId and group, thus the startup time belongs to Nacos could be
+ * broken down. The report is logged once the {@link ApplicationContext} is refreshed.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class NacosConfigStartupTimeline
+		implements ApplicationContextAware, ApplicationListener<ContextRefreshedEvent> {
+
+	/**
+	 * The bean name of {@link NacosConfigStartupTimeline}
+	 */
+	public static final String BEAN_NAME = "nacosConfigStartupTimeline";
+
+	/**
+	 * The key of phases which are not bound to any dataId, e.g. {@link Phase#VALUE_SCANNING}
+	 */
+	public static final String GLOBAL_KEY = "*";
+
+	private static final Logger logger = LoggerFactory
+			.getLogger(NacosConfigStartupTimeline.class);
+
+	private final long originNanos = System.nanoTime();
+
+	private final Map<String, Timings> timingsMap = new LinkedHashMap<String, Timings>();
+
+	private ApplicationContext applicationContext;
+
+	/**
+	 * The phases of Nacos Config bootstrap
+	 */
+	public enum Phase {
+
+		/**
+		 * Creating or looking up the Nacos client
+		 */
+		CLIENT_CREATION,
+
+		/**
+		 * Fetching the content from Nacos server
+		 */
+		FETCH,
+
+		/**
+		 * Parsing the content to properties
+		 */
+		PARSE,
+
+		/**
+		 * Inserting into {@link org.springframework.core.env.MutablePropertySources}
+		 */
+		PROPERTY_SOURCE_INSERTION,
+
+		/**
+		 * Registering the Nacos listeners
+		 */
+		LISTENER_REGISTRATION,
+
+		/**
+		 * Binding the
+		 * {@link com.alibaba.nacos.api.config.annotation.NacosConfigurationProperties}
+		 * beans
+		 */
+		BINDING,
+
+		/**
+		 * Scanning the {@link com.alibaba.nacos.api.config.annotation.NacosValue}
+		 * members
+		 */
+		VALUE_SCANNING
+	}
+
+	/**
+	 * Record the phase which is started at <code>startNanos</code> and ended now
+	 *
+	 * @param dataId dataId, or <code>null</code> if the phase is not bound to any
+	 *     dataId
+	 * @param groupId groupId
+	 * @param phase {@link Phase}
+	 * @param startNanos the start time from {@link System#nanoTime()}
+	 */
+	public void record(String dataId, String groupId, Phase phase, long startNanos) {
+		long endNanos = System.nanoTime();
+		String key = dataId == null ? GLOBAL_KEY : dataId + SEPARATOR + groupId;
+		synchronized (timingsMap) {
+			Timings timings = timingsMap.get(key);
+			if (timings == null) {
+				timings = new Timings(startNanos);
+				timingsMap.put(key, timings);
+			}
+			timings.add(phase, startNanos, endNanos);
+		}
+	}
+
+	/**
+	 * Get the elapsed time of each phase per dataId and group
+	 *
+	 * @param unit the {@link TimeUnit} of elapsed time
+	 * @return read-only snapshot, the key is "dataId|group" or {@link #GLOBAL_KEY}
+	 */
+	public Map<String, Map<Phase, Long>> getBreakdown(TimeUnit unit) {
+		synchronized (timingsMap) {
+			Map<String, Map<Phase, Long>> breakdown = new LinkedHashMap<String, Map<Phase, Long>>(
+					timingsMap.size());
+			for (Map.Entry<String, Timings> entry : timingsMap.entrySet()) {
+				Map<Phase, Long> elapsed = new EnumMap<Phase, Long>(Phase.class);
+				for (Map.Entry<Phase, Long> phase : entry.getValue().elapsedNanos
+						.entrySet()) {
+					elapsed.put(phase.getKey(), unit.convert(phase.getValue(),
+							TimeUnit.NANOSECONDS));
+				}
+				breakdown.put(entry.getKey(), elapsed);
+			}
+			return breakdown;
+		}
+	}
+
+	/**
+	 * Get the report of timeline, one line per dataId and group in the order of first
+	 * recording, the offsets are relative to the creation of current timeline
+	 *
+	 * @return the report in milliseconds
+	 */
+	public String getReport() {
+		StringBuilder report = new StringBuilder("Nacos Config startup timeline (ms) :");
+		synchronized (timingsMap) {
+			for (Map.Entry<String, Timings> entry : timingsMap.entrySet()) {
+				Timings timings = entry.getValue();
+				report.append(System.getProperty("line.separator")).append("  ")
+						.append(entry.getKey()).append(" [+")
+						.append(toMillis(timings.firstStartNanos - originNanos))
+						.append(" ~ +")
+						.append(toMillis(timings.lastEndNanos - originNanos))
+						.append("]");
+				for (Map.Entry<Phase, Long> phase : timings.elapsedNanos.entrySet()) {
+					report.append(" ").append(phase.getKey()).append("=")
+							.append(toMillis(phase.getValue()));
+				}
+			}
+		}
+		return report.toString();
+	}
+
+	@Override
+	public void setApplicationContext(ApplicationContext applicationContext)
+			throws BeansException {
+		this.applicationContext = applicationContext;
+	}
+
+	@Override
+	public void onApplicationEvent(ContextRefreshedEvent event) {
+		if (event.getApplicationContext() == applicationContext
+				&& logger.isInfoEnabled()) {
+			logger.info(getReport());
+		}
+	}
+
+	private static long toMillis(long nanos) {
+		return TimeUnit.NANOSECONDS.toMillis(nanos);
+	}
+
+	private static class Timings {
+
+		private final Map<Phase, Long> elapsedNanos = new EnumMap<Phase, Long>(
+				Phase.class);
+
+		private long firstStartNanos;
+
+		private long lastEndNanos;
+
+		Timings(long startNanos) {
+			this.firstStartNanos = startNanos;
+			this.lastEndNanos = startNanos;
+		}
+
+		void add(Phase phase, long startNanos, long endNanos) {
+			Long elapsed = elapsedNanos.get(phase);
+			elapsedNanos.put(phase, (elapsed == null ? 0L : elapsed)
+					+ (endNanos - startNanos));
+			firstStartNanos = Math.min(firstStartNanos, startNanos);
+			lastEndNanos = Math.max(lastEndNanos, endNanos);
+		}
+	}
+}
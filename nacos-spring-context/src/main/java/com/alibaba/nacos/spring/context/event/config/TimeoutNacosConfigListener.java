@@ -16,41 +16,39 @@
  */
 package com.alibaba.nacos.spring.context.event.config;
 
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.alibaba.nacos.api.config.listener.AbstractListener;
 import com.alibaba.nacos.api.config.listener.Listener;
+import com.alibaba.nacos.spring.util.concurrent.ConflatingMailbox;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static com.alibaba.nacos.spring.util.NacosUtils.SEPARATOR;
+
 /**
  * Timeout {@link Listener Nacos Config Listener}
+ * <p>
+ * The {@link #onReceived(String) listening} will be executed asynchronously by
+ * {@link NacosConfigListenerTimeoutExecutor}, and it will be cancelled if it exceeds the
+ * timeout, the Nacos notification thread returns immediately. The listenings are
+ * executed one by one in the order of receiving, thus the older content is never
+ * processed after the newer one.
+ * <p>
+ * If conflated, at most one listening is in progress, and only the latest content
+ * received during that listening will be processed next.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see NacosConfigListenerTimeoutExecutor
  * @since 0.1.0
  */
 public abstract class TimeoutNacosConfigListener extends AbstractListener {
 
-	private static AtomicInteger id = new AtomicInteger(0);
-
-	private static ExecutorService executorService = Executors.newScheduledThreadPool(8,
-			new ThreadFactory() {
-				@Override
-				public Thread newThread(Runnable r) {
-					Thread t = new Thread(r);
-					t.setDaemon(true);
-					t.setName("com.alibaba.nacos.spring.configListener-"
-							+ id.incrementAndGet());
-					return t;
-				}
-			});
+	/**
+	 * The sequence of listeners, identifies the serial queue of each one
+	 */
+	private static final AtomicLong sequence = new AtomicLong();
 
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -60,36 +58,93 @@ public abstract class TimeoutNacosConfigListener extends AbstractListener {
 
 	private final long timeout;
 
+	private final NacosConfigListenerTimeoutExecutor timeoutExecutor;
+
+	private final ConflatingMailbox<String> mailbox;
+
+	private final String serialKey;
+
 	public TimeoutNacosConfigListener(String dataId, String groupId, long timeout) {
+		this(dataId, groupId, timeout, null);
+	}
+
+	/**
+	 * @param dataId dataId
+	 * @param groupId groupId
+	 * @param timeout timeout in milliseconds
+	 * @param timeoutExecutor {@link NacosConfigListenerTimeoutExecutor} owned by Spring
+	 *     ApplicationContext, if <code>null</code>, the default one will be used
+	 * @since 0.3.5
+	 */
+	public TimeoutNacosConfigListener(String dataId, String groupId, long timeout,
+			NacosConfigListenerTimeoutExecutor timeoutExecutor) {
+		this(dataId, groupId, timeout, timeoutExecutor, false);
+	}
+
+	/**
+	 * @param dataId dataId
+	 * @param groupId groupId
+	 * @param timeout timeout in milliseconds
+	 * @param timeoutExecutor {@link NacosConfigListenerTimeoutExecutor} owned by Spring
+	 *     ApplicationContext, if <code>null</code>, the default one will be used
+	 * @param conflated whether the undelivered content will be superseded by the newer
+	 *     one
+	 * @since 0.3.5
+	 */
+	public TimeoutNacosConfigListener(String dataId, String groupId, long timeout,
+			NacosConfigListenerTimeoutExecutor timeoutExecutor, boolean conflated) {
 		this.dataId = dataId;
 		this.groupId = groupId;
 		this.timeout = timeout;
+		this.timeoutExecutor = timeoutExecutor != null ? timeoutExecutor
+				: NacosConfigListenerTimeoutExecutor.getDefaultInstance();
+		this.serialKey = dataId + SEPARATOR + groupId + SEPARATOR
+				+ sequence.incrementAndGet();
+		this.mailbox = conflated ? new ConflatingMailbox<String>() {
+			@Override
+			protected void deliver(String content) {
+				execute(content, new Runnable() {
+					@Override
+					public void run() {
+						complete();
+					}
+				});
+			}
+		} : null;
 	}
 
 	@Override
 	public void receiveConfigInfo(final String content) {
-		Future future = executorService.submit(new Runnable() {
-			@Override
-			public void run() {
-				onReceived(content);
-			}
-		});
-		try {
-			future.get(timeout, TimeUnit.MILLISECONDS);
+		if (mailbox != null) {
+			mailbox.offer(content);
 		}
-		catch (InterruptedException e) {
-			Thread.currentThread().interrupt();
-			throw new RuntimeException(e);
+		else {
+			execute(content, null);
 		}
-		catch (ExecutionException e) {
-			throw new RuntimeException(e);
+	}
+
+	private void execute(final String content, Runnable completionCallback) {
+		try {
+			timeoutExecutor.execute(serialKey, new Runnable() {
+				@Override
+				public void run() {
+					onReceived(content);
+				}
+			}, timeout, new Runnable() {
+				@Override
+				public void run() {
+					onTimeout(content);
+				}
+			}, completionCallback);
 		}
-		catch (TimeoutException e) {
-			future.cancel(true);
+		catch (RejectedExecutionException e) {
 			logger.warn(
-					"Listening on Nacos Config exceeds timeout {} ms "
-							+ "[dataId : {}, groupId : {}, data : {}]",
-					timeout, dataId, groupId, content);
+					"Listening on Nacos Config is rejected, the executor may be destroyed "
+							+ "[dataId : {}, groupId : {}]",
+					dataId, groupId);
+			if (completionCallback != null) {
+				completionCallback.run();
+			}
 		}
 	}
 
@@ -100,6 +155,20 @@ public abstract class TimeoutNacosConfigListener extends AbstractListener {
 	 */
 	protected abstract void onReceived(String content);
 
+	/**
+	 * Callback when the {@link #onReceived(String) listening} exceeds timeout and has
+	 * been cancelled.
+	 *
+	 * @param content Nacos Config
+	 * @since 0.3.5
+	 */
+	protected void onTimeout(String content) {
+		logger.warn(
+				"Listening on Nacos Config exceeds timeout {} ms "
+						+ "[dataId : {}, groupId : {}, data : {}]",
+				timeout, dataId, groupId, content);
+	}
+
 	/**
 	 * Get timeout in milliseconds
 	 *
@@ -108,4 +177,24 @@ public abstract class TimeoutNacosConfigListener extends AbstractListener {
 	public long getTimeout() {
 		return timeout;
 	}
+
+	/**
+	 * Is conflated or not
+	 *
+	 * @return If conflated, return <code>true</code>
+	 * @since 0.3.5
+	 */
+	public boolean isConflated() {
+		return mailbox != null;
+	}
+
+	/**
+	 * Get the number of contents superseded before listening
+	 *
+	 * @return always <code>0</code> if not {@link #isConflated() conflated}
+	 * @since 0.3.5
+	 */
+	public long getSupersededCount() {
+		return mailbox != null ? mailbox.getSupersededCount() : 0L;
+	}
 }
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.event.discovery;
+
+import java.util.List;
+
+import com.alibaba.nacos.api.naming.NamingService;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * The event of the instances of a cached service that have been changed by the Nacos
+ * push, only the delta is carried besides the full snapshot, thus the listener of a
+ * large service does not need to compare the whole lists. The pushes without any change
+ * are not published.
+ * <p>
+ * The instances are identified by ip, port and cluster, all lists are read-only.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class NacosInstancesChangedEvent extends ApplicationEvent {
+
+	private static final long serialVersionUID = 2308104813287415719L;
+
+	private final String serviceName;
+
+	private final String groupName;
+
+	private final List<Instance> instances;
+
+	private final List<Instance> added;
+
+	private final List<Instance> removed;
+
+	private final List<Instance> updated;
+
+	/**
+	 * @param namingService Nacos {@link NamingService}
+	 * @param serviceName the name of service
+	 * @param groupName the group of service
+	 * @param instances all current instances
+	 * @param added the new instances
+	 * @param removed the instances that are absent now
+	 * @param updated the current instances whose attributes have been changed
+	 */
+	public NacosInstancesChangedEvent(NamingService namingService, String serviceName,
+			String groupName, List<Instance> instances, List<Instance> added,
+			List<Instance> removed, List<Instance> updated) {
+		super(namingService);
+		this.serviceName = serviceName;
+		this.groupName = groupName;
+		this.instances = instances;
+		this.added = added;
+		this.removed = removed;
+		this.updated = updated;
+	}
+
+	@Override
+	public final NamingService getSource() {
+		return (NamingService) super.getSource();
+	}
+
+	public String getServiceName() {
+		return serviceName;
+	}
+
+	public String getGroupName() {
+		return groupName;
+	}
+
+	/**
+	 * Get all current instances, including the unhealthy ones
+	 *
+	 * @return read-only snapshot
+	 */
+	public List<Instance> getInstances() {
+		return instances;
+	}
+
+	public List<Instance> getAdded() {
+		return added;
+	}
+
+	public List<Instance> getRemoved() {
+		return removed;
+	}
+
+	public List<Instance> getUpdated() {
+		return updated;
+	}
+}
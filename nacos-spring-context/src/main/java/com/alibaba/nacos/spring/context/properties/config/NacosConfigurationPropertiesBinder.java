@@ -27,9 +27,12 @@ import com.alibaba.nacos.api.config.listener.AbstractListener;
 import com.alibaba.nacos.api.config.listener.Listener;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.spring.beans.factory.annotation.ConfigServiceBeanBuilder;
+import com.alibaba.nacos.spring.context.event.DeferredApplicationEventPublisher;
 import com.alibaba.nacos.spring.context.event.config.EventPublishingConfigService;
 import com.alibaba.nacos.spring.context.event.config.NacosConfigEvent;
 import com.alibaba.nacos.spring.context.event.config.NacosConfigMetadataEvent;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigMetadataRegistry;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigStartupTimeline;
 import com.alibaba.nacos.spring.context.event.config.NacosConfigurationPropertiesBeanBoundEvent;
 import com.alibaba.nacos.spring.util.NacosUtils;
 import com.alibaba.nacos.spring.util.ObjectUtils;
@@ -44,7 +47,13 @@ import org.springframework.core.env.Environment;
 import org.springframework.util.Assert;
 import org.springframework.validation.DataBinder;
 
+import static com.alibaba.nacos.spring.context.event.config.NacosConfigStartupTimeline.Phase.BINDING;
+import static com.alibaba.nacos.spring.context.event.config.NacosConfigStartupTimeline.Phase.CLIENT_CREATION;
+import static com.alibaba.nacos.spring.context.event.config.NacosConfigStartupTimeline.Phase.FETCH;
+import static com.alibaba.nacos.spring.context.event.config.NacosConfigStartupTimeline.Phase.LISTENER_REGISTRATION;
 import static com.alibaba.nacos.spring.util.NacosBeanUtils.getConfigServiceBeanBuilder;
+import static com.alibaba.nacos.spring.util.NacosBeanUtils.getNacosConfigMetadataRegistryIfPresent;
+import static com.alibaba.nacos.spring.util.NacosBeanUtils.getNacosConfigStartupTimelineIfPresent;
 import static com.alibaba.nacos.spring.util.NacosUtils.getContent;
 import static org.springframework.core.annotation.AnnotationUtils.findAnnotation;
 import static org.springframework.core.annotation.AnnotationUtils.getAnnotationAttributes;
@@ -69,8 +78,14 @@ public class NacosConfigurationPropertiesBinder {
 
 	private final ApplicationEventPublisher applicationEventPublisher;
 
+	private final DeferredApplicationEventPublisher deferredApplicationEventPublisher;
+
 	private final ConfigServiceBeanBuilder configServiceBeanBuilder;
 
+	private final NacosConfigMetadataRegistry metadataRegistry;
+
+	private final NacosConfigStartupTimeline startupTimeline;
+
 	protected NacosConfigurationPropertiesBinder(
 			ConfigurableApplicationContext applicationContext) {
 		Assert.notNull(applicationContext,
@@ -78,7 +93,13 @@ public class NacosConfigurationPropertiesBinder {
 		this.applicationContext = applicationContext;
 		this.environment = applicationContext.getEnvironment();
 		this.applicationEventPublisher = applicationContext;
+		this.deferredApplicationEventPublisher = DeferredApplicationEventPublisher
+				.getInstance(applicationContext);
 		this.configServiceBeanBuilder = getConfigServiceBeanBuilder(applicationContext);
+		this.metadataRegistry = getNacosConfigMetadataRegistryIfPresent(
+				applicationContext);
+		this.startupTimeline = getNacosConfigStartupTimelineIfPresent(
+				applicationContext);
 	}
 
 	protected void bind(Object bean, String beanName) {
@@ -108,9 +129,13 @@ public class NacosConfigurationPropertiesBinder {
 						: properties.type().getType())
 				: fileType;
 
+		long start = System.nanoTime();
+
 		final ConfigService configService = configServiceBeanBuilder
 				.build(properties.properties());
 
+		start = record(dataId, groupId, CLIENT_CREATION, start);
+
 		// Add a Listener if auto-refreshed
 		if (properties.autoRefreshed()) {
 
@@ -135,16 +160,34 @@ public class NacosConfigurationPropertiesBinder {
 					logger.error(e.getMessage(), e);
 				}
 			}
+			start = record(dataId, groupId, LISTENER_REGISTRATION, start);
 		}
 
 		String content = getContent(configService, dataId, groupId);
 
+		start = record(dataId, groupId, FETCH, start);
+
 		if (hasText(content)) {
 			doBind(bean, beanName, dataId, groupId, type, properties, content,
 					configService);
+			record(dataId, groupId, BINDING, start);
 		}
 	}
 
+	/**
+	 * Record the phase if {@link NacosConfigStartupTimeline} is present
+	 *
+	 * @return the start time of next phase
+	 */
+	private long record(String dataId, String groupId,
+			NacosConfigStartupTimeline.Phase phase, long start) {
+		if (startupTimeline == null) {
+			return start;
+		}
+		startupTimeline.record(dataId, groupId, phase, start);
+		return System.nanoTime();
+	}
+
 	protected void doBind(Object bean, String beanName, String dataId, String groupId,
 			String type, NacosConfigurationProperties properties, String content,
 			ConfigService configService) {
@@ -160,6 +203,13 @@ public class NacosConfigurationPropertiesBinder {
 	protected void publishMetadataEvent(Object bean, String beanName, String dataId,
 			String groupId, NacosConfigurationProperties properties) {
 
+		boolean listened = deferredApplicationEventPublisher
+				.hasListeners(NacosConfigMetadataEvent.class);
+
+		if (!listened && metadataRegistry == null) {
+			return;
+		}
+
 		NacosProperties nacosProperties = properties.properties();
 
 		NacosConfigMetadataEvent metadataEvent = new NacosConfigMetadataEvent(properties);
@@ -181,8 +231,14 @@ public class NacosConfigurationPropertiesBinder {
 		metadataEvent.setBeanType(beanClass);
 		metadataEvent.setAnnotatedElement(beanClass);
 
+		if (metadataRegistry != null) {
+			metadataRegistry.register(metadataEvent);
+		}
+
 		// Publish event
-		applicationEventPublisher.publishEvent(metadataEvent);
+		if (listened) {
+			applicationEventPublisher.publishEvent(metadataEvent);
+		}
 	}
 
 	protected void publishBoundEvent(Object bean, String beanName, String dataId,
@@ -22,12 +22,12 @@ import org.springframework.core.convert.ConversionService;
 import org.springframework.format.support.DefaultFormattingConversionService;
 
 /**
- * Default {@link NacosConfigConverter} implementation
+ * Default {@link NacosConfigConverter} implementation, which is thread-safe
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
  * @since 0.1.0
  */
-public class DefaultNacosConfigConverter<T> implements NacosConfigConverter<T> {
+public class DefaultNacosConfigConverter<T> implements ThreadSafeNacosConfigConverter<T> {
 
 	private final Class<T> targetType;
 
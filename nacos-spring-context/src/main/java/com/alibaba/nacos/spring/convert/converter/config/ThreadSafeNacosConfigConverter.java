@@ -0,0 +1,33 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.convert.converter.config;
+
+import com.alibaba.nacos.api.config.convert.NacosConfigConverter;
+
+/**
+ * The thread-safe {@link NacosConfigConverter}, a single instance will be shared by all
+ * notifications of listener method, otherwise, a new instance is created for each
+ * notification.
+ *
+ * @param <T> the target type that wanted
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @see NacosConfigConverter
+ * @since 0.3.5
+ */
+public interface ThreadSafeNacosConfigConverter<T> extends NacosConfigConverter<T> {
+
+}
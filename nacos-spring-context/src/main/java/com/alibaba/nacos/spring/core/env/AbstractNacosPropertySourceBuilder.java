@@ -21,12 +21,21 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
+import com.alibaba.nacos.api.config.ConfigService;
 import com.alibaba.nacos.api.config.ConfigType;
 import com.alibaba.nacos.spring.context.event.DeferredApplicationEventPublisher;
 import com.alibaba.nacos.spring.context.event.config.NacosConfigMetadataEvent;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigMetadataRegistry;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigStartupTimeline;
 import com.alibaba.nacos.spring.util.NacosUtils;
 import com.alibaba.nacos.spring.util.config.NacosConfigLoader;
+import com.alibaba.nacos.spring.util.config.NacosConfigSnapshotStore;
+import com.alibaba.nacos.spring.util.config.NacosConfigSnapshotStore.Snapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,7 +47,6 @@ import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.EnvironmentAware;
 import org.springframework.core.env.ConfigurableEnvironment;
@@ -51,13 +59,18 @@ import static com.alibaba.nacos.spring.context.annotation.config.NacosPropertySo
 import static com.alibaba.nacos.spring.context.annotation.config.NacosPropertySource.GROUP_ID_ATTRIBUTE_NAME;
 import static com.alibaba.nacos.spring.context.annotation.config.NacosPropertySource.NAME_ATTRIBUTE_NAME;
 import static com.alibaba.nacos.spring.context.annotation.config.NacosPropertySource.PROPERTIES_ATTRIBUTE_NAME;
+import static com.alibaba.nacos.spring.context.event.config.NacosConfigStartupTimeline.Phase.PARSE;
 import static com.alibaba.nacos.spring.util.GlobalNacosPropertiesSource.CONFIG;
+import static com.alibaba.nacos.spring.util.NacosBeanUtils.getNacosConfigMetadataRegistryIfPresent;
+import static com.alibaba.nacos.spring.util.NacosBeanUtils.getNacosConfigSnapshotStoreIfPresent;
+import static com.alibaba.nacos.spring.util.NacosBeanUtils.getNacosConfigStartupTimelineIfPresent;
 import static com.alibaba.nacos.spring.util.NacosBeanUtils.getNacosServiceFactoryBean;
 import static com.alibaba.nacos.spring.util.NacosUtils.buildDefaultPropertySourceName;
 import static com.alibaba.nacos.spring.util.NacosUtils.resolveProperties;
 import static com.alibaba.spring.util.ClassUtils.resolveGenericType;
 import static java.lang.String.format;
 import static org.springframework.util.ClassUtils.resolveClassName;
+import static org.springframework.util.SystemPropertyUtils.PLACEHOLDER_PREFIX;
 
 /**
  * Abstract implementation of {@link NacosPropertySource} Builder
@@ -84,7 +97,13 @@ public abstract class AbstractNacosPropertySourceBuilder<T extends BeanDefinitio
 
 	private ClassLoader classLoader;
 
-	private ApplicationEventPublisher applicationEventPublisher;
+	private DeferredApplicationEventPublisher applicationEventPublisher;
+
+	private NacosConfigMetadataRegistry metadataRegistry;
+
+	private NacosConfigSnapshotStore snapshotStore;
+
+	private NacosConfigStartupTimeline startupTimeline;
 
 	public AbstractNacosPropertySourceBuilder() {
 		beanDefinitionType = resolveGenericType(getClass());
@@ -99,8 +118,46 @@ public abstract class AbstractNacosPropertySourceBuilder<T extends BeanDefinitio
 	 */
 	public List<NacosPropertySource> build(String beanName, T beanDefinition) {
 
+		List<PendingNacosPropertySource<T>> pendingNacosPropertySources = prepare(
+				beanName, beanDefinition, null);
+
+		if (pendingNacosPropertySources.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		List<NacosPropertySource> nacosPropertySources = new ArrayList<NacosPropertySource>(
+				pendingNacosPropertySources.size());
+
+		for (PendingNacosPropertySource<T> pendingNacosPropertySource : pendingNacosPropertySources) {
+			nacosPropertySources.add(pendingNacosPropertySource.get());
+		}
+
+		return nacosPropertySources;
+	}
+
+	/**
+	 * Prepare {@link NacosPropertySource} from {@link BeanDefinition}, the Nacos config
+	 * will be loaded by the {@link Executor} asynchronously, thus the configs of
+	 * multiple {@link BeanDefinition BeanDefinitions} could be loaded concurrently. The
+	 * one {@link PendingNacosPropertySource#hasUnresolvedPlaceholders() having
+	 * unresolved placeholders} is not loaded by the {@link Executor}, since the
+	 * placeholders may refer to the former {@link NacosPropertySource} not added yet.
+	 *
+	 * @param beanName Bean name
+	 * @param beanDefinition the {@link BeanDefinition} {@link #supports(BeanDefinition)
+	 *     supported}
+	 * @param executor the {@link Executor} loads Nacos config, or <code>null</code> if
+	 *     it should be loaded on {@link PendingNacosPropertySource#get()}
+	 * @return the pending {@link NacosPropertySource NacosPropertySources} in the
+	 * declared order
+	 */
+	List<PendingNacosPropertySource<T>> prepare(String beanName,
+			BeanDefinition beanDefinition, Executor executor) {
+
+		T supportedBeanDefinition = beanDefinitionType.cast(beanDefinition);
+
 		Map<String, Object>[] attributesArray = resolveRuntimeAttributesArray(
-				beanDefinition, globalNacosProperties);
+				supportedBeanDefinition, globalNacosProperties);
 
 		int size = attributesArray == null ? 0 : attributesArray.length;
 
@@ -108,29 +165,23 @@ public abstract class AbstractNacosPropertySourceBuilder<T extends BeanDefinitio
 			return Collections.emptyList();
 		}
 
-		List<NacosPropertySource> nacosPropertySources = new ArrayList<NacosPropertySource>(
+		List<PendingNacosPropertySource<T>> pendingNacosPropertySources = new ArrayList<PendingNacosPropertySource<T>>(
 				size);
 
 		for (int i = 0; i < size; i++) {
 			Map<String, Object> attributes = attributesArray[i];
 			if (!CollectionUtils.isEmpty(attributes)) {
-
-				NacosPropertySource nacosPropertySource = doBuild(beanName,
-						beanDefinition, attributesArray[i]);
-
-				NacosConfigMetadataEvent metadataEvent = createMetaEvent(
-						nacosPropertySource, beanDefinition);
-
-				initMetadataEvent(nacosPropertySource, beanDefinition, metadataEvent);
-
-				publishMetadataEvent(metadataEvent);
-
-				nacosPropertySources.add(nacosPropertySource);
-
+				PendingNacosPropertySource<T> pendingNacosPropertySource = new PendingNacosPropertySource<T>(
+						this, beanName, supportedBeanDefinition, attributes);
+				if (executor != null
+						&& !pendingNacosPropertySource.hasUnresolvedPlaceholders()) {
+					executor.execute(pendingNacosPropertySource.nacosConfig);
+				}
+				pendingNacosPropertySources.add(pendingNacosPropertySource);
 			}
 		}
 
-		return nacosPropertySources;
+		return pendingNacosPropertySources;
 	}
 
 	protected abstract NacosConfigMetadataEvent createMetaEvent(
@@ -152,7 +203,12 @@ public abstract class AbstractNacosPropertySourceBuilder<T extends BeanDefinitio
 	}
 
 	private void publishMetadataEvent(NacosConfigMetadataEvent metadataEvent) {
-		applicationEventPublisher.publishEvent(metadataEvent);
+		if (metadataRegistry != null) {
+			metadataRegistry.register(metadataEvent);
+		}
+		if (applicationEventPublisher.hasListeners(NacosConfigMetadataEvent.class)) {
+			applicationEventPublisher.publishEvent(metadataEvent);
+		}
 	}
 
 	protected abstract void doInitMetadataEvent(NacosPropertySource nacosPropertySource,
@@ -160,55 +216,216 @@ public abstract class AbstractNacosPropertySourceBuilder<T extends BeanDefinitio
 
 	protected NacosPropertySource doBuild(String beanName, T beanDefinition,
 			Map<String, Object> runtimeAttributes) {
+		return new PendingNacosPropertySource<T>(this, beanName, beanDefinition,
+				runtimeAttributes).load();
+	}
 
-		// Get annotation metadata
-		String name = (String) runtimeAttributes.get(NAME_ATTRIBUTE_NAME);
-		String dataId = (String) runtimeAttributes.get(DATA_ID_ATTRIBUTE_NAME);
-		String groupId = (String) runtimeAttributes.get(GROUP_ID_ATTRIBUTE_NAME);
-		String type = ((ConfigType) runtimeAttributes.get(CONFIG_TYPE_ATTRIBUTE_NAME))
-				.getType();
-
-		dataId = NacosUtils.readFromEnvironment(dataId, environment);
-		groupId = NacosUtils.readFromEnvironment(groupId, environment);
-		type = StringUtils.isEmpty(NacosUtils.readTypeFromDataId(dataId)) ? type
-				: NacosUtils.readTypeFromDataId(dataId);
-		Map<String, Object> nacosPropertiesAttributes = (Map<String, Object>) runtimeAttributes
-				.get(PROPERTIES_ATTRIBUTE_NAME);
+	/**
+	 * The {@link NacosPropertySource} whose Nacos config is being loaded
+	 */
+	static final class PendingNacosPropertySource<T extends BeanDefinition> {
+
+		private final AbstractNacosPropertySourceBuilder<T> builder;
+
+		private final String beanName;
+
+		private final T beanDefinition;
+
+		private final Map<String, Object> runtimeAttributes;
+
+		private final String name;
+
+		private final String dataId;
 
-		Properties nacosProperties = resolveProperties(nacosPropertiesAttributes,
-				environment, globalNacosProperties);
+		private final String groupId;
 
-		String nacosConfig = nacosConfigLoader.load(dataId, groupId, nacosProperties);
+		private final String type;
 
-		if (!StringUtils.hasText(nacosConfig)) {
-			if (logger.isWarnEnabled()) {
-				logger.warn(format(
-						"There is no content for NacosPropertySource from dataId[%s] , groupId[%s] , properties[%s].",
-						dataId, groupId, nacosPropertiesAttributes));
+		private final Map<String, Object> nacosPropertiesAttributes;
+
+		private final Properties nacosProperties;
+
+		private final FutureTask<String> nacosConfig;
+
+		private final Snapshot snapshot;
+
+		private boolean fromSnapshot;
+
+		PendingNacosPropertySource(AbstractNacosPropertySourceBuilder<T> builder,
+				String beanName, T beanDefinition, Map<String, Object> runtimeAttributes) {
+			this.builder = builder;
+			this.beanName = beanName;
+			this.beanDefinition = beanDefinition;
+			this.runtimeAttributes = runtimeAttributes;
+
+			// Get annotation metadata
+			String dataId = (String) runtimeAttributes.get(DATA_ID_ATTRIBUTE_NAME);
+			String groupId = (String) runtimeAttributes.get(GROUP_ID_ATTRIBUTE_NAME);
+			String type = ((ConfigType) runtimeAttributes
+					.get(CONFIG_TYPE_ATTRIBUTE_NAME)).getType();
+
+			this.name = (String) runtimeAttributes.get(NAME_ATTRIBUTE_NAME);
+			this.dataId = NacosUtils.readFromEnvironment(dataId, builder.environment);
+			this.groupId = NacosUtils.readFromEnvironment(groupId, builder.environment);
+			this.type = StringUtils.isEmpty(NacosUtils.readTypeFromDataId(this.dataId))
+					? type
+					: NacosUtils.readTypeFromDataId(this.dataId);
+			this.nacosPropertiesAttributes = (Map<String, Object>) runtimeAttributes
+					.get(PROPERTIES_ATTRIBUTE_NAME);
+			this.nacosProperties = resolveProperties(nacosPropertiesAttributes,
+					builder.environment, builder.globalNacosProperties);
+			this.snapshot = builder.snapshotStore == null ? null
+					: builder.snapshotStore.get(this.dataId, this.groupId,
+							nacosProperties);
+			this.nacosConfig = new FutureTask<String>(new Callable<String>() {
+				@Override
+				public String call() {
+					if (snapshot != null) { // Start from the snapshot immediately
+						return snapshot.getContent();
+					}
+					return loadNacosConfig();
+				}
+			});
+		}
+
+		private String loadNacosConfig() {
+			String nacosConfig = builder.nacosConfigLoader.load(dataId, groupId,
+					nacosProperties);
+			if (builder.snapshotStore != null) {
+				builder.snapshotStore.save(dataId, groupId, nacosProperties,
+						nacosConfig);
 			}
+			return nacosConfig;
+		}
+
+		/**
+		 * Whether the dataId or groupId still has the placeholders unresolved by the
+		 * {@link Environment}, which may be resolved once the former
+		 * {@link NacosPropertySource NacosPropertySources} are added.
+		 *
+		 * @return <code>true</code> if any placeholder is unresolved
+		 */
+		boolean hasUnresolvedPlaceholders() {
+			return dataId.contains(PLACEHOLDER_PREFIX)
+					|| groupId.contains(PLACEHOLDER_PREFIX);
 		}
 
-		if (!StringUtils.hasText(name)) {
-			name = buildDefaultPropertySourceName(dataId, groupId, nacosProperties);
+		/**
+		 * Whether the Nacos config is started from the {@link NacosConfigSnapshotStore
+		 * snapshot}, which should be reconciled against the Nacos server. Only the
+		 * {@link NacosPropertySource#isAutoRefreshed() auto-refreshed} one is started
+		 * from the snapshot, since the other one is never replaced afterwards.
+		 *
+		 * @return <code>true</code> if it's started from the snapshot
+		 */
+		boolean isFromSnapshot() {
+			return fromSnapshot;
 		}
 
-		NacosPropertySource nacosPropertySource = new NacosPropertySource(dataId, groupId,
-				name, nacosConfig, type);
+		/**
+		 * Get the {@link NacosPropertySource} once its Nacos config is loaded, the
+		 * Nacos config will be loaded by current thread if it's not started yet.
+		 *
+		 * @return non-null
+		 * @throws RuntimeException If {@link ConfigService} creating is failed.
+		 */
+		NacosPropertySource get() throws RuntimeException {
+
+			NacosPropertySource nacosPropertySource = load();
+
+			NacosConfigMetadataEvent metadataEvent = builder.createMetaEvent(
+					nacosPropertySource, beanDefinition);
 
-		nacosPropertySource.setBeanName(beanName);
+			builder.initMetadataEvent(nacosPropertySource, beanDefinition, metadataEvent);
 
-		String beanClassName = beanDefinition.getBeanClassName();
-		if (StringUtils.hasText(beanClassName)) {
-			nacosPropertySource.setBeanType(resolveClassName(beanClassName, classLoader));
+			builder.publishMetadataEvent(metadataEvent);
+
+			return nacosPropertySource;
 		}
-		nacosPropertySource.setGroupId(groupId);
-		nacosPropertySource.setDataId(dataId);
-		nacosPropertySource.setProperties(nacosProperties);
 
-		initNacosPropertySource(nacosPropertySource, beanDefinition, runtimeAttributes);
+		private NacosPropertySource load() {
+
+			NacosPropertySource nacosPropertySource = build(getNacosConfig());
+
+			fromSnapshot = snapshot != null;
+
+			if (fromSnapshot && !nacosPropertySource.isAutoRefreshed()) {
+				// Load from Nacos server, keep the snapshot if it's unavailable
+				String nacosConfig = loadNacosConfig();
+				if (nacosConfig != null) {
+					nacosPropertySource = build(nacosConfig);
+					fromSnapshot = false;
+				}
+			}
+
+			return nacosPropertySource;
+		}
 
-		return nacosPropertySource;
+		private NacosPropertySource build(String nacosConfig) {
 
+			if (!StringUtils.hasText(nacosConfig)) {
+				if (builder.logger.isWarnEnabled()) {
+					builder.logger.warn(format(
+							"There is no content for NacosPropertySource from dataId[%s] , groupId[%s] , properties[%s].",
+							dataId, groupId, nacosPropertiesAttributes));
+				}
+			}
+
+			String name = this.name;
+
+			if (!StringUtils.hasText(name)) {
+				name = buildDefaultPropertySourceName(dataId, groupId, nacosProperties);
+			}
+
+			long start = System.nanoTime();
+
+			NacosPropertySource nacosPropertySource = new NacosPropertySource(dataId,
+					groupId, name, nacosConfig, type);
+
+			if (builder.startupTimeline != null) {
+				builder.startupTimeline.record(dataId, groupId, PARSE, start);
+			}
+
+			nacosPropertySource.setBeanName(beanName);
+
+			String beanClassName = beanDefinition.getBeanClassName();
+			if (StringUtils.hasText(beanClassName)) {
+				nacosPropertySource.setBeanType(
+						resolveClassName(beanClassName, builder.classLoader));
+			}
+			nacosPropertySource.setGroupId(groupId);
+			nacosPropertySource.setDataId(dataId);
+			nacosPropertySource.setProperties(nacosProperties);
+
+			builder.initNacosPropertySource(nacosPropertySource, beanDefinition,
+					runtimeAttributes);
+
+			return nacosPropertySource;
+		}
+
+		private String getNacosConfig() {
+			// Load by current thread if it's not started by the executor
+			nacosConfig.run();
+			try {
+				return nacosConfig.get();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(format(
+						"Interrupted while loading Nacos config from dataId[%s] , groupId[%s]",
+						dataId, groupId), e);
+			}
+			catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new IllegalStateException(cause);
+			}
+		}
 	}
 
 	/**
@@ -262,13 +479,18 @@ public abstract class AbstractNacosPropertySourceBuilder<T extends BeanDefinitio
 	@Override
 	public void setApplicationContext(ApplicationContext applicationContext) {
 		ConfigurableApplicationContext context = (ConfigurableApplicationContext) applicationContext;
-		this.applicationEventPublisher = new DeferredApplicationEventPublisher(context);
+		this.applicationEventPublisher = DeferredApplicationEventPublisher
+				.getInstance(context);
+		this.metadataRegistry = getNacosConfigMetadataRegistryIfPresent(context);
+		this.snapshotStore = getNacosConfigSnapshotStoreIfPresent(context);
 	}
 
 	@Override
 	public void afterPropertiesSet() throws Exception {
 		nacosConfigLoader = new NacosConfigLoader(environment);
 		nacosConfigLoader.setNacosServiceFactory(getNacosServiceFactoryBean(beanFactory));
+		startupTimeline = getNacosConfigStartupTimelineIfPresent(beanFactory);
+		nacosConfigLoader.setStartupTimeline(startupTimeline);
 		globalNacosProperties = CONFIG.getMergedGlobalProperties(beanFactory);
 	}
 
@@ -19,10 +19,17 @@ package com.alibaba.nacos.spring.core.env;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import com.alibaba.nacos.api.config.ConfigService;
 import com.alibaba.nacos.api.config.listener.AbstractListener;
@@ -31,9 +38,19 @@ import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.spring.beans.factory.annotation.ConfigServiceBeanBuilder;
 import com.alibaba.nacos.spring.context.annotation.config.NacosPropertySources;
 import com.alibaba.nacos.spring.context.config.xml.NacosPropertySourceXmlBeanDefinition;
+import com.alibaba.nacos.spring.context.event.DeferredApplicationEventPublisher;
 import com.alibaba.nacos.spring.context.event.config.EventPublishingConfigService;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigReceivedEvent;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigStartupTimeline;
+import com.alibaba.nacos.spring.core.env.AbstractNacosPropertySourceBuilder.PendingNacosPropertySource;
+import com.alibaba.nacos.spring.factory.ApplicationContextHolder;
 import com.alibaba.nacos.spring.factory.NacosServiceFactory;
+import com.alibaba.nacos.spring.util.NacosUtils;
+import com.alibaba.nacos.spring.util.config.NacosConfigSnapshotStore;
+import com.alibaba.nacos.spring.util.config.NacosConfigSnapshotStore.Snapshot;
 import com.alibaba.spring.util.BeanUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
@@ -50,8 +67,16 @@ import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.MutablePropertySources;
 import org.springframework.core.env.PropertySources;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.DEFAULT_NACOS_CONFIG_PROPERTY_SOURCE_PARALLELISM;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_CONFIG_PROPERTY_SOURCE_PARALLELISM;
+import static com.alibaba.nacos.spring.context.event.config.NacosConfigStartupTimeline.Phase.LISTENER_REGISTRATION;
+import static com.alibaba.nacos.spring.context.event.config.NacosConfigStartupTimeline.Phase.PROPERTY_SOURCE_INSERTION;
+import static com.alibaba.nacos.spring.util.NacosBeanUtils.getApplicationContextHolder;
 import static com.alibaba.nacos.spring.util.NacosBeanUtils.getConfigServiceBeanBuilder;
+import static com.alibaba.nacos.spring.util.NacosBeanUtils.getNacosConfigSnapshotStoreIfPresent;
+import static com.alibaba.nacos.spring.util.NacosBeanUtils.getNacosConfigStartupTimelineIfPresent;
 import static com.alibaba.nacos.spring.util.NacosBeanUtils.getNacosServiceFactoryBean;
 import static com.alibaba.nacos.spring.util.NacosUtils.DEFAULT_STRING_ATTRIBUTE_VALUE;
 import static org.springframework.util.ObjectUtils.nullSafeEquals;
@@ -80,16 +105,21 @@ public class NacosPropertySourcePostProcessor
 	 */
 	public static final String BEAN_NAME = "nacosPropertySourcePostProcessor";
 
+	private static final Logger logger = LoggerFactory
+			.getLogger(NacosPropertySourcePostProcessor.class);
+
 	private static BeanFactory beanFactory;
 
 	private final Set<String> processedBeanNames = new LinkedHashSet<String>();
 
 	private ConfigurableEnvironment environment;
 
-	private Collection<AbstractNacosPropertySourceBuilder> nacosPropertySourceBuilders;
+	private Collection<AbstractNacosPropertySourceBuilder<?>> nacosPropertySourceBuilders;
 
 	private ConfigServiceBeanBuilder configServiceBeanBuilder;
 
+	private NacosConfigStartupTimeline startupTimeline;
+
 	@Override
 	public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry)
 			throws BeansException {
@@ -101,7 +131,7 @@ public class NacosPropertySourcePostProcessor
 		String[] abstractNacosPropertySourceBuilderBeanNames = BeanUtils
 				.getBeanNames(beanFactory, AbstractNacosPropertySourceBuilder.class);
 
-		this.nacosPropertySourceBuilders = new ArrayList<AbstractNacosPropertySourceBuilder>(
+		this.nacosPropertySourceBuilders = new ArrayList<AbstractNacosPropertySourceBuilder<?>>(
 				abstractNacosPropertySourceBuilderBeanNames.length);
 
 		for (String beanName : abstractNacosPropertySourceBuilderBeanNames) {
@@ -111,44 +141,215 @@ public class NacosPropertySourcePostProcessor
 
 		NacosPropertySourcePostProcessor.beanFactory = beanFactory;
 		this.configServiceBeanBuilder = getConfigServiceBeanBuilder(beanFactory);
+		this.startupTimeline = getNacosConfigStartupTimelineIfPresent(beanFactory);
 
 		String[] beanNames = beanFactory.getBeanDefinitionNames();
 
-		for (String beanName : beanNames) {
-			processPropertySource(beanName, beanFactory);
+		ExecutorService executorService = buildExecutorService();
+
+		List<NacosPropertySource> snapshotNacosPropertySources = new ArrayList<NacosPropertySource>();
+
+		try {
+			if (executorService == null) {
+				// Load and add one by one, the placeholders may refer to the former ones
+				for (String beanName : beanNames) {
+					if (!processedBeanNames.contains(beanName)) {
+						processPropertySource(beanName,
+								prepareNacosPropertySources(beanName, beanFactory, null),
+								snapshotNacosPropertySources);
+					}
+				}
+			}
+			else {
+				// Load all Nacos configs concurrently, then add them in the declared order
+				Map<String, List<? extends PendingNacosPropertySource<?>>> pendingNacosPropertySources = new LinkedHashMap<String, List<? extends PendingNacosPropertySource<?>>>();
+				for (String beanName : beanNames) {
+					if (!processedBeanNames.contains(beanName)) {
+						pendingNacosPropertySources.put(beanName,
+								prepareNacosPropertySources(beanName, beanFactory,
+										executorService));
+					}
+				}
+				for (Map.Entry<String, List<? extends PendingNacosPropertySource<?>>> entry : pendingNacosPropertySources
+						.entrySet()) {
+					String beanName = entry.getKey();
+					List<? extends PendingNacosPropertySource<?>> beanNacosPropertySources = entry
+							.getValue();
+					if (hasUnresolvedPlaceholders(beanNacosPropertySources)) {
+						// Not loaded yet, the placeholders may refer to the former ones
+						beanNacosPropertySources = prepareNacosPropertySources(beanName,
+								beanFactory, null);
+					}
+					processPropertySource(beanName, beanNacosPropertySources,
+							snapshotNacosPropertySources);
+				}
+			}
+		}
+		finally {
+			if (executorService != null) {
+				executorService.shutdownNow();
+			}
+		}
+
+		reconcileAsynchronously(snapshotNacosPropertySources);
+
+	}
+
+	private ExecutorService buildExecutorService() {
+		int parallelism = environment.getProperty(
+				NACOS_CONFIG_PROPERTY_SOURCE_PARALLELISM, int.class,
+				DEFAULT_NACOS_CONFIG_PROPERTY_SOURCE_PARALLELISM);
+		if (parallelism <= 1) {
+			return null;
 		}
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				"NacosPropertySource-Loader-");
+		threadFactory.setDaemon(true);
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism,
+				1L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+				threadFactory);
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
 
+	private static boolean hasUnresolvedPlaceholders(
+			List<? extends PendingNacosPropertySource<?>> pendingNacosPropertySources) {
+		for (PendingNacosPropertySource<?> pendingNacosPropertySource : pendingNacosPropertySources) {
+			if (pendingNacosPropertySource.hasUnresolvedPlaceholders()) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	private void processPropertySource(String beanName,
-			ConfigurableListableBeanFactory beanFactory) {
+			List<? extends PendingNacosPropertySource<?>> pendingNacosPropertySources,
+			List<NacosPropertySource> snapshotNacosPropertySources) {
 
 		if (processedBeanNames.contains(beanName)) {
 			return;
 		}
 
-		BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
-
-		// Build multiple instance if possible
-		List<NacosPropertySource> nacosPropertySources = buildNacosPropertySources(
-				beanName, beanDefinition);
+		// Build all of the bean before adding, the listeners are added afterwards
+		List<NacosPropertySource> nacosPropertySources = new ArrayList<NacosPropertySource>(
+				pendingNacosPropertySources.size());
+		for (PendingNacosPropertySource<?> pendingNacosPropertySource : pendingNacosPropertySources) {
+			NacosPropertySource nacosPropertySource = pendingNacosPropertySource.get();
+			nacosPropertySources.add(nacosPropertySource);
+			// The one is not auto-refreshed keeps the snapshot if Nacos server is
+			// unavailable on startup, it's never replaced afterwards
+			if (pendingNacosPropertySource.isFromSnapshot()
+					&& nacosPropertySource.isAutoRefreshed()) {
+				snapshotNacosPropertySources.add(nacosPropertySource);
+			}
+		}
 
 		// Add Orderly
 		for (NacosPropertySource nacosPropertySource : nacosPropertySources) {
+			String dataId = nacosPropertySource.getDataId();
+			String groupId = nacosPropertySource.getGroupId();
+			long start = System.nanoTime();
 			addNacosPropertySource(nacosPropertySource);
+			if (startupTimeline != null) {
+				startupTimeline.record(dataId, groupId, PROPERTY_SOURCE_INSERTION, start);
+				start = System.nanoTime();
+			}
 			Properties properties = configServiceBeanBuilder
 					.resolveProperties(nacosPropertySource.getAttributesMetadata());
 			addListenerIfAutoRefreshed(nacosPropertySource, properties, environment);
+			if (startupTimeline != null && nacosPropertySource.isAutoRefreshed()) {
+				startupTimeline.record(dataId, groupId, LISTENER_REGISTRATION, start);
+			}
 		}
 
 		processedBeanNames.add(beanName);
 	}
 
-	private List<NacosPropertySource> buildNacosPropertySources(String beanName,
-			BeanDefinition beanDefinition) {
-		for (AbstractNacosPropertySourceBuilder builder : nacosPropertySourceBuilders) {
+	/**
+	 * Reconcile the {@link NacosPropertySource NacosPropertySources} started from the
+	 * {@link NacosConfigSnapshotStore snapshots} against the Nacos server, the changed
+	 * ones will be replaced and {@link NacosConfigReceivedEvent} will be published as
+	 * the Nacos config is received.
+	 *
+	 * @param nacosPropertySources the {@link NacosPropertySource#isAutoRefreshed()
+	 *     auto-refreshed} {@link NacosPropertySource NacosPropertySources} started from
+	 *     the snapshots
+	 */
+	private void reconcileAsynchronously(
+			final List<NacosPropertySource> nacosPropertySources) {
+		final NacosConfigSnapshotStore snapshotStore = getNacosConfigSnapshotStoreIfPresent(
+				beanFactory);
+		if (snapshotStore == null || nacosPropertySources.isEmpty()) {
+			return;
+		}
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				"NacosConfigSnapshot-Reconciler-");
+		threadFactory.setDaemon(true);
+		threadFactory.newThread(new Runnable() {
+			@Override
+			public void run() {
+				for (NacosPropertySource nacosPropertySource : nacosPropertySources) {
+					try {
+						reconcile(nacosPropertySource, snapshotStore);
+					}
+					catch (Throwable e) {
+						logger.error("Reconciling the snapshot of dataId["
+								+ nacosPropertySource.getDataId() + "] , groupId["
+								+ nacosPropertySource.getGroupId() + "] is failed", e);
+					}
+				}
+			}
+		}).start();
+	}
+
+	private void reconcile(NacosPropertySource nacosPropertySource,
+			NacosConfigSnapshotStore snapshotStore) throws NacosException {
+		String dataId = nacosPropertySource.getDataId();
+		String groupId = nacosPropertySource.getGroupId();
+		Properties properties = configServiceBeanBuilder
+				.resolveProperties(nacosPropertySource.getAttributesMetadata());
+		ConfigService configService = getNacosServiceFactoryBean(beanFactory)
+				.createConfigService(properties);
+		Properties nacosProperties = nacosPropertySource.getProperties();
+		// The version before fetching, the config pushed meanwhile is newer
+		long version = getSnapshotVersion(snapshotStore, dataId, groupId,
+				nacosProperties);
+		String config = NacosUtils.getContent(configService, dataId, groupId);
+		if (config == null) { // Keep the snapshot if Nacos server is unavailable
+			return;
+		}
+		synchronized (snapshotStore) {
+			if (getSnapshotVersion(snapshotStore, dataId, groupId,
+					nacosProperties) != version) {
+				return; // replaced by the listener since fetched
+			}
+			if (!snapshotStore.save(dataId, groupId, nacosProperties, config)) {
+				return; // up to date
+			}
+			replaceNacosPropertySource(nacosPropertySource, config, environment);
+		}
+		if (beanFactory.containsBean(ApplicationContextHolder.BEAN_NAME)) {
+			DeferredApplicationEventPublisher
+					.getInstance(getApplicationContextHolder(beanFactory)
+							.getApplicationContext())
+					.publishEvent(new NacosConfigReceivedEvent(configService, dataId,
+							groupId, config, nacosPropertySource.getType()));
+		}
+	}
+
+	private static long getSnapshotVersion(NacosConfigSnapshotStore snapshotStore,
+			String dataId, String groupId, Properties nacosProperties) {
+		Snapshot snapshot = snapshotStore.get(dataId, groupId, nacosProperties);
+		return snapshot == null ? 0L : snapshot.getVersion();
+	}
+
+	private List<? extends PendingNacosPropertySource<?>> prepareNacosPropertySources(
+			String beanName, ConfigurableListableBeanFactory beanFactory,
+			Executor executor) {
+		BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+		for (AbstractNacosPropertySourceBuilder<?> builder : nacosPropertySourceBuilders) {
 			if (builder.supports(beanDefinition)) {
-				return builder.build(beanName, beanDefinition);
+				return builder.prepare(beanName, beanDefinition, executor);
 			}
 		}
 		return Collections.emptyList();
@@ -206,14 +407,19 @@ public class NacosPropertySourcePostProcessor
 
 				@Override
 				public void receiveConfigInfo(String config) {
-					String name = nacosPropertySource.getName();
-					NacosPropertySource newNacosPropertySource = new NacosPropertySource(
-							dataId, groupId, name, config, type);
-					newNacosPropertySource.copy(nacosPropertySource);
-					MutablePropertySources propertySources = environment
-							.getPropertySources();
-					// replace NacosPropertySource
-					propertySources.replace(name, newNacosPropertySource);
+					NacosConfigSnapshotStore snapshotStore = getNacosConfigSnapshotStoreIfPresent(
+							beanFactory);
+					if (snapshotStore == null) {
+						replaceNacosPropertySource(nacosPropertySource, config,
+								environment);
+						return;
+					}
+					synchronized (snapshotStore) {
+						snapshotStore.save(dataId, groupId,
+								nacosPropertySource.getProperties(), config);
+						replaceNacosPropertySource(nacosPropertySource, config,
+								environment);
+					}
 				}
 			};
 
@@ -233,6 +439,19 @@ public class NacosPropertySourcePostProcessor
 		}
 	}
 
+	private static void replaceNacosPropertySource(
+			NacosPropertySource nacosPropertySource, String config,
+			ConfigurableEnvironment environment) {
+		String name = nacosPropertySource.getName();
+		NacosPropertySource newNacosPropertySource = new NacosPropertySource(
+				nacosPropertySource.getDataId(), nacosPropertySource.getGroupId(), name,
+				config, nacosPropertySource.getType());
+		newNacosPropertySource.copy(nacosPropertySource);
+		MutablePropertySources propertySources = environment.getPropertySources();
+		// replace NacosPropertySource
+		propertySources.replace(name, newNacosPropertySource);
+	}
+
 	/**
 	 * The order is closed to {@link ConfigurationClassPostProcessor#getOrder()
 	 * HIGHEST_PRECEDENCE} almost.
@@ -17,15 +17,20 @@
 package com.alibaba.nacos.spring.factory;
 
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.ConfigurableApplicationContext;
 
 /**
+ * The holder of current {@link ApplicationContext}, the Nacos services used by the
+ * context will be {@link CacheableEventPublishingNacosServiceFactory#release(ApplicationContext)
+ * released} when it's closed.
+ *
  * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
  * @since 0.3.0
  */
-public class ApplicationContextHolder implements ApplicationContextAware {
+public class ApplicationContextHolder implements ApplicationContextAware, DisposableBean {
 
 	public static final String BEAN_NAME = "nacosApplicationContextHolder";
 
@@ -40,4 +45,11 @@ public class ApplicationContextHolder implements ApplicationContextAware {
 	public ConfigurableApplicationContext getApplicationContext() {
 		return context;
 	}
+
+	@Override
+	public void destroy() {
+		if (context != null) {
+			CacheableEventPublishingNacosServiceFactory.getSingleton().release(context);
+		}
+	}
 }
@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.factory;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.alibaba.nacos.api.annotation.NacosInjected;
+import com.alibaba.nacos.api.config.ConfigService;
+
+/**
+ * Asynchronous facade of {@link ConfigService}, the remote operations are executed by
+ * the bounded {@link Executor} owned by Spring ApplicationContext, thus the caller does
+ * not wait for each of them, it could be injected by
+ * {@link NacosInjected @NacosInjected}:
+ *
+ * <pre class="code">
+ * &#64;NacosInjected
+ * private AsyncConfigService asyncConfigService;
+ * </pre>
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @see ConfigService
+ * @see com.alibaba.nacos.spring.beans.factory.annotation.AsyncConfigServiceBeanBuilder
+ * @since 0.3.5
+ */
+public class AsyncConfigService {
+
+	private final ConfigService configService;
+
+	private final Executor executor;
+
+	public AsyncConfigService(ConfigService configService, Executor executor) {
+		this.configService = configService;
+		this.executor = executor;
+	}
+
+	/**
+	 * Get config asynchronously
+	 *
+	 * @param dataId dataId
+	 * @param group group
+	 * @param timeoutMs read timeout
+	 * @return the {@link Future} of config value
+	 * @throws RejectedExecutionException if the pending operations exceed the capacity
+	 * @see ConfigService#getConfig(String, String, long)
+	 */
+	public Future<String> getConfig(String dataId, String group, long timeoutMs)
+			throws RejectedExecutionException {
+		return getConfig(dataId, group, timeoutMs, null);
+	}
+
+	/**
+	 * Get config asynchronously
+	 *
+	 * @param dataId dataId
+	 * @param group group
+	 * @param timeoutMs read timeout
+	 * @param callback the {@link Callback} on completion, may be <code>null</code>
+	 * @return the {@link Future} of config value
+	 * @throws RejectedExecutionException if the pending operations exceed the capacity
+	 * @see ConfigService#getConfig(String, String, long)
+	 */
+	public Future<String> getConfig(final String dataId, final String group,
+			final long timeoutMs, Callback<String> callback)
+			throws RejectedExecutionException {
+		return submit(new Callable<String>() {
+			@Override
+			public String call() throws Exception {
+				return configService.getConfig(dataId, group, timeoutMs);
+			}
+		}, callback);
+	}
+
+	/**
+	 * Get the configs of several dataIds in parallel
+	 *
+	 * @param dataIds dataIds
+	 * @param group group
+	 * @param timeoutMs read timeout of each config
+	 * @return the {@link Map} of {@link Future}, the key is dataId
+	 * @throws RejectedExecutionException if the pending operations exceed the capacity,
+	 *     the ones have been submitted are cancelled
+	 */
+	public Map<String, Future<String>> getConfigs(Collection<String> dataIds,
+			String group, long timeoutMs) throws RejectedExecutionException {
+		Map<String, Future<String>> futures = new LinkedHashMap<String, Future<String>>(
+				dataIds.size());
+		try {
+			for (String dataId : dataIds) {
+				futures.put(dataId, getConfig(dataId, group, timeoutMs));
+			}
+		}
+		catch (RejectedExecutionException e) {
+			for (Future<String> future : futures.values()) {
+				future.cancel(false);
+			}
+			throw e;
+		}
+		return futures;
+	}
+
+	/**
+	 * Publish config asynchronously
+	 *
+	 * @param dataId dataId
+	 * @param group group
+	 * @param content content
+	 * @param callback the {@link Callback} on completion, may be <code>null</code>
+	 * @return the {@link Future} of whether publish is successful
+	 * @throws RejectedExecutionException if the pending operations exceed the capacity
+	 * @see ConfigService#publishConfig(String, String, String)
+	 */
+	public Future<Boolean> publishConfig(final String dataId, final String group,
+			final String content, Callback<Boolean> callback)
+			throws RejectedExecutionException {
+		return submit(new Callable<Boolean>() {
+			@Override
+			public Boolean call() throws Exception {
+				return configService.publishConfig(dataId, group, content);
+			}
+		}, callback);
+	}
+
+	/**
+	 * Publish config asynchronously
+	 *
+	 * @param dataId dataId
+	 * @param group group
+	 * @param content content
+	 * @return the {@link Future} of whether publish is successful
+	 * @throws RejectedExecutionException if the pending operations exceed the capacity
+	 * @see ConfigService#publishConfig(String, String, String)
+	 */
+	public Future<Boolean> publishConfig(String dataId, String group, String content)
+			throws RejectedExecutionException {
+		return publishConfig(dataId, group, content, null);
+	}
+
+	/**
+	 * Remove config asynchronously
+	 *
+	 * @param dataId dataId
+	 * @param group group
+	 * @param callback the {@link Callback} on completion, may be <code>null</code>
+	 * @return the {@link Future} of whether remove is successful
+	 * @throws RejectedExecutionException if the pending operations exceed the capacity
+	 * @see ConfigService#removeConfig(String, String)
+	 */
+	public Future<Boolean> removeConfig(final String dataId, final String group,
+			Callback<Boolean> callback) throws RejectedExecutionException {
+		return submit(new Callable<Boolean>() {
+			@Override
+			public Boolean call() throws Exception {
+				return configService.removeConfig(dataId, group);
+			}
+		}, callback);
+	}
+
+	/**
+	 * Remove config asynchronously
+	 *
+	 * @param dataId dataId
+	 * @param group group
+	 * @return the {@link Future} of whether remove is successful
+	 * @throws RejectedExecutionException if the pending operations exceed the capacity
+	 * @see ConfigService#removeConfig(String, String)
+	 */
+	public Future<Boolean> removeConfig(String dataId, String group)
+			throws RejectedExecutionException {
+		return removeConfig(dataId, group, null);
+	}
+
+	/**
+	 * Get the delegate {@link ConfigService}
+	 *
+	 * @return non-null
+	 */
+	public ConfigService getConfigService() {
+		return configService;
+	}
+
+	private <T> Future<T> submit(Callable<T> callable, Callback<T> callback) {
+		CallbackFuture<T> future = new CallbackFuture<T>(callable, callback);
+		executor.execute(future);
+		return future;
+	}
+
+	/**
+	 * The callback of asynchronous operation, which is invoked by the executing thread
+	 *
+	 * @param <T> the type of result
+	 */
+	public interface Callback<T> {
+
+		/**
+		 * Invoked when the operation is successful
+		 *
+		 * @param result the result of operation
+		 */
+		void onSuccess(T result);
+
+		/**
+		 * Invoked when the operation is failed
+		 *
+		 * @param throwable the cause, e.g.
+		 *     {@link com.alibaba.nacos.api.exception.NacosException}
+		 */
+		void onFailure(Throwable throwable);
+
+	}
+
+	private static class CallbackFuture<T> extends FutureTask<T> {
+
+		private final Callback<T> callback;
+
+		CallbackFuture(Callable<T> callable, Callback<T> callback) {
+			super(callable);
+			this.callback = callback;
+		}
+
+		@Override
+		protected void done() {
+			if (callback == null || isCancelled()) {
+				return;
+			}
+			T result;
+			try {
+				result = get();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			catch (ExecutionException e) {
+				callback.onFailure(e.getCause());
+				return;
+			}
+			callback.onSuccess(result);
+		}
+	}
+}
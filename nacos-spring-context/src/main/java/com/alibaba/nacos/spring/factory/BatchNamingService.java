@@ -0,0 +1,554 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.factory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.alibaba.nacos.api.annotation.NacosInjected;
+import com.alibaba.nacos.api.common.Constants;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.NamingService;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.util.Assert;
+
+/**
+ * Batch facade of {@link NamingService} registration, the instances are grouped per
+ * service and registered or deregistered by the bounded {@link Executor} owned by
+ * Spring ApplicationContext, the failed operations are retried with the exponential
+ * backoff, and the result of each instance is reported by {@link BatchResult}. It could
+ * be injected by {@link NacosInjected @NacosInjected}:
+ *
+ * <pre class="code">
+ * &#64;NacosInjected
+ * private BatchNamingService batchNamingService;
+ * </pre>
+ *
+ * The registered instances are tracked, and they are {@link #deregisterAll(long)
+ * deregistered} in parallel when the Spring ApplicationContext is closed.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @see NamingService
+ * @see com.alibaba.nacos.spring.beans.factory.annotation.BatchNamingServiceBeanBuilder
+ * @since 0.3.5
+ */
+public class BatchNamingService {
+
+	private static final Logger logger = LoggerFactory
+			.getLogger(BatchNamingService.class);
+
+	/**
+	 * The max backoff is the multiple of initial one
+	 */
+	private static final int MAX_BACKOFF_MULTIPLE = 16;
+
+	private static final ThreadLocal<Random> random = new ThreadLocal<Random>() {
+		@Override
+		protected Random initialValue() {
+			return new Random();
+		}
+	};
+
+	private final NamingService namingService;
+
+	private final Executor executor;
+
+	private final int maxAttempts;
+
+	private final long backoffMillis;
+
+	/**
+	 * The registered instances, the key is "group@@service#ip:port#cluster"
+	 */
+	private final ConcurrentMap<String, Operation> registrations = new ConcurrentHashMap<String, Operation>();
+
+	/**
+	 * @param namingService the {@link NamingService} registers instances actually
+	 * @param executor the bounded {@link Executor}, its parallelism limits the
+	 * concurrent operations
+	 * @param maxAttempts the max attempts per instance, including the first one
+	 * @param backoffMillis the initial backoff in milliseconds before retry, it's
+	 * doubled per retry with jitter
+	 */
+	public BatchNamingService(NamingService namingService, Executor executor,
+			int maxAttempts, long backoffMillis) {
+		Assert.notNull(namingService, "namingService must not be null");
+		Assert.notNull(executor, "executor must not be null");
+		Assert.isTrue(maxAttempts > 0, "maxAttempts must be greater than zero");
+		Assert.isTrue(backoffMillis >= 0, "backoffMillis must not be negative");
+		this.namingService = namingService;
+		this.executor = executor;
+		this.maxAttempts = maxAttempts;
+		this.backoffMillis = backoffMillis;
+	}
+
+	/**
+	 * Register the instances of the service in default group
+	 *
+	 * @param serviceName the name of service
+	 * @param instances the instances
+	 * @return the results of instances
+	 * @throws InterruptedException if current thread is interrupted while waiting, the
+	 * pending operations are cancelled
+	 */
+	public BatchResult registerInstances(String serviceName,
+			Collection<Instance> instances) throws InterruptedException {
+		return registerInstances(serviceName, Constants.DEFAULT_GROUP, instances);
+	}
+
+	/**
+	 * Register the instances of the service
+	 *
+	 * @param serviceName the name of service
+	 * @param groupName the group of service
+	 * @param instances the instances
+	 * @return the results of instances
+	 * @throws InterruptedException if current thread is interrupted while waiting, the
+	 * pending operations are cancelled
+	 */
+	public BatchResult registerInstances(String serviceName, String groupName,
+			Collection<Instance> instances) throws InterruptedException {
+		return registerInstances(groupName,
+				Collections.singletonMap(serviceName, instances));
+	}
+
+	/**
+	 * Register the instances of services in the group
+	 *
+	 * @param groupName the group of services
+	 * @param instances the instances per service name
+	 * @return the results of instances, grouped per service
+	 * @throws InterruptedException if current thread is interrupted while waiting, the
+	 * pending operations are cancelled
+	 */
+	public BatchResult registerInstances(String groupName,
+			Map<String, ? extends Collection<Instance>> instances)
+			throws InterruptedException {
+		return execute(createOperations(true, groupName, instances), 0);
+	}
+
+	/**
+	 * Deregister the instances of the service in default group
+	 *
+	 * @param serviceName the name of service
+	 * @param instances the instances
+	 * @return the results of instances
+	 * @throws InterruptedException if current thread is interrupted while waiting, the
+	 * pending operations are cancelled
+	 */
+	public BatchResult deregisterInstances(String serviceName,
+			Collection<Instance> instances) throws InterruptedException {
+		return deregisterInstances(serviceName, Constants.DEFAULT_GROUP, instances);
+	}
+
+	/**
+	 * Deregister the instances of the service
+	 *
+	 * @param serviceName the name of service
+	 * @param groupName the group of service
+	 * @param instances the instances
+	 * @return the results of instances
+	 * @throws InterruptedException if current thread is interrupted while waiting, the
+	 * pending operations are cancelled
+	 */
+	public BatchResult deregisterInstances(String serviceName, String groupName,
+			Collection<Instance> instances) throws InterruptedException {
+		return deregisterInstances(groupName,
+				Collections.singletonMap(serviceName, instances));
+	}
+
+	/**
+	 * Deregister the instances of services in the group
+	 *
+	 * @param groupName the group of services
+	 * @param instances the instances per service name
+	 * @return the results of instances, grouped per service
+	 * @throws InterruptedException if current thread is interrupted while waiting, the
+	 * pending operations are cancelled
+	 */
+	public BatchResult deregisterInstances(String groupName,
+			Map<String, ? extends Collection<Instance>> instances)
+			throws InterruptedException {
+		return execute(createOperations(false, groupName, instances), 0);
+	}
+
+	/**
+	 * Deregister all instances registered by current service in parallel, e.g. on
+	 * shutdown
+	 *
+	 * @param timeoutMillis the timeout in milliseconds, the pending operations are
+	 * cancelled and reported as failed on timeout, non-positive means no timeout
+	 * @return the results of instances
+	 * @throws InterruptedException if current thread is interrupted while waiting, the
+	 * pending operations are cancelled
+	 */
+	public BatchResult deregisterAll(long timeoutMillis) throws InterruptedException {
+		List<Operation> operations = new ArrayList<Operation>(registrations.size());
+		for (Operation registration : registrations.values()) {
+			operations.add(new Operation(false, registration.serviceName,
+					registration.groupName, registration.instance));
+		}
+		return execute(operations, timeoutMillis);
+	}
+
+	/**
+	 * Get the number of instances registered by current service
+	 *
+	 * @return the number of registered instances
+	 */
+	public int getRegisteredCount() {
+		return registrations.size();
+	}
+
+	public NamingService getNamingService() {
+		return namingService;
+	}
+
+	private List<Operation> createOperations(boolean register, String groupName,
+			Map<String, ? extends Collection<Instance>> instances) {
+		List<Operation> operations = new ArrayList<Operation>();
+		for (Map.Entry<String, ? extends Collection<Instance>> entry : instances
+				.entrySet()) {
+			for (Instance instance : entry.getValue()) {
+				operations.add(
+						new Operation(register, entry.getKey(), groupName, instance));
+			}
+		}
+		return operations;
+	}
+
+	private BatchResult execute(List<Operation> operations, long timeoutMillis)
+			throws InterruptedException {
+		long startTime = System.currentTimeMillis();
+		for (Operation operation : operations) {
+			operation.submit();
+		}
+		long deadline = timeoutMillis > 0 ? System.nanoTime()
+				+ TimeUnit.MILLISECONDS.toNanos(timeoutMillis) : 0;
+		List<InstanceResult> results = new ArrayList<InstanceResult>(operations.size());
+		try {
+			for (Operation operation : operations) {
+				results.add(operation.await(deadline));
+			}
+		}
+		catch (InterruptedException e) {
+			for (Operation operation : operations) {
+				operation.cancel();
+			}
+			throw e;
+		}
+		return new BatchResult(results, System.currentTimeMillis() - startTime);
+	}
+
+	private static boolean isRetryable(NacosException e) {
+		int errCode = e.getErrCode();
+		return errCode != NacosException.INVALID_PARAM
+				&& errCode != NacosException.CLIENT_INVALID_PARAM
+				&& errCode != NacosException.NO_RIGHT;
+	}
+
+	/**
+	 * The operation of an instance with retries
+	 */
+	private class Operation implements Callable<InstanceResult> {
+
+		private final boolean register;
+
+		private final String serviceName;
+
+		private final String groupName;
+
+		private final Instance instance;
+
+		private final FutureTask<InstanceResult> future = new FutureTask<InstanceResult>(
+				this);
+
+		private volatile int attempts;
+
+		private volatile Throwable rejection;
+
+		Operation(boolean register, String serviceName, String groupName,
+				Instance instance) {
+			this.register = register;
+			this.serviceName = serviceName;
+			this.groupName = groupName;
+			this.instance = instance;
+		}
+
+		@Override
+		public InstanceResult call() {
+			Throwable error;
+			long backoff = backoffMillis;
+			while (true) {
+				attempts++;
+				try {
+					invoke();
+					return newResult(null);
+				}
+				catch (NacosException e) {
+					error = e;
+					if (!isRetryable(e)) {
+						break;
+					}
+				}
+				catch (RuntimeException e) {
+					error = e;
+					break;
+				}
+				if (attempts >= maxAttempts) {
+					break;
+				}
+				try {
+					// Half of backoff is random, thus the retries are not synchronized
+					Thread.sleep(backoff / 2
+							+ (long) (random.get().nextDouble() * (backoff / 2)));
+				}
+				catch (InterruptedException e) {
+					// Cancelled
+					Thread.currentThread().interrupt();
+					break;
+				}
+				backoff = Math.min(backoff * 2, backoffMillis * MAX_BACKOFF_MULTIPLE);
+			}
+			return failed(error);
+		}
+
+		private void invoke() throws NacosException {
+			String key = groupName + "@@" + serviceName + "#"
+					+ InstanceRegistry.Snapshot.identify(instance);
+			if (register) {
+				namingService.registerInstance(serviceName, groupName, instance);
+				registrations.put(key, this);
+			}
+			else {
+				namingService.deregisterInstance(serviceName, groupName, instance);
+				registrations.remove(key);
+			}
+		}
+
+		void submit() {
+			try {
+				executor.execute(future);
+			}
+			catch (RejectedExecutionException e) {
+				rejection = e;
+			}
+		}
+
+		void cancel() {
+			future.cancel(true);
+		}
+
+		InstanceResult await(long deadline) throws InterruptedException {
+			if (rejection != null) {
+				return failed(rejection);
+			}
+			try {
+				if (deadline == 0) {
+					return future.get();
+				}
+				return future.get(Math.max(0, deadline - System.nanoTime()),
+						TimeUnit.NANOSECONDS);
+			}
+			catch (TimeoutException e) {
+				cancel();
+				return failed(e);
+			}
+			catch (CancellationException e) {
+				return failed(e);
+			}
+			catch (ExecutionException e) {
+				return failed(e.getCause());
+			}
+		}
+
+		private InstanceResult failed(Throwable error) {
+			if (logger.isWarnEnabled()) {
+				logger.warn("Failed to " + (register ? "register" : "deregister")
+						+ " the instance [" + instance.toInetAddr() + "] of service ["
+						+ groupName + "@@" + serviceName + "] after " + attempts
+						+ " attempts", error);
+			}
+			return newResult(error);
+		}
+
+		private InstanceResult newResult(Throwable error) {
+			return new InstanceResult(serviceName, groupName, instance, attempts,
+					error);
+		}
+	}
+
+	/**
+	 * The result of an instance
+	 */
+	public static class InstanceResult {
+
+		private final String serviceName;
+
+		private final String groupName;
+
+		private final Instance instance;
+
+		private final int attempts;
+
+		private final Throwable error;
+
+		InstanceResult(String serviceName, String groupName, Instance instance,
+				int attempts, Throwable error) {
+			this.serviceName = serviceName;
+			this.groupName = groupName;
+			this.instance = instance;
+			this.attempts = attempts;
+			this.error = error;
+		}
+
+		public String getServiceName() {
+			return serviceName;
+		}
+
+		public String getGroupName() {
+			return groupName;
+		}
+
+		public Instance getInstance() {
+			return instance;
+		}
+
+		/**
+		 * Get the number of attempts, including the first one
+		 *
+		 * @return <code>0</code> if the operation is not executed
+		 */
+		public int getAttempts() {
+			return attempts;
+		}
+
+		/**
+		 * Get the error of the last attempt
+		 *
+		 * @return <code>null</code> if succeeded
+		 */
+		public Throwable getError() {
+			return error;
+		}
+
+		public boolean isSuccess() {
+			return error == null;
+		}
+
+		@Override
+		public String toString() {
+			return groupName + "@@" + serviceName + "#" + instance.toInetAddr()
+					+ (error == null ? " succeeded" : " failed : " + error)
+					+ " after " + attempts + " attempts";
+		}
+	}
+
+	/**
+	 * The results of a batch, grouped per service
+	 */
+	public static class BatchResult {
+
+		private final List<InstanceResult> results;
+
+		private final long elapsedMillis;
+
+		BatchResult(List<InstanceResult> results, long elapsedMillis) {
+			this.results = Collections.unmodifiableList(results);
+			this.elapsedMillis = elapsedMillis;
+		}
+
+		/**
+		 * Get the results of all instances
+		 *
+		 * @return read-only
+		 */
+		public List<InstanceResult> getResults() {
+			return results;
+		}
+
+		/**
+		 * Get the results of the service's instances
+		 *
+		 * @param serviceName the name of service
+		 * @return read-only snapshot
+		 */
+		public List<InstanceResult> getResults(String serviceName) {
+			List<InstanceResult> serviceResults = new ArrayList<InstanceResult>();
+			for (InstanceResult result : results) {
+				if (result.serviceName.equals(serviceName)) {
+					serviceResults.add(result);
+				}
+			}
+			return Collections.unmodifiableList(serviceResults);
+		}
+
+		/**
+		 * Get the results of failed instances
+		 *
+		 * @return read-only snapshot
+		 */
+		public List<InstanceResult> getFailures() {
+			List<InstanceResult> failures = new ArrayList<InstanceResult>();
+			for (InstanceResult result : results) {
+				if (!result.isSuccess()) {
+					failures.add(result);
+				}
+			}
+			return Collections.unmodifiableList(failures);
+		}
+
+		public int getSuccessCount() {
+			return results.size() - getFailures().size();
+		}
+
+		/**
+		 * Whether all instances are succeeded or not
+		 *
+		 * @return <code>true</code> if no failure
+		 */
+		public boolean isSuccess() {
+			for (InstanceResult result : results) {
+				if (!result.isSuccess()) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		public long getElapsedMillis() {
+			return elapsedMillis;
+		}
+	}
+}
@@ -16,14 +16,26 @@
  */
 package com.alibaba.nacos.spring.factory;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import com.alibaba.nacos.api.NacosFactory;
 import com.alibaba.nacos.api.config.ConfigService;
@@ -31,13 +43,24 @@ import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.naming.NamingMaintainService;
 import com.alibaba.nacos.api.naming.NamingService;
 import com.alibaba.nacos.spring.context.event.config.EventPublishingConfigService;
+import com.alibaba.nacos.spring.util.NacosServiceIdentity;
+import com.alibaba.nacos.spring.util.concurrent.KeyedSerialExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.ReflectionUtils;
 
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.DEFAULT_NACOS_CLIENT_LAZY;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.DEFAULT_NACOS_DISCOVERY_CACHE;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_CLIENT_LAZY;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_DISCOVERY_CACHE;
+import static com.alibaba.nacos.spring.util.NacosBeanUtils.getNacosConfigListenerDispatcherIfPresent;
 import static com.alibaba.nacos.spring.util.NacosBeanUtils.getNacosConfigListenerExecutorIfPresent;
-import static com.alibaba.nacos.spring.util.NacosUtils.identify;
+import static com.alibaba.nacos.spring.util.NacosUtils.SEPARATOR;
+import static org.springframework.util.StringUtils.hasText;
 
 /**
  * Cacheable Event Publishing {@link NacosServiceFactory}
@@ -45,61 +68,104 @@ import static com.alibaba.nacos.spring.util.NacosUtils.identify;
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
  * @since 0.1.0
  */
-@SuppressWarnings("unchecked")
 public class CacheableEventPublishingNacosServiceFactory implements NacosServiceFactory {
 
+	private static final Logger logger = LoggerFactory
+			.getLogger(CacheableEventPublishingNacosServiceFactory.class);
+
+	/**
+	 * The owner of services which are never released
+	 */
+	private static final Object UNOWNED = new Object();
+
+	/**
+	 * The prefix of Nacos client thread names
+	 */
+	private static final String CLIENT_THREAD_NAME_PREFIX = "com.alibaba.nacos";
+
 	private static volatile CacheableEventPublishingNacosServiceFactory SINGLETON = new CacheableEventPublishingNacosServiceFactory();
 
-	private final Map<String, ConfigService> configServicesCache = new LinkedHashMap<String, ConfigService>(
+	private final ConcurrentMap<NacosServiceIdentity, ConfigService> configServicesCache = new ConcurrentHashMap<NacosServiceIdentity, ConfigService>(
 			2);
 
-	private final Map<String, NamingService> namingServicesCache = new LinkedHashMap<String, NamingService>(
+	private final ConcurrentMap<NacosServiceIdentity, NamingService> namingServicesCache = new ConcurrentHashMap<NacosServiceIdentity, NamingService>(
 			2);
 
-	private final Map<String, NamingMaintainService> maintainServiceCache = new LinkedHashMap<String, NamingMaintainService>(
+	private final ConcurrentMap<NacosServiceIdentity, NamingMaintainService> maintainServiceCache = new ConcurrentHashMap<NacosServiceIdentity, NamingMaintainService>(
 			2);
 
-	private final LinkedList<DeferServiceHolder> deferServiceCache = new LinkedList<DeferServiceHolder>();
+	private final Queue<DeferServiceHolder> deferServiceCache = new ConcurrentLinkedQueue<DeferServiceHolder>();
 
 	private ConfigurableApplicationContext context;
 
 	private ExecutorService nacosConfigListenerExecutor;
 
-	private Map<ServiceType, AbstractCreateWorker> createWorkerManager = new HashMap<ServiceType, AbstractCreateWorker>(
+	private KeyedSerialExecutor nacosConfigListenerDispatcher;
+
+	private volatile boolean lazy = DEFAULT_NACOS_CLIENT_LAZY;
+
+	private volatile boolean discoveryCached = DEFAULT_NACOS_DISCOVERY_CACHE;
+
+	private final LazyNacosClient.Metrics lazyClientMetrics = new LazyNacosClient.Metrics();
+
+	private Map<ServiceType, AbstractCreateWorker<?>> createWorkerManager = new HashMap<ServiceType, AbstractCreateWorker<?>>(
 			3);
 
 	public CacheableEventPublishingNacosServiceFactory() {
-		createWorkerManager.put(ServiceType.CONFIG, new ConfigCreateWorker());
-		createWorkerManager.put(ServiceType.NAMING, new NamingCreateWorker());
-		createWorkerManager.put(ServiceType.MAINTAIN, new MaintainCreateWorker());
+		createWorkerManager.put(ServiceType.CONFIG,
+				new ConfigCreateWorker(configServicesCache));
+		createWorkerManager.put(ServiceType.NAMING,
+				new NamingCreateWorker(namingServicesCache));
+		createWorkerManager.put(ServiceType.MAINTAIN,
+				new MaintainCreateWorker(maintainServiceCache));
 		createWorkerManager = Collections.unmodifiableMap(createWorkerManager);
 	}
 
 	@Override
 	public ConfigService createConfigService(Properties properties)
 			throws NacosException {
-		Properties copy = new Properties();
-		copy.putAll(properties);
-		return (ConfigService) createWorkerManager.get(ServiceType.CONFIG).run(copy,
-				null);
+		return this.<ConfigService> getCreateWorker(ServiceType.CONFIG).run(properties,
+				null, null);
 	}
 
 	@Override
 	public NamingService createNamingService(Properties properties)
 			throws NacosException {
-		Properties copy = new Properties();
-		copy.putAll(properties);
-		return (NamingService) createWorkerManager.get(ServiceType.NAMING).run(copy,
-				null);
+		return this.<NamingService> getCreateWorker(ServiceType.NAMING).run(properties,
+				null, null);
 	}
 
 	@Override
 	public NamingMaintainService createNamingMaintainService(Properties properties)
 			throws NacosException {
-		Properties copy = new Properties();
-		copy.putAll(properties);
-		return (NamingMaintainService) createWorkerManager.get(ServiceType.MAINTAIN)
-				.run(copy, null);
+		return this.<NamingMaintainService> getCreateWorker(ServiceType.MAINTAIN)
+				.run(properties, null, null);
+	}
+
+	/**
+	 * Get the {@link AbstractCreateWorker} of the service type
+	 *
+	 * @param serviceType {@link ServiceType}
+	 * @param <S> the type of service created by the worker of the service type
+	 * @return non-null
+	 */
+	@SuppressWarnings("unchecked")
+	private <S> AbstractCreateWorker<S> getCreateWorker(ServiceType serviceType) {
+		return (AbstractCreateWorker<S>) createWorkerManager.get(serviceType);
+	}
+
+	/**
+	 * Get the view of current factory whose services are owned by the
+	 * {@link ApplicationContext}, thus they are {@link #release(ApplicationContext)
+	 * released} with it. The services created by current factory directly are never
+	 * released.
+	 *
+	 * @param applicationContext the owner of services
+	 * @return non-null
+	 */
+	public NacosServiceFactory getNacosServiceFactory(
+			ApplicationContext applicationContext) {
+		return new OwnedNacosServiceFactory(applicationContext);
 	}
 
 	// Exist some cases need to create the ConfigService | NamingService |
@@ -114,37 +180,164 @@ public class CacheableEventPublishingNacosServiceFactory implements NacosService
 		return service;
 	}
 
-	@SuppressWarnings("unchecked")
 	public void publishDeferService(ApplicationContext context) throws NacosException {
 		setApplicationContext(context);
-		for (DeferServiceHolder holder : deferServiceCache) {
+		DeferServiceHolder holder;
+		while ((holder = deferServiceCache.poll()) != null) {
 			final Object o = holder.getHolder();
 			final Properties properties = holder.getProperties();
 			if (o instanceof ConfigService) {
 				ConfigService configService = (ConfigService) o;
-				createWorkerManager.get(ServiceType.CONFIG).run(properties,
-						configService);
+				this.<ConfigService> getCreateWorker(ServiceType.CONFIG)
+						.run(properties, configService, context);
 			}
 			else if (o instanceof NamingService) {
 				NamingService namingService = (NamingService) o;
-				createWorkerManager.get(ServiceType.NAMING).run(properties,
-						namingService);
+				this.<NamingService> getCreateWorker(ServiceType.NAMING)
+						.run(properties, namingService, context);
 			}
 			else if (o instanceof NamingMaintainService) {
 				NamingMaintainService maintainService = (NamingMaintainService) o;
-				createWorkerManager.get(ServiceType.MAINTAIN).run(properties,
-						maintainService);
+				this.<NamingMaintainService> getCreateWorker(ServiceType.MAINTAIN)
+						.run(properties, maintainService, context);
 			}
 		}
-		deferServiceCache.clear();
 	}
 
-	public void setApplicationContext(ApplicationContext applicationContext)
-			throws BeansException {
+	public synchronized void setApplicationContext(
+			ApplicationContext applicationContext) throws BeansException {
 		this.context = (ConfigurableApplicationContext) applicationContext;
 		this.nacosConfigListenerExecutor = getSingleton().nacosConfigListenerExecutor == null
 				? getNacosConfigListenerExecutorIfPresent(applicationContext)
 				: getSingleton().nacosConfigListenerExecutor;
+		this.nacosConfigListenerDispatcher = getSingleton().nacosConfigListenerDispatcher == null
+				? getNacosConfigListenerDispatcherIfPresent(applicationContext)
+				: getSingleton().nacosConfigListenerDispatcher;
+		if (applicationContext != null) {
+			this.lazy = applicationContext.getEnvironment().getProperty(
+					NACOS_CLIENT_LAZY, boolean.class, DEFAULT_NACOS_CLIENT_LAZY);
+			this.discoveryCached = applicationContext.getEnvironment().getProperty(
+					NACOS_DISCOVERY_CACHE, boolean.class, DEFAULT_NACOS_DISCOVERY_CACHE);
+		}
+	}
+
+	/**
+	 * Release the services used by the {@link ApplicationContext}, the underlying
+	 * clients which are not used by the other contexts will be shutdown
+	 *
+	 * @param applicationContext {@link ApplicationContext}
+	 */
+	public void release(ApplicationContext applicationContext) {
+		for (AbstractCreateWorker<?> createWorker : createWorkerManager.values()) {
+			createWorker.release(applicationContext);
+		}
+		releaseExecutors(applicationContext);
+	}
+
+	private synchronized void releaseExecutors(ApplicationContext applicationContext) {
+		if (context == applicationContext) {
+			// The executors of closed context have been shutdown, they will be resolved
+			// from the next context
+			nacosConfigListenerExecutor = null;
+			nacosConfigListenerDispatcher = null;
+		}
+	}
+
+	/**
+	 * Get the number of cached services
+	 *
+	 * @return the number of cached services
+	 */
+	public int getLiveServiceCount() {
+		return configServicesCache.size() + namingServicesCache.size()
+				+ maintainServiceCache.size();
+	}
+
+	/**
+	 * Get the reference counts of cached services, the key is composed of service type,
+	 * namespace and server address or endpoint, the credentials are excluded
+	 *
+	 * @return read-only snapshot
+	 */
+	public Map<String, Integer> getReferenceCounts() {
+		Map<String, Integer> referenceCounts = new LinkedHashMap<String, Integer>();
+		for (Map.Entry<ServiceType, AbstractCreateWorker<?>> entry : createWorkerManager
+				.entrySet()) {
+			Map<NacosServiceIdentity, Integer> counts = entry.getValue()
+					.getReferenceCounts();
+			for (Map.Entry<NacosServiceIdentity, Integer> count : counts.entrySet()) {
+				NacosServiceIdentity identity = count.getKey();
+				String server = hasText(identity.getServerAddr())
+						? identity.getServerAddr()
+						: identity.getEndpoint();
+				String key = entry.getKey() + SEPARATOR + identity.getNamespace()
+						+ SEPARATOR + server;
+				Integer existed = referenceCounts.get(key);
+				referenceCounts.put(key, existed == null ? count.getValue()
+						: existed + count.getValue());
+			}
+		}
+		return referenceCounts;
+	}
+
+	/**
+	 * Get the number of Nacos clients created on demand, see
+	 * {@link #NACOS_CLIENT_LAZY}
+	 *
+	 * @return the number of lazy clients
+	 */
+	public int getLazyClientCount() {
+		return lazyClientMetrics.getLazyClientCount();
+	}
+
+	/**
+	 * Get the number of lazy Nacos clients created by the background warm-up tasks
+	 *
+	 * @return the number of warmed-up clients
+	 */
+	public int getWarmedUpClientCount() {
+		return lazyClientMetrics.getWarmedUpClientCount();
+	}
+
+	/**
+	 * Get the total time of creating Nacos clients by the background warm-up tasks,
+	 * which is saved from the startup path
+	 *
+	 * @return the total time in milliseconds
+	 */
+	public long getWarmUpMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(lazyClientMetrics.getWarmUpNanos());
+	}
+
+	/**
+	 * Get the total time of creating lazy Nacos clients on their first calls
+	 *
+	 * @return the total time in milliseconds
+	 */
+	public long getOnCallCreationMillis() {
+		return TimeUnit.NANOSECONDS
+				.toMillis(lazyClientMetrics.getOnCallCreationNanos());
+	}
+
+	/**
+	 * Get the number of live Nacos client threads in current JVM
+	 *
+	 * @return the number of live Nacos client threads
+	 */
+	public static int getClientThreadCount() {
+		ThreadGroup root = Thread.currentThread().getThreadGroup();
+		while (root.getParent() != null) {
+			root = root.getParent();
+		}
+		Thread[] threads = new Thread[root.activeCount() * 2 + 16];
+		int size = root.enumerate(threads, true);
+		int count = 0;
+		for (int i = 0; i < size; i++) {
+			if (threads[i].getName().startsWith(CLIENT_THREAD_NAME_PREFIX)) {
+				count++;
+			}
+		}
+		return count;
 	}
 
 	@Override
@@ -162,10 +355,75 @@ public class CacheableEventPublishingNacosServiceFactory implements NacosService
 		return maintainServiceCache.values();
 	}
 
+	/**
+	 * Resolve the {@link ApplicationContext} publishing the events of service
+	 *
+	 * @param owner the owner of service
+	 * @return the owner if it's a context, or the latest context
+	 */
+	private static ConfigurableApplicationContext resolveContext(Object owner) {
+		return owner instanceof ConfigurableApplicationContext
+				? (ConfigurableApplicationContext) owner
+				: getSingleton().context;
+	}
+
 	public static CacheableEventPublishingNacosServiceFactory getSingleton() {
 		return SINGLETON;
 	}
 
+	/**
+	 * The {@link NacosServiceFactory} whose services are owned by an
+	 * {@link ApplicationContext}
+	 */
+	private class OwnedNacosServiceFactory implements NacosServiceFactory {
+
+		private final ApplicationContext owner;
+
+		OwnedNacosServiceFactory(ApplicationContext owner) {
+			this.owner = owner;
+		}
+
+		@Override
+		public ConfigService createConfigService(Properties properties)
+				throws NacosException {
+			return CacheableEventPublishingNacosServiceFactory.this
+					.<ConfigService> getCreateWorker(ServiceType.CONFIG)
+					.run(properties, null, owner);
+		}
+
+		@Override
+		public NamingService createNamingService(Properties properties)
+				throws NacosException {
+			return CacheableEventPublishingNacosServiceFactory.this
+					.<NamingService> getCreateWorker(ServiceType.NAMING)
+					.run(properties, null, owner);
+		}
+
+		@Override
+		public NamingMaintainService createNamingMaintainService(Properties properties)
+				throws NacosException {
+			return CacheableEventPublishingNacosServiceFactory.this
+					.<NamingMaintainService> getCreateWorker(ServiceType.MAINTAIN)
+					.run(properties, null, owner);
+		}
+
+		@Override
+		public Collection<ConfigService> getConfigServices() {
+			return CacheableEventPublishingNacosServiceFactory.this.getConfigServices();
+		}
+
+		@Override
+		public Collection<NamingService> getNamingServices() {
+			return CacheableEventPublishingNacosServiceFactory.this.getNamingServices();
+		}
+
+		@Override
+		public Collection<NamingMaintainService> getNamingMaintainService() {
+			return CacheableEventPublishingNacosServiceFactory.this
+					.getNamingMaintainService();
+		}
+	}
+
 	private static enum ServiceType {
 
 		/**
@@ -216,9 +474,32 @@ public class CacheableEventPublishingNacosServiceFactory implements NacosService
 		}
 	}
 
+	/**
+	 * The worker creates and caches the Nacos service, the service of the same
+	 * {@link NacosServiceIdentity identity} is created by exactly one thread while the
+	 * concurrent callers wait for it, the callers of other identities are never blocked.
+	 * <p>
+	 * The cached service is referenced by the owners, e.g. the
+	 * {@link ApplicationContext ApplicationContexts}, which use it, the underlying
+	 * client will be shutdown once it's {@link #release(Object) released} by the last
+	 * owner, or kept and re-wrapped for the next owner if it can't be shutdown.
+	 *
+	 * @param <T> the type of Nacos service
+	 */
 	abstract static class AbstractCreateWorker<T> {
 
-		AbstractCreateWorker() {
+		private final ConcurrentMap<NacosServiceIdentity, T> cache;
+
+		private final ConcurrentMap<NacosServiceIdentity, ServiceCreation<T>> creations = new ConcurrentHashMap<NacosServiceIdentity, ServiceCreation<T>>();
+
+		private final Map<NacosServiceIdentity, ServiceReference<T>> references = new HashMap<NacosServiceIdentity, ServiceReference<T>>();
+
+		private final Class<T> type;
+
+		AbstractCreateWorker(ConcurrentMap<NacosServiceIdentity, T> cache,
+				Class<T> type) {
+			this.cache = cache;
+			this.type = type;
 		}
 
 		/**
@@ -227,80 +508,362 @@ public class CacheableEventPublishingNacosServiceFactory implements NacosService
 		 * @param properties Set the parameters
 		 * @param service nacos service {ConfigService | NamingService |
 		 *     NamingMaintainService}
+		 * @param owner the owner of service, <code>null</code> if the service should
+		 *     never be released
 		 * @return T service
 		 * @throws NacosException
 		 */
-		public abstract T run(Properties properties, T service) throws NacosException;
+		public T run(Properties properties, T service, Object owner)
+				throws NacosException {
+			NacosServiceIdentity identity = NacosServiceIdentity.of(properties);
+			if (owner == null) {
+				owner = UNOWNED;
+			}
+			for (;;) {
+				T cachedService = retain(identity, owner);
+				if (cachedService != null) {
+					return cachedService;
+				}
+
+				ServiceCreation<T> creation = new ServiceCreation<T>();
+				ServiceCreation<T> existed = creations.putIfAbsent(identity, creation);
+				if (existed != null) {
+					existed.await();
+					// retain the created service, or create again if it's released
+					continue;
+				}
 
+				try {
+					// The service may be cached after the first lookup
+					cachedService = retain(identity, owner);
+					if (cachedService == null) {
+						Properties copy = new Properties();
+						copy.putAll(properties);
+						T client = service == null ? newClient(copy) : service;
+						cachedService = wrap(client, copy, owner);
+						register(identity, cachedService, client, copy, owner);
+					}
+					creation.complete(cachedService, null);
+					return cachedService;
+				}
+				catch (NacosException e) {
+					creation.complete(null, e);
+					throw e;
+				}
+				catch (RuntimeException e) {
+					creation.complete(null, e);
+					throw e;
+				}
+				catch (Error e) {
+					creation.complete(null, e);
+					throw e;
+				}
+				finally {
+					creations.remove(identity, creation);
+				}
+			}
+		}
+
+		/**
+		 * Release the services referenced by the owner, the client will be shutdown and
+		 * evicted if it's not referenced anymore. The client which can't be shutdown,
+		 * e.g. nacos-client before 1.2 or the lazy one being created, is kept for the
+		 * next owner rather than leaking its threads, and the listeners registered
+		 * through the wrapper of released owner are removed from it.
+		 *
+		 * @param owner the owner of services
+		 */
+		void release(Object owner) {
+			Map<Object, Method> shutdowns = new LinkedHashMap<Object, Method>();
+			List<T> detached = new ArrayList<T>();
+			synchronized (references) {
+				Iterator<Map.Entry<NacosServiceIdentity, ServiceReference<T>>> iterator = references
+						.entrySet().iterator();
+				while (iterator.hasNext()) {
+					Map.Entry<NacosServiceIdentity, ServiceReference<T>> entry = iterator
+							.next();
+					ServiceReference<T> reference = entry.getValue();
+					if (!reference.owners.remove(owner) || !reference.owners.isEmpty()) {
+						continue;
+					}
+					// The lazy client which is not created yet will never be created
+					Object client = LazyNacosClient.getTargetIfCreated(reference.client);
+					Method shutDownMethod = null;
+					if (client != null) {
+						shutDownMethod = findShutDownMethod(client);
+						if (shutDownMethod == null) {
+							// Kept, the wrapper will be replaced on adoption
+							detached.add(reference.service);
+							continue;
+						}
+					}
+					iterator.remove();
+					cache.remove(entry.getKey());
+					if (client != null) {
+						shutdowns.put(client, shutDownMethod);
+					}
+				}
+			}
+			for (T service : detached) {
+				try {
+					detach(service);
+				}
+				catch (Throwable e) {
+					logger.warn("Failed to detach Nacos service [" + service + "]", e);
+				}
+			}
+			for (Map.Entry<Object, Method> shutdown : shutdowns.entrySet()) {
+				shutdown(shutdown.getKey(), shutdown.getValue());
+			}
+		}
+
+		/**
+		 * Get the reference counts of cached services
+		 *
+		 * @return read-only snapshot
+		 */
+		Map<NacosServiceIdentity, Integer> getReferenceCounts() {
+			synchronized (references) {
+				Map<NacosServiceIdentity, Integer> referenceCounts = new LinkedHashMap<NacosServiceIdentity, Integer>(
+						references.size());
+				for (Map.Entry<NacosServiceIdentity, ServiceReference<T>> entry : references
+						.entrySet()) {
+					referenceCounts.put(entry.getKey(), entry.getValue().owners.size());
+				}
+				return referenceCounts;
+			}
+		}
+
+		private T retain(NacosServiceIdentity identity, Object owner) {
+			synchronized (references) {
+				ServiceReference<T> reference = references.get(identity);
+				if (reference == null) {
+					return null;
+				}
+				if (reference.owners.isEmpty()) {
+					// The kept client is adopted, the wrapper of released owner is stale
+					reference.service = wrap(reference.client, reference.properties,
+							owner);
+					cache.put(identity, reference.service);
+				}
+				reference.owners.add(owner);
+				return reference.service;
+			}
+		}
+
+		private void register(NacosServiceIdentity identity, T service, T client,
+				Properties properties, Object owner) {
+			synchronized (references) {
+				ServiceReference<T> reference = new ServiceReference<T>(service, client,
+						properties);
+				reference.owners.add(owner);
+				references.put(identity, reference);
+				cache.put(identity, service);
+			}
+		}
+
+		private T newClient(final Properties properties) throws NacosException {
+			CacheableEventPublishingNacosServiceFactory singleton = getSingleton();
+			if (!singleton.lazy) {
+				return createClient(properties);
+			}
+			return LazyNacosClient.create(type, new Callable<T>() {
+				@Override
+				public T call() throws NacosException {
+					return createClient(properties);
+				}
+			}, singleton.lazyClientMetrics);
+		}
+
+		private Method findShutDownMethod(Object client) {
+			if (client == LazyNacosClient.IN_CREATION) {
+				return null;
+			}
+			// ShutDown is not supported until nacos-client 1.2
+			Method shutDownMethod = ReflectionUtils.findMethod(client.getClass(),
+					"shutDown");
+			if (shutDownMethod == null && logger.isDebugEnabled()) {
+				logger.debug(
+						"Nacos client [{}] does not support shutDown, it's kept for reuse",
+						client.getClass().getName());
+			}
+			return shutDownMethod;
+		}
+
+		private void shutdown(Object client, Method shutDownMethod) {
+			try {
+				ReflectionUtils.makeAccessible(shutDownMethod);
+				shutDownMethod.invoke(client);
+			}
+			catch (Throwable e) {
+				logger.warn("Failed to shutdown Nacos client [" + client + "]", e);
+			}
+		}
+
+		/**
+		 * Create the Nacos client
+		 *
+		 * @param properties Set the parameters
+		 * @return the raw nacos service
+		 * @throws NacosException
+		 */
+		protected abstract T createClient(Properties properties) throws NacosException;
+
+		/**
+		 * Wrap the Nacos client
+		 *
+		 * @param client the raw nacos service
+		 * @param properties Set the parameters
+		 * @param owner the first owner of service
+		 * @return T service
+		 */
+		protected abstract T wrap(T client, Properties properties, Object owner);
+
+		/**
+		 * Detach the wrapper of released owner from the client kept for reuse, e.g.
+		 * remove the listeners registered through it
+		 *
+		 * @param service the wrapper returned by
+		 *     {@link #wrap(Object, Properties, Object)}
+		 */
+		protected void detach(T service) {
+		}
+
+	}
+
+	/**
+	 * The cached Nacos service and its owners
+	 *
+	 * @param <T> the type of Nacos service
+	 */
+	private static class ServiceReference<T> {
+
+		private T service;
+
+		private final T client;
+
+		private final Properties properties;
+
+		private final Set<Object> owners = new HashSet<Object>();
+
+		ServiceReference(T service, T client, Properties properties) {
+			this.service = service;
+			this.client = client;
+			this.properties = properties;
+		}
+	}
+
+	/**
+	 * The in-flight creation of Nacos service
+	 *
+	 * @param <T> the type of Nacos service
+	 */
+	private static class ServiceCreation<T> {
+
+		private final CountDownLatch latch = new CountDownLatch(1);
+
+		private volatile T service;
+
+		private volatile Throwable failure;
+
+		void complete(T service, Throwable failure) {
+			this.service = service;
+			this.failure = failure;
+			latch.countDown();
+		}
+
+		T await() throws NacosException {
+			try {
+				latch.await();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new NacosException(NacosException.CLIENT_INVALID_PARAM,
+						"Interrupted while waiting for the creation of Nacos service",
+						e);
+			}
+			Throwable failure = this.failure;
+			if (failure instanceof NacosException) {
+				throw (NacosException) failure;
+			}
+			if (failure instanceof RuntimeException) {
+				throw (RuntimeException) failure;
+			}
+			if (failure instanceof Error) {
+				throw (Error) failure;
+			}
+			return service;
+		}
 	}
 
 	class ConfigCreateWorker extends AbstractCreateWorker<ConfigService> {
 
-		ConfigCreateWorker() {
+		ConfigCreateWorker(ConcurrentMap<NacosServiceIdentity, ConfigService> cache) {
+			super(cache, ConfigService.class);
 		}
 
 		@Override
-		public ConfigService run(Properties properties, ConfigService service)
+		protected ConfigService createClient(Properties properties)
 				throws NacosException {
-			String cacheKey = identify(properties);
-			ConfigService configService = configServicesCache.get(cacheKey);
+			return NacosFactory.createConfigService(properties);
+		}
 
-			if (configService == null) {
-				if (service == null) {
-					service = NacosFactory.createConfigService(properties);
-				}
-				configService = new EventPublishingConfigService(service, properties,
-						getSingleton().context,
-						getSingleton().nacosConfigListenerExecutor);
-				configServicesCache.put(cacheKey, configService);
-			}
-			return configService;
+		@Override
+		protected ConfigService wrap(ConfigService client, Properties properties,
+				Object owner) {
+			return new EventPublishingConfigService(client, properties,
+					resolveContext(owner), getSingleton().nacosConfigListenerExecutor,
+					getSingleton().nacosConfigListenerDispatcher);
+		}
+
+		@Override
+		protected void detach(ConfigService service) {
+			((EventPublishingConfigService) service).removeAllListeners();
 		}
 	}
 
 	class NamingCreateWorker extends AbstractCreateWorker<NamingService> {
 
-		NamingCreateWorker() {
+		NamingCreateWorker(ConcurrentMap<NacosServiceIdentity, NamingService> cache) {
+			super(cache, NamingService.class);
 		}
 
 		@Override
-		public NamingService run(Properties properties, NamingService service)
+		protected NamingService createClient(Properties properties)
 				throws NacosException {
-			String cacheKey = identify(properties);
-			NamingService namingService = namingServicesCache.get(cacheKey);
+			return NacosFactory.createNamingService(properties);
+		}
 
-			if (namingService == null) {
-				if (service == null) {
-					service = NacosFactory.createNamingService(properties);
-				}
-				namingService = new DelegatingNamingService(service, properties);
-				namingServicesCache.put(cacheKey, namingService);
-			}
-			return namingService;
+		@Override
+		protected NamingService wrap(NamingService client, Properties properties,
+				Object owner) {
+			return new DelegatingNamingService(client, properties,
+					getSingleton().discoveryCached, resolveContext(owner));
+		}
+
+		@Override
+		protected void detach(NamingService service) {
+			((DelegatingNamingService) service).close();
 		}
 	}
 
 	class MaintainCreateWorker extends AbstractCreateWorker<NamingMaintainService> {
 
-		MaintainCreateWorker() {
+		MaintainCreateWorker(
+				ConcurrentMap<NacosServiceIdentity, NamingMaintainService> cache) {
+			super(cache, NamingMaintainService.class);
 		}
 
 		@Override
-		public NamingMaintainService run(Properties properties,
-				NamingMaintainService service) throws NacosException {
-			String cacheKey = identify(properties);
-			NamingMaintainService namingMaintainService = maintainServiceCache
-					.get(cacheKey);
-
-			if (namingMaintainService == null) {
-				if (service == null) {
-					service = NacosFactory.createMaintainService(properties);
-				}
-				namingMaintainService = new DelegatingNamingMaintainService(service,
-						properties);
-				maintainServiceCache.put(cacheKey, namingMaintainService);
-			}
-			return namingMaintainService;
+		protected NamingMaintainService createClient(Properties properties)
+				throws NacosException {
+			return NacosFactory.createMaintainService(properties);
+		}
+
+		@Override
+		protected NamingMaintainService wrap(NamingMaintainService client,
+				Properties properties, Object owner) {
+			return new DelegatingNamingMaintainService(client, properties);
 		}
 	}
 
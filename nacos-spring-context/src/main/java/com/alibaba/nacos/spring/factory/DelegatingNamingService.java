@@ -16,9 +16,14 @@
  */
 package com.alibaba.nacos.spring.factory;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import com.alibaba.nacos.api.common.Constants;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.naming.NamingService;
 import com.alibaba.nacos.api.naming.listener.EventListener;
@@ -26,10 +31,20 @@ import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ListView;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
 import com.alibaba.nacos.api.selector.AbstractSelector;
+import com.alibaba.nacos.spring.context.event.DeferredApplicationEventPublisher;
+import com.alibaba.nacos.spring.context.event.discovery.NacosInstancesChangedEvent;
 import com.alibaba.nacos.spring.metadata.NacosServiceMetaData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.context.ConfigurableApplicationContext;
 
 /**
  * Delegating {@link NamingService} with {@link NacosServiceMetaData}
+ * <p>
+ * If the {@link InstanceRegistry} is present, the instances of subscribed services are
+ * served from its local snapshots instead of the underlying client, the returned lists
+ * are read-only, and {@link NacosInstancesChangedEvent} is published on change.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
  * @see NamingService
@@ -38,13 +53,49 @@ import com.alibaba.nacos.spring.metadata.NacosServiceMetaData;
  */
 class DelegatingNamingService implements NamingService, NacosServiceMetaData {
 
+	private static final Logger logger = LoggerFactory
+			.getLogger(DelegatingNamingService.class);
+
+	private static final List<String> EMPTY_CLUSTERS = Collections.emptyList();
+
 	private final NamingService delegate;
 
 	private final Properties properties;
 
+	private final InstanceRegistry registry;
+
+	private final HealthyInstanceSelector selector;
+
+	/**
+	 * The subscriptions made through current service, they are unsubscribed on
+	 * {@link #close()}
+	 */
+	private final Set<Subscription> subscriptions = Collections
+			.newSetFromMap(new ConcurrentHashMap<Subscription, Boolean>());
+
 	DelegatingNamingService(NamingService delegate, Properties properties) {
+		this(delegate, properties, false, null);
+	}
+
+	/**
+	 * @param delegate the underlying {@link NamingService}
+	 * @param properties Nacos {@link Properties}
+	 * @param cached whether the instances of subscribed services are cached or not
+	 * @param context the publisher of {@link NacosInstancesChangedEvent}, nullable
+	 */
+	DelegatingNamingService(NamingService delegate, Properties properties,
+			boolean cached, ConfigurableApplicationContext context) {
 		this.delegate = delegate;
 		this.properties = properties;
+		if (cached) {
+			this.registry = new InstanceRegistry(delegate, this, context == null ? null
+					: DeferredApplicationEventPublisher.getInstance(context));
+			this.selector = new HealthyInstanceSelector(registry);
+		}
+		else {
+			this.registry = null;
+			this.selector = null;
+		}
 	}
 
 	@Override
@@ -110,7 +161,7 @@ class DelegatingNamingService implements NamingService, NacosServiceMetaData {
 	@Override
 	public void deregisterInstance(String serviceName, Instance instance)
 			throws NacosException {
-		delegate.registerInstance(serviceName, instance);
+		delegate.deregisterInstance(serviceName, instance);
 	}
 
 	@Override
@@ -121,145 +172,167 @@ class DelegatingNamingService implements NamingService, NacosServiceMetaData {
 
 	@Override
 	public List<Instance> getAllInstances(String serviceName) throws NacosException {
-		return delegate.getAllInstances(serviceName);
+		return getAllInstances(serviceName, Constants.DEFAULT_GROUP, EMPTY_CLUSTERS,
+				true);
 	}
 
 	@Override
 	public List<Instance> getAllInstances(String serviceName, String groupName)
 			throws NacosException {
-		return delegate.getAllInstances(serviceName, groupName);
+		return getAllInstances(serviceName, groupName, EMPTY_CLUSTERS, true);
 	}
 
 	@Override
 	public List<Instance> getAllInstances(String serviceName, boolean subscribe)
 			throws NacosException {
-		return delegate.getAllInstances(serviceName, subscribe);
+		return getAllInstances(serviceName, Constants.DEFAULT_GROUP, EMPTY_CLUSTERS,
+				subscribe);
 	}
 
 	@Override
 	public List<Instance> getAllInstances(String serviceName, String groupName,
 			boolean subscribe) throws NacosException {
-		return delegate.getAllInstances(serviceName, groupName, subscribe);
+		return getAllInstances(serviceName, groupName, EMPTY_CLUSTERS, subscribe);
 	}
 
 	@Override
 	public List<Instance> getAllInstances(String serviceName, List<String> clusters)
 			throws NacosException {
-		return delegate.getAllInstances(serviceName, clusters);
+		return getAllInstances(serviceName, Constants.DEFAULT_GROUP, clusters, true);
 	}
 
 	@Override
 	public List<Instance> getAllInstances(String serviceName, String groupName,
 			List<String> clusters) throws NacosException {
-		return delegate.getAllInstances(serviceName, groupName, clusters);
+		return getAllInstances(serviceName, groupName, clusters, true);
 	}
 
 	@Override
 	public List<Instance> getAllInstances(String serviceName, List<String> clusters,
 			boolean subscribe) throws NacosException {
-		return delegate.getAllInstances(serviceName, clusters, subscribe);
+		return getAllInstances(serviceName, Constants.DEFAULT_GROUP, clusters,
+				subscribe);
 	}
 
 	@Override
 	public List<Instance> getAllInstances(String serviceName, String groupName,
 			List<String> clusters, boolean subscribe) throws NacosException {
+		if (registry != null && subscribe) {
+			return registry.getInstances(serviceName, groupName, clusters);
+		}
 		return delegate.getAllInstances(serviceName, groupName, clusters, subscribe);
 	}
 
 	@Override
 	public List<Instance> selectInstances(String serviceName, boolean healthy)
 			throws NacosException {
-		return delegate.selectInstances(serviceName, healthy);
+		return selectInstances(serviceName, Constants.DEFAULT_GROUP, EMPTY_CLUSTERS,
+				healthy, true);
 	}
 
 	@Override
 	public List<Instance> selectInstances(String serviceName, String groupName,
 			boolean healthy) throws NacosException {
-		return delegate.selectInstances(serviceName, groupName, healthy);
+		return selectInstances(serviceName, groupName, EMPTY_CLUSTERS, healthy, true);
 	}
 
 	@Override
 	public List<Instance> selectInstances(String serviceName, boolean healthy,
 			boolean subscribe) throws NacosException {
-		return delegate.selectInstances(serviceName, healthy, subscribe);
+		return selectInstances(serviceName, Constants.DEFAULT_GROUP, EMPTY_CLUSTERS,
+				healthy, subscribe);
 	}
 
 	@Override
 	public List<Instance> selectInstances(String serviceName, String groupName,
 			boolean healthy, boolean subscribe) throws NacosException {
-		return delegate.selectInstances(serviceName, groupName, healthy, subscribe);
+		return selectInstances(serviceName, groupName, EMPTY_CLUSTERS, healthy,
+				subscribe);
 	}
 
 	@Override
 	public List<Instance> selectInstances(String serviceName, List<String> clusters,
 			boolean healthy) throws NacosException {
-		return delegate.selectInstances(serviceName, clusters, healthy);
+		return selectInstances(serviceName, Constants.DEFAULT_GROUP, clusters, healthy,
+				true);
 	}
 
 	@Override
 	public List<Instance> selectInstances(String serviceName, String groupName,
 			List<String> clusters, boolean healthy) throws NacosException {
-		return delegate.selectInstances(serviceName, groupName, clusters, healthy);
+		return selectInstances(serviceName, groupName, clusters, healthy, true);
 	}
 
 	@Override
 	public List<Instance> selectInstances(String serviceName, List<String> clusters,
 			boolean healthy, boolean subscribe) throws NacosException {
-		return delegate.selectInstances(serviceName, clusters, healthy, subscribe);
+		return selectInstances(serviceName, Constants.DEFAULT_GROUP, clusters, healthy,
+				subscribe);
 	}
 
 	@Override
 	public List<Instance> selectInstances(String serviceName, String groupName,
 			List<String> clusters, boolean healthy, boolean subscribe)
 			throws NacosException {
+		if (selector != null && healthy && subscribe) {
+			return selector.select(serviceName, groupName, clusters);
+		}
 		return delegate.selectInstances(serviceName, groupName, clusters, healthy,
 				subscribe);
 	}
 
 	@Override
 	public Instance selectOneHealthyInstance(String serviceName) throws NacosException {
-		return delegate.selectOneHealthyInstance(serviceName);
+		return selectOneHealthyInstance(serviceName, Constants.DEFAULT_GROUP,
+				EMPTY_CLUSTERS, true);
 	}
 
 	@Override
 	public Instance selectOneHealthyInstance(String serviceName, String groupName)
 			throws NacosException {
-		return delegate.selectOneHealthyInstance(serviceName, groupName);
+		return selectOneHealthyInstance(serviceName, groupName, EMPTY_CLUSTERS, true);
 	}
 
 	@Override
 	public Instance selectOneHealthyInstance(String serviceName, boolean subscribe)
 			throws NacosException {
-		return delegate.selectOneHealthyInstance(serviceName, subscribe);
+		return selectOneHealthyInstance(serviceName, Constants.DEFAULT_GROUP,
+				EMPTY_CLUSTERS, subscribe);
 	}
 
 	@Override
 	public Instance selectOneHealthyInstance(String serviceName, String groupName,
 			boolean subscribe) throws NacosException {
-		return delegate.selectOneHealthyInstance(serviceName, groupName, subscribe);
+		return selectOneHealthyInstance(serviceName, groupName, EMPTY_CLUSTERS,
+				subscribe);
 	}
 
 	@Override
 	public Instance selectOneHealthyInstance(String serviceName, List<String> clusters)
 			throws NacosException {
-		return delegate.selectOneHealthyInstance(serviceName, clusters);
+		return selectOneHealthyInstance(serviceName, Constants.DEFAULT_GROUP, clusters,
+				true);
 	}
 
 	@Override
 	public Instance selectOneHealthyInstance(String serviceName, String groupName,
 			List<String> clusters) throws NacosException {
-		return delegate.selectOneHealthyInstance(serviceName, groupName, clusters);
+		return selectOneHealthyInstance(serviceName, groupName, clusters, true);
 	}
 
 	@Override
 	public Instance selectOneHealthyInstance(String serviceName, List<String> clusters,
 			boolean subscribe) throws NacosException {
-		return delegate.selectOneHealthyInstance(serviceName, clusters, subscribe);
+		return selectOneHealthyInstance(serviceName, Constants.DEFAULT_GROUP, clusters,
+				subscribe);
 	}
 
 	@Override
 	public Instance selectOneHealthyInstance(String serviceName, String groupName,
 			List<String> clusters, boolean subscribe) throws NacosException {
+		if (selector != null && subscribe) {
+			return selector.selectOne(serviceName, groupName, clusters);
+		}
 		return delegate.selectOneHealthyInstance(serviceName, groupName, clusters,
 				subscribe);
 	}
@@ -268,48 +341,64 @@ class DelegatingNamingService implements NamingService, NacosServiceMetaData {
 	public void subscribe(String serviceName, EventListener listener)
 			throws NacosException {
 		delegate.subscribe(serviceName, listener);
+		subscriptions.add(new Subscription(serviceName, Constants.DEFAULT_GROUP,
+				EMPTY_CLUSTERS, listener));
 	}
 
 	@Override
 	public void subscribe(String serviceName, String groupName, EventListener listener)
 			throws NacosException {
 		delegate.subscribe(serviceName, groupName, listener);
+		subscriptions.add(
+				new Subscription(serviceName, groupName, EMPTY_CLUSTERS, listener));
 	}
 
 	@Override
 	public void subscribe(String serviceName, List<String> clusters,
 			EventListener listener) throws NacosException {
 		delegate.subscribe(serviceName, clusters, listener);
+		subscriptions.add(new Subscription(serviceName, Constants.DEFAULT_GROUP,
+				clusters, listener));
 	}
 
 	@Override
 	public void subscribe(String serviceName, String groupName, List<String> clusters,
 			EventListener listener) throws NacosException {
 		delegate.subscribe(serviceName, groupName, clusters, listener);
+		subscriptions
+				.add(new Subscription(serviceName, groupName, clusters, listener));
 	}
 
 	@Override
 	public void unsubscribe(String serviceName, EventListener listener)
 			throws NacosException {
 		delegate.unsubscribe(serviceName, listener);
+		subscriptions.remove(new Subscription(serviceName, Constants.DEFAULT_GROUP,
+				EMPTY_CLUSTERS, listener));
 	}
 
 	@Override
 	public void unsubscribe(String serviceName, String groupName, EventListener listener)
 			throws NacosException {
 		delegate.unsubscribe(serviceName, groupName, listener);
+		subscriptions.remove(
+				new Subscription(serviceName, groupName, EMPTY_CLUSTERS, listener));
 	}
 
 	@Override
 	public void unsubscribe(String serviceName, List<String> clusters,
 			EventListener listener) throws NacosException {
 		delegate.unsubscribe(serviceName, clusters, listener);
+		subscriptions.remove(new Subscription(serviceName, Constants.DEFAULT_GROUP,
+				clusters, listener));
 	}
 
 	@Override
 	public void unsubscribe(String serviceName, String groupName, List<String> clusters,
 			EventListener listener) throws NacosException {
 		delegate.unsubscribe(serviceName, groupName, clusters, listener);
+		subscriptions
+				.remove(new Subscription(serviceName, groupName, clusters, listener));
 	}
 
 	@Override
@@ -346,8 +435,104 @@ class DelegatingNamingService implements NamingService, NacosServiceMetaData {
 		return delegate.getServerStatus();
 	}
 
+	/**
+	 * Unsubscribe all subscriptions made through current service, including the ones of
+	 * {@link InstanceRegistry}, thus the underlying client kept for reuse does not
+	 * reference the listeners of released owner
+	 */
+	void close() {
+		for (Subscription subscription : new ArrayList<Subscription>(subscriptions)) {
+			try {
+				delegate.unsubscribe(subscription.serviceName, subscription.groupName,
+						subscription.clusters, subscription.listener);
+			}
+			catch (NacosException e) {
+				logger.warn("Failed to unsubscribe the service ["
+						+ subscription.serviceName + "] of group ["
+						+ subscription.groupName + "]", e);
+			}
+		}
+		subscriptions.clear();
+		if (registry != null) {
+			registry.close();
+		}
+	}
+
+	/**
+	 * Get the registry of push-driven snapshots
+	 *
+	 * @return <code>null</code> if not cached
+	 */
+	InstanceRegistry getRegistry() {
+		return registry;
+	}
+
+	/**
+	 * Get the number of cached services
+	 *
+	 * @return the number of cached services, <code>0</code> if not cached
+	 */
+	int getCachedServiceCount() {
+		return registry == null ? 0 : registry.size();
+	}
+
+	/**
+	 * Get the number of Nacos pushes which are same as the cached snapshots
+	 *
+	 * @return the number of suppressed pushes, <code>0</code> if not cached
+	 */
+	long getSuppressedPushCount() {
+		return registry == null ? 0 : registry.getSuppressedPushCount();
+	}
+
 	@Override
 	public Properties getProperties() {
 		return properties;
 	}
+
+	/**
+	 * The subscription of service with the listener
+	 */
+	private static class Subscription {
+
+		private final String serviceName;
+
+		private final String groupName;
+
+		private final List<String> clusters;
+
+		private final EventListener listener;
+
+		Subscription(String serviceName, String groupName, List<String> clusters,
+				EventListener listener) {
+			this.serviceName = serviceName;
+			this.groupName = groupName;
+			this.clusters = clusters == null ? EMPTY_CLUSTERS
+					: new ArrayList<String>(clusters);
+			this.listener = listener;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Subscription)) {
+				return false;
+			}
+			Subscription that = (Subscription) o;
+			return serviceName.equals(that.serviceName)
+					&& groupName.equals(that.groupName)
+					&& clusters.equals(that.clusters) && listener == that.listener;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = serviceName.hashCode();
+			result = 31 * result + groupName.hashCode();
+			result = 31 * result + clusters.hashCode();
+			result = 31 * result + System.identityHashCode(listener);
+			return result;
+		}
+	}
 }
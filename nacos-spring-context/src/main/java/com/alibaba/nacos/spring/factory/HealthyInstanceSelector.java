@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.factory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+
+/**
+ * The local selection engine of healthy {@link Instance instances}, the instances are
+ * taken from the immutable {@link InstanceRegistry.Snapshot snapshots} which are
+ * replaced on the Nacos push, and the alias table of weights is precomputed once per
+ * snapshot and clusters, thus the selection is lock-free, allocation-free and O(1).
+ * <p>
+ * The instances are filtered as the Nacos client does : healthy, enabled and the weight
+ * is greater than zero.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @see DelegatingNamingService
+ * @see InstanceRegistry
+ * @since 0.3.5
+ */
+class HealthyInstanceSelector {
+
+	private static final ThreadLocal<Random> random = new ThreadLocal<Random>() {
+		@Override
+		protected Random initialValue() {
+			return new Random();
+		}
+	};
+
+	private final InstanceRegistry registry;
+
+	HealthyInstanceSelector(InstanceRegistry registry) {
+		this.registry = registry;
+	}
+
+	/**
+	 * Select one healthy instance randomly by weight
+	 *
+	 * @param serviceName the name of service
+	 * @param groupName the group of service
+	 * @param clusters the clusters, empty means all
+	 * @return non-null
+	 * @throws NacosException if the first subscription is failed
+	 * @throws IllegalStateException if no healthy instance
+	 */
+	Instance selectOne(String serviceName, String groupName, List<String> clusters)
+			throws NacosException, IllegalStateException {
+		Instance instance = getHealthyInstances(serviceName, groupName, clusters)
+				.select(random.get());
+		if (instance == null) {
+			throw new IllegalStateException("no healthy instance of service ["
+					+ groupName + "@@" + serviceName + "], clusters : " + clusters);
+		}
+		return instance;
+	}
+
+	/**
+	 * Select all healthy instances
+	 *
+	 * @param serviceName the name of service
+	 * @param groupName the group of service
+	 * @param clusters the clusters, empty means all
+	 * @return read-only snapshot
+	 * @throws NacosException if the first subscription is failed
+	 */
+	List<Instance> select(String serviceName, String groupName, List<String> clusters)
+			throws NacosException {
+		return getHealthyInstances(serviceName, groupName, clusters).getInstances();
+	}
+
+	/**
+	 * Get the number of cached services
+	 *
+	 * @return the number of cached services
+	 */
+	int size() {
+		return registry.size();
+	}
+
+	private WeightedInstances getHealthyInstances(String serviceName, String groupName,
+			List<String> clusters) throws NacosException {
+		return registry.getSnapshot(serviceName, groupName)
+				.getHealthyInstances(clusters);
+	}
+
+	/**
+	 * The immutable healthy instances and their alias table of weights
+	 */
+	static class WeightedInstances {
+
+		private final Instance[] instances;
+
+		private final List<Instance> list;
+
+		private final double[] probabilities;
+
+		private final int[] aliases;
+
+		private final ConcurrentMap<Object, Object> attachments = new ConcurrentHashMap<Object, Object>(
+				2);
+
+		private WeightedInstances(Instance[] instances) {
+			int size = instances.length;
+			this.instances = instances;
+			this.list = Collections.unmodifiableList(Arrays.asList(instances));
+			this.probabilities = new double[size];
+			this.aliases = new int[size];
+			buildAliasTable();
+		}
+
+		static WeightedInstances of(List<Instance> all) {
+			List<Instance> healthy = new ArrayList<Instance>(
+					all == null ? 0 : all.size());
+			if (all != null) {
+				for (Instance instance : all) {
+					if (instance.isHealthy() && instance.isEnabled()
+							&& instance.getWeight() > 0) {
+						healthy.add(instance);
+					}
+				}
+			}
+			return new WeightedInstances(healthy.toArray(new Instance[0]));
+		}
+
+		/**
+		 * Vose's alias method, the column i is chosen uniformly, then the instance i is
+		 * taken with {@link #probabilities probability[i]}, otherwise its alias
+		 */
+		private void buildAliasTable() {
+			int size = instances.length;
+			if (size == 0) {
+				return;
+			}
+			double sum = 0;
+			for (Instance instance : instances) {
+				sum += instance.getWeight();
+			}
+			double[] scaled = new double[size];
+			int[] small = new int[size];
+			int[] large = new int[size];
+			int smallSize = 0;
+			int largeSize = 0;
+			for (int i = 0; i < size; i++) {
+				scaled[i] = instances[i].getWeight() * size / sum;
+				if (scaled[i] < 1) {
+					small[smallSize++] = i;
+				}
+				else {
+					large[largeSize++] = i;
+				}
+			}
+			while (smallSize > 0 && largeSize > 0) {
+				int less = small[--smallSize];
+				int more = large[--largeSize];
+				probabilities[less] = scaled[less];
+				aliases[less] = more;
+				scaled[more] = (scaled[more] + scaled[less]) - 1;
+				if (scaled[more] < 1) {
+					small[smallSize++] = more;
+				}
+				else {
+					large[largeSize++] = more;
+				}
+			}
+			// The rest are 1 within the rounding error
+			while (largeSize > 0) {
+				int i = large[--largeSize];
+				probabilities[i] = 1;
+				aliases[i] = i;
+			}
+			while (smallSize > 0) {
+				int i = small[--smallSize];
+				probabilities[i] = 1;
+				aliases[i] = i;
+			}
+		}
+
+		Instance select(Random random) {
+			int size = instances.length;
+			if (size == 0) {
+				return null;
+			}
+			int i = random.nextInt(size);
+			return random.nextDouble() < probabilities[i] ? instances[i]
+					: instances[aliases[i]];
+		}
+
+		int size() {
+			return instances.length;
+		}
+
+		/**
+		 * @return read-only
+		 */
+		List<Instance> getInstances() {
+			return list;
+		}
+
+		/**
+		 * Get the state derived from current instances by the owner, e.g.
+		 * {@link NacosLoadBalancer}
+		 *
+		 * @param owner the owner of state
+		 * @return <code>null</code> if absent
+		 */
+		Object getAttachment(Object owner) {
+			return attachments.get(owner);
+		}
+
+		/**
+		 * Attach the state derived from current instances if absent
+		 *
+		 * @param owner the owner of state
+		 * @param attachment the derived state
+		 * @return the attached state, which may be attached by another thread
+		 */
+		Object attach(Object owner, Object attachment) {
+			Object existed = attachments.putIfAbsent(owner, attachment);
+			return existed == null ? attachment : existed;
+		}
+	}
+}
@@ -0,0 +1,385 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.factory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.NamingService;
+import com.alibaba.nacos.api.naming.listener.Event;
+import com.alibaba.nacos.api.naming.listener.EventListener;
+import com.alibaba.nacos.api.naming.listener.NamingEvent;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.spring.context.event.DeferredApplicationEventPublisher;
+import com.alibaba.nacos.spring.context.event.discovery.NacosInstancesChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.util.ObjectUtils;
+
+/**
+ * The registry of service instances, each service is subscribed once with all clusters
+ * and served from an immutable {@link Snapshot} which is replaced on the Nacos push.
+ * <p>
+ * The pushes are compared with the current snapshot, the unchanged ones are suppressed,
+ * otherwise {@link NacosInstancesChangedEvent} is published with the delta if the
+ * publisher is present.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @see DelegatingNamingService
+ * @since 0.3.5
+ */
+class InstanceRegistry {
+
+	private static final Logger logger = LoggerFactory.getLogger(InstanceRegistry.class);
+
+	private final NamingService delegate;
+
+	private final NamingService source;
+
+	private final DeferredApplicationEventPublisher publisher;
+
+	/**
+	 * serviceName -> groupName -> entry, no key is built on the read path
+	 */
+	private final ConcurrentMap<String, ConcurrentMap<String, ServiceEntry>> entries = new ConcurrentHashMap<String, ConcurrentMap<String, ServiceEntry>>();
+
+	private final AtomicLong changedPushCount = new AtomicLong();
+
+	private final AtomicLong suppressedPushCount = new AtomicLong();
+
+	/**
+	 * @param delegate the underlying {@link NamingService}
+	 * @param source the source of events
+	 * @param publisher the publisher of {@link NacosInstancesChangedEvent}, nullable
+	 */
+	InstanceRegistry(NamingService delegate, NamingService source,
+			DeferredApplicationEventPublisher publisher) {
+		this.delegate = delegate;
+		this.source = source;
+		this.publisher = publisher;
+	}
+
+	/**
+	 * Get the current snapshot of service, it will be subscribed on the first call
+	 *
+	 * @param serviceName the name of service
+	 * @param groupName the group of service
+	 * @return non-null
+	 * @throws NacosException if the first subscription is failed
+	 */
+	Snapshot getSnapshot(String serviceName, String groupName) throws NacosException {
+		return getServiceEntry(serviceName, groupName).getSnapshot();
+	}
+
+	/**
+	 * Get the instances of service in the clusters
+	 *
+	 * @param serviceName the name of service
+	 * @param groupName the group of service
+	 * @param clusters the clusters, empty means all
+	 * @return read-only snapshot
+	 * @throws NacosException if the first subscription is failed
+	 */
+	List<Instance> getInstances(String serviceName, String groupName,
+			List<String> clusters) throws NacosException {
+		return getSnapshot(serviceName, groupName).getInstances(clusters);
+	}
+
+	/**
+	 * Unsubscribe all services and forget their snapshots, e.g. the owner of the
+	 * underlying client is released while the client is kept for reuse
+	 */
+	void close() {
+		for (ConcurrentMap<String, ServiceEntry> groupEntries : entries.values()) {
+			for (ServiceEntry entry : groupEntries.values()) {
+				entry.close();
+			}
+		}
+		entries.clear();
+	}
+
+	/**
+	 * Get the number of cached services
+	 *
+	 * @return the number of cached services
+	 */
+	int size() {
+		int size = 0;
+		for (ConcurrentMap<String, ServiceEntry> groupEntries : entries.values()) {
+			size += groupEntries.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Get the number of pushes which have changed the snapshots
+	 *
+	 * @return the number of changed pushes
+	 */
+	long getChangedPushCount() {
+		return changedPushCount.get();
+	}
+
+	/**
+	 * Get the number of pushes which are same as the snapshots
+	 *
+	 * @return the number of suppressed pushes
+	 */
+	long getSuppressedPushCount() {
+		return suppressedPushCount.get();
+	}
+
+	private ServiceEntry getServiceEntry(String serviceName, String groupName) {
+		ConcurrentMap<String, ServiceEntry> groupEntries = entries.get(serviceName);
+		if (groupEntries == null) {
+			groupEntries = new ConcurrentHashMap<String, ServiceEntry>(2);
+			ConcurrentMap<String, ServiceEntry> existed = entries
+					.putIfAbsent(serviceName, groupEntries);
+			if (existed != null) {
+				groupEntries = existed;
+			}
+		}
+		ServiceEntry entry = groupEntries.get(groupName);
+		if (entry == null) {
+			entry = new ServiceEntry(serviceName, groupName);
+			ServiceEntry existed = groupEntries.putIfAbsent(groupName, entry);
+			if (existed != null) {
+				entry = existed;
+			}
+		}
+		return entry;
+	}
+
+	private class ServiceEntry implements EventListener {
+
+		private final String serviceName;
+
+		private final String groupName;
+
+		private volatile Snapshot snapshot;
+
+		private boolean subscribed;
+
+		ServiceEntry(String serviceName, String groupName) {
+			this.serviceName = serviceName;
+			this.groupName = groupName;
+		}
+
+		Snapshot getSnapshot() throws NacosException {
+			Snapshot snapshot = this.snapshot;
+			if (snapshot != null) {
+				return snapshot;
+			}
+			synchronized (this) {
+				if (this.snapshot == null) {
+					if (!subscribed) {
+						// Subscribe first, thus no push is missed
+						delegate.subscribe(serviceName, groupName, this);
+						subscribed = true;
+					}
+					List<Instance> instances = delegate.getAllInstances(serviceName,
+							groupName, true);
+					// The push may arrive during the query, it's not older
+					if (this.snapshot == null) {
+						this.snapshot = new Snapshot(instances);
+					}
+				}
+				return this.snapshot;
+			}
+		}
+
+		synchronized void close() {
+			if (subscribed) {
+				try {
+					delegate.unsubscribe(serviceName, groupName, this);
+				}
+				catch (NacosException e) {
+					logger.warn("Failed to unsubscribe the service [" + serviceName
+							+ "] of group [" + groupName + "]", e);
+				}
+				subscribed = false;
+			}
+		}
+
+		@Override
+		public void onEvent(Event event) {
+			if (event instanceof NamingEvent) {
+				update(((NamingEvent) event).getInstances());
+			}
+		}
+
+		private void update(List<Instance> instances) {
+			NacosInstancesChangedEvent changedEvent;
+			synchronized (this) {
+				Snapshot previous = this.snapshot;
+				Snapshot current = new Snapshot(instances);
+				if (previous == null) {
+					this.snapshot = current;
+					return;
+				}
+				List<Instance> added = new ArrayList<Instance>();
+				List<Instance> updated = new ArrayList<Instance>();
+				for (Instance instance : current.instances) {
+					Instance existed = previous.index.get(Snapshot.identify(instance));
+					if (existed == null) {
+						added.add(instance);
+					}
+					else if (isUpdated(existed, instance)) {
+						updated.add(instance);
+					}
+				}
+				List<Instance> removed = new ArrayList<Instance>();
+				for (Instance instance : previous.instances) {
+					if (!current.index.containsKey(Snapshot.identify(instance))) {
+						removed.add(instance);
+					}
+				}
+				if (added.isEmpty() && removed.isEmpty() && updated.isEmpty()) {
+					suppressedPushCount.incrementAndGet();
+					return;
+				}
+				this.snapshot = current;
+				changedPushCount.incrementAndGet();
+				if (publisher == null || !publisher
+						.hasListeners(NacosInstancesChangedEvent.class)) {
+					return;
+				}
+				changedEvent = new NacosInstancesChangedEvent(source, serviceName,
+						groupName, current.list, Collections.unmodifiableList(added),
+						Collections.unmodifiableList(removed),
+						Collections.unmodifiableList(updated));
+			}
+			publisher.publishEvent(changedEvent);
+		}
+	}
+
+	/**
+	 * The immutable instances of a service, the views of clusters are derived on demand
+	 * and kept with the snapshot
+	 */
+	/**
+	 * Compare the mutable fields of the instances of the same address and cluster
+	 * directly, {@link Instance#equals(Object)} serializes both of them into JSON.
+	 *
+	 * @param existed the instance of previous snapshot
+	 * @param instance the instance of current snapshot
+	 * @return <code>true</code> if any field is changed
+	 */
+	static boolean isUpdated(Instance existed, Instance instance) {
+		return existed.isHealthy() != instance.isHealthy()
+				|| existed.isEnabled() != instance.isEnabled()
+				|| existed.isEphemeral() != instance.isEphemeral()
+				|| Double.compare(existed.getWeight(), instance.getWeight()) != 0
+				|| !ObjectUtils.nullSafeEquals(existed.getMetadata(),
+						instance.getMetadata());
+	}
+
+	static class Snapshot {
+
+		private final Instance[] instances;
+
+		private final List<Instance> list;
+
+		private final Map<String, Instance> index;
+
+		private final ConcurrentMap<List<String>, List<Instance>> clusterViews = new ConcurrentHashMap<List<String>, List<Instance>>(
+				2);
+
+		private final ConcurrentMap<List<String>, HealthyInstanceSelector.WeightedInstances> healthyViews = new ConcurrentHashMap<List<String>, HealthyInstanceSelector.WeightedInstances>(
+				2);
+
+		Snapshot(List<Instance> instances) {
+			this.instances = instances == null ? new Instance[0]
+					: instances.toArray(new Instance[0]);
+			this.list = Collections.unmodifiableList(Arrays.asList(this.instances));
+			this.index = new HashMap<String, Instance>(this.instances.length * 2);
+			for (Instance instance : this.instances) {
+				index.put(identify(instance), instance);
+			}
+		}
+
+		static String identify(Instance instance) {
+			return instance.toInetAddr() + "#" + instance.getClusterName();
+		}
+
+		/**
+		 * Get the instances in the clusters
+		 *
+		 * @param clusters the clusters, empty means all
+		 * @return read-only
+		 */
+		List<Instance> getInstances(List<String> clusters) {
+			if (clusters == null || clusters.isEmpty()) {
+				return list;
+			}
+			List<Instance> view = clusterViews.get(clusters);
+			if (view == null) {
+				List<Instance> filtered = new ArrayList<Instance>();
+				for (Instance instance : instances) {
+					if (clusters.contains(instance.getClusterName())) {
+						filtered.add(instance);
+					}
+				}
+				view = Collections.unmodifiableList(filtered);
+				clusterViews.putIfAbsent(new ArrayList<String>(clusters), view);
+			}
+			return view;
+		}
+
+		/**
+		 * Get the healthy instances in the clusters
+		 *
+		 * @param clusters the clusters, empty means all
+		 * @return non-null
+		 */
+		HealthyInstanceSelector.WeightedInstances getHealthyInstances(
+				List<String> clusters) {
+			List<String> key = clusters == null ? Collections.<String>emptyList()
+					: clusters;
+			HealthyInstanceSelector.WeightedInstances healthy = healthyViews.get(key);
+			if (healthy == null) {
+				healthy = HealthyInstanceSelector.WeightedInstances
+						.of(getInstances(clusters));
+				healthyViews.putIfAbsent(new ArrayList<String>(key), healthy);
+			}
+			return healthy;
+		}
+
+		/**
+		 * Contains the instance of the identity or not
+		 *
+		 * @param identity the identity of instance, see {@link #identify(Instance)}
+		 * @return If present, return <code>true</code>
+		 */
+		boolean contains(String identity) {
+			return index.containsKey(identity);
+		}
+
+		int size() {
+			return instances.length;
+		}
+	}
+}
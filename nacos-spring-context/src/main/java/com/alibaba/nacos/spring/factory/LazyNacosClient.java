@@ -0,0 +1,330 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.factory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * The proxy of Nacos client which is created on demand, the real client is created by
+ * the background warm-up task or on the first call, whichever comes first, thus its
+ * agent threads and server list resolution are off the startup path.
+ * <p>
+ * The creation will be retried on the next call if it's failed.
+ *
+ * @param <T> the type of Nacos client
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+final class LazyNacosClient<T> implements InvocationHandler {
+
+	private static final Logger logger = LoggerFactory.getLogger(LazyNacosClient.class);
+
+	private static final ThreadLocal<Boolean> WARMING_UP = new ThreadLocal<Boolean>();
+
+	/**
+	 * The result of {@link #getTargetIfCreated(Object)} if the real client is being
+	 * created
+	 */
+	static final Object IN_CREATION = new Object();
+
+	private static final int IDLE = 0;
+
+	private static final int CREATING = 1;
+
+	private static final int RELEASED = 2;
+
+	private final Class<T> type;
+
+	private final Callable<T> creator;
+
+	private final Metrics metrics;
+
+	private final AtomicReference<FutureTask<T>> creation = new AtomicReference<FutureTask<T>>();
+
+	/**
+	 * {@link #IDLE}, {@link #CREATING} (including created) or {@link #RELEASED}
+	 */
+	private final AtomicInteger state = new AtomicInteger(IDLE);
+
+	private LazyNacosClient(Class<T> type, Callable<T> creator, Metrics metrics) {
+		this.type = type;
+		this.creator = creator;
+		this.metrics = metrics;
+		this.creation.set(newCreation());
+	}
+
+	/**
+	 * Create the proxy of Nacos client, and submit its warm-up task
+	 *
+	 * @param type the interface of Nacos client
+	 * @param creator the creator of real Nacos client
+	 * @param metrics the {@link Metrics} of lazy clients
+	 * @param <T> the type of Nacos client
+	 * @return the proxy
+	 */
+	static <T> T create(Class<T> type, Callable<T> creator, Metrics metrics) {
+		LazyNacosClient<T> lazyNacosClient = new LazyNacosClient<T>(type, creator,
+				metrics);
+		metrics.lazyClientCount.incrementAndGet();
+		lazyNacosClient.warmUp();
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(),
+				new Class<?>[] { type }, lazyNacosClient));
+	}
+
+	/**
+	 * Get the real Nacos client if it has been created, otherwise the creation which is
+	 * not started will never happen, thus the client is released. It never waits.
+	 *
+	 * @param client the Nacos client, maybe the proxy or not
+	 * @return the real Nacos client, {@link #IN_CREATION} if it's being created, or
+	 * <code>null</code> if it's released before creation
+	 */
+	static Object getTargetIfCreated(Object client) {
+		if (!Proxy.isProxyClass(client.getClass())) {
+			return client;
+		}
+		InvocationHandler handler = Proxy.getInvocationHandler(client);
+		if (!(handler instanceof LazyNacosClient)) {
+			return client;
+		}
+		LazyNacosClient<?> lazyNacosClient = (LazyNacosClient<?>) handler;
+		if (lazyNacosClient.state.compareAndSet(IDLE, RELEASED)
+				|| lazyNacosClient.state.get() == RELEASED) {
+			return null;
+		}
+		FutureTask<?> creation = lazyNacosClient.creation.get();
+		if (!creation.isDone()) {
+			return IN_CREATION;
+		}
+		try {
+			return creation.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return IN_CREATION;
+		}
+		catch (ExecutionException e) {
+			// Failed just now, the retry is possible
+			return IN_CREATION;
+		}
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		if (method.getDeclaringClass() == Object.class) {
+			String name = method.getName();
+			if ("equals".equals(name)) {
+				return proxy == args[0];
+			}
+			if ("hashCode".equals(name)) {
+				return System.identityHashCode(proxy);
+			}
+			if ("toString".equals(name)) {
+				return "Lazy" + type.getSimpleName() + "@"
+						+ Integer.toHexString(System.identityHashCode(proxy));
+			}
+		}
+		T target;
+		try {
+			target = getTarget();
+		}
+		catch (NacosException e) {
+			for (Class<?> exceptionType : method.getExceptionTypes()) {
+				if (exceptionType.isInstance(e)) {
+					throw e;
+				}
+			}
+			throw new IllegalStateException(e.getErrMsg(), e);
+		}
+		try {
+			return method.invoke(target, args);
+		}
+		catch (InvocationTargetException e) {
+			throw e.getTargetException();
+		}
+	}
+
+	private T getTarget() throws NacosException {
+		FutureTask<T> creation = this.creation.get();
+		// Create by current thread if it's not started by the warm-up task
+		creation.run();
+		T target;
+		try {
+			target = creation.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new NacosException(NacosException.CLIENT_INVALID_PARAM,
+					"Interrupted while creating Nacos client", e);
+		}
+		catch (ExecutionException e) {
+			// Retry on the next call
+			this.creation.compareAndSet(creation, newCreation());
+			Throwable cause = e.getCause();
+			if (cause instanceof NacosException) {
+				throw (NacosException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+		if (target == null) {
+			throw new IllegalStateException(
+					"The lazy Nacos " + type.getSimpleName() + " has been released");
+		}
+		return target;
+	}
+
+	private FutureTask<T> newCreation() {
+		return new FutureTask<T>(new Callable<T>() {
+			@Override
+			public T call() throws Exception {
+				if (!state.compareAndSet(IDLE, CREATING)) {
+					// Released before creation
+					return null;
+				}
+				long start = System.nanoTime();
+				T target;
+				try {
+					target = creator.call();
+				}
+				catch (Exception e) {
+					state.set(IDLE);
+					throw e;
+				}
+				catch (Error e) {
+					state.set(IDLE);
+					throw e;
+				}
+				long elapsed = System.nanoTime() - start;
+				if (Boolean.TRUE.equals(WARMING_UP.get())) {
+					metrics.warmedUpClientCount.incrementAndGet();
+					metrics.warmUpNanos.addAndGet(elapsed);
+					if (logger.isInfoEnabled()) {
+						logger.info("Nacos {} is warmed up in {} ms",
+								type.getSimpleName(),
+								TimeUnit.NANOSECONDS.toMillis(elapsed));
+					}
+				}
+				else {
+					metrics.onCallCreationNanos.addAndGet(elapsed);
+				}
+				return target;
+			}
+		});
+	}
+
+	private void warmUp() {
+		final FutureTask<T> creation = this.creation.get();
+		try {
+			WarmUpExecutorHolder.EXECUTOR.execute(new Runnable() {
+				@Override
+				public void run() {
+					WARMING_UP.set(Boolean.TRUE);
+					try {
+						creation.run();
+					}
+					finally {
+						WARMING_UP.remove();
+					}
+					if (creation.isDone() && !creation.isCancelled()) {
+						try {
+							creation.get();
+						}
+						catch (Exception e) {
+							logger.warn("Warming up Nacos " + type.getSimpleName()
+									+ " is failed, it will be created on the first call",
+									e);
+							LazyNacosClient.this.creation.compareAndSet(creation,
+									newCreation());
+						}
+					}
+				}
+			});
+		}
+		catch (RejectedExecutionException e) {
+			// Created on the first call
+		}
+	}
+
+	/**
+	 * The metrics of {@link LazyNacosClient lazy Nacos clients}
+	 */
+	static final class Metrics {
+
+		private final AtomicInteger lazyClientCount = new AtomicInteger();
+
+		private final AtomicInteger warmedUpClientCount = new AtomicInteger();
+
+		private final AtomicLong warmUpNanos = new AtomicLong();
+
+		private final AtomicLong onCallCreationNanos = new AtomicLong();
+
+		int getLazyClientCount() {
+			return lazyClientCount.get();
+		}
+
+		int getWarmedUpClientCount() {
+			return warmedUpClientCount.get();
+		}
+
+		long getWarmUpNanos() {
+			return warmUpNanos.get();
+		}
+
+		long getOnCallCreationNanos() {
+			return onCallCreationNanos.get();
+		}
+	}
+
+	private static class WarmUpExecutorHolder {
+
+		private static final ThreadPoolExecutor EXECUTOR;
+
+		static {
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+					"NacosClient-WarmUp-");
+			threadFactory.setDaemon(true);
+			EXECUTOR = new ThreadPoolExecutor(1, 1, 1L, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<Runnable>(), threadFactory);
+			EXECUTOR.allowCoreThreadTimeOut(true);
+		}
+	}
+}
@@ -0,0 +1,316 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.factory;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.alibaba.nacos.api.common.Constants;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.NamingService;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.spring.util.discovery.Candidates;
+import com.alibaba.nacos.spring.util.discovery.InFlightCounter;
+import com.alibaba.nacos.spring.util.discovery.LoadBalancer;
+
+import org.springframework.util.Assert;
+
+/**
+ * The client-side load balancing of Nacos service instances, the healthy instances are
+ * taken from the push-driven {@link InstanceRegistry registry} shared with the
+ * {@link NamingService} if it's cached, and chosen by the {@link LoadBalancer} with the
+ * local in-flight counters, thus no Nacos query is issued per request.
+ * <p>
+ * The in-flight counters are maintained by the {@link Lease leases}, which should be
+ * {@link Lease#release() released} once the requests are completed :
+ *
+ * <pre class="code">
+ * NacosLoadBalancer.Lease lease = loadBalancer.acquire("demo-service", userId);
+ * try {
+ *     invoke(lease.getInstance());
+ * }
+ * finally {
+ *     lease.release();
+ * }
+ * </pre>
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @see LoadBalancer
+ * @since 0.3.5
+ */
+public class NacosLoadBalancer {
+
+	private static final List<String> EMPTY_CLUSTERS = Collections.emptyList();
+
+	private final LoadBalancer loadBalancer;
+
+	private final InstanceRegistry registry;
+
+	/**
+	 * The in-flight counters of instances and services, they are kept across snapshots,
+	 * and the idle ones of the instances absent from the latest snapshot are pruned
+	 */
+	private final ConcurrentMap<String, InFlightCounter> counters = new ConcurrentHashMap<String, InFlightCounter>();
+
+	/**
+	 * @param namingService the {@link NamingService} subscribes the services
+	 * @param loadBalancer the {@link LoadBalancer} chooses the instances
+	 */
+	public NacosLoadBalancer(NamingService namingService, LoadBalancer loadBalancer) {
+		Assert.notNull(namingService, "namingService must not be null");
+		Assert.notNull(loadBalancer, "loadBalancer must not be null");
+		this.loadBalancer = loadBalancer;
+		InstanceRegistry registry = namingService instanceof DelegatingNamingService
+				? ((DelegatingNamingService) namingService).getRegistry()
+				: null;
+		this.registry = registry != null ? registry
+				: new InstanceRegistry(namingService, namingService, null);
+	}
+
+	/**
+	 * Choose one healthy instance of the service in default group
+	 *
+	 * @param serviceName the name of service
+	 * @return non-null
+	 * @throws NacosException if the first subscription is failed
+	 * @throws IllegalStateException if no healthy instance
+	 */
+	public Instance choose(String serviceName)
+			throws NacosException, IllegalStateException {
+		return choose(serviceName, null);
+	}
+
+	/**
+	 * Choose one healthy instance of the service in default group
+	 *
+	 * @param serviceName the name of service
+	 * @param key the key of request, <code>null</code> is allowed
+	 * @return non-null
+	 * @throws NacosException if the first subscription is failed
+	 * @throws IllegalStateException if no healthy instance
+	 */
+	public Instance choose(String serviceName, String key)
+			throws NacosException, IllegalStateException {
+		return choose(serviceName, Constants.DEFAULT_GROUP, EMPTY_CLUSTERS, key);
+	}
+
+	/**
+	 * Choose one healthy instance, the in-flight counter is not changed
+	 *
+	 * @param serviceName the name of service
+	 * @param groupName the group of service
+	 * @param clusters the clusters, empty means all
+	 * @param key the key of request, <code>null</code> is allowed
+	 * @return non-null
+	 * @throws NacosException if the first subscription is failed
+	 * @throws IllegalStateException if no healthy instance
+	 */
+	public Instance choose(String serviceName, String groupName, List<String> clusters,
+			String key) throws NacosException, IllegalStateException {
+		Selection selection = getSelection(serviceName, groupName, clusters);
+		return selection.candidates.get(loadBalancer.choose(selection.candidates, key));
+	}
+
+	/**
+	 * Choose one healthy instance of the service in default group and count the request
+	 * as in-flight until the {@link Lease} is released
+	 *
+	 * @param serviceName the name of service
+	 * @param key the key of request, <code>null</code> is allowed
+	 * @return non-null
+	 * @throws NacosException if the first subscription is failed
+	 * @throws IllegalStateException if no healthy instance
+	 */
+	public Lease acquire(String serviceName, String key)
+			throws NacosException, IllegalStateException {
+		return acquire(serviceName, Constants.DEFAULT_GROUP, EMPTY_CLUSTERS, key);
+	}
+
+	/**
+	 * Choose one healthy instance and count the request as in-flight until the
+	 * {@link Lease} is released
+	 *
+	 * @param serviceName the name of service
+	 * @param groupName the group of service
+	 * @param clusters the clusters, empty means all
+	 * @param key the key of request, <code>null</code> is allowed
+	 * @return non-null
+	 * @throws NacosException if the first subscription is failed
+	 * @throws IllegalStateException if no healthy instance
+	 */
+	public Lease acquire(String serviceName, String groupName, List<String> clusters,
+			String key) throws NacosException, IllegalStateException {
+		Selection selection = getSelection(serviceName, groupName, clusters);
+		int index = loadBalancer.choose(selection.candidates, key);
+		return new Lease(selection.candidates.get(index), selection.counters[index],
+				selection.totalCounter);
+	}
+
+	/**
+	 * Get the numbers of in-flight requests, the key is "group@@service#ip:port#cluster"
+	 * for the instance, "group@@service" for the service
+	 *
+	 * @return read-only snapshot, the idle ones are excluded
+	 */
+	public Map<String, Long> getInFlightCounts() {
+		Map<String, Long> inFlightCounts = new LinkedHashMap<String, Long>();
+		for (Map.Entry<String, InFlightCounter> entry : counters.entrySet()) {
+			long inFlight = entry.getValue().get();
+			if (inFlight != 0) {
+				inFlightCounts.put(entry.getKey(), inFlight);
+			}
+		}
+		return Collections.unmodifiableMap(inFlightCounts);
+	}
+
+	/**
+	 * Get the number of counters kept, including the idle ones
+	 *
+	 * @return the number of counters
+	 */
+	int getCounterCount() {
+		return counters.size();
+	}
+
+	public LoadBalancer getLoadBalancer() {
+		return loadBalancer;
+	}
+
+	private Selection getSelection(String serviceName, String groupName,
+			List<String> clusters) throws NacosException {
+		InstanceRegistry.Snapshot snapshot = registry.getSnapshot(serviceName,
+				groupName);
+		HealthyInstanceSelector.WeightedInstances healthy = snapshot
+				.getHealthyInstances(clusters);
+		Selection selection = (Selection) healthy.getAttachment(this);
+		if (selection == null) {
+			if (healthy.size() == 0) {
+				throw new IllegalStateException("no healthy instance of service ["
+						+ groupName + "@@" + serviceName + "], clusters : " + clusters);
+			}
+			String serviceKey = groupName + "@@" + serviceName;
+			selection = (Selection) healthy.attach(this,
+					createSelection(serviceKey, healthy.getInstances()));
+			// The snapshot is changed, or is selected by other clusters
+			pruneCounters(serviceKey, snapshot);
+		}
+		return selection;
+	}
+
+	private Selection createSelection(String serviceKey, List<Instance> instances) {
+		InFlightCounter[] instanceCounters = new InFlightCounter[instances.size()];
+		for (int i = 0; i < instanceCounters.length; i++) {
+			instanceCounters[i] = getCounter(serviceKey + "#"
+					+ InstanceRegistry.Snapshot.identify(instances.get(i)));
+		}
+		InFlightCounter totalCounter = getCounter(serviceKey);
+		return new Selection(
+				new Candidates(instances, instanceCounters, totalCounter),
+				instanceCounters, totalCounter);
+	}
+
+	/**
+	 * Remove the idle counters of the instances absent from the snapshot, the one
+	 * incremented by an obsolete {@link Selection} afterwards is only missed by
+	 * {@link #getInFlightCounts()}
+	 */
+	private void pruneCounters(String serviceKey, InstanceRegistry.Snapshot snapshot) {
+		String prefix = serviceKey + "#";
+		for (Map.Entry<String, InFlightCounter> entry : counters.entrySet()) {
+			String key = entry.getKey();
+			if (key.startsWith(prefix)
+					&& !snapshot.contains(key.substring(prefix.length()))
+					&& entry.getValue().get() == 0) {
+				counters.remove(key, entry.getValue());
+			}
+		}
+	}
+
+	private InFlightCounter getCounter(String key) {
+		InFlightCounter counter = counters.get(key);
+		if (counter == null) {
+			counter = new InFlightCounter();
+			InFlightCounter existed = counters.putIfAbsent(key, counter);
+			if (existed != null) {
+				counter = existed;
+			}
+		}
+		return counter;
+	}
+
+	/**
+	 * The candidates derived from a snapshot of healthy instances
+	 */
+	private static class Selection {
+
+		private final Candidates candidates;
+
+		private final InFlightCounter[] counters;
+
+		private final InFlightCounter totalCounter;
+
+		Selection(Candidates candidates, InFlightCounter[] counters,
+				InFlightCounter totalCounter) {
+			this.candidates = candidates;
+			this.counters = counters;
+			this.totalCounter = totalCounter;
+		}
+	}
+
+	/**
+	 * The chosen instance with its in-flight request counted, the count is decreased once
+	 * {@link #release() released}
+	 */
+	public static class Lease {
+
+		private final Instance instance;
+
+		private final InFlightCounter counter;
+
+		private final InFlightCounter totalCounter;
+
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		private Lease(Instance instance, InFlightCounter counter,
+				InFlightCounter totalCounter) {
+			this.instance = instance;
+			this.counter = counter;
+			this.totalCounter = totalCounter;
+			counter.increment();
+			totalCounter.increment();
+		}
+
+		public Instance getInstance() {
+			return instance;
+		}
+
+		/**
+		 * Release the in-flight request, it's idempotent
+		 */
+		public void release() {
+			if (released.compareAndSet(false, true)) {
+				counter.decrement();
+				totalCounter.decrement();
+			}
+		}
+	}
+}
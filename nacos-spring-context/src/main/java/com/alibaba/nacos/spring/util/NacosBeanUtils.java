@@ -21,18 +21,23 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import com.alibaba.nacos.spring.beans.factory.annotation.AnnotationNacosInjectedBeanPostProcessor;
+import com.alibaba.nacos.spring.beans.factory.annotation.AsyncConfigServiceBeanBuilder;
+import com.alibaba.nacos.spring.beans.factory.annotation.BatchNamingServiceBeanBuilder;
 import com.alibaba.nacos.spring.beans.factory.annotation.ConfigServiceBeanBuilder;
+import com.alibaba.nacos.spring.beans.factory.annotation.NacosLoadBalancerBeanBuilder;
 import com.alibaba.nacos.spring.beans.factory.annotation.NamingMaintainServiceBeanBuilder;
 import com.alibaba.nacos.spring.beans.factory.annotation.NamingServiceBeanBuilder;
+import com.alibaba.nacos.spring.context.annotation.config.NacosConfigBatchListenerMethodProcessor;
 import com.alibaba.nacos.spring.context.annotation.config.NacosConfigListenerMethodProcessor;
 import com.alibaba.nacos.spring.context.annotation.config.NacosValueAnnotationBeanPostProcessor;
 import com.alibaba.nacos.spring.context.annotation.config.SpringValueAnnotationBeanPostProcessor;
 import com.alibaba.nacos.spring.context.event.LoggingNacosConfigMetadataEventListener;
+import com.alibaba.nacos.spring.context.event.config.AsyncNacosConfigEventMulticaster;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigListenerTimeoutExecutor;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigMetadataRegistry;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigStartupTimeline;
 import com.alibaba.nacos.spring.context.properties.config.NacosConfigurationPropertiesBindingPostProcessor;
 import com.alibaba.nacos.spring.core.env.AnnotationNacosPropertySourceBuilder;
 import com.alibaba.nacos.spring.core.env.NacosPropertySourcePostProcessor;
@@ -40,6 +45,10 @@ import com.alibaba.nacos.spring.core.env.XmlNacosPropertySourceBuilder;
 import com.alibaba.nacos.spring.factory.ApplicationContextHolder;
 import com.alibaba.nacos.spring.factory.CacheableEventPublishingNacosServiceFactory;
 import com.alibaba.nacos.spring.factory.NacosServiceFactory;
+import com.alibaba.nacos.spring.util.concurrent.ExecutorStrategies;
+import com.alibaba.nacos.spring.util.concurrent.ExecutorStrategy;
+import com.alibaba.nacos.spring.util.concurrent.KeyedSerialExecutor;
+import com.alibaba.nacos.spring.util.config.NacosConfigSnapshotStore;
 import com.alibaba.spring.util.BeanUtils;
 import org.apache.commons.lang3.ArrayUtils;
 
@@ -51,14 +60,25 @@ import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.support.AbstractApplicationContext;
 import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
 import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.PropertyResolver;
+import org.springframework.util.StringUtils;
 
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.DEFAULT_NACOS_CONFIG_LISTENER_EXECUTOR;
 import static com.alibaba.nacos.spring.context.constants.NacosConstants.DEFAULT_NACOS_CONFIG_LISTENER_PARALLELISM;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.DEFAULT_NACOS_CONFIG_LISTENER_QUEUE_CAPACITY;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.DEFAULT_NACOS_CONFIG_METADATA_LOGGING;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.DEFAULT_NACOS_CONFIG_STARTUP_TIMELINE;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_CONFIG_LISTENER_EXECUTOR;
 import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_CONFIG_LISTENER_PARALLELISM;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_CONFIG_LISTENER_QUEUE_CAPACITY;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_CONFIG_METADATA_LOGGING;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_CONFIG_SNAPSHOT_FILE;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_CONFIG_STARTUP_TIMELINE;
 import static com.alibaba.nacos.spring.util.NacosUtils.resolveProperties;
 
 /**
@@ -102,6 +122,18 @@ public abstract class NacosBeanUtils {
 	 */
 	public static final String NACOS_CONFIG_LISTENER_EXECUTOR_BEAN_NAME = "nacosConfigListenerExecutor";
 
+	/**
+	 * The bean name of {@link KeyedSerialExecutor} for Nacos Config Listener, which
+	 * dispatches the notifications of same dataId and group orderly
+	 */
+	public static final String NACOS_CONFIG_LISTENER_DISPATCHER_BEAN_NAME = "nacosConfigListenerDispatcher";
+
+	/**
+	 * The bean name of {@link ExecutorStrategy} shared by all Nacos Config Listener
+	 * executors
+	 */
+	public static final String NACOS_CONFIG_LISTENER_EXECUTOR_STRATEGY_BEAN_NAME = "nacosConfigListenerExecutorStrategy";
+
 	/**
 	 * the ignoreResourceNotFound property for propertySourcesPlaceholderConfigurer
 	 */
@@ -301,6 +333,13 @@ public abstract class NacosBeanUtils {
 				NacosConfigListenerMethodProcessor.class);
 	}
 
+	public static void registerNacosConfigBatchListenerMethodProcessor(
+			BeanDefinitionRegistry registry) {
+		registerInfrastructureBeanIfAbsent(registry,
+				NacosConfigBatchListenerMethodProcessor.BEAN_NAME,
+				NacosConfigBatchListenerMethodProcessor.class);
+	}
+
 	public static void registerNacosPropertySourcePostProcessor(
 			BeanDefinitionRegistry registry) {
 		registerInfrastructureBeanIfAbsent(registry,
@@ -322,6 +361,42 @@ public abstract class NacosBeanUtils {
 				XmlNacosPropertySourceBuilder.class);
 	}
 
+	/**
+	 * Register the {@link ExecutorStrategy} of Nacos Config Listener resolved from the
+	 * property {@link com.alibaba.nacos.spring.context.constants.NacosConstants#NACOS_CONFIG_LISTENER_EXECUTOR}
+	 * if absent
+	 *
+	 * @param registry {@link BeanDefinitionRegistry}
+	 * @param environment {@link Environment}
+	 */
+	public static void registerNacosConfigListenerExecutorStrategy(
+			BeanDefinitionRegistry registry, Environment environment) {
+		registerNacosConfigListenerExecutorStrategy(registry,
+				environment.getProperty(NACOS_CONFIG_LISTENER_EXECUTOR,
+						DEFAULT_NACOS_CONFIG_LISTENER_EXECUTOR));
+	}
+
+	/**
+	 * Register the {@link ExecutorStrategy} of Nacos Config Listener if absent
+	 *
+	 * @param registry {@link BeanDefinitionRegistry}
+	 * @param strategyName the name of built-in {@link ExecutorStrategies strategy} or
+	 * the class name of custom one
+	 */
+	public static void registerNacosConfigListenerExecutorStrategy(
+			BeanDefinitionRegistry registry, String strategyName) {
+		final String beanName = NACOS_CONFIG_LISTENER_EXECUTOR_STRATEGY_BEAN_NAME;
+		BeanFactory beanFactory = resolveBeanFactory(registry);
+		if (beanFactory != null && beanFactory.containsBean(beanName)) {
+			return;
+		}
+		ClassLoader classLoader = beanFactory instanceof ConfigurableListableBeanFactory
+				? ((ConfigurableListableBeanFactory) beanFactory).getBeanClassLoader()
+				: null;
+		registerSingleton(registry, beanName,
+				ExecutorStrategies.resolve(strategyName, classLoader));
+	}
+
 	public static void registerNacosConfigListenerExecutor(
 			BeanDefinitionRegistry registry, Environment environment) {
 		final String beanName = NACOS_CONFIG_LISTENER_EXECUTOR_BEAN_NAME;
@@ -329,25 +404,16 @@ public abstract class NacosBeanUtils {
 				&& ((BeanFactory) registry).containsBean(beanName)) {
 			return;
 		}
-		ExecutorService nacosConfigListenerExecutor = buildNacosConfigListenerExecutor(
-				environment);
+		registerNacosConfigListenerExecutorStrategy(registry, environment);
+		ExecutorStrategy executorStrategy = getNacosConfigListenerExecutorStrategy(
+				resolveBeanFactory(registry));
+		ExecutorService nacosConfigListenerExecutor = executorStrategy.newExecutor(
+				"NacosConfigListener-ThreadPool-", getParallelism(environment));
 		registerSingleton(registry, beanName, nacosConfigListenerExecutor);
-	}
-
-	private static ExecutorService buildNacosConfigListenerExecutor(
-			Environment environment) {
-		int parallelism = getParallelism(environment);
-		return Executors.newFixedThreadPool(parallelism, new ThreadFactory() {
-			private final AtomicInteger threadNumber = new AtomicInteger(1);
-
-			@Override
-			public Thread newThread(Runnable r) {
-				Thread thread = new Thread(r);
-				thread.setName("NacosConfigListener-ThreadPool-"
-						+ threadNumber.getAndIncrement());
-				return thread;
-			}
-		});
+		KeyedSerialExecutor nacosConfigListenerDispatcher = new KeyedSerialExecutor(
+				nacosConfigListenerExecutor, getQueueCapacity(environment));
+		registerSingleton(registry, NACOS_CONFIG_LISTENER_DISPATCHER_BEAN_NAME,
+				nacosConfigListenerDispatcher);
 	}
 
 	private static int getParallelism(Environment environment) {
@@ -356,6 +422,27 @@ public abstract class NacosBeanUtils {
 		return parallelism < 1 ? DEFAULT_NACOS_CONFIG_LISTENER_PARALLELISM : parallelism;
 	}
 
+	private static int getQueueCapacity(Environment environment) {
+		int queueCapacity = environment.getProperty(NACOS_CONFIG_LISTENER_QUEUE_CAPACITY,
+				int.class, DEFAULT_NACOS_CONFIG_LISTENER_QUEUE_CAPACITY);
+		return queueCapacity < 1 ? DEFAULT_NACOS_CONFIG_LISTENER_QUEUE_CAPACITY
+				: queueCapacity;
+	}
+
+	public static void registerNacosConfigListenerTimeoutExecutor(
+			BeanDefinitionRegistry registry) {
+		registerInfrastructureBeanIfAbsent(registry,
+				NacosConfigListenerTimeoutExecutor.BEAN_NAME,
+				NacosConfigListenerTimeoutExecutor.class);
+	}
+
+	public static void registerAsyncNacosConfigEventMulticaster(
+			BeanDefinitionRegistry registry) {
+		registerInfrastructureBeanIfAbsent(registry,
+				AsyncNacosConfigEventMulticaster.BEAN_NAME,
+				AsyncNacosConfigEventMulticaster.class);
+	}
+
 	public static void registerNacosValueAnnotationBeanPostProcessor(
 			BeanDefinitionRegistry registry) {
 		registerInfrastructureBeanIfAbsent(registry,
@@ -398,19 +485,33 @@ public abstract class NacosBeanUtils {
 
 		registerNacosConfigListenerMethodProcessor(registry);
 
+		registerNacosConfigBatchListenerMethodProcessor(registry);
+
 		registerNacosPropertySourcePostProcessor(registry);
 
 		registerAnnotationNacosPropertySourceBuilder(registry);
 
 		registerNacosConfigListenerExecutor(registry, environment);
 
+		registerNacosConfigListenerTimeoutExecutor(registry);
+
+		registerAsyncNacosConfigEventMulticaster(registry);
+
 		registerNacosValueAnnotationBeanPostProcessor(registry);
 
 		registerSpringValueAnnotationBeanPostProcessor(registry);
 
 		registerConfigServiceBeanBuilder(registry);
 
-		registerLoggingNacosConfigMetadataEventListener(registry);
+		registerAsyncConfigServiceBeanBuilder(registry);
+
+		registerNacosConfigMetadataRegistry(registry);
+
+		registerLoggingNacosConfigMetadataEventListener(registry, environment);
+
+		registerNacosConfigSnapshotStore(registry, environment);
+
+		registerNacosConfigStartupTimeline(registry, environment);
 	}
 
 	/**
@@ -427,17 +528,67 @@ public abstract class NacosBeanUtils {
 	}
 
 	/**
-	 * Register {@link LoggingNacosConfigMetadataEventListener} Bean
+	 * Register {@link NacosConfigMetadataRegistry} Bean
 	 *
 	 * @param registry {@link BeanDefinitionRegistry}
 	 */
-	private static void registerLoggingNacosConfigMetadataEventListener(
+	private static void registerNacosConfigMetadataRegistry(
 			BeanDefinitionRegistry registry) {
+		registerInfrastructureBeanIfAbsent(registry, NacosConfigMetadataRegistry.BEAN_NAME,
+				NacosConfigMetadataRegistry.class);
+	}
+
+	/**
+	 * Register {@link LoggingNacosConfigMetadataEventListener} Bean if
+	 * {@link #NACOS_CONFIG_METADATA_LOGGING logging} is enabled
+	 *
+	 * @param registry {@link BeanDefinitionRegistry}
+	 * @param environment {@link Environment}
+	 */
+	private static void registerLoggingNacosConfigMetadataEventListener(
+			BeanDefinitionRegistry registry, Environment environment) {
+		if (!environment.getProperty(NACOS_CONFIG_METADATA_LOGGING, boolean.class,
+				DEFAULT_NACOS_CONFIG_METADATA_LOGGING)) {
+			return;
+		}
 		registerInfrastructureBeanIfAbsent(registry,
 				LoggingNacosConfigMetadataEventListener.BEAN_NAME,
 				LoggingNacosConfigMetadataEventListener.class);
 	}
 
+	/**
+	 * Register {@link NacosConfigSnapshotStore} Bean if
+	 * {@link #NACOS_CONFIG_SNAPSHOT_FILE the file of snapshots} is specified
+	 *
+	 * @param registry {@link BeanDefinitionRegistry}
+	 * @param environment {@link Environment}
+	 */
+	private static void registerNacosConfigSnapshotStore(BeanDefinitionRegistry registry,
+			Environment environment) {
+		if (!StringUtils.hasText(environment.getProperty(NACOS_CONFIG_SNAPSHOT_FILE))) {
+			return;
+		}
+		registerInfrastructureBeanIfAbsent(registry, NacosConfigSnapshotStore.BEAN_NAME,
+				NacosConfigSnapshotStore.class);
+	}
+
+	/**
+	 * Register {@link NacosConfigStartupTimeline} Bean if
+	 * {@link #NACOS_CONFIG_STARTUP_TIMELINE recording} is enabled
+	 *
+	 * @param registry {@link BeanDefinitionRegistry}
+	 * @param environment {@link Environment}
+	 */
+	private static void registerNacosConfigStartupTimeline(
+			BeanDefinitionRegistry registry, Environment environment) {
+		if (!environment.getProperty(NACOS_CONFIG_STARTUP_TIMELINE, boolean.class,
+				DEFAULT_NACOS_CONFIG_STARTUP_TIMELINE)) {
+			return;
+		}
+		registerInfrastructureBeanIfAbsent(registry, NacosConfigStartupTimeline.BEAN_NAME,
+				NacosConfigStartupTimeline.class);
+	}
+
 	/**
 	 * Register Nacos Discovery Beans
 	 *
@@ -446,6 +597,8 @@ public abstract class NacosBeanUtils {
 	public static void registerNacosDiscoveryBeans(BeanDefinitionRegistry registry) {
 		registerNamingServiceBeanBuilder(registry);
 		registerNamingMaintainServiceBeanBuilder(registry);
+		registerNacosLoadBalancerBeanBuilder(registry);
+		registerBatchNamingServiceBeanBuilder(registry);
 	}
 
 	/**
@@ -467,6 +620,13 @@ public abstract class NacosBeanUtils {
 				ConfigServiceBeanBuilder.class);
 	}
 
+	private static void registerAsyncConfigServiceBeanBuilder(
+			BeanDefinitionRegistry registry) {
+		registerInfrastructureBeanIfAbsent(registry,
+				AsyncConfigServiceBeanBuilder.BEAN_NAME,
+				AsyncConfigServiceBeanBuilder.class);
+	}
+
 	private static void registerNamingServiceBeanBuilder(
 			BeanDefinitionRegistry registry) {
 		registerInfrastructureBeanIfAbsent(registry, NamingServiceBeanBuilder.BEAN_NAME,
@@ -480,6 +640,20 @@ public abstract class NacosBeanUtils {
 				NamingMaintainServiceBeanBuilder.class);
 	}
 
+	private static void registerNacosLoadBalancerBeanBuilder(
+			BeanDefinitionRegistry registry) {
+		registerInfrastructureBeanIfAbsent(registry,
+				NacosLoadBalancerBeanBuilder.BEAN_NAME,
+				NacosLoadBalancerBeanBuilder.class);
+	}
+
+	private static void registerBatchNamingServiceBeanBuilder(
+			BeanDefinitionRegistry registry) {
+		registerInfrastructureBeanIfAbsent(registry,
+				BatchNamingServiceBeanBuilder.BEAN_NAME,
+				BatchNamingServiceBeanBuilder.class);
+	}
+
 	/**
 	 * Get Global Properties Bean
 	 *
@@ -508,9 +682,11 @@ public abstract class NacosBeanUtils {
 				beanFactory);
 		CacheableEventPublishingNacosServiceFactory nacosServiceFactory = CacheableEventPublishingNacosServiceFactory
 				.getSingleton();
-		nacosServiceFactory
-				.setApplicationContext(applicationContextHolder.getApplicationContext());
-		return nacosServiceFactory;
+		ConfigurableApplicationContext applicationContext = applicationContextHolder
+				.getApplicationContext();
+		nacosServiceFactory.setApplicationContext(applicationContext);
+		// The services are owned by the context explicitly
+		return nacosServiceFactory.getNacosServiceFactory(applicationContext);
 	}
 
 	public static NacosServiceFactory getNacosServiceFactoryBean()
@@ -539,6 +715,99 @@ public abstract class NacosBeanUtils {
 				ExecutorService.class);
 	}
 
+	/**
+	 * Get the {@link ExecutorStrategy} Bean for Nacos Config Listener
+	 *
+	 * @param beanFactory {@link BeanFactory}, <code>null</code> is allowed
+	 * @return the {@link ExecutorStrategy} Bean If Present, or
+	 * {@link ExecutorStrategies#FIXED}
+	 */
+	public static ExecutorStrategy getNacosConfigListenerExecutorStrategy(
+			BeanFactory beanFactory) {
+		if (beanFactory == null || !beanFactory
+				.containsBean(NACOS_CONFIG_LISTENER_EXECUTOR_STRATEGY_BEAN_NAME)) {
+			return ExecutorStrategies.FIXED;
+		}
+		return beanFactory.getBean(NACOS_CONFIG_LISTENER_EXECUTOR_STRATEGY_BEAN_NAME,
+				ExecutorStrategy.class);
+	}
+
+	/**
+	 * Get {@link KeyedSerialExecutor} Bean for Nacos Config Listener If Present
+	 *
+	 * @param beanFactory {@link BeanFactory}
+	 * @return {@link KeyedSerialExecutor} Bean If Present, or <code>null</code>
+	 */
+	public static KeyedSerialExecutor getNacosConfigListenerDispatcherIfPresent(
+			BeanFactory beanFactory) {
+		if (!beanFactory.containsBean(NACOS_CONFIG_LISTENER_DISPATCHER_BEAN_NAME)) {
+			return null;
+		}
+		return beanFactory.getBean(NACOS_CONFIG_LISTENER_DISPATCHER_BEAN_NAME,
+				KeyedSerialExecutor.class);
+	}
+
+	/**
+	 * Get {@link NacosConfigMetadataRegistry} Bean If Present
+	 *
+	 * @param beanFactory {@link BeanFactory}
+	 * @return {@link NacosConfigMetadataRegistry} Bean If Present, or <code>null</code>
+	 */
+	public static NacosConfigMetadataRegistry getNacosConfigMetadataRegistryIfPresent(
+			BeanFactory beanFactory) {
+		if (!beanFactory.containsBean(NacosConfigMetadataRegistry.BEAN_NAME)) {
+			return null;
+		}
+		return beanFactory.getBean(NacosConfigMetadataRegistry.BEAN_NAME,
+				NacosConfigMetadataRegistry.class);
+	}
+
+	/**
+	 * Get {@link NacosConfigSnapshotStore} Bean If Present
+	 *
+	 * @param beanFactory {@link BeanFactory}
+	 * @return {@link NacosConfigSnapshotStore} Bean If Present, or <code>null</code>
+	 */
+	public static NacosConfigSnapshotStore getNacosConfigSnapshotStoreIfPresent(
+			BeanFactory beanFactory) {
+		if (!beanFactory.containsBean(NacosConfigSnapshotStore.BEAN_NAME)) {
+			return null;
+		}
+		return beanFactory.getBean(NacosConfigSnapshotStore.BEAN_NAME,
+				NacosConfigSnapshotStore.class);
+	}
+
+	/**
+	 * Get {@link NacosConfigStartupTimeline} Bean If Present
+	 *
+	 * @param beanFactory {@link BeanFactory}
+	 * @return {@link NacosConfigStartupTimeline} Bean If Present, or <code>null</code>
+	 */
+	public static NacosConfigStartupTimeline getNacosConfigStartupTimelineIfPresent(
+			BeanFactory beanFactory) {
+		if (!beanFactory.containsBean(NacosConfigStartupTimeline.BEAN_NAME)) {
+			return null;
+		}
+		return beanFactory.getBean(NacosConfigStartupTimeline.BEAN_NAME,
+				NacosConfigStartupTimeline.class);
+	}
+
+	/**
+	 * Get {@link NacosConfigListenerTimeoutExecutor} Bean If Present
+	 *
+	 * @param beanFactory {@link BeanFactory}
+	 * @return {@link NacosConfigListenerTimeoutExecutor} Bean If Present, or
+	 * <code>null</code>
+	 */
+	public static NacosConfigListenerTimeoutExecutor getNacosConfigListenerTimeoutExecutorIfPresent(
+			BeanFactory beanFactory) {
+		if (!beanFactory.containsBean(NacosConfigListenerTimeoutExecutor.BEAN_NAME)) {
+			return null;
+		}
+		return beanFactory.getBean(NacosConfigListenerTimeoutExecutor.BEAN_NAME,
+				NacosConfigListenerTimeoutExecutor.class);
+	}
+
 	/**
 	 * Get {@link ConfigServiceBeanBuilder} Bean
 	 *
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.util;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import com.alibaba.nacos.api.annotation.NacosProperties;
+
+import org.springframework.util.StringUtils;
+
+import static com.alibaba.nacos.api.PropertyKeyConst.ACCESS_KEY;
+import static com.alibaba.nacos.api.PropertyKeyConst.CLUSTER_NAME;
+import static com.alibaba.nacos.api.PropertyKeyConst.CONTEXT_PATH;
+import static com.alibaba.nacos.api.PropertyKeyConst.ENCODE;
+import static com.alibaba.nacos.api.PropertyKeyConst.ENDPOINT;
+import static com.alibaba.nacos.api.PropertyKeyConst.NAMESPACE;
+import static com.alibaba.nacos.api.PropertyKeyConst.SECRET_KEY;
+import static com.alibaba.nacos.api.PropertyKeyConst.SERVER_ADDR;
+import static com.alibaba.nacos.spring.util.NacosUtils.SEPARATOR;
+
+/**
+ * The immutable identity of Nacos Service, which is derived from the
+ * {@link NacosProperties Nacos Properties} that determine the connected server, thus
+ * the services of the same identity are interchangeable.
+ * <p>
+ * The hash code and the {@link #toString() text} are computed once, the instance could
+ * be used as the cache key directly.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @see NacosUtils#identify(Map)
+ * @since 0.3.5
+ */
+public final class NacosServiceIdentity {
+
+	private static final String[] IDENTITY_KEYS = { NAMESPACE, CLUSTER_NAME,
+			SERVER_ADDR, CONTEXT_PATH, ENDPOINT, ACCESS_KEY, SECRET_KEY, ENCODE };
+
+	private final String[] values;
+
+	private final int hashCode;
+
+	private volatile String text;
+
+	private NacosServiceIdentity(String[] values) {
+		this.values = values;
+		this.hashCode = Arrays.hashCode(values);
+	}
+
+	/**
+	 * Get the identity of {@link NacosProperties Nacos Properties}
+	 *
+	 * @param properties {@link java.util.Properties Nacos Properties}
+	 * @return non-null
+	 */
+	public static NacosServiceIdentity of(Map<?, ?> properties) {
+		String[] values = new String[IDENTITY_KEYS.length];
+		for (int i = 0; i < IDENTITY_KEYS.length; i++) {
+			Object value = properties.get(IDENTITY_KEYS[i]);
+			String stringValue = value == null ? null : String.valueOf(value);
+			values[i] = StringUtils.hasText(stringValue) ? stringValue : "";
+		}
+		return new NacosServiceIdentity(values);
+	}
+
+	public String getNamespace() {
+		return values[0];
+	}
+
+	public String getClusterName() {
+		return values[1];
+	}
+
+	public String getServerAddr() {
+		return values[2];
+	}
+
+	public String getContextPath() {
+		return values[3];
+	}
+
+	public String getEndpoint() {
+		return values[4];
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof NacosServiceIdentity)) {
+			return false;
+		}
+		NacosServiceIdentity that = (NacosServiceIdentity) o;
+		return hashCode == that.hashCode && Arrays.equals(values, that.values);
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	/**
+	 * The text of identity, which is same as {@link NacosUtils#identify(Map)}
+	 *
+	 * @return non-null
+	 */
+	@Override
+	public String toString() {
+		String text = this.text;
+		if (text == null) {
+			StringBuilder stringBuilder = new StringBuilder();
+			for (String value : values) {
+				stringBuilder.append(value).append(SEPARATOR);
+			}
+			text = stringBuilder.toString();
+			this.text = text;
+		}
+		return text;
+	}
+}
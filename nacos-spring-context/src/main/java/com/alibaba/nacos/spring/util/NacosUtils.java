@@ -47,14 +47,6 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
-import static com.alibaba.nacos.api.PropertyKeyConst.ACCESS_KEY;
-import static com.alibaba.nacos.api.PropertyKeyConst.CLUSTER_NAME;
-import static com.alibaba.nacos.api.PropertyKeyConst.CONTEXT_PATH;
-import static com.alibaba.nacos.api.PropertyKeyConst.ENCODE;
-import static com.alibaba.nacos.api.PropertyKeyConst.ENDPOINT;
-import static com.alibaba.nacos.api.PropertyKeyConst.NAMESPACE;
-import static com.alibaba.nacos.api.PropertyKeyConst.SECRET_KEY;
-import static com.alibaba.nacos.api.PropertyKeyConst.SERVER_ADDR;
 import static org.springframework.core.annotation.AnnotationUtils.getAnnotation;
 import static org.springframework.core.annotation.AnnotationUtils.getAnnotationAttributes;
 import static org.springframework.util.StringUtils.hasText;
@@ -123,22 +115,10 @@ public abstract class NacosUtils {
 	 *
 	 * @param properties {@link Properties Nacos Properties}
 	 * @return Id
+	 * @see NacosServiceIdentity
 	 */
-
 	public static String identify(Map<?, ?> properties) {
-
-		String namespace = (String) properties.get(NAMESPACE);
-		String serverAddress = (String) properties.get(SERVER_ADDR);
-		String contextPath = (String) properties.get(CONTEXT_PATH);
-		String clusterName = (String) properties.get(CLUSTER_NAME);
-		String endpoint = (String) properties.get(ENDPOINT);
-		String accessKey = (String) properties.get(ACCESS_KEY);
-		String secretKey = (String) properties.get(SECRET_KEY);
-		String encode = (String) properties.get(ENCODE);
-
-		return build(namespace, clusterName, serverAddress, contextPath, endpoint,
-				accessKey, secretKey, encode);
-
+		return NacosServiceIdentity.of(properties).toString();
 	}
 
 	private static String build(Object... values) {
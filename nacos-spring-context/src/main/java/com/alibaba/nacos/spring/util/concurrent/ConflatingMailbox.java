@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.util.concurrent;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Single-slot mailbox of "latest value wins", the newer value replaces the older one
+ * which has not been delivered yet, thus a slow consumer always catches up in one step.
+ * <p>
+ * At most one delivery is in progress at any time, {@link #complete()} must be invoked
+ * once the {@link #deliver(Object) delivery} is finished, whether
+ * synchronously or asynchronously, successfully or not.
+ *
+ * @param <T> the type of value
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public abstract class ConflatingMailbox<T> {
+
+	private static final Object EMPTY = new Object();
+
+	private static final Object NULL = new Object();
+
+	private final AtomicReference<Object> slot = new AtomicReference<Object>(EMPTY);
+
+	private final AtomicBoolean delivering = new AtomicBoolean();
+
+	private final AtomicLong supersededCount = new AtomicLong();
+
+	private final AtomicLong deliveredCount = new AtomicLong();
+
+	/**
+	 * Whether current thread is delivering, used to complete the synchronous delivery
+	 * without recursion
+	 */
+	private final ThreadLocal<Boolean> inDelivery = new ThreadLocal<Boolean>();
+
+	/**
+	 * Offer the latest value, the undelivered value will be superseded
+	 *
+	 * @param value the latest value, <code>null</code> is allowed
+	 */
+	public void offer(T value) {
+		Object previous = slot.getAndSet(value == null ? NULL : value);
+		if (previous != EMPTY) {
+			supersededCount.incrementAndGet();
+		}
+		deliverNextIfIdle();
+	}
+
+	/**
+	 * Deliver the value, {@link #complete()} must be invoked when finished
+	 *
+	 * @param value the latest value
+	 */
+	protected abstract void deliver(T value);
+
+	/**
+	 * Complete current delivery, the pending value will be delivered if present
+	 */
+	public final void complete() {
+		delivering.set(false);
+		if (inDelivery.get() == null) {
+			deliverNextIfIdle();
+		}
+		// else the synchronous delivery loop will continue
+	}
+
+	private void deliverNextIfIdle() {
+		while (slot.get() != EMPTY && delivering.compareAndSet(false, true)) {
+			Object value = slot.getAndSet(EMPTY);
+			if (value == EMPTY) { // taken by others
+				delivering.set(false);
+				continue;
+			}
+			deliveredCount.incrementAndGet();
+			inDelivery.set(Boolean.TRUE);
+			try {
+				@SuppressWarnings("unchecked")
+				T delivered = value == NULL ? null : (T) value;
+				deliver(delivered);
+			}
+			finally {
+				inDelivery.remove();
+			}
+		}
+	}
+
+	/**
+	 * Get the number of values superseded before delivery
+	 *
+	 * @return the number of superseded values
+	 */
+	public long getSupersededCount() {
+		return supersededCount.get();
+	}
+
+	/**
+	 * Get the number of delivered values
+	 *
+	 * @return the number of delivered values
+	 */
+	public long getDeliveredCount() {
+		return deliveredCount.get();
+	}
+}
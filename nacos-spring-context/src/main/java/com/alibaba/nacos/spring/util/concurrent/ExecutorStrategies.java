@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.util.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * The built-in {@link ExecutorStrategy executor strategies} :
+ * <ul>
+ * <li>{@link #FIXED "fixed"} : the fixed thread pool, by default</li>
+ * <li>{@link #WORK_STEALING "work-stealing"} : the asynchronous {@link ForkJoinPool},
+ * the idle workers steal the tasks from the busy ones</li>
+ * <li>{@link #VIRTUAL "virtual"} : a new virtual thread per task, it's detected
+ * reflectively and falls back to {@link #FIXED} if the JDK is older than 21</li>
+ * </ul>
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public abstract class ExecutorStrategies {
+
+	private static final Logger logger = LoggerFactory
+			.getLogger(ExecutorStrategies.class);
+
+	/**
+	 * The name of the fixed thread pool strategy
+	 */
+	public static final String FIXED_NAME = "fixed";
+
+	/**
+	 * The name of the work-stealing strategy
+	 */
+	public static final String WORK_STEALING_NAME = "work-stealing";
+
+	/**
+	 * The name of the virtual-thread-per-task strategy
+	 */
+	public static final String VIRTUAL_NAME = "virtual";
+
+	public static final ExecutorStrategy FIXED = new ExecutorStrategy() {
+		@Override
+		public ExecutorService newExecutor(String threadNamePrefix, int parallelism) {
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+					threadNamePrefix);
+			threadFactory.setDaemon(true);
+			return Executors.newFixedThreadPool(parallelism, threadFactory);
+		}
+
+		@Override
+		public String toString() {
+			return FIXED_NAME;
+		}
+	};
+
+	public static final ExecutorStrategy WORK_STEALING = new ExecutorStrategy() {
+		@Override
+		public ExecutorService newExecutor(String threadNamePrefix, int parallelism) {
+			// Loaded on demand, ForkJoinPool is absent before Java 7
+			return WorkStealing.newExecutor(threadNamePrefix, parallelism);
+		}
+
+		@Override
+		public String toString() {
+			return WORK_STEALING_NAME;
+		}
+	};
+
+	public static final ExecutorStrategy VIRTUAL = new ExecutorStrategy() {
+		@Override
+		public ExecutorService newExecutor(String threadNamePrefix, int parallelism) {
+			if (!isVirtualThreadSupported()) {
+				logger.warn(
+						"Virtual threads are not supported by current JDK, the fixed thread pool [{}] is used instead",
+						threadNamePrefix);
+				return FIXED.newExecutor(threadNamePrefix, parallelism);
+			}
+			return Virtual.newExecutor(threadNamePrefix);
+		}
+
+		@Override
+		public String toString() {
+			return VIRTUAL_NAME;
+		}
+	};
+
+	/**
+	 * Resolve the {@link ExecutorStrategy} by the built-in name or the class name of
+	 * custom {@link ExecutorStrategy}
+	 *
+	 * @param name the built-in name or class name, {@link #FIXED} if blank
+	 * @param classLoader {@link ClassLoader} to load the custom class
+	 * @return non-null
+	 * @throws IllegalArgumentException if the custom class can't be loaded or
+	 * instantiated
+	 */
+	public static ExecutorStrategy resolve(String name, ClassLoader classLoader)
+			throws IllegalArgumentException {
+		if (!StringUtils.hasText(name)) {
+			return FIXED;
+		}
+		String trimmedName = name.trim();
+		if (FIXED_NAME.equalsIgnoreCase(trimmedName)) {
+			return FIXED;
+		}
+		if (WORK_STEALING_NAME.equalsIgnoreCase(trimmedName)) {
+			return WORK_STEALING;
+		}
+		if (VIRTUAL_NAME.equalsIgnoreCase(trimmedName)) {
+			return VIRTUAL;
+		}
+		Class<?> strategyClass;
+		try {
+			strategyClass = ClassUtils.forName(trimmedName, classLoader);
+		}
+		catch (ClassNotFoundException e) {
+			throw new IllegalArgumentException("Unknown executor strategy [" + name
+					+ "], the built-in ones are [" + FIXED_NAME + ", "
+					+ WORK_STEALING_NAME + ", " + VIRTUAL_NAME + "]", e);
+		}
+		return BeanUtils.instantiateClass(strategyClass, ExecutorStrategy.class);
+	}
+
+	/**
+	 * Whether the virtual threads are supported by current JDK or not
+	 *
+	 * @return <code>true</code> if JDK 21+
+	 */
+	public static boolean isVirtualThreadSupported() {
+		return Virtual.NEW_THREAD_PER_TASK_EXECUTOR != null;
+	}
+
+	private static class WorkStealing {
+
+		static ExecutorService newExecutor(final String threadNamePrefix,
+				int parallelism) {
+			final AtomicInteger threadNumber = new AtomicInteger(1);
+			ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = new ForkJoinPool.ForkJoinWorkerThreadFactory() {
+				@Override
+				public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+					ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory
+							.newThread(pool);
+					thread.setName(threadNamePrefix + threadNumber.getAndIncrement());
+					return thread;
+				}
+			};
+			// asyncMode : the listening tasks are never joined, FIFO is preferred
+			return new ForkJoinPool(parallelism, threadFactory, null, true);
+		}
+	}
+
+	private static class Virtual {
+
+		private static final Method OF_VIRTUAL;
+
+		private static final Method NAME;
+
+		private static final Method FACTORY;
+
+		private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+		static {
+			Method ofVirtual = null;
+			Method name = null;
+			Method factory = null;
+			Method newThreadPerTaskExecutor = null;
+			try {
+				Class<?> builderClass = ClassUtils.forName("java.lang.Thread$Builder",
+						Virtual.class.getClassLoader());
+				ofVirtual = Thread.class.getMethod("ofVirtual");
+				name = builderClass.getMethod("name", String.class, long.class);
+				factory = builderClass.getMethod("factory");
+				newThreadPerTaskExecutor = Executors.class
+						.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+			}
+			catch (Throwable e) {
+				// JDK 20 or older
+				newThreadPerTaskExecutor = null;
+			}
+			OF_VIRTUAL = ofVirtual;
+			NAME = name;
+			FACTORY = factory;
+			NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+		}
+
+		static ExecutorService newExecutor(String threadNamePrefix) {
+			try {
+				Object builder = OF_VIRTUAL.invoke(null);
+				builder = NAME.invoke(builder, threadNamePrefix, 1L);
+				ThreadFactory threadFactory = (ThreadFactory) FACTORY.invoke(builder);
+				return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null,
+						threadFactory);
+			}
+			catch (Exception e) {
+				throw new IllegalStateException(
+						"Failed to create the virtual thread executor", e);
+			}
+		}
+	}
+}
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.util.concurrent;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The strategy to create the {@link ExecutorService} which runs the Nacos Config
+ * listeners, the built-in strategies are provided by {@link ExecutorStrategies}, the
+ * custom one is specified by its class name which must have a public no-arg
+ * constructor.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @see ExecutorStrategies
+ * @since 0.3.5
+ */
+public interface ExecutorStrategy {
+
+	/**
+	 * Create a new {@link ExecutorService}, its threads must be daemon since it's
+	 * released on the shutdown of the owner
+	 *
+	 * @param threadNamePrefix the prefix of thread name
+	 * @param parallelism the expected parallelism, the strategy may ignore it if the
+	 * threads are cheap, e.g. virtual threads
+	 * @return non-null
+	 */
+	ExecutorService newExecutor(String threadNamePrefix, int parallelism);
+
+}
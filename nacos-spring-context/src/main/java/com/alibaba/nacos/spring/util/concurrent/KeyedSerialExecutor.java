@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.util.concurrent;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keyed serial {@link Executor}, the tasks with the same key are executed one by one in
+ * the submission order, while the tasks with different keys are executed in parallel by
+ * the delegate {@link Executor}.
+ * <p>
+ * The queue of each key is bounded, the task will be rejected if the queue is full. The
+ * queue is dropped once it is drained and idle, so that the keys are not retained after
+ * their tasks are done.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class KeyedSerialExecutor {
+
+	private static final Logger logger = LoggerFactory
+			.getLogger(KeyedSerialExecutor.class);
+
+	private static final int RETIRED = -1;
+
+	private final Executor delegate;
+
+	private final int queueCapacity;
+
+	private final ConcurrentMap<String, SerialQueue> serialQueues = new ConcurrentHashMap<String, SerialQueue>();
+
+	private final AtomicLong rejectedCount = new AtomicLong();
+
+	/**
+	 * @param delegate the delegate {@link Executor} runs the tasks actually
+	 * @param queueCapacity the max number of pending tasks per key
+	 */
+	public KeyedSerialExecutor(Executor delegate, int queueCapacity) {
+		if (queueCapacity < 1) {
+			throw new IllegalArgumentException(
+					"queueCapacity must be greater than zero");
+		}
+		this.delegate = delegate;
+		this.queueCapacity = queueCapacity;
+	}
+
+	/**
+	 * Execute the task after all pending tasks with the same key
+	 *
+	 * @param key the key of task
+	 * @param task the task
+	 * @throws RejectedExecutionException if the queue of key is full
+	 */
+	public void execute(String key, Runnable task) throws RejectedExecutionException {
+		getSerialQueue(key).execute(task);
+	}
+
+	/**
+	 * Get the {@link Executor} view of the key
+	 *
+	 * @param key the key of tasks
+	 * @return non-null
+	 */
+	public Executor getExecutor(String key) {
+		return getSerialQueue(key);
+	}
+
+	/**
+	 * Get the number of pending tasks of the key
+	 *
+	 * @param key the key of tasks
+	 * @return the number of pending tasks
+	 */
+	public int getQueueDepth(String key) {
+		SerialQueue serialQueue = serialQueues.get(key);
+		return serialQueue == null ? 0 : serialQueue.getSize();
+	}
+
+	/**
+	 * Get the number of pending tasks of all keys
+	 *
+	 * @return read-only snapshot
+	 */
+	public Map<String, Integer> getQueueDepths() {
+		Map<String, Integer> queueDepths = new LinkedHashMap<String, Integer>(
+				serialQueues.size());
+		for (Map.Entry<String, SerialQueue> entry : serialQueues.entrySet()) {
+			queueDepths.put(entry.getKey(), entry.getValue().getSize());
+		}
+		return queueDepths;
+	}
+
+	/**
+	 * Get the total number of rejected tasks
+	 *
+	 * @return the total number of rejected tasks
+	 */
+	public long getRejectedCount() {
+		return rejectedCount.get();
+	}
+
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	/**
+	 * Get the number of keys whose queues are retained
+	 *
+	 * @return the number of keys
+	 */
+	int getKeyCount() {
+		return serialQueues.size();
+	}
+
+	private SerialQueue getSerialQueue(String key) {
+		for (;;) {
+			SerialQueue serialQueue = serialQueues.get(key);
+			if (serialQueue == null) {
+				serialQueue = new SerialQueue(key);
+				SerialQueue existed = serialQueues.putIfAbsent(key, serialQueue);
+				if (existed == null) {
+					return serialQueue;
+				}
+				serialQueue = existed;
+			}
+			if (!serialQueue.isRetired()) {
+				return serialQueue;
+			}
+			// The retired queue may not be removed by its runner yet
+			serialQueues.remove(key, serialQueue);
+		}
+	}
+
+	private class SerialQueue implements Executor, Runnable {
+
+		private final String key;
+
+		private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+
+		/**
+		 * The number of pending tasks, or {@code RETIRED} if the queue is dropped
+		 */
+		private final AtomicInteger size = new AtomicInteger();
+
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		SerialQueue(String key) {
+			this.key = key;
+		}
+
+		boolean isRetired() {
+			return size.get() == RETIRED;
+		}
+
+		int getSize() {
+			return Math.max(size.get(), 0);
+		}
+
+		@Override
+		public void execute(Runnable task) {
+			for (;;) {
+				int current = size.get();
+				if (current == RETIRED) {
+					// The view of a dropped queue forwards to the current queue of key
+					getSerialQueue(key).execute(task);
+					return;
+				}
+				if (current >= queueCapacity) {
+					rejectedCount.incrementAndGet();
+					throw new RejectedExecutionException("The queue of key [" + key
+							+ "] is full, capacity : " + queueCapacity);
+				}
+				if (size.compareAndSet(current, current + 1)) {
+					break;
+				}
+			}
+			tasks.offer(task);
+			schedule();
+		}
+
+		private void schedule() {
+			if (scheduled.compareAndSet(false, true)) {
+				try {
+					delegate.execute(this);
+				}
+				catch (RejectedExecutionException e) {
+					scheduled.set(false);
+					throw e;
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				Runnable task;
+				while ((task = tasks.poll()) != null) {
+					size.decrementAndGet();
+					try {
+						task.run();
+					}
+					catch (Throwable e) {
+						logger.error("The task of key [" + key + "] is failed", e);
+					}
+				}
+			}
+			finally {
+				// Retire while still scheduled, so that no other run of this queue is
+				// in progress when a new queue of the key is created
+				if (size.compareAndSet(0, RETIRED)) {
+					serialQueues.remove(key, this);
+				}
+				else {
+					scheduled.set(false);
+					// The tasks may be offered after the last poll
+					if (!tasks.isEmpty()) {
+						schedule();
+					}
+				}
+			}
+		}
+	}
+}
@@ -22,6 +22,7 @@ import com.alibaba.nacos.api.NacosFactory;
 import com.alibaba.nacos.api.annotation.NacosProperties;
 import com.alibaba.nacos.api.config.ConfigService;
 import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigStartupTimeline;
 import com.alibaba.nacos.spring.factory.NacosServiceFactory;
 import com.alibaba.nacos.spring.util.NacosUtils;
 import com.alibaba.nacos.spring.util.PropertiesPlaceholderResolver;
@@ -29,6 +30,9 @@ import com.alibaba.nacos.spring.util.PropertiesPlaceholderResolver;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.env.ConfigurableEnvironment;
 
+import static com.alibaba.nacos.spring.context.event.config.NacosConfigStartupTimeline.Phase.CLIENT_CREATION;
+import static com.alibaba.nacos.spring.context.event.config.NacosConfigStartupTimeline.Phase.FETCH;
+
 /**
  * Nacos Configuration Loader
  *
@@ -45,7 +49,13 @@ public class NacosConfigLoader {
 
 	private NacosServiceFactory nacosServiceFactory;
 
-	private ConfigService configService;
+	/**
+	 * The last used {@link ConfigService}, the loading never reads it since the loader
+	 * may be invoked concurrently
+	 */
+	private volatile ConfigService configService;
+
+	private NacosConfigStartupTimeline startupTimeline;
 
 	public NacosConfigLoader(ConfigurableEnvironment environment) {
 		this.environment = environment;
@@ -79,6 +89,8 @@ public class NacosConfigLoader {
 	 */
 	public String load(String dataId, String groupId, Properties nacosProperties)
 			throws RuntimeException {
+		long start = System.nanoTime();
+		ConfigService configService;
 		try {
 			configService = nacosServiceFactory != null
 					? nacosServiceFactory.createConfigService(nacosProperties)
@@ -89,7 +101,15 @@ public class NacosConfigLoader {
 					+ dataId + " , groupId : " + groupId + " , properties : "
 					+ nacosProperties, e);
 		}
-		return NacosUtils.getContent(configService, dataId, groupId);
+		this.configService = configService;
+		if (startupTimeline == null) {
+			return NacosUtils.getContent(configService, dataId, groupId);
+		}
+		startupTimeline.record(dataId, groupId, CLIENT_CREATION, start);
+		start = System.nanoTime();
+		String content = NacosUtils.getContent(configService, dataId, groupId);
+		startupTimeline.record(dataId, groupId, FETCH, start);
+		return content;
 	}
 
 	/**
@@ -114,6 +134,18 @@ public class NacosConfigLoader {
 		this.nacosServiceFactory = nacosServiceFactory;
 	}
 
+	/**
+	 * Set the {@link NacosConfigStartupTimeline} records the client creation and the
+	 * fetching
+	 *
+	 * @param startupTimeline {@link NacosConfigStartupTimeline}, maybe
+	 *     <code>null</code>
+	 * @since 0.3.5
+	 */
+	public void setStartupTimeline(NacosConfigStartupTimeline startupTimeline) {
+		this.startupTimeline = startupTimeline;
+	}
+
 	public ConfigService getConfigService() {
 		return configService;
 	}
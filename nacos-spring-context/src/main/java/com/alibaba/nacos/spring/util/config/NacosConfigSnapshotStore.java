@@ -0,0 +1,517 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.util.config;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import com.alibaba.nacos.spring.util.NacosServiceIdentity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_CONFIG_SNAPSHOT_FILE;
+
+/**
+ * The store of the last-applied Nacos configs, the Nacos property sources could be
+ * started from the snapshots immediately on boot, and then be reconciled against the
+ * Nacos server asynchronously.
+ * <p>
+ * All snapshots are kept in one compact file, each snapshot carries its version and the
+ * CRC32 checksum of content, the corrupt snapshots are discarded on loading. The file is
+ * written to a temporary file at first, then replaced by an atomic move if the JDK
+ * supports, or by renaming, thus the readers never see a half-written file.
+ * <p>
+ * The file is written by a background flusher rather than the saving threads, the
+ * snapshots saved while it is writing are coalesced into the next write, so the
+ * parallel loaders and the listeners never wait for the file. The pending snapshots are
+ * {@link #flush() flushed} on {@link #destroy() destroying}.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class NacosConfigSnapshotStore
+		implements EnvironmentAware, InitializingBean, DisposableBean {
+
+	/**
+	 * The bean name of {@link NacosConfigSnapshotStore}
+	 */
+	public static final String BEAN_NAME = "nacosConfigSnapshotStore";
+
+	private static final Logger logger = LoggerFactory
+			.getLogger(NacosConfigSnapshotStore.class);
+
+	/**
+	 * The magic number of snapshot file : "NCSS"
+	 */
+	private static final int MAGIC = 0x4E435353;
+
+	private static final int FORMAT_VERSION = 1;
+
+	private static final String SEPARATOR = "|";
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+	/**
+	 * <code>java.nio.file.Files#move(Path, Path, CopyOption...)</code> since JDK 7,
+	 * <code>null</code> if absent
+	 */
+	private static final Method MOVE_METHOD;
+
+	private static final Method TO_PATH_METHOD;
+
+	/**
+	 * <code>REPLACE_EXISTING</code> and <code>ATOMIC_MOVE</code>
+	 */
+	private static final Object ATOMIC_MOVE_OPTIONS;
+
+	static {
+		Method moveMethod = null;
+		Method toPathMethod = null;
+		Object atomicMoveOptions = null;
+		try {
+			ClassLoader classLoader = NacosConfigSnapshotStore.class.getClassLoader();
+			Class<?> pathClass = ClassUtils.forName("java.nio.file.Path", classLoader);
+			Class<?> copyOptionClass = ClassUtils.forName("java.nio.file.CopyOption",
+					classLoader);
+			Class<?> standardCopyOptionClass = ClassUtils
+					.forName("java.nio.file.StandardCopyOption", classLoader);
+			atomicMoveOptions = Array.newInstance(copyOptionClass, 2);
+			Array.set(atomicMoveOptions, 0,
+					standardCopyOptionClass.getField("REPLACE_EXISTING").get(null));
+			Array.set(atomicMoveOptions, 1,
+					standardCopyOptionClass.getField("ATOMIC_MOVE").get(null));
+			toPathMethod = File.class.getMethod("toPath");
+			moveMethod = ClassUtils.forName("java.nio.file.Files", classLoader).getMethod(
+					"move", pathClass, pathClass, atomicMoveOptions.getClass());
+		}
+		catch (Throwable e) { // JDK 6
+			moveMethod = null;
+		}
+		MOVE_METHOD = moveMethod;
+		TO_PATH_METHOD = toPathMethod;
+		ATOMIC_MOVE_OPTIONS = atomicMoveOptions;
+	}
+
+	private final Map<String, Snapshot> snapshots = new LinkedHashMap<String, Snapshot>();
+
+	/**
+	 * Serializes the writes of file
+	 */
+	private final Object writeMonitor = new Object();
+
+	private final ThreadPoolExecutor flusher = createFlusher();
+
+	/**
+	 * Whether the snapshots are changed since written
+	 */
+	private boolean dirty;
+
+	/**
+	 * Whether a flush is submitted to the flusher but not started yet
+	 */
+	private boolean flushPending;
+
+	private File file;
+
+	public NacosConfigSnapshotStore() {
+	}
+
+	public NacosConfigSnapshotStore(File file) {
+		setFile(file);
+		afterPropertiesSet();
+	}
+
+	private static ThreadPoolExecutor createFlusher() {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				"NacosConfigSnapshot-Flusher-");
+		threadFactory.setDaemon(true);
+		ThreadPoolExecutor flusher = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(), threadFactory);
+		flusher.allowCoreThreadTimeOut(true);
+		return flusher;
+	}
+
+	/**
+	 * Get the snapshot of Nacos config
+	 *
+	 * @param dataId dataId
+	 * @param groupId groupId
+	 * @param nacosProperties Nacos {@link Properties}
+	 * @return the snapshot, or <code>null</code> if absent
+	 */
+	public synchronized Snapshot get(String dataId, String groupId,
+			Properties nacosProperties) {
+		return snapshots.get(buildKey(dataId, groupId, nacosProperties));
+	}
+
+	/**
+	 * Save the last-applied Nacos config, the snapshot file will be rewritten
+	 * asynchronously if the content is changed
+	 *
+	 * @param dataId dataId
+	 * @param groupId groupId
+	 * @param nacosProperties Nacos {@link Properties}
+	 * @param content the last-applied content, <code>null</code> is ignored
+	 * @return <code>true</code> if the content is changed
+	 */
+	public synchronized boolean save(String dataId, String groupId,
+			Properties nacosProperties, String content) {
+		if (content == null) {
+			return false;
+		}
+		String key = buildKey(dataId, groupId, nacosProperties);
+		Snapshot existed = snapshots.get(key);
+		if (existed != null && existed.content.equals(content)) {
+			return false;
+		}
+		long version = existed == null ? 1L : existed.version + 1L;
+		snapshots.put(key, new Snapshot(version, checksum(content), content));
+		dirty = true;
+		if (!flushPending) {
+			flushPending = true;
+			try {
+				flusher.execute(new Runnable() {
+					@Override
+					public void run() {
+						synchronized (NacosConfigSnapshotStore.this) {
+							flushPending = false;
+						}
+						flush();
+					}
+				});
+			}
+			catch (RejectedExecutionException e) { // destroyed
+				flushPending = false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Write the snapshots into the file if they are changed since written, the caller
+	 * is blocked until the file is written.
+	 */
+	public void flush() {
+		synchronized (writeMonitor) {
+			Map<String, Snapshot> changedSnapshots;
+			synchronized (this) {
+				if (!dirty) {
+					return;
+				}
+				dirty = false;
+				changedSnapshots = new LinkedHashMap<String, Snapshot>(snapshots);
+			}
+			write(changedSnapshots);
+		}
+	}
+
+	/**
+	 * Get the number of snapshots
+	 *
+	 * @return the number of snapshots
+	 */
+	public synchronized int size() {
+		return snapshots.size();
+	}
+
+	@Override
+	public void setEnvironment(Environment environment) {
+		String path = environment.getProperty(NACOS_CONFIG_SNAPSHOT_FILE);
+		if (StringUtils.hasText(path)) {
+			setFile(new File(path));
+		}
+	}
+
+	public void setFile(File file) {
+		this.file = file;
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	@Override
+	public void destroy() {
+		flusher.shutdown();
+		flush();
+	}
+
+	@Override
+	public synchronized void afterPropertiesSet() {
+		if (file == null) {
+			throw new IllegalStateException(
+					"The file of snapshots must be specified by property : "
+							+ NACOS_CONFIG_SNAPSHOT_FILE);
+		}
+		snapshots.clear();
+		dirty = false;
+		File tempFile = getTempFile();
+		if (file.isFile()) {
+			read(file);
+		}
+		else if (tempFile.isFile()) {
+			// The file was deleted but the temporary file was not renamed yet
+			read(tempFile);
+		}
+	}
+
+	private File getTempFile() {
+		return new File(file.getPath() + TEMP_FILE_SUFFIX);
+	}
+
+	private void read(File file) {
+		FileInputStream inputStream = null;
+		try {
+			inputStream = new FileInputStream(file);
+			FileChannel channel = inputStream.getChannel();
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException("The size of file is too large : " + size);
+			}
+			ByteBuffer buffer = ByteBuffer.allocate((int) size);
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer) < 0) {
+					break;
+				}
+			}
+			buffer.flip();
+			if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+				logger.warn("The snapshot file [{}] is unrecognized, it's ignored",
+						file);
+				return;
+			}
+			int count = buffer.getInt();
+			for (int i = 0; i < count; i++) {
+				String key = new String(readBytes(buffer), UTF_8);
+				long version = buffer.getLong();
+				long checksum = buffer.getLong();
+				String content = new String(readBytes(buffer), UTF_8);
+				if (checksum(content) != checksum) {
+					logger.warn("The snapshot [{}] of file [{}] is corrupt, it's ignored",
+							key, file);
+					continue;
+				}
+				snapshots.put(key, new Snapshot(version, checksum, content));
+			}
+		}
+		catch (IOException e) {
+			logger.warn("The snapshot file [" + file + "] can't be read", e);
+		}
+		catch (RuntimeException e) { // truncated or corrupt
+			logger.warn("The snapshot file [" + file + "] is corrupt, "
+					+ snapshots.size() + " snapshots are recovered", e);
+		}
+		finally {
+			close(inputStream);
+		}
+	}
+
+	private void write(Map<String, Snapshot> snapshots) {
+		List<byte[]> keys = new ArrayList<byte[]>(snapshots.size());
+		List<byte[]> contents = new ArrayList<byte[]>(snapshots.size());
+		// magic, format version and count
+		long size = 12;
+		for (Map.Entry<String, Snapshot> entry : snapshots.entrySet()) {
+			byte[] key = entry.getKey().getBytes(UTF_8);
+			byte[] content = entry.getValue().content.getBytes(UTF_8);
+			keys.add(key);
+			contents.add(content);
+			// length of key, version, checksum and length of content
+			size += 4 + key.length + 8 + 8 + 4 + content.length;
+		}
+
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+			logger.warn("The directory [{}] of snapshots can't be created", parent);
+			return;
+		}
+
+		if (size > Integer.MAX_VALUE) {
+			logger.warn("The snapshots are too large to be written : {} bytes", size);
+			return;
+		}
+
+		File tempFile = getTempFile();
+		FileOutputStream outputStream = null;
+		try {
+			outputStream = new FileOutputStream(tempFile);
+			FileChannel channel = outputStream.getChannel();
+			ByteBuffer buffer = ByteBuffer.allocate((int) size);
+			buffer.putInt(MAGIC);
+			buffer.putInt(FORMAT_VERSION);
+			buffer.putInt(snapshots.size());
+			int i = 0;
+			for (Snapshot snapshot : snapshots.values()) {
+				writeBytes(buffer, keys.get(i));
+				buffer.putLong(snapshot.version);
+				buffer.putLong(snapshot.checksum);
+				writeBytes(buffer, contents.get(i));
+				i++;
+			}
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(true);
+		}
+		catch (IOException e) {
+			logger.warn("The snapshot file [" + tempFile + "] can't be written", e);
+			return;
+		}
+		finally {
+			close(outputStream);
+		}
+
+		if (!move(tempFile, file)) {
+			logger.warn("The snapshot file [{}] can't be replaced by [{}]", file,
+					tempFile);
+		}
+	}
+
+	/**
+	 * Replace the target file by the source file, atomically if supported by JDK,
+	 * otherwise by renaming, which is atomic on POSIX but fails on Windows if the target
+	 * exists, then the target is deleted before renaming, and the source will be read
+	 * if the target is absent.
+	 */
+	private static boolean move(File source, File target) {
+		if (MOVE_METHOD != null) {
+			try {
+				MOVE_METHOD.invoke(null, TO_PATH_METHOD.invoke(source),
+						TO_PATH_METHOD.invoke(target), ATOMIC_MOVE_OPTIONS);
+				return true;
+			}
+			catch (Exception e) { // AtomicMoveNotSupportedException or IOException
+				logger.debug("The snapshot file [" + target
+						+ "] can't be moved atomically", e);
+			}
+		}
+		return source.renameTo(target)
+				|| (target.delete() && source.renameTo(target));
+	}
+
+	private static byte[] readBytes(ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length < 0 || length > buffer.remaining()) {
+			throw new BufferUnderflowException();
+		}
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return bytes;
+	}
+
+	private static void writeBytes(ByteBuffer buffer, byte[] bytes) {
+		buffer.putInt(bytes.length);
+		buffer.put(bytes);
+	}
+
+	private static void close(Closeable closeable) {
+		if (closeable != null) {
+			try {
+				closeable.close();
+			}
+			catch (IOException ignored) {
+			}
+		}
+	}
+
+	private static long checksum(String content) {
+		CRC32 crc32 = new CRC32();
+		crc32.update(content.getBytes(UTF_8));
+		return crc32.getValue();
+	}
+
+	/**
+	 * The credentials are excluded from the key, since the key is stored in plain text
+	 */
+	private static String buildKey(String dataId, String groupId,
+			Properties nacosProperties) {
+		NacosServiceIdentity identity = NacosServiceIdentity.of(nacosProperties);
+		String server = StringUtils.hasText(identity.getServerAddr())
+				? identity.getServerAddr()
+				: identity.getEndpoint();
+		return dataId + SEPARATOR + groupId + SEPARATOR + identity.getNamespace()
+				+ SEPARATOR + server;
+	}
+
+	/**
+	 * The snapshot of Nacos config
+	 */
+	public static final class Snapshot {
+
+		private final long version;
+
+		private final long checksum;
+
+		private final String content;
+
+		Snapshot(long version, long checksum, String content) {
+			this.version = version;
+			this.checksum = checksum;
+			this.content = content;
+		}
+
+		/**
+		 * The version is increased whenever the content is changed
+		 *
+		 * @return the version starts from 1
+		 */
+		public long getVersion() {
+			return version;
+		}
+
+		/**
+		 * @return the CRC32 checksum of content
+		 */
+		public long getChecksum() {
+			return checksum;
+		}
+
+		public String getContent() {
+			return content;
+		}
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.util.discovery;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+
+/**
+ * The immutable candidates of a {@link LoadBalancer}, i.e. the healthy instances of a
+ * service snapshot with their {@link InFlightCounter in-flight counters}. The candidates
+ * are replaced once the snapshot is changed, thus the {@link LoadBalancer} could
+ * {@link #attach(Object, Object) attach} its derived state, e.g. a hash ring, which is
+ * built once per snapshot.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public final class Candidates {
+
+	private final List<Instance> instances;
+
+	private final InFlightCounter[] counters;
+
+	private final InFlightCounter totalCounter;
+
+	private final ConcurrentMap<Object, Object> attachments = new ConcurrentHashMap<Object, Object>(
+			2);
+
+	/**
+	 * @param instances the read-only instances
+	 * @param counters the in-flight counters of instances in the same order
+	 * @param totalCounter the in-flight counter of service
+	 */
+	public Candidates(List<Instance> instances, InFlightCounter[] counters,
+			InFlightCounter totalCounter) {
+		if (instances.size() != counters.length) {
+			throw new IllegalArgumentException(
+					"The counters must be as many as instances");
+		}
+		this.instances = instances;
+		this.counters = counters;
+		this.totalCounter = totalCounter;
+	}
+
+	/**
+	 * Create the sub candidates sharing the counters
+	 *
+	 * @param indexes the indexes of current candidates
+	 * @return non-null
+	 */
+	public Candidates subset(int[] indexes) {
+		List<Instance> instances = new ArrayList<Instance>(indexes.length);
+		InFlightCounter[] counters = new InFlightCounter[indexes.length];
+		for (int i = 0; i < indexes.length; i++) {
+			instances.add(this.instances.get(indexes[i]));
+			counters[i] = this.counters[indexes[i]];
+		}
+		return new Candidates(Collections.unmodifiableList(instances), counters,
+				totalCounter);
+	}
+
+	public int size() {
+		return instances.size();
+	}
+
+	public Instance get(int index) {
+		return instances.get(index);
+	}
+
+	/**
+	 * Get all candidates
+	 *
+	 * @return read-only
+	 */
+	public List<Instance> getInstances() {
+		return instances;
+	}
+
+	/**
+	 * Get the number of in-flight requests of the candidate
+	 *
+	 * @param index the index of candidate
+	 * @return the number of in-flight requests
+	 */
+	public long getInFlight(int index) {
+		return counters[index].get();
+	}
+
+	/**
+	 * Get the number of in-flight requests of the service
+	 *
+	 * @return the number of in-flight requests
+	 */
+	public long getTotalInFlight() {
+		return totalCounter.get();
+	}
+
+	/**
+	 * Get the state attached by the owner
+	 *
+	 * @param owner the owner of state, e.g. the {@link LoadBalancer}
+	 * @return <code>null</code> if absent
+	 */
+	public Object getAttachment(Object owner) {
+		return attachments.get(owner);
+	}
+
+	/**
+	 * Attach the state derived from current candidates if absent
+	 *
+	 * @param owner the owner of state, e.g. the {@link LoadBalancer}
+	 * @param attachment the derived state
+	 * @return the attached state, which may be attached by another thread
+	 */
+	public Object attach(Object owner, Object attachment) {
+		Object existed = attachments.putIfAbsent(owner, attachment);
+		return existed == null ? attachment : existed;
+	}
+}
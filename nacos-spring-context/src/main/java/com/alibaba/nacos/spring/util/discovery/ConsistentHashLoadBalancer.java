@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.util.discovery;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+
+/**
+ * The consistent hashing {@link LoadBalancer} with bounded loads, the requests of same
+ * key stick to the same instance unless its in-flight requests exceed
+ * <code>(1 + epsilon)</code> times the average, then the next instance on the ring is
+ * tried, thus a hot key can't overload one instance, and only the keys of changed
+ * instances are moved on the Nacos push.
+ * <p>
+ * The ring is built once per {@link Candidates candidates}. The request without key is
+ * delegated to {@link PowerOfTwoChoicesLoadBalancer}.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class ConsistentHashLoadBalancer implements LoadBalancer {
+
+	/**
+	 * The default number of virtual nodes per instance
+	 */
+	public static final int DEFAULT_VIRTUAL_NODES = 100;
+
+	/**
+	 * The default factor of load bound over the average
+	 */
+	public static final double DEFAULT_EPSILON = 0.25D;
+
+	private final int virtualNodes;
+
+	private final double epsilon;
+
+	private final LoadBalancer keylessLoadBalancer = new PowerOfTwoChoicesLoadBalancer();
+
+	public ConsistentHashLoadBalancer() {
+		this(DEFAULT_VIRTUAL_NODES, DEFAULT_EPSILON);
+	}
+
+	/**
+	 * @param virtualNodes the number of virtual nodes per instance
+	 * @param epsilon the factor of load bound over the average, greater than zero
+	 */
+	public ConsistentHashLoadBalancer(int virtualNodes, double epsilon) {
+		if (virtualNodes < 1 || epsilon <= 0) {
+			throw new IllegalArgumentException(
+					"virtualNodes and epsilon must be greater than zero");
+		}
+		this.virtualNodes = virtualNodes;
+		this.epsilon = epsilon;
+	}
+
+	@Override
+	public int choose(Candidates candidates, String key) {
+		int size = candidates.size();
+		if (key == null) {
+			return keylessLoadBalancer.choose(candidates, null);
+		}
+		if (size == 1) {
+			return 0;
+		}
+		Ring ring = (Ring) candidates.getAttachment(this);
+		if (ring == null) {
+			ring = (Ring) candidates.attach(this, new Ring(candidates, virtualNodes));
+		}
+		// ceil((1 + epsilon) * (total + 1) / size), the current request is included
+		long bound = (long) Math.ceil(
+				(1 + epsilon) * (candidates.getTotalInFlight() + 1) / size);
+		int start = ring.locate(hash(key));
+		int length = ring.points.length;
+		for (int i = 0; i < length; i++) {
+			int owner = ring.owners[(start + i) % length];
+			if (candidates.getInFlight(owner) + 1 <= bound) {
+				return owner;
+			}
+		}
+		// All are overloaded transiently by the concurrent requests
+		return ring.owners[start];
+	}
+
+	public int getVirtualNodes() {
+		return virtualNodes;
+	}
+
+	public double getEpsilon() {
+		return epsilon;
+	}
+
+	@Override
+	public String toString() {
+		return LoadBalancers.CONSISTENT_HASH_NAME;
+	}
+
+	/**
+	 * 64-bit FNV-1a with the final mix of MurmurHash3, no allocation
+	 */
+	static long hash(String value) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < value.length(); i++) {
+			hash ^= value.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+
+	private static class Ring {
+
+		private final long[] points;
+
+		private final int[] owners;
+
+		Ring(Candidates candidates, int virtualNodes) {
+			int size = candidates.size();
+			final long[] hashes = new long[size * virtualNodes];
+			Integer[] order = new Integer[hashes.length];
+			int n = 0;
+			for (int owner = 0; owner < size; owner++) {
+				Instance instance = candidates.get(owner);
+				String identity = instance.toInetAddr() + "#" + instance.getClusterName()
+						+ "#";
+				for (int v = 0; v < virtualNodes; v++) {
+					hashes[n] = hash(identity + v);
+					order[n] = n;
+					n++;
+				}
+			}
+			Arrays.sort(order, new Comparator<Integer>() {
+				@Override
+				public int compare(Integer left, Integer right) {
+					long l = hashes[left];
+					long r = hashes[right];
+					return l < r ? -1 : (l == r ? 0 : 1);
+				}
+			});
+			this.points = new long[hashes.length];
+			this.owners = new int[hashes.length];
+			for (int i = 0; i < order.length; i++) {
+				points[i] = hashes[order[i]];
+				owners[i] = order[i] / virtualNodes;
+			}
+		}
+
+		/**
+		 * Locate the first point not less than the hash, wrapping around
+		 */
+		int locate(long hash) {
+			int index = Arrays.binarySearch(points, hash);
+			if (index < 0) {
+				index = -index - 1;
+			}
+			return index == points.length ? 0 : index;
+		}
+	}
+}
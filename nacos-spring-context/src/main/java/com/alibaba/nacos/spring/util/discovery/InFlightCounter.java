@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.util.discovery;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The striped counter of in-flight requests, the threads update their own stripes, thus
+ * the hot instance is not contended on one atomic, and the count is the sum of stripes.
+ * <p>
+ * A request may be released by another thread, then the single stripe may be negative,
+ * but the sum is still exact.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class InFlightCounter {
+
+	/**
+	 * The number of stripes, the power of two
+	 */
+	private static final int STRIPES = Integer.highestOneBit(
+			Math.max(1, Math.min(16, Runtime.getRuntime().availableProcessors())));
+
+	/**
+	 * The distance between stripes in longs, thus each stripe is on its own cache line
+	 */
+	private static final int PADDING = 8;
+
+	private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+
+	public void increment() {
+		cells.incrementAndGet(stripe());
+	}
+
+	public void decrement() {
+		cells.decrementAndGet(stripe());
+	}
+
+	/**
+	 * Get the number of in-flight requests
+	 *
+	 * @return the sum of stripes
+	 */
+	public long get() {
+		long sum = 0;
+		for (int i = 0; i < STRIPES; i++) {
+			sum += cells.get(i * PADDING);
+		}
+		return sum;
+	}
+
+	private static int stripe() {
+		long id = Thread.currentThread().getId();
+		int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+		return ((hash >>> 16) & (STRIPES - 1)) * PADDING;
+	}
+
+	@Override
+	public String toString() {
+		return String.valueOf(get());
+	}
+}
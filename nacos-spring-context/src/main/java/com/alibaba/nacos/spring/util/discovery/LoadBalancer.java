@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.util.discovery;
+
+/**
+ * The client-side load balancer of Nacos service instances, the built-in ones are
+ * provided by {@link LoadBalancers}, the custom one is specified by its class name which
+ * must have a public no-arg constructor.
+ * <p>
+ * The implementation must be thread-safe and should not block, it's invoked per request.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @see LoadBalancers
+ * @see com.alibaba.nacos.spring.factory.NacosLoadBalancer
+ * @since 0.3.5
+ */
+public interface LoadBalancer {
+
+	/**
+	 * Choose one of candidates
+	 *
+	 * @param candidates the healthy instances, not empty
+	 * @param key the key of request, e.g. the user id for consistent hashing,
+	 * <code>null</code> is allowed
+	 * @return the index of chosen candidate
+	 */
+	int choose(Candidates candidates, String key);
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.util.discovery;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * The built-in {@link LoadBalancer load balancers} :
+ * <ul>
+ * <li>{@link #P2C_NAME "p2c"} : {@link PowerOfTwoChoicesLoadBalancer}, by default</li>
+ * <li>{@link #CONSISTENT_HASH_NAME "consistent-hash"} :
+ * {@link ConsistentHashLoadBalancer}</li>
+ * </ul>
+ * Any of them could be decorated by {@link ZoneAffinityLoadBalancer} if the local zone
+ * is specified.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public abstract class LoadBalancers {
+
+	/**
+	 * The name of {@link PowerOfTwoChoicesLoadBalancer}
+	 */
+	public static final String P2C_NAME = "p2c";
+
+	/**
+	 * The name of {@link ConsistentHashLoadBalancer}
+	 */
+	public static final String CONSISTENT_HASH_NAME = "consistent-hash";
+
+	/**
+	 * Resolve the {@link LoadBalancer} by the built-in name or the class name of custom
+	 * {@link LoadBalancer}
+	 *
+	 * @param name the built-in name or class name, {@link #P2C_NAME} if blank
+	 * @param zone the local zone, the {@link LoadBalancer} will be decorated by
+	 * {@link ZoneAffinityLoadBalancer} if present
+	 * @param classLoader {@link ClassLoader} to load the custom class
+	 * @return non-null
+	 * @throws IllegalArgumentException if the custom class can't be loaded or
+	 * instantiated
+	 */
+	public static LoadBalancer resolve(String name, String zone,
+			ClassLoader classLoader) throws IllegalArgumentException {
+		LoadBalancer loadBalancer = resolve(name, classLoader);
+		return StringUtils.hasText(zone)
+				? new ZoneAffinityLoadBalancer(zone.trim(), loadBalancer)
+				: loadBalancer;
+	}
+
+	private static LoadBalancer resolve(String name, ClassLoader classLoader) {
+		if (!StringUtils.hasText(name) || P2C_NAME.equalsIgnoreCase(name.trim())) {
+			return new PowerOfTwoChoicesLoadBalancer();
+		}
+		String trimmedName = name.trim();
+		if (CONSISTENT_HASH_NAME.equalsIgnoreCase(trimmedName)) {
+			return new ConsistentHashLoadBalancer();
+		}
+		Class<?> loadBalancerClass;
+		try {
+			loadBalancerClass = ClassUtils.forName(trimmedName, classLoader);
+		}
+		catch (ClassNotFoundException e) {
+			throw new IllegalArgumentException("Unknown load balancer [" + name
+					+ "], the built-in ones are [" + P2C_NAME + ", "
+					+ CONSISTENT_HASH_NAME + "]", e);
+		}
+		return BeanUtils.instantiateClass(loadBalancerClass, LoadBalancer.class);
+	}
+}
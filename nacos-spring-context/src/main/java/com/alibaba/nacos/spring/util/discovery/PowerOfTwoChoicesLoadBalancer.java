@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.util.discovery;
+
+import java.util.Random;
+
+/**
+ * The power-of-two-choices {@link LoadBalancer}, two distinct candidates are sampled
+ * randomly and the one with less outstanding requests per weight is chosen, thus the
+ * load is balanced nearly as well as the global least-outstanding, while the cost is
+ * O(1) without any coordination.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class PowerOfTwoChoicesLoadBalancer implements LoadBalancer {
+
+	private static final ThreadLocal<Random> random = new ThreadLocal<Random>() {
+		@Override
+		protected Random initialValue() {
+			return new Random();
+		}
+	};
+
+	@Override
+	public int choose(Candidates candidates, String key) {
+		int size = candidates.size();
+		if (size == 1) {
+			return 0;
+		}
+		Random random = PowerOfTwoChoicesLoadBalancer.random.get();
+		int first = random.nextInt(size);
+		int second = random.nextInt(size - 1);
+		if (second >= first) {
+			second++;
+		}
+		// (inFlight + 1) / weight, compared without division
+		double firstLoad = (candidates.getInFlight(first) + 1)
+				* candidates.get(second).getWeight();
+		double secondLoad = (candidates.getInFlight(second) + 1)
+				* candidates.get(first).getWeight();
+		return firstLoad <= secondLoad ? first : second;
+	}
+
+	@Override
+	public String toString() {
+		return LoadBalancers.P2C_NAME;
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.util.discovery;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+
+import org.springframework.util.Assert;
+
+/**
+ * The zone-affinity {@link LoadBalancer}, the candidates in the local zone are
+ * preferred and chosen by the delegate, the others are chosen only if no candidate is in
+ * the local zone. The zone of instance is read from its metadata
+ * {@link #ZONE_METADATA_KEY "zone"}.
+ * <p>
+ * The candidates of local zone are filtered once per {@link Candidates candidates}.
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class ZoneAffinityLoadBalancer implements LoadBalancer {
+
+	/**
+	 * The metadata key of instance zone
+	 */
+	public static final String ZONE_METADATA_KEY = "zone";
+
+	private final String zone;
+
+	private final LoadBalancer delegate;
+
+	/**
+	 * @param zone the local zone
+	 * @param delegate the {@link LoadBalancer} chooses in the zone
+	 */
+	public ZoneAffinityLoadBalancer(String zone, LoadBalancer delegate) {
+		Assert.hasText(zone, "zone must not be empty");
+		Assert.notNull(delegate, "delegate must not be null");
+		this.zone = zone;
+		this.delegate = delegate;
+	}
+
+	@Override
+	public int choose(Candidates candidates, String key) {
+		LocalZone localZone = (LocalZone) candidates.getAttachment(this);
+		if (localZone == null) {
+			localZone = (LocalZone) candidates.attach(this,
+					new LocalZone(candidates, zone));
+		}
+		if (localZone.candidates == null) {
+			return delegate.choose(candidates, key);
+		}
+		return localZone.indexes[delegate.choose(localZone.candidates, key)];
+	}
+
+	public String getZone() {
+		return zone;
+	}
+
+	public LoadBalancer getDelegate() {
+		return delegate;
+	}
+
+	@Override
+	public String toString() {
+		return "zone-affinity(" + zone + ", " + delegate + ")";
+	}
+
+	private static class LocalZone {
+
+		/**
+		 * The indexes of local candidates in all candidates
+		 */
+		private final int[] indexes;
+
+		/**
+		 * <code>null</code> if no candidate is in the local zone
+		 */
+		private final Candidates candidates;
+
+		LocalZone(Candidates all, String zone) {
+			int[] indexes = new int[all.size()];
+			int size = 0;
+			for (int i = 0; i < all.size(); i++) {
+				Instance instance = all.get(i);
+				if (instance.getMetadata() != null
+						&& zone.equals(instance.getMetadata().get(ZONE_METADATA_KEY))) {
+					indexes[size++] = i;
+				}
+			}
+			int[] local = new int[size];
+			System.arraycopy(indexes, 0, local, 0, size);
+			this.indexes = local;
+			this.candidates = size == 0 ? null : all.subset(local);
+		}
+	}
+}
@@ -16,6 +16,9 @@
  */
 package com.alibaba.nacos.spring.beans.factory.annotation;
 
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+
 import com.alibaba.nacos.api.annotation.NacosInjected;
 import com.alibaba.nacos.api.annotation.NacosProperties;
 import com.alibaba.nacos.api.config.ConfigService;
@@ -23,6 +26,7 @@ import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.naming.NamingService;
 import com.alibaba.nacos.spring.context.annotation.EnableNacos;
 import com.alibaba.nacos.spring.factory.ApplicationContextHolder;
+import com.alibaba.nacos.spring.factory.AsyncConfigService;
 import com.alibaba.nacos.spring.test.AbstractNacosHttpServerTestExecutionListener;
 import com.alibaba.nacos.spring.test.TestConfiguration;
 import org.junit.Assert;
@@ -49,7 +53,8 @@ import static com.alibaba.nacos.spring.test.MockNacosServiceFactory.GROUP_ID;
  */
 @RunWith(SpringJUnit4ClassRunner.class)
 @ContextConfiguration(classes = { TestConfiguration.class, ConfigServiceBeanBuilder.class,
-		NamingServiceBeanBuilder.class, AnnotationNacosInjectedBeanPostProcessor.class,
+		NamingServiceBeanBuilder.class, AsyncConfigServiceBeanBuilder.class,
+		AnnotationNacosInjectedBeanPostProcessor.class,
 		AnnotationNacosInjectedBeanPostProcessorTest.class })
 @TestExecutionListeners({ DependencyInjectionTestExecutionListener.class,
 		DirtiesContextTestExecutionListener.class,
@@ -89,6 +94,9 @@ public class AnnotationNacosInjectedBeanPostProcessorTest
 	@NacosInjected(properties = @NacosProperties(encode = "GBK"))
 	private NamingService namingService3;
 
+	@NacosInjected
+	private AsyncConfigService asyncConfigService;
+
 	@Test
 	public void testInjection() {
 
@@ -104,4 +112,17 @@ public class AnnotationNacosInjectedBeanPostProcessorTest
 		configService.publishConfig(DATA_ID, GROUP_ID, CONTENT);
 		Assert.assertEquals(CONTENT, configService.getConfig(DATA_ID, GROUP_ID, 5000));
 	}
+
+	@Test
+	public void testAsyncConfigService()
+			throws InterruptedException, ExecutionException {
+		Assert.assertTrue(asyncConfigService.publishConfig(DATA_ID, GROUP_ID, CONTENT)
+				.get());
+		Assert.assertEquals(CONTENT,
+				asyncConfigService.getConfig(DATA_ID, GROUP_ID, 5000).get());
+		Assert.assertEquals(CONTENT,
+				asyncConfigService
+						.getConfigs(Collections.singleton(DATA_ID), GROUP_ID, 5000)
+						.get(DATA_ID).get());
+	}
 }
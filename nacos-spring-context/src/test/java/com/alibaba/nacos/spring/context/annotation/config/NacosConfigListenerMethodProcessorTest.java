@@ -16,17 +16,23 @@
  */
 package com.alibaba.nacos.spring.context.annotation.config;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
 import javax.annotation.PostConstruct;
 
 import com.alibaba.nacos.api.annotation.NacosInjected;
 import com.alibaba.nacos.api.annotation.NacosProperties;
 import com.alibaba.nacos.api.config.ConfigService;
 import com.alibaba.nacos.api.config.annotation.NacosConfigListener;
+import com.alibaba.nacos.api.config.convert.NacosConfigConverter;
 import com.alibaba.nacos.api.config.listener.AbstractListener;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.spring.beans.factory.annotation.AnnotationNacosInjectedBeanPostProcessor;
 import com.alibaba.nacos.spring.beans.factory.annotation.ConfigServiceBeanBuilder;
 import com.alibaba.nacos.spring.context.annotation.EnableNacos;
+import com.alibaba.nacos.spring.convert.converter.config.ThreadSafeNacosConfigConverter;
 import com.alibaba.nacos.spring.convert.converter.config.UserNacosConfigConverter;
 import com.alibaba.nacos.spring.factory.ApplicationContextHolder;
 import com.alibaba.nacos.spring.test.AbstractNacosHttpServerTestExecutionListener;
@@ -142,4 +148,75 @@ public class NacosConfigListenerMethodProcessorTest
 		received = true;
 	}
 
+	@Test
+	public void testConverterInstances() throws NacosException, InterruptedException {
+		configService.publishConfig("converter", DEFAULT_GROUP, "1");
+		waitForConversions("1");
+		configService.publishConfig("converter", DEFAULT_GROUP, "2");
+		waitForConversions("2");
+
+		// Resolved once for the thread-safe one, and per delivery for the other one
+		assertEquals(1, ThreadSafeConverter.instances.size());
+		assertEquals(2, PerDeliveryConverter.instances.size());
+	}
+
+	private void waitForConversions(String content) throws InterruptedException {
+		for (int i = 0; i < 100 && !(content.equals(threadSafeConverted)
+				&& content.equals(perDeliveryConverted)); i++) {
+			Thread.sleep(100);
+		}
+		assertEquals(content, threadSafeConverted);
+		assertEquals(content, perDeliveryConverted);
+	}
+
+	// The listener methods are invoked on the bean rather than the test instance
+	private static volatile String threadSafeConverted;
+
+	private static volatile String perDeliveryConverted;
+
+	@NacosConfigListener(dataId = "converter", converter = ThreadSafeConverter.class)
+	public void onThreadSafeConverted(String content) {
+		threadSafeConverted = content;
+	}
+
+	@NacosConfigListener(dataId = "converter", converter = PerDeliveryConverter.class)
+	public void onPerDeliveryConverted(String content) {
+		perDeliveryConverted = content;
+	}
+
+	public static class ThreadSafeConverter
+			implements ThreadSafeNacosConfigConverter<String> {
+
+		private static final Set<Object> instances = Collections
+				.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>()));
+
+		@Override
+		public boolean canConvert(Class<String> targetType) {
+			return true;
+		}
+
+		@Override
+		public String convert(String source) {
+			instances.add(this);
+			return source;
+		}
+	}
+
+	public static class PerDeliveryConverter implements NacosConfigConverter<String> {
+
+		private static final Set<Object> instances = Collections
+				.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>()));
+
+		@Override
+		public boolean canConvert(Class<String> targetType) {
+			return true;
+		}
+
+		@Override
+		public String convert(String source) {
+			instances.add(this);
+			return source;
+		}
+	}
+
 }
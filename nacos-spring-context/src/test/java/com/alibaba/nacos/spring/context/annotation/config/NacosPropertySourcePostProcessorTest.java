@@ -16,6 +16,8 @@
  */
 package com.alibaba.nacos.spring.context.annotation.config;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -33,6 +35,7 @@ import com.alibaba.nacos.spring.factory.ApplicationContextHolder;
 import com.alibaba.nacos.spring.test.AbstractNacosHttpServerTestExecutionListener;
 import com.alibaba.nacos.spring.test.TestApplicationHolder;
 import com.alibaba.nacos.spring.test.TestConfiguration;
+import com.alibaba.nacos.spring.util.config.NacosConfigSnapshotStore;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -43,6 +46,7 @@ import org.springframework.context.annotation.AnnotationConfigApplicationContext
 import org.springframework.context.annotation.Bean;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.PropertySource;
+import org.springframework.mock.env.MockPropertySource;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestExecutionListeners;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
@@ -53,6 +57,7 @@ import static com.alibaba.nacos.api.common.Constants.DEFAULT_GROUP;
 import static com.alibaba.nacos.embedded.web.server.NacosConfigHttpHandler.CONTENT_PARAM_NAME;
 import static com.alibaba.nacos.embedded.web.server.NacosConfigHttpHandler.DATA_ID_PARAM_NAME;
 import static com.alibaba.nacos.embedded.web.server.NacosConfigHttpHandler.GROUP_ID_PARAM_NAME;
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_CONFIG_PROPERTY_SOURCE_PARALLELISM;
 import static com.alibaba.nacos.spring.test.MockNacosServiceFactory.DATA_ID;
 import static com.alibaba.nacos.spring.test.TestConfiguration.CONFIG_SERVICE_BEAN_NAME;
 import static org.springframework.core.env.StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME;
@@ -96,6 +101,21 @@ public class NacosPropertySourcePostProcessorTest
 
 	}
 
+	@NacosPropertySource(dataId = DATA_ID, autoRefreshed = true, before = SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME, after = SYSTEM_PROPERTIES_PROPERTY_SOURCE_NAME)
+	private static class AutoRefreshedNacosPropertySource {
+
+	}
+
+	@NacosPropertySource(dataId = "placeholder-referred", before = SYSTEM_PROPERTIES_PROPERTY_SOURCE_NAME)
+	private static class ReferredNacosPropertySource {
+
+	}
+
+	@NacosPropertySource(dataId = "${placeholder.data-id}", before = SYSTEM_PROPERTIES_PROPERTY_SOURCE_NAME)
+	private static class PlaceholderNacosPropertySource {
+
+	}
+
 	@Override
 	public void init(EmbeddedNacosHttpServer httpServer) {
 		Map<String, String> config = new HashMap<String, String>(1);
@@ -155,6 +175,153 @@ public class NacosPropertySourcePostProcessorTest
 
 	}
 
+	@Test
+	public void testFirstOrderSequentially() throws NacosException {
+
+		AnnotationConfigApplicationContext context = createContext(DATA_ID, DEFAULT_GROUP,
+				TEST_CONTENT);
+
+		context.getEnvironment().getPropertySources()
+				.addLast(new MockPropertySource().withProperty(
+						NACOS_CONFIG_PROPERTY_SOURCE_PARALLELISM, "1"));
+
+		context.register(FirstOrderNacosPropertySource.class);
+
+		context.refresh();
+
+		ConfigurableEnvironment environment = context.getEnvironment();
+
+		// The same order as loading concurrently
+		Assert.assertEquals(environment.getPropertySources().get("first"),
+				environment.getPropertySources().iterator().next());
+
+		Assert.assertEquals(TEST_PROPERTY_VALUE,
+				environment.getProperty(TEST_PROPERTY_NAME));
+	}
+
+	@Test
+	public void testPlaceholderFromFormerSequentially() throws NacosException {
+
+		AnnotationConfigApplicationContext context = createContext(
+				"placeholder-referred", DEFAULT_GROUP,
+				"placeholder.data-id = placeholder-referring");
+
+		configService.publishConfig("placeholder-referring", DEFAULT_GROUP,
+				"placeholder.value = resolved");
+
+		context.getEnvironment().getPropertySources()
+				.addLast(new MockPropertySource().withProperty(
+						NACOS_CONFIG_PROPERTY_SOURCE_PARALLELISM, "1"));
+
+		context.register(ReferredNacosPropertySource.class,
+				PlaceholderNacosPropertySource.class);
+
+		context.refresh();
+
+		// The dataId is resolved by the former Nacos property source
+		Assert.assertEquals("resolved",
+				context.getEnvironment().getProperty("placeholder.value"));
+
+		context.close();
+	}
+
+	@Test
+	public void testPlaceholderFromFormerConcurrently() throws NacosException {
+
+		AnnotationConfigApplicationContext context = createContext(
+				"placeholder-referred", DEFAULT_GROUP,
+				"placeholder.data-id = placeholder-referring");
+
+		configService.publishConfig("placeholder-referring", DEFAULT_GROUP,
+				"placeholder.value = resolved");
+
+		context.register(ReferredNacosPropertySource.class,
+				PlaceholderNacosPropertySource.class);
+
+		context.refresh();
+
+		// Loaded after the former one is added, rather than by the default executor
+		Assert.assertEquals("resolved",
+				context.getEnvironment().getProperty("placeholder.value"));
+
+		context.close();
+	}
+
+	@Test
+	public void testStartFromSnapshot()
+			throws NacosException, IOException, InterruptedException {
+
+		File file = File.createTempFile("nacos-config-snapshot", ".bin");
+		file.deleteOnExit();
+		Assert.assertTrue(file.delete());
+
+		// Take the snapshot from Nacos server
+		AnnotationConfigApplicationContext context = createContext(DATA_ID, DEFAULT_GROUP,
+				TEST_CONTENT);
+		NacosConfigSnapshotStore snapshotStore = new NacosConfigSnapshotStore(file);
+		context.getBeanFactory().registerSingleton(NacosConfigSnapshotStore.BEAN_NAME,
+				snapshotStore);
+		context.register(AutoRefreshedNacosPropertySource.class);
+		context.refresh();
+		context.close();
+
+		Assert.assertEquals(1, snapshotStore.size());
+		snapshotStore.flush();
+
+		// The config is changed on Nacos server afterwards
+		context = createContext(DATA_ID, DEFAULT_GROUP, "PATH = /My/New/Path");
+		snapshotStore = new NacosConfigSnapshotStore(file);
+		context.getBeanFactory().registerSingleton(NacosConfigSnapshotStore.BEAN_NAME,
+				snapshotStore);
+		context.register(AutoRefreshedNacosPropertySource.class);
+		context.refresh();
+
+		// Reconciled asynchronously
+		ConfigurableEnvironment environment = context.getEnvironment();
+		for (int i = 0; i < 50
+				&& !"/My/New/Path".equals(environment.getProperty("PATH")); i++) {
+			Thread.sleep(100);
+		}
+
+		Assert.assertEquals("/My/New/Path", environment.getProperty("PATH"));
+		context.close();
+
+		// The snapshot is updated as well
+		snapshotStore.flush();
+		snapshotStore = new NacosConfigSnapshotStore(file);
+		Assert.assertEquals(1, snapshotStore.size());
+		Assert.assertTrue(file.delete());
+	}
+
+	@Test
+	public void testNotStartFromSnapshotIfNotAutoRefreshed()
+			throws NacosException, IOException {
+
+		File file = File.createTempFile("nacos-config-snapshot", ".bin");
+		file.deleteOnExit();
+		Assert.assertTrue(file.delete());
+
+		AnnotationConfigApplicationContext context = createContext(DATA_ID, DEFAULT_GROUP,
+				TEST_CONTENT);
+		context.getBeanFactory().registerSingleton(NacosConfigSnapshotStore.BEAN_NAME,
+				new NacosConfigSnapshotStore(file));
+		context.register(RelativeOrderNacosPropertySource.class);
+		context.refresh();
+		context.close();
+
+		// Never replaced afterwards, thus it's loaded from Nacos server
+		context = createContext(DATA_ID, DEFAULT_GROUP, "PATH = /My/New/Path");
+		NacosConfigSnapshotStore snapshotStore = new NacosConfigSnapshotStore(file);
+		context.getBeanFactory().registerSingleton(NacosConfigSnapshotStore.BEAN_NAME,
+				snapshotStore);
+		context.register(RelativeOrderNacosPropertySource.class);
+		context.refresh();
+
+		Assert.assertEquals("/My/New/Path", context.getEnvironment().getProperty("PATH"));
+		context.close();
+		Assert.assertTrue(file.delete());
+	}
+
 	@Test
 	public void testRelativeOrder() throws NacosException {
 
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.event;
+
+import com.alibaba.nacos.spring.context.event.config.NacosConfigEvent;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigPublishedEvent;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigReceivedEvent;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigRemovedEvent;
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.support.GenericApplicationContext;
+
+/**
+ * {@link ApplicationEventListenerRegistry} Test
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class ApplicationEventListenerRegistryTest {
+
+	@Test
+	public void testHasListeners() {
+
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.registerBeanDefinition("publishedEventListener",
+				new RootBeanDefinition(
+						PublishedEventListener.class));
+		context.refresh();
+
+		ApplicationEventListenerRegistry registry = new ApplicationEventListenerRegistry(
+				context);
+
+		// Unknown before refresh
+		Assert.assertTrue(registry.hasListeners(NacosConfigRemovedEvent.class));
+
+		registry.refresh();
+
+		Assert.assertTrue(registry.hasListeners(NacosConfigPublishedEvent.class));
+		Assert.assertFalse(registry.hasListeners(NacosConfigRemovedEvent.class));
+		Assert.assertFalse(registry.hasListeners(NacosConfigReceivedEvent.class));
+
+		context.addApplicationListener(new ApplicationListener<NacosConfigEvent>() {
+			@Override
+			public void onApplicationEvent(NacosConfigEvent event) {
+			}
+		});
+
+		// The cache is invalidated as the listener is added
+		Assert.assertTrue(registry.hasListeners(NacosConfigRemovedEvent.class));
+		Assert.assertTrue(registry.hasListeners(NacosConfigReceivedEvent.class));
+
+		context.close();
+	}
+
+	@Test
+	public void testLazyInitListener() {
+
+		GenericApplicationContext context = new GenericApplicationContext();
+		RootBeanDefinition beanDefinition = new RootBeanDefinition(
+				PublishedEventListener.class);
+		beanDefinition.setLazyInit(true);
+		context.registerBeanDefinition("publishedEventListener", beanDefinition);
+		context.refresh();
+
+		ApplicationEventListenerRegistry registry = new ApplicationEventListenerRegistry(
+				context);
+		registry.refresh();
+
+		Assert.assertTrue(registry.hasListeners(NacosConfigPublishedEvent.class));
+		Assert.assertFalse(registry.hasListeners(NacosConfigRemovedEvent.class));
+
+		context.close();
+	}
+
+	@Test
+	public void testParentListenerAdded() {
+
+		GenericApplicationContext parent = new GenericApplicationContext();
+		parent.refresh();
+		GenericApplicationContext context = new GenericApplicationContext(parent);
+		context.refresh();
+
+		ApplicationEventListenerRegistry registry = new ApplicationEventListenerRegistry(
+				context);
+		registry.refresh();
+
+		Assert.assertFalse(registry.hasListeners(NacosConfigPublishedEvent.class));
+
+		parent.addApplicationListener(new PublishedEventListener());
+
+		// The listener count of the ancestor is changed
+		Assert.assertTrue(registry.hasListeners(NacosConfigPublishedEvent.class));
+		Assert.assertFalse(registry.hasListeners(NacosConfigRemovedEvent.class));
+
+		context.close();
+		parent.close();
+	}
+
+	public static class PublishedEventListener
+			implements ApplicationListener<NacosConfigPublishedEvent> {
+
+		@Override
+		public void onApplicationEvent(NacosConfigPublishedEvent event) {
+		}
+	}
+}
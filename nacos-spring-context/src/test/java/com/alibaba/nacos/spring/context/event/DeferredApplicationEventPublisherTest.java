@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.event;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.alibaba.nacos.api.config.ConfigService;
+import com.alibaba.nacos.spring.context.event.config.NacosConfigRemovedEvent;
+import com.alibaba.nacos.spring.test.MockConfigService;
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.support.GenericApplicationContext;
+
+/**
+ * {@link DeferredApplicationEventPublisher} Test
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class DeferredApplicationEventPublisherTest {
+
+	@Test
+	public void testSharedInstanceAndReplay() {
+
+		GenericApplicationContext context = new GenericApplicationContext();
+
+		ConfigService configService = new MockConfigService();
+
+		final List<String> dataIds = new CopyOnWriteArrayList<String>();
+
+		context.addApplicationListener(new ApplicationListener<NacosConfigRemovedEvent>() {
+			@Override
+			public void onApplicationEvent(NacosConfigRemovedEvent event) {
+				dataIds.add(event.getDataId());
+			}
+		});
+
+		DeferredApplicationEventPublisher publisher = DeferredApplicationEventPublisher
+				.getInstance(context);
+
+		Assert.assertSame(publisher,
+				DeferredApplicationEventPublisher.getInstance(context));
+
+		// Early events are deferred
+		publisher.publishEvent(
+				new NacosConfigRemovedEvent(configService, "1", "group", true));
+		DeferredApplicationEventPublisher.getInstance(context)
+				.publishEvent(new NacosConfigRemovedEvent(configService, "2", "group", true));
+
+		Assert.assertTrue(dataIds.isEmpty());
+
+		context.refresh();
+
+		Assert.assertEquals(2, dataIds.size());
+		Assert.assertEquals("1", dataIds.get(0));
+		Assert.assertEquals("2", dataIds.get(1));
+
+		context.close();
+	}
+}
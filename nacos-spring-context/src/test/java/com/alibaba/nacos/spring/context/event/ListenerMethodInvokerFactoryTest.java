@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.event;
+
+import java.lang.reflect.Method;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * {@link ListenerMethodInvokerFactory} Test
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class ListenerMethodInvokerFactoryTest {
+
+	private String value;
+
+	public void onValue(String value) {
+		this.value = value;
+	}
+
+	public void onError(String value) {
+		throw new IllegalArgumentException(value);
+	}
+
+	@Test
+	public void testInvoke() {
+		Method method = ReflectionUtils.findMethod(getClass(), "onValue", String.class);
+		ListenerMethodInvoker invoker = ListenerMethodInvokerFactory.create(method);
+		// The public method of public class is invoked by the generated class
+		Assert.assertEquals(
+				ListenerMethodInvokerFactory.GeneratedListenerMethodInvoker.class,
+				invoker.getClass());
+		invoker.invoke(this, "9527");
+		Assert.assertEquals("9527", value);
+		Assert.assertEquals(method, invoker.getMethod());
+	}
+
+	@Test
+	public void testInvokeOnNonPublicClass() {
+		NonPublicListener listener = new NonPublicListener();
+		Method method = ReflectionUtils.findMethod(NonPublicListener.class, "onValue",
+				String.class);
+		ListenerMethodInvoker invoker = ListenerMethodInvokerFactory.create(method);
+		Assert.assertEquals(
+				ListenerMethodInvokerFactory.ReflectiveListenerMethodInvoker.class,
+				invoker.getClass());
+		invoker.invoke(listener, "9527");
+		Assert.assertEquals("9527", listener.value);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRethrowException() {
+		Method method = ReflectionUtils.findMethod(getClass(), "onError", String.class);
+		ListenerMethodInvokerFactory.create(method).invoke(this, "error");
+	}
+
+	static class NonPublicListener {
+
+		private String value;
+
+		public void onValue(String value) {
+			this.value = value;
+		}
+	}
+}
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.event.config;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.nacos.api.config.ConfigService;
+import com.alibaba.nacos.spring.context.event.DeferredApplicationEventPublisher;
+import com.alibaba.nacos.spring.context.event.config.AsyncNacosConfigEventMulticaster.OverflowPolicy;
+import com.alibaba.nacos.spring.test.MockConfigService;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.mock.env.MockPropertySource;
+
+import static com.alibaba.nacos.spring.context.constants.NacosConstants.NACOS_CONFIG_EVENT_ASYNC;
+import static com.alibaba.nacos.spring.test.MockNacosServiceFactory.GROUP_ID;
+
+/**
+ * {@link AsyncNacosConfigEventMulticaster} Test
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class AsyncNacosConfigEventMulticasterTest {
+
+	private final ConfigService configService = new MockConfigService();
+
+	private final AsyncNacosConfigEventMulticaster multicaster = new AsyncNacosConfigEventMulticaster();
+
+	private final CountDownLatch blocker = new CountDownLatch(1);
+
+	private final CountDownLatch started = new CountDownLatch(1);
+
+	private final List<String> contents = new CopyOnWriteArrayList<String>();
+
+	private final ApplicationListener<NacosConfigReceivedEvent> listener = new ApplicationListener<NacosConfigReceivedEvent>() {
+		@Override
+		public void onApplicationEvent(NacosConfigReceivedEvent event) {
+			started.countDown();
+			try {
+				blocker.await();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			contents.add(event.getContent());
+		}
+	};
+
+	@After
+	public void destroy() {
+		blocker.countDown();
+		multicaster.destroy();
+	}
+
+	private void init(OverflowPolicy overflowPolicy) {
+		multicaster.setEnabled(true);
+		multicaster.setParallelism(1);
+		multicaster.setQueueCapacity(2);
+		multicaster.setOverflowPolicy(overflowPolicy);
+		multicaster.afterPropertiesSet();
+	}
+
+	private void publish(String dataId, String content) {
+		multicaster.multicastEvent(
+				new NacosConfigReceivedEvent(configService, dataId, GROUP_ID, content,
+						"properties"),
+				Collections.<ApplicationListener<?>> singletonList(listener));
+	}
+
+	@Test
+	public void testDropOldest() throws InterruptedException {
+		init(OverflowPolicy.DROP_OLDEST);
+
+		publish("a", "1");
+		Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		publish("a", "2");
+		publish("b", "3");
+		publish("c", "4");
+
+		Assert.assertEquals(1, multicaster.getDroppedCount());
+		Assert.assertEquals(Integer.valueOf(2),
+				multicaster.getQueueDepths().get(listener.getClass().getName()));
+
+		blocker.countDown();
+		waitForContents(3);
+		Assert.assertEquals("1", contents.get(0));
+		Assert.assertEquals("3", contents.get(1));
+		Assert.assertEquals("4", contents.get(2));
+	}
+
+	@Test
+	public void testConflate() throws InterruptedException {
+		init(OverflowPolicy.CONFLATE);
+
+		publish("a", "1");
+		Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		publish("a", "2");
+		publish("b", "3");
+		publish("a", "4");
+
+		Assert.assertEquals(1, multicaster.getConflatedCount());
+		Assert.assertEquals(0, multicaster.getDroppedCount());
+
+		blocker.countDown();
+		waitForContents(3);
+		Assert.assertEquals("1", contents.get(0));
+		Assert.assertEquals("4", contents.get(1));
+		Assert.assertEquals("3", contents.get(2));
+	}
+
+	@Test
+	public void testListenerAddedAfterRefresh() throws InterruptedException {
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.getEnvironment().getPropertySources().addFirst(
+				new MockPropertySource().withProperty(NACOS_CONFIG_EVENT_ASYNC, "true"));
+		context.registerBeanDefinition(AsyncNacosConfigEventMulticaster.BEAN_NAME,
+				new RootBeanDefinition(AsyncNacosConfigEventMulticaster.class));
+		DeferredApplicationEventPublisher publisher = DeferredApplicationEventPublisher
+				.getInstance(context);
+		context.refresh();
+
+		final CountDownLatch received = new CountDownLatch(1);
+		final Thread publishingThread = Thread.currentThread();
+		final List<Thread> receivingThreads = new CopyOnWriteArrayList<Thread>();
+		context.addApplicationListener(
+				new ApplicationListener<NacosConfigReceivedEvent>() {
+					@Override
+					public void onApplicationEvent(NacosConfigReceivedEvent event) {
+						receivingThreads.add(Thread.currentThread());
+						received.countDown();
+					}
+				});
+
+		publisher.publishEvent(new NacosConfigReceivedEvent(configService, "a",
+				GROUP_ID, "1", "properties"));
+
+		Assert.assertTrue(received.await(5, TimeUnit.SECONDS));
+		Assert.assertNotSame(publishingThread, receivingThreads.get(0));
+		context.close();
+	}
+
+	@Test
+	public void testUnsupportedEvent() {
+		Assert.assertFalse(multicaster.supportsEvent(new NacosConfigReceivedEvent(
+				configService, "a", GROUP_ID, "1", "properties")));
+	}
+
+	private void waitForContents(int size) throws InterruptedException {
+		for (int i = 0; i < 50 && contents.size() < size; i++) {
+			Thread.sleep(100);
+		}
+		Assert.assertEquals(size, contents.size());
+	}
+}
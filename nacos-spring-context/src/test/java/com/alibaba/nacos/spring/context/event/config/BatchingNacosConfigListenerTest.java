@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.event.config;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.nacos.api.config.ConfigService;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.spring.test.MockConfigService;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static com.alibaba.nacos.spring.test.MockNacosServiceFactory.GROUP_ID;
+
+/**
+ * {@link BatchingNacosConfigListener} Test
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class BatchingNacosConfigListenerTest {
+
+	private final ConfigService configService = new MockConfigService();
+
+	private final NacosConfigListenerTimeoutExecutor timeoutExecutor = new NacosConfigListenerTimeoutExecutor(
+			2);
+
+	@After
+	public void destroy() {
+		timeoutExecutor.destroy();
+	}
+
+	@Test
+	public void testAggregation() throws NacosException, InterruptedException {
+
+		final List<Map<String, String>> batches = new CopyOnWriteArrayList<Map<String, String>>();
+		final CountDownLatch latch = new CountDownLatch(1);
+
+		BatchingNacosConfigListener listener = new BatchingNacosConfigListener(GROUP_ID,
+				200, 1000, timeoutExecutor) {
+			@Override
+			protected void onReceived(Map<String, String> contents) {
+				batches.add(contents);
+				latch.countDown();
+			}
+		};
+
+		configService.addListener("routes", GROUP_ID, listener.getListener("routes"));
+		configService.addListener("weights", GROUP_ID, listener.getListener("weights"));
+
+		configService.publishConfig("routes", GROUP_ID, "r1");
+		configService.publishConfig("weights", GROUP_ID, "w1");
+		configService.publishConfig("routes", GROUP_ID, "r2");
+
+		Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+		Assert.assertEquals(1, batches.size());
+		Map<String, String> contents = batches.get(0);
+		Assert.assertEquals(2, contents.size());
+		Assert.assertEquals("r2", contents.get("routes"));
+		Assert.assertEquals("w1", contents.get("weights"));
+	}
+
+	@Test
+	public void testNotOverlappedOnTimeout() throws NacosException, InterruptedException {
+
+		final List<Map<String, String>> batches = new CopyOnWriteArrayList<Map<String, String>>();
+		final AtomicInteger inProgress = new AtomicInteger();
+		final AtomicBoolean overlapped = new AtomicBoolean();
+		final CountDownLatch timedOut = new CountDownLatch(1);
+		final CountDownLatch latch = new CountDownLatch(2);
+
+		BatchingNacosConfigListener listener = new BatchingNacosConfigListener(GROUP_ID,
+				0, 50, timeoutExecutor) {
+			@Override
+			protected void onReceived(Map<String, String> contents) {
+				if (inProgress.incrementAndGet() > 1) {
+					overlapped.set(true);
+				}
+				try {
+					// Ignores the interrupt of cancellation
+					long deadline = System.currentTimeMillis() + 300;
+					while (System.currentTimeMillis() < deadline) {
+						try {
+							TimeUnit.MILLISECONDS.sleep(10);
+						}
+						catch (InterruptedException e) {
+							// continue
+						}
+					}
+					batches.add(contents);
+				}
+				finally {
+					inProgress.decrementAndGet();
+					latch.countDown();
+				}
+			}
+
+			@Override
+			protected void onTimeout(Map<String, String> contents) {
+				timedOut.countDown();
+			}
+		};
+
+		configService.addListener("routes", GROUP_ID, listener.getListener("routes"));
+
+		configService.publishConfig("routes", GROUP_ID, "r1");
+		Assert.assertTrue(timedOut.await(1, TimeUnit.SECONDS));
+		// The timed out batch is still in progress
+		configService.publishConfig("routes", GROUP_ID, "r2");
+
+		Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+		Assert.assertFalse(overlapped.get());
+		Assert.assertEquals("r1", batches.get(0).get("routes"));
+		Assert.assertEquals("r2", batches.get(1).get("routes"));
+	}
+}
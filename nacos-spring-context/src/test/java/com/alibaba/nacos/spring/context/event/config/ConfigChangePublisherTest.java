@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.event.config;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.alibaba.nacos.api.config.ConfigService;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.spring.test.MockConfigService;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static com.alibaba.nacos.spring.test.MockNacosServiceFactory.GROUP_ID;
+
+/**
+ * {@link ConfigChangePublisher} Test
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class ConfigChangePublisherTest {
+
+	private static final String DATA_ID = "reactive";
+
+	private final ConfigService configService = new MockConfigService();
+
+	@Test
+	public void testDemandAndConflation() throws NacosException {
+
+		ConfigChangePublisher publisher = new ConfigChangePublisher(configService,
+				DATA_ID, GROUP_ID);
+
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		publisher.subscribe(subscriber);
+
+		Assert.assertEquals(1, publisher.getSubscriberCount());
+
+		// No demand
+		configService.publishConfig(DATA_ID, GROUP_ID, "1");
+		configService.publishConfig(DATA_ID, GROUP_ID, "2");
+		Assert.assertTrue(subscriber.contents.isEmpty());
+
+		// The latest one is received only
+		subscriber.subscription.request(1);
+		Assert.assertEquals(1, subscriber.contents.size());
+		Assert.assertEquals("2", subscriber.contents.get(0));
+		Assert.assertEquals(1, publisher.getSupersededCount());
+
+		configService.publishConfig(DATA_ID, GROUP_ID, "3");
+		Assert.assertEquals(1, subscriber.contents.size());
+
+		subscriber.subscription.request(Long.MAX_VALUE);
+		configService.publishConfig(DATA_ID, GROUP_ID, "4");
+		Assert.assertEquals(3, subscriber.contents.size());
+		Assert.assertEquals("4", subscriber.contents.get(2));
+
+		subscriber.subscription.cancel();
+		Assert.assertEquals(0, publisher.getSubscriberCount());
+
+		configService.publishConfig(DATA_ID, GROUP_ID, "5");
+		Assert.assertEquals(3, subscriber.contents.size());
+	}
+
+	@Test
+	public void testInvalidRequest() {
+
+		ConfigChangePublisher publisher = new ConfigChangePublisher(configService,
+				DATA_ID, GROUP_ID);
+
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		publisher.subscribe(subscriber);
+		subscriber.subscription.request(0);
+
+		Assert.assertTrue(subscriber.error instanceof IllegalArgumentException);
+		Assert.assertEquals(0, publisher.getSubscriberCount());
+	}
+
+	private static class RecordingSubscriber implements ConfigChangeSubscriber {
+
+		private final List<String> contents = new CopyOnWriteArrayList<String>();
+
+		private ConfigChangeSubscription subscription;
+
+		private Throwable error;
+
+		@Override
+		public void onSubscribe(ConfigChangeSubscription subscription) {
+			this.subscription = subscription;
+		}
+
+		@Override
+		public void onNext(ConfigChange configChange) {
+			contents.add(configChange.getContent());
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			this.error = throwable;
+		}
+
+		@Override
+		public void onComplete() {
+		}
+	}
+}
@@ -16,8 +16,14 @@
  */
 package com.alibaba.nacos.spring.context.event.config;
 
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import com.alibaba.nacos.api.config.ConfigService;
 import com.alibaba.nacos.api.config.listener.AbstractListener;
@@ -25,6 +31,7 @@ import com.alibaba.nacos.api.config.listener.Listener;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.spring.metadata.NacosServiceMetaData;
 import com.alibaba.nacos.spring.test.MockConfigService;
+import com.alibaba.nacos.spring.util.concurrent.KeyedSerialExecutor;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -193,6 +200,71 @@ public class EventPublishingConfigServiceTest {
 
 	}
 
+	@Test
+	public void testAddListenerDispatched() throws Exception {
+
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		NacosConfigListenerTimeoutExecutor timeoutExecutor = new NacosConfigListenerTimeoutExecutor(
+				4);
+
+		try {
+			ConfigService configService = new EventPublishingConfigService(
+					mockConfigService, properties, context, null,
+					new KeyedSerialExecutor(executorService, 1024));
+
+			final Thread caller = Thread.currentThread();
+			final List<String> plainReceived = new CopyOnWriteArrayList<String>();
+			final List<String> methodReceived = new CopyOnWriteArrayList<String>();
+			final CountDownLatch latch = new CountDownLatch(40);
+
+			// The listener without executor
+			configService.addListener(DATA_ID, GROUP_ID, new AbstractListener() {
+				@Override
+				public void receiveConfigInfo(String configInfo) {
+					if (Thread.currentThread() != caller) {
+						plainReceived.add(configInfo);
+					}
+					latch.countDown();
+				}
+			});
+
+			// The listener of @NacosConfigListener method
+			configService.addListener(DATA_ID, GROUP_ID,
+					new TimeoutNacosConfigListener(DATA_ID, GROUP_ID, 1000,
+							timeoutExecutor) {
+						@Override
+						protected void onReceived(String content) {
+							try {
+								TimeUnit.MILLISECONDS.sleep(1);
+								methodReceived.add(content);
+							}
+							catch (InterruptedException e) {
+								Thread.currentThread().interrupt();
+							}
+							finally {
+								latch.countDown();
+							}
+						}
+					});
+
+			for (int i = 0; i < 20; i++) {
+				configService.publishConfig(DATA_ID, GROUP_ID, String.valueOf(i));
+			}
+
+			Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+			Assert.assertEquals(20, plainReceived.size());
+			Assert.assertEquals(20, methodReceived.size());
+			for (int i = 0; i < 20; i++) {
+				Assert.assertEquals(String.valueOf(i), plainReceived.get(i));
+				Assert.assertEquals(String.valueOf(i), methodReceived.get(i));
+			}
+		}
+		finally {
+			timeoutExecutor.destroy();
+			executorService.shutdownNow();
+		}
+	}
+
 	private void assertNacosConfigEvent(NacosConfigEvent event) {
 		Assert.assertEquals(mockConfigService, event.getSource());
 		Assert.assertEquals(DATA_ID, event.getDataId());
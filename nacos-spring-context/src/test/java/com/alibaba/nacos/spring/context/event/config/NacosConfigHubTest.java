@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.event.config;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.nacos.api.config.listener.AbstractListener;
+import com.alibaba.nacos.api.config.listener.AbstractSharedListener;
+import com.alibaba.nacos.api.config.listener.Listener;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.spring.test.MockConfigService;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link NacosConfigHub} Test
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class NacosConfigHubTest {
+
+	private static final String DATA_ID = "app";
+
+	private static final String GROUP = "DEFAULT_GROUP";
+
+	private final CountingConfigService configService = new CountingConfigService();
+
+	private final NacosConfigHub configHub = new NacosConfigHub(configService);
+
+	@Test
+	public void testFanOut() throws NacosException {
+
+		configService.publishConfig(DATA_ID, GROUP, "a=1");
+
+		// Fetched before subscription, e.g. by the Nacos property source
+		Assert.assertEquals("a=1", configHub.getConfig(DATA_ID, GROUP, 3000));
+
+		final List<String> received = new CopyOnWriteArrayList<String>();
+		Listener first = new AbstractListener() {
+			@Override
+			public void receiveConfigInfo(String content) {
+				received.add("first:" + content);
+			}
+		};
+		Listener second = new AbstractSharedListener() {
+			@Override
+			public void innerReceive(String dataId, String group, String content) {
+				received.add(dataId + "|" + group + ":" + content);
+			}
+		};
+
+		configHub.addListener(DATA_ID, GROUP, first);
+		configHub.addListener(DATA_ID, GROUP, second);
+
+		Assert.assertEquals(1, configService.addListenerCount.get());
+		Assert.assertEquals(Integer.valueOf(2),
+				configHub.getListenerCounts().get(DATA_ID + "|" + GROUP));
+
+		// Fetched once only since subscribed
+		Assert.assertEquals("a=1", configHub.getConfig(DATA_ID, GROUP, 3000));
+		Assert.assertEquals("a=1", configHub.getConfig(DATA_ID, GROUP, 3000));
+		Assert.assertEquals(2, configService.getConfigCount.get());
+		Assert.assertEquals(2, configHub.getFetchCount());
+		Assert.assertEquals(1, configHub.getHitCount());
+
+		configService.publishConfig(DATA_ID, GROUP, "a=2");
+
+		Assert.assertEquals(2, received.size());
+		Assert.assertEquals("first:a=2", received.get(0));
+		Assert.assertEquals(DATA_ID + "|" + GROUP + ":a=2", received.get(1));
+
+		// The content is kept up-to-date by the shared listener
+		Assert.assertEquals("a=2", configHub.getConfig(DATA_ID, GROUP, 3000));
+		Assert.assertEquals(2, configService.getConfigCount.get());
+
+		configHub.removeListener(DATA_ID, GROUP, first);
+		configHub.removeListener(DATA_ID, GROUP, second);
+
+		Assert.assertTrue(configHub.getListenerCounts().isEmpty());
+
+		// Not subscribed any more
+		Assert.assertEquals("a=2", configHub.getConfig(DATA_ID, GROUP, 3000));
+		Assert.assertEquals("a=2", configHub.getConfig(DATA_ID, GROUP, 3000));
+		Assert.assertEquals(4, configService.getConfigCount.get());
+	}
+
+	@Test
+	public void testNotKeptIfNotSubscribed() throws NacosException {
+
+		configService.publishConfig(DATA_ID, GROUP, "a=1");
+
+		Assert.assertEquals("a=1", configHub.getConfig(DATA_ID, GROUP, 3000));
+
+		// Changed while not subscribed
+		configService.publishConfig(DATA_ID, GROUP, "a=2");
+
+		Listener listener = new AbstractListener() {
+			@Override
+			public void receiveConfigInfo(String content) {
+			}
+		};
+		configHub.addListener(DATA_ID, GROUP, listener);
+
+		Assert.assertEquals("a=2", configHub.getConfig(DATA_ID, GROUP, 3000));
+		Assert.assertEquals("a=2", configHub.getConfig(DATA_ID, GROUP, 3000));
+		Assert.assertEquals(2, configService.getConfigCount.get());
+
+		// Subscribed again after the last consumer is removed
+		configHub.removeListener(DATA_ID, GROUP, listener);
+		configService.publishConfig(DATA_ID, GROUP, "a=3");
+		configHub.addListener(DATA_ID, GROUP, listener);
+
+		Assert.assertEquals("a=3", configHub.getConfig(DATA_ID, GROUP, 3000));
+		Assert.assertEquals(2, configService.addListenerCount.get());
+	}
+
+	@Test
+	public void testInvalidate() throws NacosException {
+
+		configService.publishConfig(DATA_ID, GROUP, "a=1");
+
+		configHub.addListener(DATA_ID, GROUP, new AbstractListener() {
+			@Override
+			public void receiveConfigInfo(String content) {
+			}
+		});
+
+		Assert.assertEquals("a=1", configHub.getConfig(DATA_ID, GROUP, 3000));
+		Assert.assertEquals("a=1", configHub.getConfig(DATA_ID, GROUP, 3000));
+		Assert.assertEquals(1, configService.getConfigCount.get());
+
+		configHub.invalidate(DATA_ID, GROUP);
+
+		Assert.assertEquals("a=1", configHub.getConfig(DATA_ID, GROUP, 3000));
+		Assert.assertEquals(2, configService.getConfigCount.get());
+	}
+
+	private static class CountingConfigService extends MockConfigService {
+
+		private final AtomicInteger getConfigCount = new AtomicInteger();
+
+		private final AtomicInteger addListenerCount = new AtomicInteger();
+
+		@Override
+		public String getConfig(String dataId, String group, long timeoutMs)
+				throws NacosException {
+			getConfigCount.incrementAndGet();
+			return super.getConfig(dataId, group, timeoutMs);
+		}
+
+		@Override
+		public void addListener(String dataId, String group, Listener listener)
+				throws NacosException {
+			addListenerCount.incrementAndGet();
+			super.addListener(dataId, group, listener);
+		}
+	}
+}
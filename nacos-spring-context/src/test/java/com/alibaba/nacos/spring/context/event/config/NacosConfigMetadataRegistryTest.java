@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.event.config;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import com.alibaba.nacos.api.common.Constants;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link NacosConfigMetadataRegistry} Test
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class NacosConfigMetadataRegistryTest {
+
+	@Test
+	public void testQuery() throws NoSuchMethodException {
+
+		NacosConfigMetadataRegistry registry = new NacosConfigMetadataRegistry();
+
+		Method method = NacosConfigMetadataRegistryTest.class.getMethod("testQuery");
+
+		NacosConfigMetadataEvent classMetadata = newMetadata("app.properties",
+				Constants.DEFAULT_GROUP, "appConfig");
+		classMetadata.setAnnotatedElement(NacosConfigMetadataRegistryTest.class);
+
+		NacosConfigMetadataEvent methodMetadata = newMetadata("app.properties",
+				"TEST_GROUP", "appListener");
+		methodMetadata.setAnnotatedElement(method);
+
+		NacosConfigMetadataEvent propertySourceMetadata = newMetadata("app.properties",
+				null, "appConfig");
+
+		registry.register(classMetadata);
+		registry.register(methodMetadata);
+		registry.register(propertySourceMetadata);
+
+		Assert.assertEquals(3, registry.size());
+
+		// groupId defaults to DEFAULT_GROUP
+		List<NacosConfigMetadataEvent> metadata = registry.getMetadata("app.properties");
+		Assert.assertEquals(2, metadata.size());
+		Assert.assertSame(classMetadata, metadata.get(0));
+		Assert.assertSame(propertySourceMetadata, metadata.get(1));
+
+		metadata = registry.getMetadata("app.properties", "TEST_GROUP");
+		Assert.assertEquals(1, metadata.size());
+		Assert.assertSame(methodMetadata, metadata.get(0));
+
+		Assert.assertEquals(2, registry.getMetadataByBeanName("appConfig").size());
+		Assert.assertSame(methodMetadata,
+				registry.getMetadataByBeanName("appListener").get(0));
+
+		Assert.assertSame(methodMetadata, registry.getMetadata(method).get(0));
+		Assert.assertSame(classMetadata,
+				registry.getMetadata(NacosConfigMetadataRegistryTest.class).get(0));
+
+		Assert.assertTrue(registry.getMetadata("absent.properties").isEmpty());
+		Assert.assertTrue(registry.getMetadataByBeanName("absent").isEmpty());
+
+		List<NacosConfigMetadataEvent> allMetadata = registry.getAllMetadata();
+		Assert.assertEquals(3, allMetadata.size());
+		Assert.assertSame(propertySourceMetadata, allMetadata.get(2));
+
+		try {
+			allMetadata.clear();
+			Assert.fail();
+		}
+		catch (UnsupportedOperationException e) {
+			// read-only snapshot
+		}
+	}
+
+	private NacosConfigMetadataEvent newMetadata(String dataId, String groupId,
+			String beanName) {
+		NacosConfigMetadataEvent metadata = new NacosConfigMetadataEvent(this);
+		metadata.setDataId(dataId);
+		metadata.setGroupId(groupId);
+		metadata.setBeanName(beanName);
+		return metadata;
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.context.event.config;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.nacos.spring.context.event.config.NacosConfigStartupTimeline.Phase;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link NacosConfigStartupTimeline} Test
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class NacosConfigStartupTimelineTest {
+
+	@Test
+	public void testBreakdown() throws InterruptedException {
+
+		NacosConfigStartupTimeline timeline = new NacosConfigStartupTimeline();
+
+		long start = System.nanoTime();
+		Thread.sleep(20);
+		timeline.record("app", "DEFAULT_GROUP", Phase.FETCH, start);
+
+		start = System.nanoTime();
+		timeline.record("app", "DEFAULT_GROUP", Phase.PARSE, start);
+
+		start = System.nanoTime();
+		Thread.sleep(10);
+		timeline.record("app", "DEFAULT_GROUP", Phase.FETCH, start);
+
+		timeline.record("other", "DEFAULT_GROUP", Phase.CLIENT_CREATION,
+				System.nanoTime());
+		timeline.record(null, null, Phase.VALUE_SCANNING, System.nanoTime());
+
+		Map<String, Map<Phase, Long>> breakdown = timeline
+				.getBreakdown(TimeUnit.MILLISECONDS);
+
+		// In the order of first recording
+		Iterator<String> keys = breakdown.keySet().iterator();
+		Assert.assertEquals("app|DEFAULT_GROUP", keys.next());
+		Assert.assertEquals("other|DEFAULT_GROUP", keys.next());
+		Assert.assertEquals(NacosConfigStartupTimeline.GLOBAL_KEY, keys.next());
+
+		Map<Phase, Long> app = breakdown.get("app|DEFAULT_GROUP");
+		Assert.assertEquals(2, app.size());
+		// Accumulated
+		Assert.assertTrue(app.get(Phase.FETCH) >= 30);
+		Assert.assertTrue(app.containsKey(Phase.PARSE));
+
+		String report = timeline.getReport();
+		Assert.assertTrue(report.contains("app|DEFAULT_GROUP [+"));
+		Assert.assertTrue(report.contains("FETCH="));
+		Assert.assertTrue(report.contains("VALUE_SCANNING="));
+	}
+}
@@ -16,12 +16,19 @@
  */
 package com.alibaba.nacos.spring.context.event.config;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import com.alibaba.nacos.api.config.ConfigService;
 import com.alibaba.nacos.api.config.listener.Listener;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.spring.test.MockConfigService;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -38,17 +45,51 @@ public class TimeoutNacosConfigListenerTest {
 
 	private final ConfigService configService = new MockConfigService();
 
-	private String receiveConfig(final long executionTime, long timeout, String content)
-			throws NacosException {
+	private final NacosConfigListenerTimeoutExecutor timeoutExecutor = new NacosConfigListenerTimeoutExecutor(
+			2);
+
+	private final AtomicBoolean timeout = new AtomicBoolean();
+
+	@After
+	public void destroy() {
+		timeoutExecutor.destroy();
+	}
+
+	/**
+	 * @param blocked whether the listener is blocked until it's timeout
+	 */
+	private String receiveConfig(final boolean blocked, long timeout, String content)
+			throws Exception {
 
 		final AtomicReference<String> contentHolder = new AtomicReference<String>();
 
-		Listener listener = new TimeoutNacosConfigListener(DATA_ID, GROUP_ID, timeout) {
+		final CountDownLatch blocker = new CountDownLatch(1);
+
+		final CountDownLatch finished = new CountDownLatch(1);
+
+		final CountDownLatch timedOut = new CountDownLatch(1);
+
+		Listener listener = new TimeoutNacosConfigListener(DATA_ID, GROUP_ID, timeout,
+				timeoutExecutor) {
 			@Override
 			protected void onReceived(String config) {
-				doWait(executionTime);
-				contentHolder.set(config);
-				System.out.printf("[%s] %s \n", Thread.currentThread().getName(), config);
+				try {
+					blocker.await();
+					contentHolder.set(config);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				finally {
+					finished.countDown();
+				}
+			}
+
+			@Override
+			protected void onTimeout(String content) {
+				super.onTimeout(content);
+				TimeoutNacosConfigListenerTest.this.timeout.set(true);
+				timedOut.countDown();
 			}
 		};
 
@@ -56,41 +97,144 @@ public class TimeoutNacosConfigListenerTest {
 
 		configService.publishConfig(DATA_ID, GROUP_ID, content);
 
+		// The notification thread must not wait for the listening
+		Assert.assertEquals(1, finished.getCount());
+
+		if (!blocked) {
+			blocker.countDown();
+		}
+
+		Assert.assertTrue(finished.await(1, TimeUnit.SECONDS));
+
+		if (blocked) {
+			Assert.assertTrue(timedOut.await(1, TimeUnit.SECONDS));
+		}
+
 		return contentHolder.get();
 	}
 
 	@Test
-	public void test() throws NacosException {
+	public void test() throws Exception {
 
 		String content = "Hello,World";
 
-		String receivedConfig = receiveConfig(20, 50, content);
+		String receivedConfig = receiveConfig(false, 1000, content);
 
 		Assert.assertEquals(content, receivedConfig);
+		Assert.assertFalse(timeout.get());
 	}
 
 	@Test
-	public void testOnTimeout() throws NacosException {
+	public void testOnTimeout() throws Exception {
 
 		String content = "Hello,World";
 
-		String receivedConfig = receiveConfig(100, 50, content);
+		String receivedConfig = receiveConfig(true, 50, content);
 
 		Assert.assertNull(receivedConfig);
+		Assert.assertTrue(timeout.get());
 
 	}
 
-	private static void doWait(long millis) {
+	@Test
+	public void testSerialListening() throws Exception {
 
-		long startTime = System.currentTimeMillis();
+		final List<String> received = new CopyOnWriteArrayList<String>();
+		final AtomicInteger inProgress = new AtomicInteger();
+		final AtomicBoolean overlapped = new AtomicBoolean();
+		final CountDownLatch latch = new CountDownLatch(20);
 
-		while (true) {
-			long costTime = System.currentTimeMillis() - startTime;
-			if (costTime > millis) {
-				break;
+		Listener listener = new TimeoutNacosConfigListener(DATA_ID, GROUP_ID, 1000,
+				timeoutExecutor) {
+			@Override
+			protected void onReceived(String config) {
+				if (inProgress.incrementAndGet() > 1) {
+					overlapped.set(true);
+				}
+				try {
+					TimeUnit.MILLISECONDS.sleep(2);
+					received.add(config);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				finally {
+					inProgress.decrementAndGet();
+					latch.countDown();
+				}
 			}
+		};
+
+		configService.addListener(DATA_ID, GROUP_ID, listener);
+
+		for (int i = 0; i < 20; i++) {
+			configService.publishConfig(DATA_ID, GROUP_ID, String.valueOf(i));
+		}
 
+		Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+		Assert.assertFalse(overlapped.get());
+		for (int i = 0; i < 20; i++) {
+			Assert.assertEquals(String.valueOf(i), received.get(i));
 		}
 	}
 
+	@Test
+	public void testConflatedNotOverlappedOnTimeout() throws Exception {
+
+		final List<String> received = new CopyOnWriteArrayList<String>();
+		final AtomicInteger inProgress = new AtomicInteger();
+		final AtomicBoolean overlapped = new AtomicBoolean();
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch timedOut = new CountDownLatch(1);
+		final CountDownLatch latch = new CountDownLatch(2);
+
+		Listener listener = new TimeoutNacosConfigListener(DATA_ID, GROUP_ID, 50,
+				timeoutExecutor, true) {
+			@Override
+			protected void onReceived(String config) {
+				if (inProgress.incrementAndGet() > 1) {
+					overlapped.set(true);
+				}
+				started.countDown();
+				try {
+					// Ignores the interrupt of cancellation
+					long deadline = System.currentTimeMillis() + 300;
+					while (System.currentTimeMillis() < deadline) {
+						try {
+							TimeUnit.MILLISECONDS.sleep(10);
+						}
+						catch (InterruptedException e) {
+							// continue
+						}
+					}
+					received.add(config);
+				}
+				finally {
+					inProgress.decrementAndGet();
+					latch.countDown();
+				}
+			}
+
+			@Override
+			protected void onTimeout(String content) {
+				timedOut.countDown();
+			}
+		};
+
+		configService.addListener(DATA_ID, GROUP_ID, listener);
+
+		configService.publishConfig(DATA_ID, GROUP_ID, "1");
+		Assert.assertTrue(started.await(1, TimeUnit.SECONDS));
+		Assert.assertTrue(timedOut.await(1, TimeUnit.SECONDS));
+		// The timed out listening is still in progress, the contents are conflated
+		configService.publishConfig(DATA_ID, GROUP_ID, "2");
+		configService.publishConfig(DATA_ID, GROUP_ID, "3");
+
+		Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+		Assert.assertFalse(overlapped.get());
+		Assert.assertEquals("1", received.get(0));
+		Assert.assertEquals("3", received.get(1));
+		Assert.assertEquals(1, ((TimeoutNacosConfigListener) listener)
+				.getSupersededCount());
+	}
 }
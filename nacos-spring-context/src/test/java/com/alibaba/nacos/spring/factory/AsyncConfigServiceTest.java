@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.factory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.alibaba.nacos.spring.test.MockConfigService;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static com.alibaba.nacos.spring.test.MockNacosServiceFactory.GROUP_ID;
+
+/**
+ * {@link AsyncConfigService} Test
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class AsyncConfigServiceTest {
+
+	@Test
+	public void testGetConfigsRejected() {
+
+		final List<Runnable> accepted = new ArrayList<Runnable>();
+
+		// Accepts two operations only, and never runs them
+		Executor executor = new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				if (accepted.size() == 2) {
+					throw new RejectedExecutionException();
+				}
+				accepted.add(command);
+			}
+		};
+
+		AsyncConfigService asyncConfigService = new AsyncConfigService(
+				new MockConfigService(), executor);
+
+		try {
+			asyncConfigService.getConfigs(Arrays.asList("a", "b", "c"), GROUP_ID, 3000);
+			Assert.fail();
+		}
+		catch (RejectedExecutionException e) {
+			// The third one exceeds the capacity
+		}
+
+		// The submitted ones are cancelled
+		Assert.assertEquals(2, accepted.size());
+		for (Runnable runnable : accepted) {
+			Assert.assertTrue(((Future<?>) runnable).isCancelled());
+		}
+	}
+}
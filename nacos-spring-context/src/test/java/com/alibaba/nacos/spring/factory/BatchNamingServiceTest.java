@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.factory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.alibaba.nacos.api.common.Constants;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.NamingService;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.spring.test.MockNamingService;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static com.alibaba.nacos.spring.test.MockNamingService.newInstance;
+
+/**
+ * {@link BatchNamingService} Test
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class BatchNamingServiceTest {
+
+	private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+	private final MockNamingService namingService = new MockNamingService();
+
+	private final BatchNamingService batchNamingService = new BatchNamingService(
+			namingService, executorService, 3, 1);
+
+	@After
+	public void destroy() {
+		executorService.shutdownNow();
+	}
+
+	@Test
+	public void testRegisterAndDeregisterAll()
+			throws InterruptedException, NacosException {
+		Map<String, List<Instance>> instances = new LinkedHashMap<String, List<Instance>>();
+		instances.put("app", newInstances("1.1.1.", 50));
+		instances.put("sidecar", newInstances("2.2.2.", 50));
+
+		BatchNamingService.BatchResult result = batchNamingService
+				.registerInstances(Constants.DEFAULT_GROUP, instances);
+
+		Assert.assertTrue(result.isSuccess());
+		Assert.assertEquals(100, result.getSuccessCount());
+		Assert.assertEquals(50, result.getResults("app").size());
+		Assert.assertEquals("sidecar", result.getResults().get(99).getServiceName());
+		Assert.assertEquals(100, batchNamingService.getRegisteredCount());
+		Assert.assertEquals(50, namingService.getAllInstances("app", false).size());
+
+		result = batchNamingService.deregisterInstances("app",
+				instances.get("app").subList(0, 10));
+		Assert.assertTrue(result.isSuccess());
+		Assert.assertEquals(90, batchNamingService.getRegisteredCount());
+
+		result = batchNamingService.deregisterAll(5000);
+		Assert.assertTrue(result.isSuccess());
+		Assert.assertEquals(90, result.getResults().size());
+		Assert.assertEquals(0, batchNamingService.getRegisteredCount());
+		Assert.assertTrue(namingService.getAllInstances("app", false).isEmpty());
+		Assert.assertTrue(namingService.getAllInstances("sidecar", false).isEmpty());
+	}
+
+	@Test
+	public void testRetry() throws InterruptedException {
+		namingService.fail("1.1.1.1", 2, NacosException.SERVER_ERROR);
+		namingService.fail("1.1.1.2", 5, NacosException.SERVER_ERROR);
+
+		BatchNamingService.BatchResult result = batchNamingService.registerInstances(
+				"app", Arrays.asList(newInstance("1.1.1.1", 80, 1, true),
+						newInstance("1.1.1.2", 80, 1, true),
+						newInstance("1.1.1.3", 80, 1, true)));
+
+		Assert.assertFalse(result.isSuccess());
+		Assert.assertEquals(2, result.getSuccessCount());
+		Assert.assertEquals(3, result.getResults().get(0).getAttempts());
+		Assert.assertTrue(result.getResults().get(0).isSuccess());
+		Assert.assertEquals(1, result.getResults().get(2).getAttempts());
+
+		BatchNamingService.InstanceResult failure = result.getFailures().get(0);
+		Assert.assertEquals("1.1.1.2", failure.getInstance().getIp());
+		Assert.assertEquals(3, failure.getAttempts());
+		Assert.assertEquals(NacosException.SERVER_ERROR,
+				((NacosException) failure.getError()).getErrCode());
+		Assert.assertEquals(2, batchNamingService.getRegisteredCount());
+
+		// Not retryable
+		namingService.fail("1.1.1.4", 1, NacosException.INVALID_PARAM);
+		result = batchNamingService.registerInstances("app",
+				Arrays.asList(newInstance("1.1.1.4", 80, 1, true)));
+		Assert.assertFalse(result.isSuccess());
+		Assert.assertEquals(1, result.getResults().get(0).getAttempts());
+	}
+
+	@Test
+	public void testDeregisterInstance() throws NacosException {
+		NamingService delegating = new DelegatingNamingService(namingService,
+				new Properties());
+		Instance instance = newInstance("1.1.1.1", 80, 1, true);
+		delegating.registerInstance("app", instance);
+		delegating.deregisterInstance("app", instance);
+		Assert.assertTrue(namingService.getAllInstances("app", false).isEmpty());
+		Assert.assertEquals(1, namingService.getDeregisterCount());
+	}
+
+	private static List<Instance> newInstances(String ipPrefix, int size) {
+		List<Instance> instances = new ArrayList<Instance>(size);
+		for (int i = 0; i < size; i++) {
+			instances.add(newInstance(ipPrefix + i, 8080, 1, true));
+		}
+		return instances;
+	}
+}
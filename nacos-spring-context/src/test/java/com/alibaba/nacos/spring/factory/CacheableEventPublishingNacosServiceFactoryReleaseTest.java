@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.factory;
+
+import java.util.Properties;
+
+import com.alibaba.nacos.api.PropertyKeyConst;
+import com.alibaba.nacos.api.config.ConfigService;
+import com.alibaba.nacos.api.config.listener.AbstractListener;
+import com.alibaba.nacos.api.config.listener.Listener;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.NamingService;
+import com.alibaba.nacos.api.naming.listener.Event;
+import com.alibaba.nacos.api.naming.listener.EventListener;
+import com.alibaba.nacos.spring.test.MockConfigService;
+import com.alibaba.nacos.spring.test.MockNamingService;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.context.support.GenericApplicationContext;
+
+/**
+ * {@link CacheableEventPublishingNacosServiceFactory#release} Test
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class CacheableEventPublishingNacosServiceFactoryReleaseTest {
+
+	private static final String REFERENCE_KEY = "CONFIG|release-test|127.0.0.1:8848";
+
+	private final GenericApplicationContext context = new GenericApplicationContext();
+
+	private final GenericApplicationContext otherContext = new GenericApplicationContext();
+
+	private final Properties properties = new Properties();
+
+	@Before
+	public void init() {
+		context.refresh();
+		otherContext.refresh();
+		properties.setProperty(PropertyKeyConst.NAMESPACE, "release-test");
+		properties.setProperty(PropertyKeyConst.SERVER_ADDR, "127.0.0.1:8848");
+	}
+
+	@After
+	public void destroy() {
+		context.close();
+		otherContext.close();
+	}
+
+	@Test
+	public void testRelease() throws NacosException {
+
+		CacheableEventPublishingNacosServiceFactory factory = CacheableEventPublishingNacosServiceFactory
+				.getSingleton();
+
+		ShutdownConfigService client = new ShutdownConfigService();
+		ShutdownConfigService otherClient = new ShutdownConfigService();
+
+		factory.deferCreateService(client, properties);
+		factory.publishDeferService(context);
+		factory.deferCreateService(otherClient, properties);
+		factory.publishDeferService(otherContext);
+
+		Assert.assertEquals(Integer.valueOf(2),
+				factory.getReferenceCounts().get(REFERENCE_KEY));
+
+		int liveServiceCount = factory.getLiveServiceCount();
+
+		factory.release(context);
+		Assert.assertFalse(client.shutdown);
+		Assert.assertEquals(Integer.valueOf(1),
+				factory.getReferenceCounts().get(REFERENCE_KEY));
+
+		factory.release(otherContext);
+		Assert.assertTrue(client.shutdown);
+		// The client of other context is not used at all
+		Assert.assertFalse(otherClient.shutdown);
+		Assert.assertNull(factory.getReferenceCounts().get(REFERENCE_KEY));
+		Assert.assertEquals(liveServiceCount - 1, factory.getLiveServiceCount());
+
+		// Created again after released
+		factory.deferCreateService(otherClient, properties);
+		factory.publishDeferService(context);
+		ConfigService configService = factory.getNacosServiceFactory(context)
+				.createConfigService(properties);
+		Assert.assertTrue(configService instanceof ConfigService);
+		Assert.assertEquals(Integer.valueOf(1),
+				factory.getReferenceCounts().get(REFERENCE_KEY));
+
+		factory.release(context);
+		Assert.assertTrue(otherClient.shutdown);
+	}
+
+	@Test
+	public void testKeepClientWithoutShutDown() throws NacosException {
+
+		CacheableEventPublishingNacosServiceFactory factory = CacheableEventPublishingNacosServiceFactory
+				.getSingleton();
+		properties.setProperty(PropertyKeyConst.NAMESPACE, "keep-test");
+		String referenceKey = "CONFIG|keep-test|127.0.0.1:8848";
+
+		ListenerCountingConfigService client = new ListenerCountingConfigService();
+		factory.deferCreateService(client, properties);
+		factory.publishDeferService(context);
+		ConfigService configService = factory.getNacosServiceFactory(context)
+				.createConfigService(properties);
+		configService.addListener("keep", "test", new AbstractListener() {
+			@Override
+			public void receiveConfigInfo(String configInfo) {
+				Assert.fail("The listener of released context is notified");
+			}
+		});
+		Assert.assertEquals(1, client.listenerCount);
+
+		// nacos-client before 1.2 can't be shutdown, the client is kept for reuse
+		factory.release(context);
+		Assert.assertEquals(Integer.valueOf(0),
+				factory.getReferenceCounts().get(referenceKey));
+		// The listeners of released context are removed from the kept client
+		Assert.assertEquals(0, client.listenerCount);
+		client.publishConfig("keep", "test", "content");
+		int liveServiceCount = factory.getLiveServiceCount();
+
+		// The client is reused by the next context with a new wrapper
+		Assert.assertNotSame(configService, factory
+				.getNacosServiceFactory(otherContext).createConfigService(properties));
+		Assert.assertEquals(liveServiceCount, factory.getLiveServiceCount());
+		Assert.assertEquals(Integer.valueOf(1),
+				factory.getReferenceCounts().get(referenceKey));
+	}
+
+	@Test
+	public void testUnsubscribeKeptClient() throws NacosException {
+
+		CacheableEventPublishingNacosServiceFactory factory = CacheableEventPublishingNacosServiceFactory
+				.getSingleton();
+		properties.setProperty(PropertyKeyConst.NAMESPACE, "unsubscribe-test");
+
+		MockNamingService client = new MockNamingService();
+		factory.deferCreateService(client, properties);
+		factory.publishDeferService(context);
+		NamingService namingService = factory.getNacosServiceFactory(context)
+				.createNamingService(properties);
+		namingService.subscribe("kept", "test", new EventListener() {
+			@Override
+			public void onEvent(Event event) {
+			}
+		});
+		Assert.assertEquals(1, client.getSubscriptionCount("kept", "test"));
+
+		factory.release(context);
+		Assert.assertEquals(0, client.getSubscriptionCount("kept", "test"));
+	}
+
+	@Test
+	public void testExplicitOwner() throws NacosException {
+
+		CacheableEventPublishingNacosServiceFactory factory = CacheableEventPublishingNacosServiceFactory
+				.getSingleton();
+		properties.setProperty(PropertyKeyConst.NAMESPACE, "owner-test");
+
+		ShutdownConfigService client = new ShutdownConfigService();
+		factory.deferCreateService(client, properties);
+		factory.publishDeferService(context);
+		NacosServiceFactory contextFactory = factory.getNacosServiceFactory(context);
+		// The latest context is not the owner
+		factory.setApplicationContext(otherContext);
+		contextFactory.createConfigService(properties);
+
+		factory.release(otherContext);
+		Assert.assertFalse(client.shutdown);
+		factory.release(context);
+		Assert.assertTrue(client.shutdown);
+	}
+
+	private static class ListenerCountingConfigService extends MockConfigService {
+
+		private int listenerCount;
+
+		@Override
+		public void addListener(String dataId, String group, Listener listener)
+				throws NacosException {
+			super.addListener(dataId, group, listener);
+			listenerCount++;
+		}
+
+		@Override
+		public void removeListener(String dataId, String group, Listener listener) {
+			super.removeListener(dataId, group, listener);
+			listenerCount--;
+		}
+	}
+
+	private static class ShutdownConfigService extends MockConfigService {
+
+		private boolean shutdown;
+
+		public void shutDown() {
+			shutdown = true;
+		}
+	}
+}
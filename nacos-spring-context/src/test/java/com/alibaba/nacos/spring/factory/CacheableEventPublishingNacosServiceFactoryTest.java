@@ -16,9 +16,14 @@
  */
 package com.alibaba.nacos.spring.factory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import com.alibaba.nacos.api.PropertyKeyConst;
 import com.alibaba.nacos.api.annotation.NacosProperties;
@@ -90,6 +95,34 @@ public class CacheableEventPublishingNacosServiceFactoryTest
 		Assert.assertTrue(namingService == namingService2);
 	}
 
+	@Test
+	public void testCreateConfigServiceConcurrently() throws Exception {
+		int threads = 8;
+		ExecutorService executorService = Executors.newFixedThreadPool(threads);
+		final CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<ConfigService>> futures = new ArrayList<Future<ConfigService>>();
+			for (int i = 0; i < threads; i++) {
+				futures.add(executorService.submit(new Callable<ConfigService>() {
+					@Override
+					public ConfigService call() throws Exception {
+						start.await();
+						return nacosServiceFactory.createConfigService(properties);
+					}
+				}));
+			}
+			start.countDown();
+			ConfigService configService = futures.get(0).get();
+			for (Future<ConfigService> future : futures) {
+				Assert.assertSame(configService, future.get());
+			}
+			Assert.assertEquals(1, nacosServiceFactory.getConfigServices().size());
+		}
+		finally {
+			executorService.shutdownNow();
+		}
+	}
+
 	@Test
 	public void testGetConfigServices() throws NacosException {
 		ConfigService configService = nacosServiceFactory.createConfigService(properties);
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.factory;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import com.alibaba.nacos.api.common.Constants;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.NamingService;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.spring.test.MockNamingService;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import static com.alibaba.nacos.spring.test.MockNamingService.newInstance;
+
+/**
+ * {@link HealthyInstanceSelector} Test
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class HealthyInstanceSelectorTest {
+
+	private static final String SERVICE_NAME = "app";
+
+	private static final List<String> ALL_CLUSTERS = Collections.emptyList();
+
+	private final MockNamingService namingService = new MockNamingService();
+
+	private final HealthyInstanceSelector selector = new HealthyInstanceSelector(
+			new InstanceRegistry(namingService, namingService, null));
+
+	@Test
+	public void testSelectFromSnapshot() throws NacosException {
+		namingService.registerInstance(SERVICE_NAME, newInstance("1.1.1.1", 80, 1, true));
+		namingService.registerInstance(SERVICE_NAME,
+				newInstance("1.1.1.2", 80, 1, false));
+		namingService.registerInstance(SERVICE_NAME, newInstance("1.1.1.3", 80, 0, true));
+
+		for (int i = 0; i < 100; i++) {
+			Assert.assertEquals("1.1.1.1", selectOne().getIp());
+		}
+		Assert.assertEquals(1, namingService.getQueryCount());
+		Assert.assertEquals(1,
+				namingService.getSubscriptionCount(SERVICE_NAME, Constants.DEFAULT_GROUP));
+
+		// Pushed
+		namingService.registerInstance(SERVICE_NAME,
+				newInstance("1.1.1.2", 80, 1, true));
+		namingService.deregisterInstance(SERVICE_NAME, "1.1.1.1", 80);
+		Assert.assertEquals("1.1.1.2", selectOne().getIp());
+		Assert.assertEquals(1, namingService.getQueryCount());
+
+		List<Instance> instances = selector.select(SERVICE_NAME,
+				Constants.DEFAULT_GROUP, ALL_CLUSTERS);
+		Assert.assertEquals(1, instances.size());
+		Assert.assertSame(instances, selector.select(SERVICE_NAME,
+				Constants.DEFAULT_GROUP, ALL_CLUSTERS));
+		try {
+			instances.clear();
+			Assert.fail();
+		}
+		catch (UnsupportedOperationException e) {
+			// read-only
+		}
+	}
+
+	@Test
+	public void testWeightedSelection() throws NacosException {
+		namingService.registerInstance(SERVICE_NAME, newInstance("1.1.1.1", 80, 1, true));
+		namingService.registerInstance(SERVICE_NAME, newInstance("1.1.1.2", 80, 3, true));
+		namingService.registerInstance(SERVICE_NAME, newInstance("1.1.1.3", 80, 6, true));
+
+		int times = 100000;
+		int[] counts = new int[3];
+		for (int i = 0; i < times; i++) {
+			String ip = selectOne().getIp();
+			counts[ip.charAt(ip.length() - 1) - '1']++;
+		}
+		Assert.assertEquals(0.1, counts[0] / (double) times, 0.01);
+		Assert.assertEquals(0.3, counts[1] / (double) times, 0.01);
+		Assert.assertEquals(0.6, counts[2] / (double) times, 0.01);
+	}
+
+	@Test
+	public void testClusters() throws NacosException {
+		Instance instance = newInstance("1.1.1.1", 80, 1, true);
+		instance.setClusterName("c1");
+		namingService.registerInstance(SERVICE_NAME, instance);
+		namingService.registerInstance(SERVICE_NAME, newInstance("1.1.1.2", 80, 1, true));
+
+		Assert.assertEquals("1.1.1.1", selector.selectOne(SERVICE_NAME,
+				Constants.DEFAULT_GROUP, Arrays.asList("c1")).getIp());
+		Assert.assertEquals(2, selector
+				.select(SERVICE_NAME, Constants.DEFAULT_GROUP, ALL_CLUSTERS).size());
+		// Subscribed once per service
+		Assert.assertEquals(1, selector.size());
+		Assert.assertEquals(1,
+				namingService.getSubscriptionCount(SERVICE_NAME, Constants.DEFAULT_GROUP));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testNoHealthyInstance() throws NacosException {
+		namingService.registerInstance(SERVICE_NAME,
+				newInstance("1.1.1.1", 80, 1, false));
+		selectOne();
+	}
+
+	@Test
+	public void testDelegatingNamingService() throws NacosException {
+		namingService.registerInstance(SERVICE_NAME, newInstance("1.1.1.1", 80, 1, true));
+		namingService.registerInstance(SERVICE_NAME,
+				newInstance("1.1.1.2", 80, 1, false));
+
+		DelegatingNamingService cached = new DelegatingNamingService(namingService,
+				new Properties(), true, null);
+		Assert.assertEquals("1.1.1.1", cached.selectOneHealthyInstance(SERVICE_NAME).getIp());
+		Assert.assertEquals(1, cached.selectInstances(SERVICE_NAME, true).size());
+		Assert.assertEquals(1, namingService.getQueryCount());
+		// Not subscribed or unhealthy instances are queried from the client
+		Assert.assertEquals("1.1.1.1",
+				cached.selectOneHealthyInstance(SERVICE_NAME, false).getIp());
+		Assert.assertEquals("1.1.1.2",
+				cached.selectInstances(SERVICE_NAME, false).get(0).getIp());
+		Assert.assertEquals(3, namingService.getQueryCount());
+		Assert.assertEquals(1, cached.getCachedServiceCount());
+
+		NamingService uncached = new DelegatingNamingService(namingService,
+				new Properties());
+		uncached.selectOneHealthyInstance(SERVICE_NAME);
+		Assert.assertEquals(4, namingService.getQueryCount());
+	}
+
+	private Instance selectOne() throws NacosException {
+		return selector.selectOne(SERVICE_NAME, Constants.DEFAULT_GROUP, ALL_CLUSTERS);
+	}
+}
@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.factory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import com.alibaba.nacos.api.common.Constants;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.spring.context.event.discovery.NacosInstancesChangedEvent;
+import com.alibaba.nacos.spring.test.MockNamingService;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.support.GenericApplicationContext;
+
+import static com.alibaba.nacos.spring.test.MockNamingService.newInstance;
+
+/**
+ * {@link InstanceRegistry} Test
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class InstanceRegistryTest {
+
+	private static final String SERVICE_NAME = "app";
+
+	private final MockNamingService namingService = new MockNamingService();
+
+	private final List<NacosInstancesChangedEvent> events = new ArrayList<NacosInstancesChangedEvent>();
+
+	private GenericApplicationContext context;
+
+	private DelegatingNamingService cached;
+
+	@Before
+	public void init() {
+		context = new GenericApplicationContext();
+		context.addApplicationListener(
+				new ApplicationListener<NacosInstancesChangedEvent>() {
+					@Override
+					public void onApplicationEvent(NacosInstancesChangedEvent event) {
+						events.add(event);
+					}
+				});
+		context.refresh();
+		cached = new DelegatingNamingService(namingService, new Properties(), true,
+				context);
+	}
+
+	@After
+	public void destroy() {
+		context.close();
+	}
+
+	@Test
+	public void testGetAllInstancesFromSnapshot() throws NacosException {
+		namingService.registerInstance(SERVICE_NAME, newInstance("1.1.1.1", 80, 1, true));
+		Instance instance = newInstance("1.1.1.2", 80, 1, false);
+		instance.setClusterName("c1");
+		namingService.registerInstance(SERVICE_NAME, instance);
+
+		List<Instance> instances = cached.getAllInstances(SERVICE_NAME);
+		Assert.assertEquals(2, instances.size());
+		Assert.assertSame(instances, cached.getAllInstances(SERVICE_NAME,
+				Constants.DEFAULT_GROUP));
+		List<Instance> c1 = cached.getAllInstances(SERVICE_NAME, Arrays.asList("c1"));
+		Assert.assertEquals(1, c1.size());
+		Assert.assertSame(c1, cached.getAllInstances(SERVICE_NAME, Arrays.asList("c1")));
+		Assert.assertEquals(1, namingService.getQueryCount());
+
+		// Not subscribed
+		cached.getAllInstances(SERVICE_NAME, false);
+		Assert.assertEquals(2, namingService.getQueryCount());
+		// No change is published on the first load
+		Assert.assertTrue(events.isEmpty());
+	}
+
+	@Test
+	public void testDelta() throws NacosException {
+		namingService.registerInstance(SERVICE_NAME, newInstance("1.1.1.1", 80, 1, true));
+		namingService.registerInstance(SERVICE_NAME, newInstance("1.1.1.2", 80, 1, true));
+		cached.getAllInstances(SERVICE_NAME);
+
+		namingService.registerInstance(SERVICE_NAME, newInstance("1.1.1.3", 80, 1, true));
+		NacosInstancesChangedEvent event = lastEvent();
+		Assert.assertSame(cached, event.getSource());
+		Assert.assertEquals(SERVICE_NAME, event.getServiceName());
+		Assert.assertEquals(Constants.DEFAULT_GROUP, event.getGroupName());
+		Assert.assertEquals(3, event.getInstances().size());
+		Assert.assertEquals("1.1.1.3", event.getAdded().get(0).getIp());
+		Assert.assertTrue(event.getRemoved().isEmpty());
+		Assert.assertTrue(event.getUpdated().isEmpty());
+
+		namingService.registerInstance(SERVICE_NAME,
+				newInstance("1.1.1.1", 80, 2, true));
+		event = lastEvent();
+		Assert.assertTrue(event.getAdded().isEmpty());
+		Assert.assertEquals(2.0D, event.getUpdated().get(0).getWeight(), 0);
+
+		namingService.deregisterInstance(SERVICE_NAME, "1.1.1.2", 80);
+		event = lastEvent();
+		Assert.assertEquals("1.1.1.2", event.getRemoved().get(0).getIp());
+		Assert.assertEquals(2, cached.getAllInstances(SERVICE_NAME).size());
+		Assert.assertEquals(3, events.size());
+
+		// Unchanged
+		namingService.registerInstance(SERVICE_NAME,
+				newInstance("1.1.1.1", 80, 2, true));
+		Assert.assertEquals(3, events.size());
+		Assert.assertEquals(1, cached.getSuppressedPushCount());
+		Assert.assertEquals(1, namingService.getQueryCount());
+	}
+
+	@Test
+	public void testIsUpdated() {
+		Instance existed = newInstance("1.1.1.1", 80, 1, true);
+		Instance instance = newInstance("1.1.1.1", 80, 1, true);
+		Assert.assertFalse(InstanceRegistry.isUpdated(existed, instance));
+
+		instance.setHealthy(false);
+		Assert.assertTrue(InstanceRegistry.isUpdated(existed, instance));
+
+		instance = newInstance("1.1.1.1", 80, 1, true);
+		instance.setEnabled(false);
+		Assert.assertTrue(InstanceRegistry.isUpdated(existed, instance));
+
+		instance = newInstance("1.1.1.1", 80, 1, true);
+		instance.getMetadata().put("zone", "a");
+		Assert.assertTrue(InstanceRegistry.isUpdated(existed, instance));
+
+		existed.getMetadata().put("zone", "a");
+		Assert.assertFalse(InstanceRegistry.isUpdated(existed, instance));
+	}
+
+	@Test
+	public void testWithoutPublisher() throws NacosException {
+		InstanceRegistry registry = new InstanceRegistry(namingService, namingService,
+				null);
+		List<String> clusters = Collections.emptyList();
+		Assert.assertTrue(registry
+				.getInstances(SERVICE_NAME, Constants.DEFAULT_GROUP, clusters)
+				.isEmpty());
+		namingService.registerInstance(SERVICE_NAME, newInstance("1.1.1.1", 80, 1, true));
+		Assert.assertEquals(1, registry
+				.getInstances(SERVICE_NAME, Constants.DEFAULT_GROUP, clusters).size());
+		Assert.assertEquals(1, registry.getChangedPushCount());
+		Assert.assertEquals(1, registry.size());
+	}
+
+	@Test
+	public void testClose() throws NacosException {
+		cached.getAllInstances(SERVICE_NAME);
+		Assert.assertEquals(1, namingService.getSubscriptionCount(SERVICE_NAME,
+				Constants.DEFAULT_GROUP));
+
+		cached.close();
+		Assert.assertEquals(0, namingService.getSubscriptionCount(SERVICE_NAME,
+				Constants.DEFAULT_GROUP));
+		Assert.assertEquals(0, cached.getRegistry().size());
+	}
+
+	private NacosInstancesChangedEvent lastEvent() {
+		Assert.assertFalse(events.isEmpty());
+		return events.get(events.size() - 1);
+	}
+}
@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.factory;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.nacos.api.config.ConfigService;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.spring.test.MockConfigService;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link LazyNacosClient} Test
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class LazyNacosClientTest {
+
+	@Test
+	public void testCreateOnce() throws Exception {
+
+		final MockConfigService mockConfigService = new MockConfigService();
+		mockConfigService.publishConfig("app", "DEFAULT_GROUP", "a=1");
+
+		final AtomicInteger createCount = new AtomicInteger();
+		LazyNacosClient.Metrics metrics = new LazyNacosClient.Metrics();
+
+		final ConfigService configService = LazyNacosClient.create(ConfigService.class,
+				new Callable<ConfigService>() {
+					@Override
+					public ConfigService call() throws Exception {
+						createCount.incrementAndGet();
+						Thread.sleep(100);
+						return mockConfigService;
+					}
+				}, metrics);
+
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		final CountDownLatch start = new CountDownLatch(1);
+		Future<?>[] futures = new Future<?>[8];
+		try {
+			for (int i = 0; i < futures.length; i++) {
+				futures[i] = executorService.submit(new Callable<String>() {
+					@Override
+					public String call() throws Exception {
+						start.await();
+						return configService.getConfig("app", "DEFAULT_GROUP", 3000);
+					}
+				});
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				Assert.assertEquals("a=1", future.get(5, TimeUnit.SECONDS));
+			}
+		}
+		finally {
+			executorService.shutdownNow();
+		}
+
+		Assert.assertEquals(1, createCount.get());
+		Assert.assertEquals(1, metrics.getLazyClientCount());
+		Assert.assertSame(mockConfigService,
+				LazyNacosClient.getTargetIfCreated(configService));
+		Assert.assertSame(mockConfigService,
+				LazyNacosClient.getTargetIfCreated(mockConfigService));
+	}
+
+	@Test
+	public void testRetryOnFailure() throws NacosException {
+
+		final AtomicInteger createCount = new AtomicInteger();
+
+		ConfigService configService = LazyNacosClient.create(ConfigService.class,
+				new Callable<ConfigService>() {
+					@Override
+					public ConfigService call() throws Exception {
+						if (createCount.incrementAndGet() == 1) {
+							throw new NacosException(NacosException.CLIENT_INVALID_PARAM,
+									"unavailable");
+						}
+						return new MockConfigService();
+					}
+				}, new LazyNacosClient.Metrics());
+
+		// The first creation is failed by the warm-up task or current call
+		try {
+			configService.getServerStatus();
+		}
+		catch (IllegalStateException e) {
+			Assert.assertTrue(e.getCause() instanceof NacosException);
+		}
+
+		Assert.assertEquals("UP", configService.getServerStatus());
+		Assert.assertEquals(2, createCount.get());
+	}
+
+	@Test
+	public void testReleaseWhileCreating() throws Exception {
+
+		final CountDownLatch creating = new CountDownLatch(1);
+		final CountDownLatch created = new CountDownLatch(1);
+		final MockConfigService mockConfigService = new MockConfigService();
+
+		ConfigService configService = LazyNacosClient.create(ConfigService.class,
+				new Callable<ConfigService>() {
+					@Override
+					public ConfigService call() throws Exception {
+						creating.countDown();
+						created.await();
+						return mockConfigService;
+					}
+				}, new LazyNacosClient.Metrics());
+
+		// The warm-up task is creating
+		Assert.assertTrue(creating.await(5, TimeUnit.SECONDS));
+		Assert.assertSame(LazyNacosClient.IN_CREATION,
+				LazyNacosClient.getTargetIfCreated(configService));
+
+		created.countDown();
+		Assert.assertEquals("UP", configService.getServerStatus());
+		Assert.assertSame(mockConfigService,
+				LazyNacosClient.getTargetIfCreated(configService));
+	}
+
+	@Test
+	public void testReleaseBeforeCreation() throws Exception {
+
+		final CountDownLatch blocking = new CountDownLatch(1);
+		final CountDownLatch blocked = new CountDownLatch(1);
+		final AtomicInteger createCount = new AtomicInteger();
+
+		// Occupy the warm-up thread
+		LazyNacosClient.create(ConfigService.class, new Callable<ConfigService>() {
+			@Override
+			public ConfigService call() throws Exception {
+				blocked.countDown();
+				blocking.await();
+				return new MockConfigService();
+			}
+		}, new LazyNacosClient.Metrics());
+
+		try {
+			Assert.assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+			ConfigService configService = LazyNacosClient.create(ConfigService.class,
+					new Callable<ConfigService>() {
+						@Override
+						public ConfigService call() {
+							createCount.incrementAndGet();
+							return new MockConfigService();
+						}
+					}, new LazyNacosClient.Metrics());
+
+			Assert.assertNull(LazyNacosClient.getTargetIfCreated(configService));
+			try {
+				configService.getServerStatus();
+				Assert.fail();
+			}
+			catch (IllegalStateException e) {
+				Assert.assertTrue(e.getMessage().contains("released"));
+			}
+			Assert.assertEquals(0, createCount.get());
+		}
+		finally {
+			blocking.countDown();
+		}
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.factory;
+
+import java.util.Map;
+import java.util.Properties;
+
+import com.alibaba.nacos.api.common.Constants;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.spring.test.MockNamingService;
+import com.alibaba.nacos.spring.util.discovery.PowerOfTwoChoicesLoadBalancer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import static com.alibaba.nacos.spring.test.MockNamingService.newInstance;
+
+/**
+ * {@link NacosLoadBalancer} Test
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class NacosLoadBalancerTest {
+
+	private static final String SERVICE_NAME = "app";
+
+	private final MockNamingService namingService = new MockNamingService();
+
+	@Test
+	public void testAcquireAndRelease() throws NacosException {
+		NacosLoadBalancer loadBalancer = new NacosLoadBalancer(namingService,
+				new PowerOfTwoChoicesLoadBalancer());
+		namingService.registerInstance(SERVICE_NAME, newInstance("1.1.1.1", 80, 1, true));
+		namingService.registerInstance(SERVICE_NAME, newInstance("1.1.1.2", 80, 1, true));
+
+		NacosLoadBalancer.Lease first = loadBalancer.acquire(SERVICE_NAME, null);
+		NacosLoadBalancer.Lease second = loadBalancer.acquire(SERVICE_NAME, null);
+		// The less loaded one is chosen
+		Assert.assertNotEquals(first.getInstance().getIp(),
+				second.getInstance().getIp());
+
+		Map<String, Long> inFlightCounts = loadBalancer.getInFlightCounts();
+		Assert.assertEquals(Long.valueOf(2),
+				inFlightCounts.get(Constants.DEFAULT_GROUP + "@@" + SERVICE_NAME));
+		Assert.assertEquals(Long.valueOf(1), inFlightCounts.get(Constants.DEFAULT_GROUP
+				+ "@@" + SERVICE_NAME + "#1.1.1.1:80#" + Constants.DEFAULT_CLUSTER_NAME));
+
+		first.release();
+		first.release();
+		second.release();
+		Assert.assertTrue(loadBalancer.getInFlightCounts().isEmpty());
+
+		Assert.assertEquals(1, namingService.getQueryCount());
+	}
+
+	@Test
+	public void testPushed() throws NacosException {
+		NacosLoadBalancer loadBalancer = new NacosLoadBalancer(namingService,
+				new PowerOfTwoChoicesLoadBalancer());
+		namingService.registerInstance(SERVICE_NAME, newInstance("1.1.1.1", 80, 1, true));
+		Assert.assertEquals("1.1.1.1", loadBalancer.choose(SERVICE_NAME).getIp());
+
+		namingService.registerInstance(SERVICE_NAME, newInstance("1.1.1.2", 80, 1, true));
+		namingService.deregisterInstance(SERVICE_NAME, "1.1.1.1", 80);
+		for (int i = 0; i < 10; i++) {
+			Assert.assertEquals("1.1.1.2", loadBalancer.choose(SERVICE_NAME).getIp());
+		}
+
+		namingService.deregisterInstance(SERVICE_NAME, "1.1.1.2", 80);
+		try {
+			loadBalancer.choose(SERVICE_NAME);
+			Assert.fail();
+		}
+		catch (IllegalStateException e) {
+			Assert.assertTrue(e.getMessage().contains(SERVICE_NAME));
+		}
+		Assert.assertEquals(1, namingService.getQueryCount());
+	}
+
+	@Test
+	public void testPruneCounters() throws NacosException {
+		NacosLoadBalancer loadBalancer = new NacosLoadBalancer(namingService,
+				new PowerOfTwoChoicesLoadBalancer());
+		namingService.registerInstance(SERVICE_NAME, newInstance("1.1.1.1", 80, 1, true));
+		NacosLoadBalancer.Lease lease = loadBalancer.acquire(SERVICE_NAME, null);
+
+		namingService.registerInstance(SERVICE_NAME, newInstance("1.1.1.2", 80, 1, true));
+		namingService.deregisterInstance(SERVICE_NAME, "1.1.1.1", 80);
+		loadBalancer.choose(SERVICE_NAME);
+
+		// The absent instance is kept while its request is in-flight
+		Assert.assertEquals(3, loadBalancer.getCounterCount());
+		lease.release();
+
+		namingService.registerInstance(SERVICE_NAME, newInstance("1.1.1.3", 80, 1, true));
+		loadBalancer.choose(SERVICE_NAME);
+
+		// The service and the instances 1.1.1.2 and 1.1.1.3
+		Assert.assertEquals(3, loadBalancer.getCounterCount());
+		Assert.assertTrue(loadBalancer.getInFlightCounts().isEmpty());
+	}
+
+	@Test
+	public void testSharedRegistry() throws NacosException {
+		DelegatingNamingService cached = new DelegatingNamingService(namingService,
+				new Properties(), true, null);
+		NacosLoadBalancer loadBalancer = new NacosLoadBalancer(cached,
+				new PowerOfTwoChoicesLoadBalancer());
+		namingService.registerInstance(SERVICE_NAME, newInstance("1.1.1.1", 80, 1, true));
+
+		Instance instance = loadBalancer.choose(SERVICE_NAME, "key");
+		Assert.assertEquals(instance, cached.selectOneHealthyInstance(SERVICE_NAME));
+		Assert.assertEquals(1, cached.getCachedServiceCount());
+		Assert.assertEquals(1,
+				namingService.getSubscriptionCount(SERVICE_NAME, Constants.DEFAULT_GROUP));
+		Assert.assertEquals(1, namingService.getQueryCount());
+	}
+}
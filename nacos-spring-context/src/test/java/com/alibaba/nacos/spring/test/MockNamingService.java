@@ -0,0 +1,525 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.nacos.api.common.Constants;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.NamingService;
+import com.alibaba.nacos.api.naming.listener.EventListener;
+import com.alibaba.nacos.api.naming.listener.NamingEvent;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ListView;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.selector.AbstractSelector;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Mock {@link NamingService}, the instances are kept in memory and pushed to the
+ * subscribers synchronously on change
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class MockNamingService implements NamingService {
+
+	private static final List<String> ALL_CLUSTERS = Collections.emptyList();
+
+	private final Map<String, Map<String, Instance>> instancesCache = new LinkedHashMap<String, Map<String, Instance>>();
+
+	private final Map<String, List<Subscription>> subscriptionsCache = new LinkedHashMap<String, List<Subscription>>();
+
+	private final AtomicInteger queryCount = new AtomicInteger();
+
+	private final AtomicInteger registerCount = new AtomicInteger();
+
+	private final AtomicInteger deregisterCount = new AtomicInteger();
+
+	/**
+	 * The remaining failures of register or deregister per ip
+	 */
+	private final Map<String, Integer> failures = new HashMap<String, Integer>();
+
+	private int failureCode = NacosException.SERVER_ERROR;
+
+	public static Instance newInstance(String ip, int port, double weight,
+			boolean healthy) {
+		Instance instance = new Instance();
+		instance.setIp(ip);
+		instance.setPort(port);
+		instance.setWeight(weight);
+		instance.setHealthy(healthy);
+		instance.setClusterName(Constants.DEFAULT_CLUSTER_NAME);
+		return instance;
+	}
+
+	/**
+	 * The next register or deregister of the ip will fail
+	 *
+	 * @param ip the ip of instance
+	 * @param times the number of failures
+	 * @param errCode the error code of {@link NacosException}
+	 */
+	public synchronized void fail(String ip, int times, int errCode) {
+		failures.put(ip, times);
+		failureCode = errCode;
+	}
+
+	private void checkFailure(String ip) throws NacosException {
+		Integer times = failures.get(ip);
+		if (times != null && times > 0) {
+			failures.put(ip, times - 1);
+			throw new NacosException(failureCode, "Injected failure of " + ip);
+		}
+	}
+
+	@Override
+	public void registerInstance(String serviceName, String ip, int port)
+			throws NacosException {
+		registerInstance(serviceName, Constants.DEFAULT_GROUP, ip, port);
+	}
+
+	@Override
+	public void registerInstance(String serviceName, String groupName, String ip,
+			int port) throws NacosException {
+		registerInstance(serviceName, groupName, ip, port,
+				Constants.DEFAULT_CLUSTER_NAME);
+	}
+
+	@Override
+	public void registerInstance(String serviceName, String ip, int port,
+			String clusterName) throws NacosException {
+		registerInstance(serviceName, Constants.DEFAULT_GROUP, ip, port, clusterName);
+	}
+
+	@Override
+	public void registerInstance(String serviceName, String groupName, String ip,
+			int port, String clusterName) throws NacosException {
+		Instance instance = newInstance(ip, port, 1.0D, true);
+		instance.setClusterName(clusterName);
+		registerInstance(serviceName, groupName, instance);
+	}
+
+	@Override
+	public void registerInstance(String serviceName, Instance instance)
+			throws NacosException {
+		registerInstance(serviceName, Constants.DEFAULT_GROUP, instance);
+	}
+
+	@Override
+	public synchronized void registerInstance(String serviceName, String groupName,
+			Instance instance) throws NacosException {
+		registerCount.incrementAndGet();
+		checkFailure(instance.getIp());
+		String key = createKey(serviceName, groupName);
+		Map<String, Instance> instances = instancesCache.get(key);
+		if (instances == null) {
+			instances = new LinkedHashMap<String, Instance>();
+			instancesCache.put(key, instances);
+		}
+		instances.put(instance.toInetAddr(), instance);
+		notifySubscribers(serviceName, groupName);
+	}
+
+	@Override
+	public void deregisterInstance(String serviceName, String ip, int port)
+			throws NacosException {
+		deregisterInstance(serviceName, Constants.DEFAULT_GROUP, ip, port);
+	}
+
+	@Override
+	public void deregisterInstance(String serviceName, String groupName, String ip,
+			int port) throws NacosException {
+		deregisterInstance(serviceName, groupName, ip, port,
+				Constants.DEFAULT_CLUSTER_NAME);
+	}
+
+	@Override
+	public void deregisterInstance(String serviceName, String ip, int port,
+			String clusterName) throws NacosException {
+		deregisterInstance(serviceName, Constants.DEFAULT_GROUP, ip, port, clusterName);
+	}
+
+	@Override
+	public void deregisterInstance(String serviceName, String groupName, String ip,
+			int port, String clusterName) throws NacosException {
+		Instance instance = newInstance(ip, port, 1.0D, true);
+		instance.setClusterName(clusterName);
+		deregisterInstance(serviceName, groupName, instance);
+	}
+
+	@Override
+	public void deregisterInstance(String serviceName, Instance instance)
+			throws NacosException {
+		deregisterInstance(serviceName, Constants.DEFAULT_GROUP, instance);
+	}
+
+	@Override
+	public synchronized void deregisterInstance(String serviceName, String groupName,
+			Instance instance) throws NacosException {
+		deregisterCount.incrementAndGet();
+		checkFailure(instance.getIp());
+		Map<String, Instance> instances = instancesCache
+				.get(createKey(serviceName, groupName));
+		if (instances != null && instances.remove(instance.toInetAddr()) != null) {
+			notifySubscribers(serviceName, groupName);
+		}
+	}
+
+	@Override
+	public List<Instance> getAllInstances(String serviceName) throws NacosException {
+		return getAllInstances(serviceName, Constants.DEFAULT_GROUP);
+	}
+
+	@Override
+	public List<Instance> getAllInstances(String serviceName, String groupName)
+			throws NacosException {
+		return getAllInstances(serviceName, groupName, ALL_CLUSTERS);
+	}
+
+	@Override
+	public List<Instance> getAllInstances(String serviceName, boolean subscribe)
+			throws NacosException {
+		return getAllInstances(serviceName, Constants.DEFAULT_GROUP, subscribe);
+	}
+
+	@Override
+	public List<Instance> getAllInstances(String serviceName, String groupName,
+			boolean subscribe) throws NacosException {
+		return getAllInstances(serviceName, groupName, ALL_CLUSTERS, subscribe);
+	}
+
+	@Override
+	public List<Instance> getAllInstances(String serviceName, List<String> clusters)
+			throws NacosException {
+		return getAllInstances(serviceName, Constants.DEFAULT_GROUP, clusters);
+	}
+
+	@Override
+	public List<Instance> getAllInstances(String serviceName, String groupName,
+			List<String> clusters) throws NacosException {
+		return getAllInstances(serviceName, groupName, clusters, true);
+	}
+
+	@Override
+	public List<Instance> getAllInstances(String serviceName, List<String> clusters,
+			boolean subscribe) throws NacosException {
+		return getAllInstances(serviceName, Constants.DEFAULT_GROUP, clusters,
+				subscribe);
+	}
+
+	@Override
+	public synchronized List<Instance> getAllInstances(String serviceName,
+			String groupName, List<String> clusters, boolean subscribe)
+			throws NacosException {
+		queryCount.incrementAndGet();
+		return findInstances(serviceName, groupName, clusters);
+	}
+
+	private List<Instance> findInstances(String serviceName, String groupName,
+			List<String> clusters) {
+		List<Instance> result = new ArrayList<Instance>();
+		Map<String, Instance> instances = instancesCache
+				.get(createKey(serviceName, groupName));
+		if (instances != null) {
+			for (Instance instance : instances.values()) {
+				if (clusters.isEmpty() || clusters.contains(instance.getClusterName())) {
+					result.add(instance);
+				}
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public List<Instance> selectInstances(String serviceName, boolean healthy)
+			throws NacosException {
+		return selectInstances(serviceName, Constants.DEFAULT_GROUP, healthy);
+	}
+
+	@Override
+	public List<Instance> selectInstances(String serviceName, String groupName,
+			boolean healthy) throws NacosException {
+		return selectInstances(serviceName, groupName, ALL_CLUSTERS, healthy);
+	}
+
+	@Override
+	public List<Instance> selectInstances(String serviceName, boolean healthy,
+			boolean subscribe) throws NacosException {
+		return selectInstances(serviceName, Constants.DEFAULT_GROUP, healthy,
+				subscribe);
+	}
+
+	@Override
+	public List<Instance> selectInstances(String serviceName, String groupName,
+			boolean healthy, boolean subscribe) throws NacosException {
+		return selectInstances(serviceName, groupName, ALL_CLUSTERS, healthy,
+				subscribe);
+	}
+
+	@Override
+	public List<Instance> selectInstances(String serviceName, List<String> clusters,
+			boolean healthy) throws NacosException {
+		return selectInstances(serviceName, Constants.DEFAULT_GROUP, clusters,
+				healthy);
+	}
+
+	@Override
+	public List<Instance> selectInstances(String serviceName, String groupName,
+			List<String> clusters, boolean healthy) throws NacosException {
+		return selectInstances(serviceName, groupName, clusters, healthy, true);
+	}
+
+	@Override
+	public List<Instance> selectInstances(String serviceName, List<String> clusters,
+			boolean healthy, boolean subscribe) throws NacosException {
+		return selectInstances(serviceName, Constants.DEFAULT_GROUP, clusters,
+				healthy, subscribe);
+	}
+
+	@Override
+	public List<Instance> selectInstances(String serviceName, String groupName,
+			List<String> clusters, boolean healthy, boolean subscribe)
+			throws NacosException {
+		List<Instance> result = new ArrayList<Instance>();
+		for (Instance instance : getAllInstances(serviceName, groupName, clusters,
+				subscribe)) {
+			if (instance.isHealthy() == healthy && instance.isEnabled()
+					&& instance.getWeight() > 0) {
+				result.add(instance);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public Instance selectOneHealthyInstance(String serviceName) throws NacosException {
+		return selectOneHealthyInstance(serviceName, Constants.DEFAULT_GROUP);
+	}
+
+	@Override
+	public Instance selectOneHealthyInstance(String serviceName, String groupName)
+			throws NacosException {
+		return selectOneHealthyInstance(serviceName, groupName, ALL_CLUSTERS);
+	}
+
+	@Override
+	public Instance selectOneHealthyInstance(String serviceName, boolean subscribe)
+			throws NacosException {
+		return selectOneHealthyInstance(serviceName, Constants.DEFAULT_GROUP,
+				subscribe);
+	}
+
+	@Override
+	public Instance selectOneHealthyInstance(String serviceName, String groupName,
+			boolean subscribe) throws NacosException {
+		return selectOneHealthyInstance(serviceName, groupName, ALL_CLUSTERS,
+				subscribe);
+	}
+
+	@Override
+	public Instance selectOneHealthyInstance(String serviceName, List<String> clusters)
+			throws NacosException {
+		return selectOneHealthyInstance(serviceName, Constants.DEFAULT_GROUP,
+				clusters);
+	}
+
+	@Override
+	public Instance selectOneHealthyInstance(String serviceName, String groupName,
+			List<String> clusters) throws NacosException {
+		return selectOneHealthyInstance(serviceName, groupName, clusters, true);
+	}
+
+	@Override
+	public Instance selectOneHealthyInstance(String serviceName, List<String> clusters,
+			boolean subscribe) throws NacosException {
+		return selectOneHealthyInstance(serviceName, Constants.DEFAULT_GROUP, clusters,
+				subscribe);
+	}
+
+	@Override
+	public Instance selectOneHealthyInstance(String serviceName, String groupName,
+			List<String> clusters, boolean subscribe) throws NacosException {
+		List<Instance> instances = selectInstances(serviceName, groupName, clusters,
+				true, subscribe);
+		if (instances.isEmpty()) {
+			throw new IllegalStateException("no host to srv for service " + serviceName);
+		}
+		return instances.get(0);
+	}
+
+	@Override
+	public void subscribe(String serviceName, EventListener listener)
+			throws NacosException {
+		subscribe(serviceName, Constants.DEFAULT_GROUP, listener);
+	}
+
+	@Override
+	public void subscribe(String serviceName, String groupName, EventListener listener)
+			throws NacosException {
+		subscribe(serviceName, groupName, ALL_CLUSTERS, listener);
+	}
+
+	@Override
+	public void subscribe(String serviceName, List<String> clusters,
+			EventListener listener) throws NacosException {
+		subscribe(serviceName, Constants.DEFAULT_GROUP, clusters, listener);
+	}
+
+	@Override
+	public synchronized void subscribe(String serviceName, String groupName,
+			List<String> clusters, EventListener listener) throws NacosException {
+		String key = createKey(serviceName, groupName);
+		List<Subscription> subscriptions = subscriptionsCache.get(key);
+		if (subscriptions == null) {
+			subscriptions = new ArrayList<Subscription>();
+			subscriptionsCache.put(key, subscriptions);
+		}
+		subscriptions.add(new Subscription(clusters, listener));
+	}
+
+	@Override
+	public void unsubscribe(String serviceName, EventListener listener)
+			throws NacosException {
+		unsubscribe(serviceName, Constants.DEFAULT_GROUP, listener);
+	}
+
+	@Override
+	public void unsubscribe(String serviceName, String groupName, EventListener listener)
+			throws NacosException {
+		unsubscribe(serviceName, groupName, ALL_CLUSTERS, listener);
+	}
+
+	@Override
+	public void unsubscribe(String serviceName, List<String> clusters,
+			EventListener listener) throws NacosException {
+		unsubscribe(serviceName, Constants.DEFAULT_GROUP, clusters, listener);
+	}
+
+	@Override
+	public synchronized void unsubscribe(String serviceName, String groupName,
+			List<String> clusters, EventListener listener) throws NacosException {
+		List<Subscription> subscriptions = subscriptionsCache
+				.get(createKey(serviceName, groupName));
+		if (subscriptions == null) {
+			return;
+		}
+		for (int i = 0; i < subscriptions.size(); i++) {
+			Subscription subscription = subscriptions.get(i);
+			if (subscription.listener == listener
+					&& subscription.clusters.equals(clusters)) {
+				subscriptions.remove(i);
+				return;
+			}
+		}
+	}
+
+	@Override
+	public ListView<String> getServicesOfServer(int pageNo, int pageSize)
+			throws NacosException {
+		return null;
+	}
+
+	@Override
+	public ListView<String> getServicesOfServer(int pageNo, int pageSize,
+			String groupName) throws NacosException {
+		return null;
+	}
+
+	@Override
+	public ListView<String> getServicesOfServer(int pageNo, int pageSize,
+			AbstractSelector selector) throws NacosException {
+		return null;
+	}
+
+	@Override
+	public ListView<String> getServicesOfServer(int pageNo, int pageSize,
+			String groupName, AbstractSelector selector) throws NacosException {
+		return null;
+	}
+
+	@Override
+	public List<ServiceInfo> getSubscribeServices() throws NacosException {
+		return null;
+	}
+
+	@Override
+	public String getServerStatus() {
+		return "UP";
+	}
+
+	/**
+	 * Get the number of queries of instances
+	 *
+	 * @return the number of queries
+	 */
+	public int getQueryCount() {
+		return queryCount.get();
+	}
+
+	public int getRegisterCount() {
+		return registerCount.get();
+	}
+
+	public int getDeregisterCount() {
+		return deregisterCount.get();
+	}
+
+	public synchronized int getSubscriptionCount(String serviceName, String groupName) {
+		List<Subscription> subscriptions = subscriptionsCache
+				.get(createKey(serviceName, groupName));
+		return subscriptions == null ? 0 : subscriptions.size();
+	}
+
+	private void notifySubscribers(String serviceName, String groupName)
+			throws NacosException {
+		List<Subscription> subscriptions = subscriptionsCache
+				.get(createKey(serviceName, groupName));
+		if (subscriptions == null) {
+			return;
+		}
+		for (Subscription subscription : new ArrayList<Subscription>(subscriptions)) {
+			subscription.listener.onEvent(new NamingEvent(serviceName, groupName,
+					StringUtils.collectionToCommaDelimitedString(subscription.clusters),
+					findInstances(serviceName, groupName, subscription.clusters)));
+		}
+	}
+
+	private String createKey(String serviceName, String groupName) {
+		return groupName + "@@" + serviceName;
+	}
+
+	private static class Subscription {
+
+		private final List<String> clusters;
+
+		private final EventListener listener;
+
+		Subscription(List<String> clusters, EventListener listener) {
+			this.clusters = new ArrayList<String>(clusters);
+			this.listener = listener;
+		}
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.util;
+
+import java.util.Properties;
+
+import com.alibaba.nacos.api.PropertyKeyConst;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link NacosServiceIdentity} Test
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class NacosServiceIdentityTest {
+
+	@Test
+	public void testEquals() {
+
+		Properties properties = new Properties();
+		properties.setProperty(PropertyKeyConst.SERVER_ADDR, "127.0.0.1:8848");
+		properties.setProperty(PropertyKeyConst.NAMESPACE, "test");
+
+		Properties other = new Properties();
+		other.putAll(properties);
+		// Not a part of identity
+		other.setProperty(PropertyKeyConst.CONFIG_LONG_POLL_TIMEOUT, "30000");
+		other.setProperty(PropertyKeyConst.ENDPOINT, " ");
+
+		NacosServiceIdentity identity = NacosServiceIdentity.of(properties);
+		NacosServiceIdentity otherIdentity = NacosServiceIdentity.of(other);
+
+		Assert.assertEquals(identity, otherIdentity);
+		Assert.assertEquals(identity.hashCode(), otherIdentity.hashCode());
+		Assert.assertEquals("127.0.0.1:8848", identity.getServerAddr());
+		Assert.assertEquals("test", identity.getNamespace());
+		Assert.assertEquals("", identity.getEndpoint());
+
+		other.setProperty(PropertyKeyConst.NAMESPACE, "dev");
+		Assert.assertNotEquals(identity, NacosServiceIdentity.of(other));
+	}
+
+	@Test
+	public void testToString() {
+
+		Properties properties = new Properties();
+		properties.setProperty(PropertyKeyConst.SERVER_ADDR, "127.0.0.1:8848");
+		properties.setProperty(PropertyKeyConst.ENCODE, "UTF-8");
+
+		Assert.assertEquals("||127.0.0.1:8848|||||UTF-8|",
+				NacosServiceIdentity.of(properties).toString());
+		Assert.assertEquals(NacosUtils.identify(properties),
+				NacosServiceIdentity.of(properties).toString());
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.util.concurrent;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link ConflatingMailbox} Test
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class ConflatingMailboxTest {
+
+	@Test
+	public void testSynchronousDelivery() {
+
+		final List<String> delivered = new CopyOnWriteArrayList<String>();
+
+		ConflatingMailbox<String> mailbox = new ConflatingMailbox<String>() {
+			@Override
+			protected void deliver(String value) {
+				delivered.add(value);
+				complete();
+			}
+		};
+
+		mailbox.offer("a");
+		mailbox.offer("b");
+		mailbox.offer(null);
+
+		Assert.assertEquals(3, delivered.size());
+		Assert.assertNull(delivered.get(2));
+		Assert.assertEquals(0, mailbox.getSupersededCount());
+		Assert.assertEquals(3, mailbox.getDeliveredCount());
+	}
+
+	@Test
+	public void testLatestValueWins() {
+
+		final List<String> delivered = new CopyOnWriteArrayList<String>();
+
+		// complete later, like a slow consumer
+		ConflatingMailbox<String> mailbox = new ConflatingMailbox<String>() {
+			@Override
+			protected void deliver(String value) {
+				delivered.add(value);
+			}
+		};
+
+		mailbox.offer("v1");
+		mailbox.offer("v2");
+		mailbox.offer("v3");
+		mailbox.offer("v4");
+
+		Assert.assertEquals(1, delivered.size());
+		Assert.assertEquals("v1", delivered.get(0));
+
+		mailbox.complete();
+
+		Assert.assertEquals(2, delivered.size());
+		Assert.assertEquals("v4", delivered.get(1));
+		Assert.assertEquals(2, mailbox.getSupersededCount());
+
+		mailbox.complete();
+
+		Assert.assertEquals(2, delivered.size());
+		Assert.assertEquals(2, mailbox.getDeliveredCount());
+	}
+}
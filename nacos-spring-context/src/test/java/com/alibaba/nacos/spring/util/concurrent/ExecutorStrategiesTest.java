@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.util.concurrent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link ExecutorStrategies} Test
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class ExecutorStrategiesTest {
+
+	@Test
+	public void testResolve() {
+		ClassLoader classLoader = getClass().getClassLoader();
+		Assert.assertSame(ExecutorStrategies.FIXED,
+				ExecutorStrategies.resolve(null, classLoader));
+		Assert.assertSame(ExecutorStrategies.FIXED,
+				ExecutorStrategies.resolve(" fixed ", classLoader));
+		Assert.assertSame(ExecutorStrategies.WORK_STEALING,
+				ExecutorStrategies.resolve("WORK-STEALING", classLoader));
+		Assert.assertSame(ExecutorStrategies.VIRTUAL,
+				ExecutorStrategies.resolve("virtual", classLoader));
+		Assert.assertTrue(ExecutorStrategies.resolve(
+				MockExecutorStrategy.class.getName(),
+				classLoader) instanceof MockExecutorStrategy);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testResolveUnknown() {
+		ExecutorStrategies.resolve("unknown", getClass().getClassLoader());
+	}
+
+	@Test
+	public void testFixed() throws InterruptedException {
+		Thread thread = runOn(ExecutorStrategies.FIXED, "Fixed-Test-");
+		Assert.assertTrue(thread.getName().startsWith("Fixed-Test-"));
+		Assert.assertTrue(thread.isDaemon());
+	}
+
+	@Test
+	public void testWorkStealing() throws InterruptedException {
+		ExecutorService executor = ExecutorStrategies.WORK_STEALING
+				.newExecutor("WorkStealing-Test-", 2);
+		try {
+			Assert.assertTrue(executor instanceof ForkJoinPool);
+			Assert.assertEquals(2, ((ForkJoinPool) executor).getParallelism());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		Thread thread = runOn(ExecutorStrategies.WORK_STEALING, "WorkStealing-Test-");
+		Assert.assertTrue(thread.getName().startsWith("WorkStealing-Test-"));
+		Assert.assertTrue(thread.isDaemon());
+	}
+
+	@Test
+	public void testVirtual() throws InterruptedException {
+		// Falls back to the fixed thread pool before JDK 21
+		Thread thread = runOn(ExecutorStrategies.VIRTUAL, "Virtual-Test-");
+		Assert.assertTrue(thread.getName().startsWith("Virtual-Test-"));
+		Assert.assertTrue(thread.isDaemon());
+	}
+
+	private Thread runOn(ExecutorStrategy strategy, String threadNamePrefix)
+			throws InterruptedException {
+		ExecutorService executor = strategy.newExecutor(threadNamePrefix, 2);
+		try {
+			final AtomicReference<Thread> thread = new AtomicReference<Thread>();
+			final CountDownLatch latch = new CountDownLatch(1);
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					thread.set(Thread.currentThread());
+					latch.countDown();
+				}
+			});
+			Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+			return thread.get();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	public static class MockExecutorStrategy implements ExecutorStrategy {
+
+		@Override
+		public ExecutorService newExecutor(String threadNamePrefix, int parallelism) {
+			return ExecutorStrategies.FIXED.newExecutor(threadNamePrefix, parallelism);
+		}
+	}
+}
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.util.concurrent;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link KeyedSerialExecutor} Test
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class KeyedSerialExecutorTest {
+
+	private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+	@After
+	public void destroy() {
+		executorService.shutdownNow();
+	}
+
+	@Test
+	public void testOrderPerKey() throws InterruptedException {
+
+		KeyedSerialExecutor executor = new KeyedSerialExecutor(executorService, 1024);
+
+		final List<Integer> results = new CopyOnWriteArrayList<Integer>();
+		final CountDownLatch latch = new CountDownLatch(100);
+
+		for (int i = 0; i < 100; i++) {
+			final int value = i;
+			executor.execute("dataId|group", new Runnable() {
+				@Override
+				public void run() {
+					results.add(value);
+					latch.countDown();
+				}
+			});
+		}
+
+		Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+		for (int i = 0; i < 100; i++) {
+			Assert.assertEquals(Integer.valueOf(i), results.get(i));
+		}
+	}
+
+	@Test
+	public void testBoundedQueue() throws InterruptedException {
+
+		KeyedSerialExecutor executor = new KeyedSerialExecutor(executorService, 2);
+
+		final CountDownLatch blocker = new CountDownLatch(1);
+		final CountDownLatch started = new CountDownLatch(1);
+
+		executor.execute("blocked", new Runnable() {
+			@Override
+			public void run() {
+				started.countDown();
+				try {
+					blocker.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+
+		Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		Runnable noop = new Runnable() {
+			@Override
+			public void run() {
+			}
+		};
+
+		executor.execute("blocked", noop);
+		executor.execute("blocked", noop);
+
+		Assert.assertEquals(2, executor.getQueueDepth("blocked"));
+		Assert.assertEquals(Integer.valueOf(2), executor.getQueueDepths().get("blocked"));
+
+		try {
+			executor.execute("blocked", noop);
+			Assert.fail();
+		}
+		catch (RejectedExecutionException e) {
+			Assert.assertEquals(1, executor.getRejectedCount());
+		}
+
+		// The other keys are not affected
+		final CountDownLatch other = new CountDownLatch(1);
+		executor.getExecutor("other").execute(new Runnable() {
+			@Override
+			public void run() {
+				other.countDown();
+			}
+		});
+		Assert.assertTrue(other.await(5, TimeUnit.SECONDS));
+
+		blocker.countDown();
+	}
+
+	@Test
+	public void testDropIdleQueue() throws InterruptedException {
+
+		KeyedSerialExecutor executor = new KeyedSerialExecutor(executorService, 1024);
+
+		final CountDownLatch latch = new CountDownLatch(10);
+		Runnable task = new Runnable() {
+			@Override
+			public void run() {
+				latch.countDown();
+			}
+		};
+
+		for (int i = 0; i < 10; i++) {
+			executor.execute("dataId-" + i + "|group", task);
+		}
+
+		Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+		waitForNoKeys(executor);
+		Assert.assertEquals(0, executor.getQueueDepth("dataId-0|group"));
+		Assert.assertTrue(executor.getQueueDepths().isEmpty());
+
+		// The view of a dropped queue is still usable
+		final CountDownLatch reused = new CountDownLatch(1);
+		Executor view = executor.getExecutor("reused");
+		view.execute(new Runnable() {
+			@Override
+			public void run() {
+				reused.countDown();
+			}
+		});
+		Assert.assertTrue(reused.await(5, TimeUnit.SECONDS));
+		waitForNoKeys(executor);
+
+		final List<Integer> results = new CopyOnWriteArrayList<Integer>();
+		final CountDownLatch ordered = new CountDownLatch(100);
+		for (int i = 0; i < 100; i++) {
+			final int value = i;
+			Runnable ordering = new Runnable() {
+				@Override
+				public void run() {
+					results.add(value);
+					ordered.countDown();
+				}
+			};
+			if (i % 2 == 0) {
+				view.execute(ordering);
+			}
+			else {
+				executor.execute("reused", ordering);
+			}
+		}
+
+		Assert.assertTrue(ordered.await(5, TimeUnit.SECONDS));
+		for (int i = 0; i < 100; i++) {
+			Assert.assertEquals(Integer.valueOf(i), results.get(i));
+		}
+	}
+
+	private void waitForNoKeys(KeyedSerialExecutor executor)
+			throws InterruptedException {
+		// The queue is dropped by its runner after the last task
+		for (int i = 0; i < 500 && executor.getKeyCount() > 0; i++) {
+			TimeUnit.MILLISECONDS.sleep(10);
+		}
+		Assert.assertEquals(0, executor.getKeyCount());
+	}
+}
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.util.config;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Properties;
+
+import com.alibaba.nacos.api.PropertyKeyConst;
+import com.alibaba.nacos.spring.util.config.NacosConfigSnapshotStore.Snapshot;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link NacosConfigSnapshotStore} Test
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class NacosConfigSnapshotStoreTest {
+
+	private File file;
+
+	private Properties properties;
+
+	@Before
+	public void init() throws IOException {
+		file = File.createTempFile("nacos-config-snapshot", ".bin");
+		Assert.assertTrue(file.delete());
+		properties = new Properties();
+		properties.setProperty(PropertyKeyConst.SERVER_ADDR, "127.0.0.1:8848");
+		properties.setProperty(PropertyKeyConst.SECRET_KEY, "secret");
+	}
+
+	@After
+	public void destroy() {
+		file.delete();
+	}
+
+	@Test
+	public void testSave() {
+
+		NacosConfigSnapshotStore store = new NacosConfigSnapshotStore(file);
+
+		Assert.assertNull(store.get("app", "DEFAULT_GROUP", properties));
+
+		Assert.assertTrue(store.save("app", "DEFAULT_GROUP", properties, "a=1"));
+		Assert.assertFalse(store.save("app", "DEFAULT_GROUP", properties, "a=1"));
+		Assert.assertFalse(store.save("app", "DEFAULT_GROUP", properties, null));
+		Assert.assertTrue(store.save("app", "DEFAULT_GROUP", properties, "a=2"));
+		Assert.assertTrue(store.save("app", "OTHER_GROUP", properties, "b=\u4e2d\u6587"));
+
+		Snapshot snapshot = store.get("app", "DEFAULT_GROUP", properties);
+		Assert.assertEquals(2, snapshot.getVersion());
+		Assert.assertEquals("a=2", snapshot.getContent());
+
+		// Reload from file
+		store.flush();
+		store = new NacosConfigSnapshotStore(file);
+		Assert.assertEquals(2, store.size());
+		Assert.assertEquals(snapshot.getChecksum(),
+				store.get("app", "DEFAULT_GROUP", properties).getChecksum());
+		Assert.assertEquals(2,
+				store.get("app", "DEFAULT_GROUP", properties).getVersion());
+		Assert.assertEquals("b=\u4e2d\u6587",
+				store.get("app", "OTHER_GROUP", properties).getContent());
+
+		// The credentials are not the part of key
+		Properties otherProperties = new Properties();
+		otherProperties.putAll(properties);
+		otherProperties.setProperty(PropertyKeyConst.SECRET_KEY, "other");
+		Assert.assertNotNull(store.get("app", "DEFAULT_GROUP", otherProperties));
+
+		otherProperties.setProperty(PropertyKeyConst.NAMESPACE, "dev");
+		Assert.assertNull(store.get("app", "DEFAULT_GROUP", otherProperties));
+	}
+
+	@Test
+	public void testReplaceFile() {
+
+		NacosConfigSnapshotStore store = new NacosConfigSnapshotStore(file);
+		store.save("app", "DEFAULT_GROUP", properties, "a=1");
+		store.save("app", "DEFAULT_GROUP", properties, "a=2");
+		store.flush();
+
+		// The file is replaced, and can be deleted once written
+		File tempFile = new File(file.getPath() + ".tmp");
+		Assert.assertFalse(tempFile.exists());
+		Assert.assertTrue(file.renameTo(tempFile));
+
+		// The file was deleted before the temporary file is renamed
+		store = new NacosConfigSnapshotStore(file);
+		Assert.assertEquals("a=2",
+				store.get("app", "DEFAULT_GROUP", properties).getContent());
+
+		store.save("app", "DEFAULT_GROUP", properties, "a=3");
+		store.flush();
+		Assert.assertFalse(tempFile.exists());
+		Assert.assertTrue(file.delete());
+	}
+
+	@Test
+	public void testCorruptFile() throws IOException {
+
+		NacosConfigSnapshotStore store = new NacosConfigSnapshotStore(file);
+		store.save("app", "DEFAULT_GROUP", properties, "a=1");
+		store.save("app", "OTHER_GROUP", properties, "b=2");
+		store.flush();
+
+		// Flip the last byte, the content of last snapshot is corrupt
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+		try {
+			randomAccessFile.seek(randomAccessFile.length() - 1);
+			randomAccessFile.write('3');
+		}
+		finally {
+			randomAccessFile.close();
+		}
+
+		store = new NacosConfigSnapshotStore(file);
+		Assert.assertEquals(1, store.size());
+		Assert.assertNull(store.get("app", "OTHER_GROUP", properties));
+
+		// Truncated
+		randomAccessFile = new RandomAccessFile(file, "rw");
+		try {
+			randomAccessFile.setLength(randomAccessFile.length() - 4);
+		}
+		finally {
+			randomAccessFile.close();
+		}
+
+		store = new NacosConfigSnapshotStore(file);
+		Assert.assertEquals(1, store.size());
+	}
+
+	@Test
+	public void testFlushAsynchronously() throws InterruptedException {
+
+		NacosConfigSnapshotStore store = new NacosConfigSnapshotStore(file);
+		for (int i = 0; i < 100; i++) {
+			store.save("app-" + i, "DEFAULT_GROUP", properties, "a=" + i);
+		}
+
+		// Written by the flusher in the background
+		for (int i = 0; i < 50 && new NacosConfigSnapshotStore(file).size() < 100; i++) {
+			Thread.sleep(100);
+		}
+		Assert.assertEquals(100, new NacosConfigSnapshotStore(file).size());
+
+		// The pending snapshot is flushed on destroying
+		store.save("app-0", "DEFAULT_GROUP", properties, "a=100");
+		store.destroy();
+		Assert.assertEquals("a=100", new NacosConfigSnapshotStore(file)
+				.get("app-0", "DEFAULT_GROUP", properties).getContent());
+	}
+}
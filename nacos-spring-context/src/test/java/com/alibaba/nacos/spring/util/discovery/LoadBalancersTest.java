@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.spring.util.discovery;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import static com.alibaba.nacos.spring.test.MockNamingService.newInstance;
+
+/**
+ * {@link LoadBalancers} Test
+ *
+ * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
+ * @since 0.3.5
+ */
+public class LoadBalancersTest {
+
+	@Test
+	public void testResolve() {
+		ClassLoader classLoader = getClass().getClassLoader();
+		Assert.assertTrue(LoadBalancers.resolve(null, null,
+				classLoader) instanceof PowerOfTwoChoicesLoadBalancer);
+		Assert.assertTrue(LoadBalancers.resolve(" consistent-hash ", "",
+				classLoader) instanceof ConsistentHashLoadBalancer);
+		Assert.assertTrue(
+				LoadBalancers.resolve(ConsistentHashLoadBalancer.class.getName(), null,
+						classLoader) instanceof ConsistentHashLoadBalancer);
+
+		LoadBalancer zoneAffinity = LoadBalancers.resolve("p2c", "zone-a", classLoader);
+		Assert.assertTrue(zoneAffinity instanceof ZoneAffinityLoadBalancer);
+		Assert.assertEquals("zone-a", ((ZoneAffinityLoadBalancer) zoneAffinity).getZone());
+
+		try {
+			LoadBalancers.resolve("unknown", null, classLoader);
+			Assert.fail();
+		}
+		catch (IllegalArgumentException e) {
+			Assert.assertTrue(e.getMessage().contains("unknown"));
+		}
+	}
+
+	@Test
+	public void testPowerOfTwoChoices() {
+		LoadBalancer loadBalancer = new PowerOfTwoChoicesLoadBalancer();
+		InFlightCounter[] counters = newCounters(2);
+		Candidates candidates = newCandidates(counters,
+				newInstance("1.1.1.1", 80, 1, true), newInstance("1.1.1.2", 80, 1, true));
+
+		counters[0].increment();
+		for (int i = 0; i < 100; i++) {
+			Assert.assertEquals(1, loadBalancer.choose(candidates, null));
+		}
+
+		// The outstanding requests follow the weights
+		counters = newCounters(3);
+		candidates = newCandidates(counters, newInstance("1.1.1.1", 80, 1, true),
+				newInstance("1.1.1.2", 80, 1, true), newInstance("1.1.1.3", 80, 2, true));
+		for (int i = 0; i < 4000; i++) {
+			counters[loadBalancer.choose(candidates, null)].increment();
+		}
+		assertBetween(800, 1200, counters[0].get());
+		assertBetween(800, 1200, counters[1].get());
+		assertBetween(1600, 2400, counters[2].get());
+	}
+
+	@Test
+	public void testConsistentHash() {
+		LoadBalancer loadBalancer = new ConsistentHashLoadBalancer();
+		List<Instance> instances = new ArrayList<Instance>();
+		for (int i = 0; i < 10; i++) {
+			instances.add(newInstance("1.1.1." + i, 80, 1, true));
+		}
+		Candidates candidates = newCandidates(newCounters(10),
+				instances.toArray(new Instance[0]));
+
+		int[] distribution = new int[10];
+		String[] chosen = new String[1000];
+		for (int i = 0; i < chosen.length; i++) {
+			String key = "user-" + i;
+			int index = loadBalancer.choose(candidates, key);
+			Assert.assertEquals(index, loadBalancer.choose(candidates, key));
+			distribution[index]++;
+			chosen[i] = candidates.get(index).getIp();
+		}
+		for (int count : distribution) {
+			assertBetween(30, 200, count);
+		}
+
+		// Only the keys of removed instance are moved
+		instances.remove(0);
+		candidates = newCandidates(newCounters(9), instances.toArray(new Instance[0]));
+		for (int i = 0; i < chosen.length; i++) {
+			String ip = candidates.get(loadBalancer.choose(candidates, "user-" + i))
+					.getIp();
+			if (!"1.1.1.0".equals(chosen[i])) {
+				Assert.assertEquals(chosen[i], ip);
+			}
+		}
+	}
+
+	@Test
+	public void testConsistentHashBoundedLoad() {
+		LoadBalancer loadBalancer = new ConsistentHashLoadBalancer();
+		InFlightCounter[] counters = newCounters(4);
+		InFlightCounter totalCounter = new InFlightCounter();
+		Candidates candidates = new Candidates(
+				Arrays.asList(newInstance("1.1.1.1", 80, 1, true),
+						newInstance("1.1.1.2", 80, 1, true),
+						newInstance("1.1.1.3", 80, 1, true),
+						newInstance("1.1.1.4", 80, 1, true)),
+				counters, totalCounter);
+
+		int owner = loadBalancer.choose(candidates, "hot-key");
+		for (int i = 0; i < 10; i++) {
+			counters[owner].increment();
+			totalCounter.increment();
+		}
+		int overflow = loadBalancer.choose(candidates, "hot-key");
+		Assert.assertTrue(overflow != owner);
+		// Sticky while the owner is overloaded
+		Assert.assertEquals(overflow, loadBalancer.choose(candidates, "hot-key"));
+	}
+
+	@Test
+	public void testZoneAffinity() {
+		Instance a1 = newZoneInstance("1.1.1.1", "zone-a");
+		Instance a2 = newZoneInstance("1.1.1.2", "zone-a");
+		Instance b1 = newZoneInstance("1.1.1.3", "zone-b");
+		Candidates candidates = newCandidates(newCounters(3), a1, b1, a2);
+
+		LoadBalancer loadBalancer = new ZoneAffinityLoadBalancer("zone-a",
+				new PowerOfTwoChoicesLoadBalancer());
+		for (int i = 0; i < 100; i++) {
+			Assert.assertEquals("zone-a",
+					candidates.get(loadBalancer.choose(candidates, null)).getMetadata()
+							.get(ZoneAffinityLoadBalancer.ZONE_METADATA_KEY));
+		}
+
+		// Fall back to all candidates
+		loadBalancer = new ZoneAffinityLoadBalancer("zone-c",
+				new ConsistentHashLoadBalancer());
+		int[] distribution = new int[3];
+		for (int i = 0; i < 300; i++) {
+			distribution[loadBalancer.choose(candidates, "user-" + i)]++;
+		}
+		for (int count : distribution) {
+			Assert.assertTrue(count > 0);
+		}
+	}
+
+	private static Instance newZoneInstance(String ip, String zone) {
+		Instance instance = newInstance(ip, 80, 1, true);
+		instance.setMetadata(Collections.singletonMap(
+				ZoneAffinityLoadBalancer.ZONE_METADATA_KEY, zone));
+		return instance;
+	}
+
+	private static InFlightCounter[] newCounters(int size) {
+		InFlightCounter[] counters = new InFlightCounter[size];
+		for (int i = 0; i < size; i++) {
+			counters[i] = new InFlightCounter();
+		}
+		return counters;
+	}
+
+	private static Candidates newCandidates(InFlightCounter[] counters,
+			Instance... instances) {
+		return new Candidates(Collections.unmodifiableList(Arrays.asList(instances)),
+				counters, new InFlightCounter());
+	}
+
+	private static void assertBetween(long min, long max, long actual) {
+		Assert.assertTrue(actual + " is not in [" + min + ", " + max + "]",
+				actual >= min && actual <= max);
+	}
+}